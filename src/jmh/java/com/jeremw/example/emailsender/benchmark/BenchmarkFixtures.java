@@ -0,0 +1,135 @@
+package com.jeremw.example.emailsender.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.jeremw.example.emailsender.email.EmailServiceImpl;
+import com.jeremw.example.emailsender.email.attachment.AttachmentProperties;
+import com.jeremw.example.emailsender.email.attachment.AttachmentStore;
+import com.jeremw.example.emailsender.email.mime.BodyCacheProperties;
+import com.jeremw.example.emailsender.email.mime.MimeBodyCache;
+import com.jeremw.example.emailsender.email.template.EmailTemplateRenderer;
+import com.jeremw.example.emailsender.email.template.TemplateCacheProperties;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Builds the objects of the send path outside of the Spring context, as configured by the application.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+final class BenchmarkFixtures {
+
+	static final String TEMPLATE_NAME = "example-template";
+
+	static final String FROM = "bench@example.com";
+
+	private BenchmarkFixtures() {
+	}
+
+	static SpringTemplateEngine templateEngine() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setCharacterEncoding("UTF-8");
+		SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+		templateEngine.setTemplateResolver(resolver);
+		return templateEngine;
+	}
+
+	static EmailTemplateRenderer renderer(boolean sharedFragments) {
+		TemplateCacheProperties properties = new TemplateCacheProperties();
+		if (sharedFragments) {
+			properties.setSharedFragments(Map.of(TEMPLATE_NAME, Map.of("footer", List.of("currentYear"))));
+		}
+		return new EmailTemplateRenderer(templateEngine(), properties);
+	}
+
+	static EmailServiceImpl emailService(JavaMailSenderImpl sender) {
+		return emailService(sender, true);
+	}
+
+	static EmailServiceImpl emailService(JavaMailSenderImpl sender, boolean bodyCache) {
+		BodyCacheProperties bodyCacheProperties = new BodyCacheProperties();
+		if (!bodyCache) {
+			bodyCacheProperties.setMaxSize(0);
+		}
+		EmailServiceImpl emailService = new EmailServiceImpl(sender, renderer(true), EmailMetrics.disabled(),
+				new MimeBodyCache(bodyCacheProperties), attachmentStore());
+		ReflectionTestUtils.setField(emailService, "from", FROM);
+		return emailService;
+	}
+
+	static AttachmentStore attachmentStore() {
+		try {
+			AttachmentProperties properties = new AttachmentProperties();
+			properties.setDirectory(Files.createTempDirectory("bench-attachments"));
+			return new AttachmentStore(properties);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static void configureForStub(JavaMailSenderImpl sender, int port) {
+		sender.setHost("localhost");
+		sender.setPort(port);
+		Properties properties = new Properties();
+		properties.put("mail.smtp.auth", "false");
+		properties.put("mail.smtp.timeout", "5000");
+		sender.setJavaMailProperties(properties);
+	}
+
+	static Context templateContext() {
+		Context context = new Context();
+		context.setVariable("subject", "Bienvenue chez Votre Société");
+		context.setVariable("name", "John Doe");
+		context.setVariable("email", "recipient@example.com");
+		context.setVariable("signupDate", LocalDate.now().toString());
+		context.setVariable("companyName", "Example Inc.");
+		context.setVariable("currentYear", LocalDate.now().getYear());
+		return context;
+	}
+
+	/**
+	 * Sender preparing the messages as the real one does, without any network I/O, and keeping the last of them.
+	 */
+	static final class CapturingJavaMailSender extends JavaMailSenderImpl {
+
+		private final List<MimeMessage> sent = new ArrayList<>(1);
+
+		@Override
+		protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+			sent.clear();
+			for (MimeMessage mimeMessage : mimeMessages) {
+				try {
+					mimeMessage.saveChanges();
+				}
+				catch (MessagingException e) {
+					throw new MailPreparationException(e);
+				}
+				sent.add(mimeMessage);
+			}
+		}
+
+		MimeMessage last() {
+			return sent.get(sent.size() - 1);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.jeremw.example.emailsender.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.email.EmailServiceImpl;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the construction of the MIME messages by {@link EmailServiceImpl} and their serialization, without any
+ * network I/O. The serialized size of both kinds of message is printed at the end of the run.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MimeBuildBenchmark {
+
+	/**
+	 * Whether the encoded plain text bodies are cached across messages.
+	 */
+	@Param({ "true", "false" })
+	public boolean bodyCache;
+
+	private BenchmarkFixtures.CapturingJavaMailSender sender;
+
+	private EmailServiceImpl emailService;
+
+	private MimeMessage rawMessage;
+
+	private MimeMessage templateMessage;
+
+	@Setup
+	public void setUp() throws MessagingException {
+		sender = new BenchmarkFixtures.CapturingJavaMailSender();
+		emailService = BenchmarkFixtures.emailService(sender, bodyCache);
+		rawMessage = buildRawMessage();
+		templateMessage = buildTemplateMessage();
+	}
+
+	@TearDown
+	public void printSizes() throws IOException, MessagingException {
+		System.out.printf("%nSerialized size: raw message %d bytes, template message %d bytes%n",
+				serialize(rawMessage), serialize(templateMessage));
+	}
+
+	@Benchmark
+	public MimeMessage buildRawMessage() throws MessagingException {
+		emailService.sendRowText("recipient@example.com", "Welcome!", "Hello, welcome to our service.");
+		return sender.last();
+	}
+
+	@Benchmark
+	public MimeMessage buildTemplateMessage() throws MessagingException {
+		emailService.sentHtmlTemplate("recipient@example.com", "Bienvenue chez Votre Société",
+				BenchmarkFixtures.TEMPLATE_NAME, BenchmarkFixtures.templateContext());
+		return sender.last();
+	}
+
+	@Benchmark
+	public long serializeRawMessage() throws IOException, MessagingException {
+		return serialize(rawMessage);
+	}
+
+	@Benchmark
+	public long serializeTemplateMessage() throws IOException, MessagingException {
+		return serialize(templateMessage);
+	}
+
+	private static long serialize(MimeMessage message) throws IOException, MessagingException {
+		CountingOutputStream out = new CountingOutputStream();
+		message.writeTo(out);
+		return out.count;
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.jeremw.example.emailsender.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.email.EmailServiceImpl;
+import com.jeremw.example.emailsender.email.transport.PooledJavaMailSender;
+import com.jeremw.example.emailsender.email.transport.SmtpPoolProperties;
+import com.jeremw.example.emailsender.support.SmtpStubServer;
+import jakarta.mail.MessagingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Measures end-to-end sends through {@link EmailServiceImpl} against the in-process {@link SmtpStubServer}, with
+ * and without the SMTP connection pool.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SendBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean pooled;
+
+	private SmtpStubServer smtpServer;
+
+	private JavaMailSenderImpl sender;
+
+	private EmailServiceImpl emailService;
+
+	@Setup
+	public void setUp() throws IOException {
+		smtpServer = new SmtpStubServer();
+		sender = pooled ? new PooledJavaMailSender(new SmtpPoolProperties()) : new JavaMailSenderImpl();
+		BenchmarkFixtures.configureForStub(sender, smtpServer.getPort());
+		emailService = BenchmarkFixtures.emailService(sender);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		if (sender instanceof PooledJavaMailSender pooledSender) {
+			pooledSender.destroy();
+		}
+		smtpServer.close();
+	}
+
+	@Benchmark
+	public void sendRawEmail() throws MessagingException {
+		emailService.sendRowText("recipient@example.com", "Welcome!", "Hello, welcome to our service.");
+	}
+
+	@Benchmark
+	public void sendTemplateEmail() throws MessagingException {
+		emailService.sentHtmlTemplate("recipient@example.com", "Bienvenue chez Votre Société",
+				BenchmarkFixtures.TEMPLATE_NAME, BenchmarkFixtures.templateContext());
+	}
+}
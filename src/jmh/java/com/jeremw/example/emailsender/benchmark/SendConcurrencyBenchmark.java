@@ -0,0 +1,113 @@
+package com.jeremw.example.emailsender.benchmark;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.concurrent.EmailThreads;
+import com.jeremw.example.emailsender.concurrent.PinningGuard;
+import com.jeremw.example.emailsender.email.EmailServiceImpl;
+import com.jeremw.example.emailsender.email.transport.PooledJavaMailSender;
+import com.jeremw.example.emailsender.email.transport.SmtpPoolProperties;
+import com.jeremw.example.emailsender.support.SmtpStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the concurrency headroom of platform and virtual send threads against a slow SMTP relay.
+ *
+ * <p>
+ * Every operation sends {@code concurrentSends} emails at once to a stub answering each message after
+ * {@code latencyMillis}. With {@code platform}, the sends run on a fixed pool of {@code platformThreads} threads, as
+ * request threads of a saturated Tomcat would; with {@code virtual}, each send gets its own virtual thread, bounded
+ * only by the SMTP connection pool and the {@link PinningGuard}. Virtual threads require a Java 21 runtime; on older
+ * runtimes the {@code virtual} case runs one platform thread per send instead.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class SendConcurrencyBenchmark {
+
+	@Param({ "platform", "virtual" })
+	public String threads;
+
+	@Param("32")
+	public int platformThreads;
+
+	@Param("256")
+	public int concurrentSends;
+
+	@Param("20")
+	public int latencyMillis;
+
+	private SmtpStubServer smtpServer;
+
+	private PooledJavaMailSender sender;
+
+	private EmailServiceImpl emailService;
+
+	private ExecutorService executor;
+
+	@Setup
+	public void setUp() throws IOException {
+		smtpServer = new SmtpStubServer().withDataLatency(Duration.ofMillis(latencyMillis));
+		boolean virtual = "virtual".equals(threads);
+		SmtpPoolProperties poolProperties = new SmtpPoolProperties();
+		poolProperties.setMaxSize(concurrentSends);
+		sender = new PooledJavaMailSender(poolProperties, new PinningGuard(virtual, concurrentSends));
+		BenchmarkFixtures.configureForStub(sender, smtpServer.getPort());
+		emailService = BenchmarkFixtures.emailService(sender);
+		executor = virtual
+				? new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+						EmailThreads.factory("bench-send-", true))
+				: Executors.newFixedThreadPool(platformThreads, EmailThreads.factory("bench-send-", false));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		executor.shutdownNow();
+		sender.destroy();
+		smtpServer.close();
+	}
+
+	@Benchmark
+	public int sendConcurrently() throws InterruptedException, ExecutionException {
+		List<Future<?>> futures = new ArrayList<>(concurrentSends);
+		for (int i = 0; i < concurrentSends; i++) {
+			futures.add(executor.submit(() -> {
+				emailService.sendRowText("recipient@example.com", "Welcome!", "Hello, welcome to our service.");
+				return null;
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		return futures.size();
+	}
+}
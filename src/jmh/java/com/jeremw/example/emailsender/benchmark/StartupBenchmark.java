@@ -0,0 +1,139 @@
+package com.jeremw.example.emailsender.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.EmailSenderApplication;
+import com.jeremw.example.emailsender.support.SmtpStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures the cold start of the application: the time from the start of the Spring context to the first template
+ * email accepted by the in-process {@link SmtpStubServer}, and the time of that first send alone, with and without
+ * the startup warm-up.
+ *
+ * <p>
+ * Every measurement runs in a new JVM, so that nothing is loaded nor compiled yet. With
+ * {@code -Djmh.args="StartupBenchmark -p aot=true"} and the {@code cds} profile active, the context is started from
+ * the classes generated ahead of time.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+	private static final String TEMPLATE_EMAIL = "{\"to\": \"recipient@example.com\", \"template\": \"welcome\", "
+			+ "\"variables\": {\"name\": \"John Doe\", \"companyName\": \"Example Inc.\"}}";
+
+	@Param({ "true", "false" })
+	public boolean warmUp;
+
+	@Param({ "false" })
+	public boolean aot;
+
+	private SmtpStubServer smtpServer;
+
+	private HttpClient httpClient;
+
+	private ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		smtpServer = new SmtpStubServer();
+		httpClient = HttpClient.newHttpClient();
+		System.setProperty("spring.aot.enabled", String.valueOf(aot));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		smtpServer.close();
+	}
+
+	@TearDown(Level.Iteration)
+	public void stop() {
+		if (context != null) {
+			context.close();
+			context = null;
+		}
+	}
+
+	@Benchmark
+	public int startAndFirstSend() throws IOException, InterruptedException {
+		context = start();
+		return sendTemplateEmail();
+	}
+
+	@Benchmark
+	public int firstSend(Started started) throws IOException, InterruptedException {
+		context = started.context;
+		return sendTemplateEmail();
+	}
+
+	private ConfigurableApplicationContext start() {
+		SpringApplication application = new SpringApplication(EmailSenderApplication.class);
+		// Deduced from the main thread otherwise, which does not run the benchmark.
+		application.setMainApplicationClass(EmailSenderApplication.class);
+		return application.run(
+				"--server.port=0",
+				"--spring.mail.host=localhost",
+				"--spring.mail.port=" + smtpServer.getPort(),
+				"--spring.mail.properties.mail.smtp.auth=false",
+				"--spring.mail.properties.mail.smtp.starttls.enable=false",
+				"--custom.mail.startup.warm-up=" + warmUp,
+				"--custom.mail.template-registry.warm-up=" + warmUp);
+	}
+
+	private int sendTemplateEmail() throws IOException, InterruptedException {
+		String port = context.getEnvironment().getProperty("local.server.port");
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/email/template"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(TEMPLATE_EMAIL))
+				.build();
+		HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("The first email was answered with " + response.statusCode());
+		}
+		return response.statusCode();
+	}
+
+	/**
+	 * Application started before the measurement.
+	 */
+	@State(Scope.Benchmark)
+	public static class Started {
+
+		private ConfigurableApplicationContext context;
+
+		@Setup(Level.Iteration)
+		public void start(StartupBenchmark benchmark) {
+			context = benchmark.start();
+		}
+	}
+}
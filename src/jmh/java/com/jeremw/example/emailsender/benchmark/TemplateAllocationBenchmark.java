@@ -0,0 +1,138 @@
+package com.jeremw.example.emailsender.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.email.EmailServiceImpl;
+import com.jeremw.example.emailsender.email.template.EmailTemplateRenderer;
+import com.jeremw.example.emailsender.email.template.PreparedTemplate;
+import com.jeremw.example.emailsender.email.template.TemplateRegistry;
+import com.jeremw.example.emailsender.email.template.TemplateRegistryProperties;
+import com.jeremw.example.emailsender.email.template.TemplateVariableType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+/**
+ * Measures what a template email costs from its preparation to its serialization, to be run with the GC profiler
+ * ({@code -prof gc}) so that the bytes allocated per email are reported in {@code gc.alloc.rate.norm}.
+ *
+ * <p>
+ * The template message is built through {@link EmailServiceImpl}, rendering into the reusable render buffer, and
+ * through the previous path, rendering into a string set as the text of a {@link MimeMessageHelper}, which JavaMail
+ * encodes when the message is saved and again when it is written.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateAllocationBenchmark {
+
+	private static final String TO = "recipient@example.com";
+
+	private static final Map<String, Object> VARIABLES = Map.of("name", "John Doe", "companyName", "Example Inc.");
+
+	private BenchmarkFixtures.CapturingJavaMailSender sender;
+
+	private EmailServiceImpl emailService;
+
+	private EmailTemplateRenderer renderer;
+
+	private TemplateRegistry registry;
+
+	private CountingOutputStream out;
+
+	@Setup
+	public void setUp() {
+		sender = new BenchmarkFixtures.CapturingJavaMailSender();
+		emailService = BenchmarkFixtures.emailService(sender);
+		renderer = BenchmarkFixtures.renderer(true);
+		registry = new TemplateRegistry(registryProperties(), renderer);
+		out = new CountingOutputStream();
+	}
+
+	@Benchmark
+	public PreparedTemplate prepareTemplate() {
+		return registry.prepare("welcome", TO, VARIABLES);
+	}
+
+	@Benchmark
+	public long templateMessageFromRenderBuffer() throws IOException, MessagingException {
+		emailService.sentHtmlTemplate(TO, "Bienvenue chez Example Inc.", BenchmarkFixtures.TEMPLATE_NAME,
+				BenchmarkFixtures.templateContext());
+		return serialize(sender.last());
+	}
+
+	@Benchmark
+	public long templateMessageFromString() throws IOException, MessagingException {
+		String body = renderer.render(BenchmarkFixtures.TEMPLATE_NAME, BenchmarkFixtures.templateContext());
+		MimeMessage mail = sender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(mail, StandardCharsets.UTF_8.name());
+		helper.setFrom(BenchmarkFixtures.FROM);
+		helper.setTo(TO);
+		helper.setSubject("Bienvenue chez Example Inc.");
+		helper.setText(body, true);
+		mail.saveChanges();
+		return serialize(mail);
+	}
+
+	private long serialize(MimeMessage message) throws IOException, MessagingException {
+		out.count = 0;
+		message.writeTo(out);
+		return out.count;
+	}
+
+	private static TemplateRegistryProperties registryProperties() {
+		TemplateRegistryProperties.Template welcome = new TemplateRegistryProperties.Template();
+		welcome.setView(BenchmarkFixtures.TEMPLATE_NAME);
+		welcome.setSubject("Bienvenue chez [(${companyName})]");
+		Map<String, TemplateRegistryProperties.Variable> variables = new LinkedHashMap<>();
+		for (String name : VARIABLES.keySet()) {
+			TemplateRegistryProperties.Variable variable = new TemplateRegistryProperties.Variable();
+			variable.setType(TemplateVariableType.STRING);
+			variable.setRequired(true);
+			variables.put(name, variable);
+		}
+		welcome.setVariables(variables);
+		TemplateRegistryProperties properties = new TemplateRegistryProperties();
+		properties.setTemplates(Map.of("welcome", welcome));
+		return properties;
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.jeremw.example.emailsender.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.email.template.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.TemplateEngine;
+
+/**
+ * Measures the rendering of {@code example-template.html}, through the template engine alone and through the
+ * {@link EmailTemplateRenderer} reusing the shared footer.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+	private TemplateEngine templateEngine;
+
+	private EmailTemplateRenderer renderer;
+
+	@Setup
+	public void setUp() {
+		templateEngine = BenchmarkFixtures.templateEngine();
+		renderer = BenchmarkFixtures.renderer(true);
+	}
+
+	@Benchmark
+	public String templateEngineProcess() {
+		return templateEngine.process(BenchmarkFixtures.TEMPLATE_NAME, BenchmarkFixtures.templateContext());
+	}
+
+	@Benchmark
+	public String rendererWithSharedFragments() {
+		return renderer.render(BenchmarkFixtures.TEMPLATE_NAME, BenchmarkFixtures.templateContext());
+	}
+}
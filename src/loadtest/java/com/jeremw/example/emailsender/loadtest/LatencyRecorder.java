@@ -0,0 +1,137 @@
+package com.jeremw.example.emailsender.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records the latency and the outcome of every request of a load test.
+ *
+ * <p>
+ * Every latency is kept, so that the percentiles are exact: a run of a few minutes at a few thousand requests per
+ * second holds a few megabytes.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class LatencyRecorder {
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final long measuredFromNanos;
+
+	private final Map<String, Long> outcomes = new TreeMap<>();
+
+	private long[] latencies = new long[1024];
+
+	private int count;
+
+	private long lastCompletionNanos;
+
+	private long[] sorted;
+
+	/**
+	 * Creates a new recorder.
+	 *
+	 * @param measuredFromNanos the {@link System#nanoTime()} the measurement starts at
+	 */
+	LatencyRecorder(long measuredFromNanos) {
+		this.measuredFromNanos = measuredFromNanos;
+	}
+
+	/**
+	 * Records a completed request.
+	 *
+	 * @param latencyNanos    the time from the moment the request was due to its response
+	 * @param outcome         the status code of the response, or the exception which failed the request
+	 * @param completionNanos the {@link System#nanoTime()} of the response
+	 */
+	void record(long latencyNanos, String outcome, long completionNanos) {
+		lock.lock();
+		try {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = latencyNanos;
+			outcomes.merge(outcome, 1L, Long::sum);
+			lastCompletionNanos = Math.max(lastCompletionNanos, completionNanos);
+			sorted = null;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of requests recorded.
+	 *
+	 * @return the number of requests
+	 */
+	int getCount() {
+		lock.lock();
+		try {
+			return count;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of responses per second, from the start of the measurement to the last response.
+	 *
+	 * @return the throughput
+	 */
+	double getThroughput() {
+		lock.lock();
+		try {
+			long elapsedNanos = lastCompletionNanos - measuredFromNanos;
+			return elapsedNanos > 0 ? count * 1e9 / elapsedNanos : 0;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of requests by outcome.
+	 *
+	 * @return a copy of the counts, sorted by outcome
+	 */
+	Map<String, Long> getOutcomes() {
+		lock.lock();
+		try {
+			return new TreeMap<>(outcomes);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the latency under which the given share of the requests completed.
+	 *
+	 * @param percentile the share, between {@code 0} and {@code 100}
+	 * @return the latency in nanoseconds, {@code 0} if no request was recorded
+	 */
+	long percentile(double percentile) {
+		lock.lock();
+		try {
+			if (count == 0) {
+				return 0;
+			}
+			if (sorted == null) {
+				sorted = Arrays.copyOf(latencies, count);
+				Arrays.sort(sorted);
+			}
+			int rank = (int) Math.ceil(percentile / 100 * count);
+			return sorted[Math.min(Math.max(rank, 1), count) - 1];
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package com.jeremw.example.emailsender.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.jeremw.example.emailsender.EmailSenderApplication;
+import com.jeremw.example.emailsender.support.SmtpStubServer;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+/**
+ * Sends emails through {@code POST /email/raw} and {@code POST /email/template} at a fixed rate, and reports the
+ * throughput and the latency percentiles of the responses.
+ *
+ * <p>
+ * Unless {@code --load.url} is given, the application is started in this JVM and sends to an in-process
+ * {@link SmtpStubServer}, so that nothing leaves the machine. Every other argument is passed to the application, so
+ * that any of its properties can be changed for a run, such as {@code --custom.mail.async.enabled=true}.
+ * </p>
+ *
+ * <p>
+ * The requests follow an open model: each one is due at a fixed time computed from the rate, whether the previous
+ * ones completed or not, and its latency is measured from that time. A slow response thus delays the requests
+ * behind it and their latency shows it, rather than silently lowering the rate. At most {@code --load.concurrency}
+ * requests are in flight at once.
+ * </p>
+ *
+ * <table>
+ * <caption>Options</caption>
+ * <tr><td>{@code --load.rate}</td><td>requests per second, default {@code 200}</td></tr>
+ * <tr><td>{@code --load.duration}</td><td>measured duration, default {@code 30s}</td></tr>
+ * <tr><td>{@code --load.warm-up}</td><td>unmeasured duration before, default {@code 10s}</td></tr>
+ * <tr><td>{@code --load.template-ratio}</td><td>share of template emails, default {@code 0.5}</td></tr>
+ * <tr><td>{@code --load.concurrency}</td><td>maximum requests in flight, default {@code 256}</td></tr>
+ * <tr><td>{@code --load.url}</td><td>URL of an application already running</td></tr>
+ * <tr><td>{@code --smtp.port}</td><td>port of the SMTP stub, default ephemeral</td></tr>
+ * <tr><td>{@code --smtp.latency}</td><td>delay before each message is acknowledged, default {@code 0ms}</td></tr>
+ * <tr><td>{@code --smtp.greeting-latency}</td><td>delay before each connection is greeted, default {@code 0ms}</td></tr>
+ * <tr><td>{@code --smtp.failure-rate}</td><td>share of the messages refused, default {@code 0}</td></tr>
+ * <tr><td>{@code --smtp.failure-reply}</td><td>reply to the refused messages, default {@code 451 4.3.0 Try again later}</td></tr>
+ * <tr><td>{@code --smtp.disconnect-rate}</td><td>share of the messages dropping the connection, default {@code 0}</td></tr>
+ * </table>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class LoadTest {
+
+	private static final String RAW_EMAIL = "{\"to\": \"%s\", \"subject\": \"Load test\", "
+			+ "\"content\": \"Hello from the load test.\"}";
+
+	private static final String TEMPLATE_EMAIL = "{\"to\": \"%s\", \"template\": \"welcome\", "
+			+ "\"variables\": {\"name\": \"John Doe\", \"companyName\": \"Example Inc.\"}}";
+
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private final double rate;
+
+	private final Duration duration;
+
+	private final Duration warmUp;
+
+	private final double templateRatio;
+
+	private final int concurrency;
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private LoadTest(CommandLinePropertySource<?> options) {
+		this.rate = Double.parseDouble(option(options, "load.rate", "200"));
+		this.duration = DurationStyle.detectAndParse(option(options, "load.duration", "30s"));
+		this.warmUp = DurationStyle.detectAndParse(option(options, "load.warm-up", "10s"));
+		this.templateRatio = Double.parseDouble(option(options, "load.template-ratio", "0.5"));
+		this.concurrency = Integer.parseInt(option(options, "load.concurrency", "256"));
+		if (rate <= 0 || concurrency <= 0 || templateRatio < 0 || templateRatio > 1) {
+			throw new IllegalArgumentException("The rate and the concurrency must be positive, "
+					+ "and the template ratio between 0 and 1");
+		}
+	}
+
+	/**
+	 * Runs a load test.
+	 *
+	 * @param args the options of the load test and the properties of the application
+	 * @throws IOException          if the SMTP stub cannot be started
+	 * @throws InterruptedException if interrupted while waiting for the responses
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		CommandLinePropertySource<?> options = new SimpleCommandLinePropertySource(args);
+		LoadTest loadTest = new LoadTest(options);
+		try (SmtpStubServer smtpServer = smtpServer(options)) {
+			String url = options.getProperty("load.url");
+			ConfigurableApplicationContext context = null;
+			if (url == null) {
+				context = SpringApplication.run(EmailSenderApplication.class, applicationArgs(args, options, smtpServer));
+				url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			}
+			try {
+				System.out.printf("Sending %.0f emails/s to %s for %s after %s of warm-up, %.0f%% from a template%n",
+						loadTest.rate, url, DurationStyle.SIMPLE.print(loadTest.duration, ChronoUnit.SECONDS),
+						DurationStyle.SIMPLE.print(loadTest.warmUp, ChronoUnit.SECONDS), loadTest.templateRatio * 100);
+				LatencyRecorder recorder = loadTest.run(URI.create(url));
+				loadTest.report(recorder, smtpServer);
+			}
+			finally {
+				if (context != null) {
+					context.close();
+				}
+			}
+		}
+	}
+
+	private LatencyRecorder run(URI baseUri) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(concurrency);
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+		long startNanos = System.nanoTime();
+		long measuredFromNanos = startNanos + warmUp.toNanos();
+		long endNanos = measuredFromNanos + duration.toNanos();
+		LatencyRecorder recorder = new LatencyRecorder(measuredFromNanos);
+		long dueNanos;
+		for (long i = 0; (dueNanos = startNanos + i * intervalNanos) < endNanos; i++) {
+			long waitNanos;
+			while ((waitNanos = dueNanos - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(waitNanos);
+			}
+			inFlight.acquire();
+			boolean measured = dueNanos >= measuredFromNanos;
+			long due = dueNanos;
+			httpClient.sendAsync(request(baseUri, i), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, failure) -> {
+						inFlight.release();
+						if (measured) {
+							long now = System.nanoTime();
+							String outcome = failure != null
+									? failure.getClass().getSimpleName() : String.valueOf(response.statusCode());
+							recorder.record(now - due, outcome, now);
+						}
+					});
+		}
+		if (!inFlight.tryAcquire(concurrency, 1, TimeUnit.MINUTES)) {
+			System.out.println("Some requests were still in flight after 1 minute");
+		}
+		return recorder;
+	}
+
+	private HttpRequest request(URI baseUri, long i) {
+		boolean template = Math.floor((i + 1) * templateRatio) > Math.floor(i * templateRatio);
+		String recipient = "user" + i + "@example.com";
+		return HttpRequest.newBuilder(baseUri.resolve(template ? "/email/template" : "/email/raw"))
+				.header("Content-Type", "application/json")
+				.timeout(Duration.ofSeconds(30))
+				.POST(HttpRequest.BodyPublishers.ofString(String.format(template ? TEMPLATE_EMAIL : RAW_EMAIL, recipient)))
+				.build();
+	}
+
+	private void report(LatencyRecorder recorder, SmtpStubServer smtpServer) {
+		System.out.printf("Requests     %d completed, %.1f/s%n", recorder.getCount(), recorder.getThroughput());
+		StringBuilder latencies = new StringBuilder("Latency (ms)");
+		for (double percentile : PERCENTILES) {
+			latencies.append(String.format("  p%s %.2f", percentile % 1 == 0 ? String.valueOf((int) percentile)
+					: String.valueOf(percentile), recorder.percentile(percentile) / 1e6));
+		}
+		latencies.append(String.format("  max %.2f", recorder.percentile(100) / 1e6));
+		System.out.println(latencies);
+		System.out.println("Responses    " + recorder.getOutcomes());
+		System.out.printf("SMTP stub    %d accepted, %d refused, %d dropped, over %d connections (warm-up included)%n",
+				smtpServer.getMessageCount(), smtpServer.getFailureCount(), smtpServer.getDisconnectCount(),
+				smtpServer.getConnectionCount());
+	}
+
+	private static SmtpStubServer smtpServer(CommandLinePropertySource<?> options) throws IOException {
+		return new SmtpStubServer(Integer.parseInt(option(options, "smtp.port", "0")))
+				.withDataLatency(DurationStyle.detectAndParse(option(options, "smtp.latency", "0ms")))
+				.withGreetingLatency(DurationStyle.detectAndParse(option(options, "smtp.greeting-latency", "0ms")))
+				.withFailureRate(Double.parseDouble(option(options, "smtp.failure-rate", "0")),
+						option(options, "smtp.failure-reply", "451 4.3.0 Try again later"))
+				.withDisconnectRate(Double.parseDouble(option(options, "smtp.disconnect-rate", "0")));
+	}
+
+	private static String[] applicationArgs(String[] args, CommandLinePropertySource<?> options,
+			SmtpStubServer smtpServer) {
+		Map<String, String> defaults = new LinkedHashMap<>();
+		defaults.put("server.port", "0");
+		defaults.put("spring.mail.host", "localhost");
+		defaults.put("spring.mail.port", String.valueOf(smtpServer.getPort()));
+		defaults.put("spring.mail.properties.mail.smtp.auth", "false");
+		defaults.put("spring.mail.properties.mail.smtp.starttls.enable", "false");
+		defaults.put("logging.level.root", "warn");
+		List<String> applicationArgs = new ArrayList<>(Arrays.asList(args));
+		defaults.forEach((name, value) -> {
+			if (!options.containsProperty(name)) {
+				applicationArgs.add("--" + name + "=" + value);
+			}
+		});
+		return applicationArgs.toArray(new String[0]);
+	}
+
+	private static String option(CommandLinePropertySource<?> options, String name, String defaultValue) {
+		String value = options.getProperty(name);
+		return value != null ? value : defaultValue;
+	}
+}
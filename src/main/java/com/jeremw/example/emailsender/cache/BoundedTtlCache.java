@@ -0,0 +1,226 @@
+package com.jeremw.example.emailsender.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory cache bounded both in size and in time.
+ *
+ * <p>
+ * Entries expire {@code ttl} after they were written, and the least recently used entry is evicted once the cache
+ * holds {@code maxSize} entries. Values are computed outside of the lock, so a slow computation never blocks the
+ * readers of other keys; two threads missing the same key concurrently may both compute it, the last write wins.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class BoundedTtlCache<K, V> {
+
+	private final int maxSize;
+
+	private final long ttlNanos;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param maxSize the maximum number of entries
+	 * @param ttl     how long an entry stays valid after being written, or {@code null} for no expiry
+	 */
+	public BoundedTtlCache(int maxSize, Duration ttl) {
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl != null ? ttl.toNanos() : Long.MAX_VALUE;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > BoundedTtlCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the live value associated with the given key.
+	 *
+	 * @param key the key to look up
+	 * @return the value, or {@code null} if absent or expired
+	 */
+	public V get(K key) {
+		lock.lock();
+		try {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && entry.isExpired()) {
+				entries.remove(key);
+				entry = null;
+			}
+			if (entry == null) {
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.value;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Associates a value with the given key, replacing any previous one.
+	 *
+	 * @param key   the key
+	 * @param value the value, not {@code null}
+	 */
+	public void put(K key, V value) {
+		lock.lock();
+		try {
+			entries.put(key, new Entry<>(value, expiry()));
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Associates a value with the given key only if no live value is present.
+	 *
+	 * @param key   the key
+	 * @param value the value, not {@code null}
+	 * @return the live value already present, or {@code null} if the given value was stored
+	 */
+	public V putIfAbsent(K key, V value) {
+		lock.lock();
+		try {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && !entry.isExpired()) {
+				return entry.value;
+			}
+			entries.put(key, new Entry<>(value, expiry()));
+			return null;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the live value associated with the given key, computing and storing it if needed.
+	 *
+	 * @param key    the key to look up
+	 * @param loader computes the value of a missing key, must not return {@code null}
+	 * @return the cached or computed value
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = get(key);
+		if (value == null) {
+			value = loader.apply(key);
+			put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Removes the entry associated with the given key.
+	 *
+	 * @param key the key to remove
+	 */
+	public void invalidate(K key) {
+		lock.lock();
+		try {
+			entries.remove(key);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes every entry.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			entries.clear();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the expired entries. Expired entries are otherwise only removed when looked up or evicted.
+	 */
+	public void purgeExpired() {
+		lock.lock();
+		try {
+			entries.values().removeIf(Entry::isExpired);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of entries, including the expired ones not purged yet.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return entries.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the usage statistics.
+	 *
+	 * @return the statistics of the cache
+	 */
+	public CacheStats stats() {
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+	}
+
+	private long expiry() {
+		return ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired() {
+			return expiresAt != Long.MAX_VALUE && System.nanoTime() - expiresAt > 0;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.jeremw.example.emailsender.cache;
+
+import lombok.Value;
+
+/**
+ * Snapshot of the usage statistics of a cache.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+public class CacheStats {
+
+	/**
+	 * The number of lookups which found a live entry.
+	 */
+	long hits;
+
+	/**
+	 * The number of lookups which found no entry or an expired one.
+	 */
+	long misses;
+
+	/**
+	 * The number of entries removed to honor the maximum size.
+	 */
+	long evictions;
+
+	/**
+	 * The number of entries currently held.
+	 */
+	int size;
+
+	/**
+	 * Returns the ratio of lookups which found a live entry.
+	 *
+	 * @return the hit ratio, between 0 and 1
+	 */
+	public double getHitRatio() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+}
@@ -0,0 +1,50 @@
+package com.jeremw.example.emailsender.cluster;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Configuration of the {@link ClusterCoordinator}.
+ *
+ * <p>
+ * The instances listed in {@code custom.mail.cluster.peers} are coordinated over HTTP when
+ * {@code custom.mail.cluster.enabled} is set; otherwise this instance is the only node of its cluster.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfiguration {
+
+	/**
+	 * Creates the coordinator of the instances listed in the peers.
+	 *
+	 * @param properties         the {@code custom.mail.cluster} properties
+	 * @param restClientBuilders the builder of the client auto-configured by Spring Boot, if any
+	 * @return the {@link HttpClusterCoordinator}
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "custom.mail.cluster", name = "enabled", havingValue = "true")
+	public HttpClusterCoordinator httpClusterCoordinator(ClusterProperties properties,
+			ObjectProvider<RestClient.Builder> restClientBuilders) {
+		return new HttpClusterCoordinator(properties, restClientBuilders.getIfAvailable(RestClient::builder));
+	}
+
+	/**
+	 * Creates the coordinator of a standalone instance.
+	 *
+	 * @return a single node {@link ClusterCoordinator}
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "custom.mail.cluster", name = "enabled", havingValue = "false", matchIfMissing = true)
+	public ClusterCoordinator standaloneClusterCoordinator() {
+		return ClusterCoordinator.standalone();
+	}
+}
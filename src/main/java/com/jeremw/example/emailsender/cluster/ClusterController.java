@@ -0,0 +1,69 @@
+package com.jeremw.example.emailsender.cluster;
+
+import java.util.List;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller serving the requests of the other nodes of the cluster, when {@code custom.mail.cluster.enabled} is
+ * set.
+ *
+ * <p>
+ * It is not part of the public API: every request must carry the token shared by the instances.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Hidden
+@RestController
+@RequestMapping("/cluster")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "custom.mail.cluster", name = "enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ClusterController {
+
+	private final HttpClusterCoordinator httpClusterCoordinator;
+
+	/**
+	 * Answers the heartbeat of another node.
+	 *
+	 * @param token the token shared by the instances
+	 * @return the name of this node
+	 * @throws ResourceException if the token is not the shared one
+	 */
+	@GetMapping("/ping")
+	public String ping(@RequestHeader(name = HttpClusterCoordinator.TOKEN_HEADER, required = false) String token) throws ResourceException {
+		httpClusterCoordinator.authenticate(token);
+		return httpClusterCoordinator.getLocalNode();
+	}
+
+	/**
+	 * Dispatches the jobs forwarded by another node, which this node owns.
+	 *
+	 * @param token the token shared by the instances
+	 * @param jobs  the forwarded jobs
+	 * @return one receipt per job, in the same order
+	 * @throws ResourceException if the token is not the shared one, or if this node does not accept jobs yet
+	 */
+	@PostMapping("/jobs")
+	public List<EmailJobReceipt> receive(@RequestHeader(name = HttpClusterCoordinator.TOKEN_HEADER, required = false) String token,
+			@RequestBody List<EmailJob> jobs) throws ResourceException {
+		httpClusterCoordinator.authenticate(token);
+		return httpClusterCoordinator.receive(jobs);
+	}
+}
@@ -0,0 +1,75 @@
+package com.jeremw.example.emailsender.cluster;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+
+/**
+ * Coordination of the instances of the application sending emails together.
+ *
+ * <p>
+ * Every instance is a node of the cluster, identified by a stable name. The coordinator tells which nodes are alive,
+ * notifies the changes of membership, and carries jobs to the node owning them, as decided by
+ * {@link RendezvousHashing}. Implementations are pluggable: {@link LocalCluster} connects nodes living in the same
+ * JVM, and serves as the single node cluster of a standalone instance, while {@link HttpClusterCoordinator}
+ * connects instances reaching each other over HTTP.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public interface ClusterCoordinator {
+
+	/**
+	 * Returns the coordinator of a standalone instance, the only node of its cluster.
+	 *
+	 * @return a single node coordinator
+	 */
+	static ClusterCoordinator standalone() {
+		return new LocalCluster().join("local");
+	}
+
+	/**
+	 * Returns the name of this node.
+	 *
+	 * @return the name of the local node
+	 */
+	String getLocalNode();
+
+	/**
+	 * Returns the nodes currently alive, including this one.
+	 *
+	 * @return the names of the live nodes, sorted
+	 */
+	List<String> getMembers();
+
+	/**
+	 * Registers a listener of the changes of membership. The listener is called right away with the current members,
+	 * then every time a node joins or leaves.
+	 *
+	 * @param listener the listener, called with the names of the live nodes
+	 */
+	void onMembershipChange(Consumer<List<String>> listener);
+
+	/**
+	 * Registers the handler of the jobs forwarded to this node by the other ones.
+	 *
+	 * @param handler the handler dispatching the jobs locally and returning one receipt per job, in the same order
+	 */
+	void onReceive(Function<List<EmailJob>, List<EmailJobReceipt>> handler);
+
+	/**
+	 * Forwards jobs to the node owning them.
+	 *
+	 * @param node the name of the node to forward the jobs to
+	 * @param jobs the jobs to forward
+	 * @return one receipt per job, in the same order
+	 * @throws IOException if the node cannot be reached; whether it received the jobs is then unknown
+	 */
+	List<EmailJobReceipt> forward(String node, List<EmailJob> jobs) throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.jeremw.example.emailsender.cluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the cluster of instances sending emails together, bound from
+ * {@code custom.mail.cluster}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.cluster")
+public class ClusterProperties {
+
+	/**
+	 * Whether this instance coordinates with the other instances listed in {@code peers}. Otherwise it is a
+	 * standalone instance.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * The base URL under which the other instances reach this one, such as {@code http://10.0.0.1:3001}. It is also
+	 * the name of the node.
+	 */
+	private String nodeUrl;
+
+	/**
+	 * The base URLs of the instances of the cluster. This instance may be listed as well.
+	 */
+	private List<String> peers = new ArrayList<>();
+
+	/**
+	 * The secret shared by the instances, sent with every request between them.
+	 */
+	private String token;
+
+	/**
+	 * How often every peer is checked.
+	 */
+	private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+	/**
+	 * How long a peer may not answer before it is considered gone, and its share of the work taken over.
+	 */
+	private Duration failureTimeout = Duration.ofSeconds(5);
+
+	/**
+	 * The maximum time to wait for a peer to accept forwarded jobs, before sending them from this instance.
+	 */
+	private Duration forwardTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,250 @@
+package com.jeremw.example.emailsender.cluster;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * {@link ClusterCoordinator} of instances reaching each other over HTTP, from a static list of peers.
+ *
+ * <p>
+ * Every peer is pinged once per {@code heartbeat-interval} on {@code /cluster/ping}; a peer which did not answer
+ * for {@code failure-timeout} is considered gone, until it answers again. Jobs are forwarded to their owner as JSON
+ * on {@code /cluster/jobs}, which dispatches them and answers their receipts. Every request carries the token
+ * shared by the instances, the other requests to {@code /cluster} being refused.
+ * </p>
+ *
+ * <p>
+ * As every node only relies on its own view of the peers, two nodes may briefly disagree on the owner of a job while
+ * a peer joins or leaves. A node always dispatches the jobs forwarded to it, whatever its own view, so that a job is
+ * never forwarded twice.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class HttpClusterCoordinator implements ClusterCoordinator, AutoCloseable {
+
+	/**
+	 * The header carrying the token shared by the instances.
+	 */
+	static final String TOKEN_HEADER = "X-Cluster-Token";
+
+	private static final String PING_PATH = "/cluster/ping";
+
+	private static final String JOBS_PATH = "/cluster/jobs";
+
+	private static final ParameterizedTypeReference<List<EmailJobReceipt>> RECEIPTS = new ParameterizedTypeReference<>() {
+	};
+
+	private final String localNode;
+
+	private final List<String> peers;
+
+	private final byte[] token;
+
+	private final long failureTimeoutNanos;
+
+	private final RestClient restClient;
+
+	private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+
+	private final List<Consumer<List<String>>> listeners = new CopyOnWriteArrayList<>();
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final ScheduledExecutorService heartbeat;
+
+	private volatile List<String> members;
+
+	private volatile Function<List<EmailJob>, List<EmailJobReceipt>> handler;
+
+	/**
+	 * Creates the coordinator and starts pinging the peers.
+	 *
+	 * @param properties        the cluster configuration
+	 * @param restClientBuilder the builder of the client used to reach the peers
+	 * @throws IllegalStateException if the URL of this node or the shared token is missing
+	 */
+	public HttpClusterCoordinator(ClusterProperties properties, RestClient.Builder restClientBuilder) {
+		if (properties.getNodeUrl() == null || properties.getNodeUrl().isBlank()) {
+			throw new IllegalStateException("custom.mail.cluster.node-url must be set when the cluster is enabled");
+		}
+		if (properties.getToken() == null || properties.getToken().isBlank()) {
+			throw new IllegalStateException("custom.mail.cluster.token must be set when the cluster is enabled");
+		}
+		this.localNode = normalize(properties.getNodeUrl());
+		Set<String> others = new LinkedHashSet<>();
+		properties.getPeers().stream().map(HttpClusterCoordinator::normalize).forEach(others::add);
+		others.remove(localNode);
+		this.peers = List.copyOf(others);
+		this.token = properties.getToken().getBytes(StandardCharsets.UTF_8);
+		this.failureTimeoutNanos = properties.getFailureTimeout().toNanos();
+		HttpClient httpClient = HttpClient.newBuilder().connectTimeout(properties.getHeartbeatInterval()).build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(properties.getForwardTimeout());
+		this.restClient = restClientBuilder
+				.requestFactory(requestFactory)
+				.defaultHeader(TOKEN_HEADER, properties.getToken())
+				.build();
+		this.members = List.of(localNode);
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("email-cluster-heartbeat-");
+		threadFactory.setDaemon(true);
+		this.heartbeat = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long interval = properties.getHeartbeatInterval().toMillis();
+		heartbeat.scheduleWithFixedDelay(this::heartbeat, 0, interval, TimeUnit.MILLISECONDS);
+		log.info("Email cluster node {} started with {} peers", localNode, peers.size());
+	}
+
+	@Override
+	public String getLocalNode() {
+		return localNode;
+	}
+
+	@Override
+	public List<String> getMembers() {
+		return members;
+	}
+
+	@Override
+	public void onMembershipChange(Consumer<List<String>> listener) {
+		lock.lock();
+		try {
+			listeners.add(listener);
+			listener.accept(members);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void onReceive(Function<List<EmailJob>, List<EmailJobReceipt>> handler) {
+		this.handler = handler;
+	}
+
+	@Override
+	public List<EmailJobReceipt> forward(String node, List<EmailJob> jobs) throws IOException {
+		List<EmailJobReceipt> receipts;
+		try {
+			receipts = restClient.post()
+					.uri(node + JOBS_PATH)
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(jobs)
+					.retrieve()
+					.body(RECEIPTS);
+		}
+		catch (RestClientException e) {
+			throw new IOException("Failed to forward " + jobs.size() + " email jobs to " + node + ": "
+					+ e.getMessage(), e);
+		}
+		if (receipts == null || receipts.size() != jobs.size()) {
+			throw new IOException("The node " + node + " did not answer a receipt per email job");
+		}
+		return receipts;
+	}
+
+	/**
+	 * Checks the token of a request from another node.
+	 *
+	 * @param token the token sent with the request, or {@code null}
+	 * @throws ResourceException if the token is not the shared one
+	 */
+	public void authenticate(String token) throws ResourceException {
+		if (token == null || !MessageDigest.isEqual(this.token, token.getBytes(StandardCharsets.UTF_8))) {
+			throw new ResourceException("ClusterUnauthorized", "The cluster token is missing or invalid.",
+					HttpStatus.UNAUTHORIZED);
+		}
+	}
+
+	/**
+	 * Dispatches jobs forwarded by another node.
+	 *
+	 * @param jobs the forwarded jobs
+	 * @return one receipt per job, in the same order
+	 * @throws ResourceException if this node does not accept jobs yet
+	 */
+	public List<EmailJobReceipt> receive(List<EmailJob> jobs) throws ResourceException {
+		Function<List<EmailJob>, List<EmailJobReceipt>> target = handler;
+		if (target == null) {
+			throw new ResourceException("ClusterNodeStarting", "This node does not accept email jobs yet.",
+					HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		return target.apply(jobs);
+	}
+
+	/**
+	 * Stops pinging the peers.
+	 */
+	@Override
+	public void close() {
+		heartbeat.shutdownNow();
+	}
+
+	private void heartbeat() {
+		for (String peer : peers) {
+			try {
+				restClient.get().uri(peer + PING_PATH).retrieve().toBodilessEntity();
+				lastSeen.put(peer, System.nanoTime());
+			}
+			catch (RuntimeException e) {
+				log.debug("Email cluster peer {} did not answer: {}", peer, e.getMessage());
+			}
+		}
+		long now = System.nanoTime();
+		List<String> live = new ArrayList<>();
+		live.add(localNode);
+		lastSeen.forEach((peer, seen) -> {
+			if (now - seen < failureTimeoutNanos) {
+				live.add(peer);
+			}
+		});
+		live.sort(null);
+		if (live.equals(members)) {
+			return;
+		}
+		lock.lock();
+		try {
+			members = List.copyOf(live);
+			log.info("Email cluster membership changed to {}", members);
+			listeners.forEach(listener -> listener.accept(members));
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private static String normalize(String url) {
+		String trimmed = url.strip();
+		return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+	}
+}
@@ -0,0 +1,149 @@
+package com.jeremw.example.emailsender.cluster;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+
+/**
+ * Cluster of nodes living in the same JVM, which forward jobs to each other by direct calls.
+ *
+ * <p>
+ * Nodes join and leave the cluster explicitly, every member being notified synchronously. It backs the coordinator
+ * of a standalone instance, a cluster of a single node, and lets tests run several nodes side by side.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class LocalCluster {
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Map<String, Node> nodes = new TreeMap<>();
+
+	/**
+	 * Adds a node to the cluster.
+	 *
+	 * @param name the name of the node
+	 * @return the coordinator of the new node
+	 * @throws IllegalStateException if a node of the same name is already a member
+	 */
+	public ClusterCoordinator join(String name) {
+		Node node = new Node(name);
+		lock.lock();
+		try {
+			if (nodes.putIfAbsent(name, node) != null) {
+				throw new IllegalStateException("The node " + name + " is already a member of the cluster");
+			}
+			notifyMembers();
+		}
+		finally {
+			lock.unlock();
+		}
+		return node;
+	}
+
+	/**
+	 * Removes a node from the cluster, as if it had crashed.
+	 *
+	 * @param name the name of the node
+	 */
+	public void leave(String name) {
+		lock.lock();
+		try {
+			if (nodes.remove(name) != null) {
+				notifyMembers();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private List<String> members() {
+		lock.lock();
+		try {
+			return List.copyOf(nodes.keySet());
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void notifyMembers() {
+		List<String> members = List.copyOf(nodes.keySet());
+		for (Node node : new ArrayList<>(nodes.values())) {
+			node.listeners.forEach(listener -> listener.accept(members));
+		}
+	}
+
+	private Node node(String name) throws IOException {
+		lock.lock();
+		try {
+			Node node = nodes.get(name);
+			if (node == null) {
+				throw new IOException("The node " + name + " is not a member of the cluster");
+			}
+			return node;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Node of a {@link LocalCluster}.
+	 */
+	private final class Node implements ClusterCoordinator {
+
+		private final String name;
+
+		private final List<Consumer<List<String>>> listeners = new CopyOnWriteArrayList<>();
+
+		private volatile Function<List<EmailJob>, List<EmailJobReceipt>> handler;
+
+		private Node(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getLocalNode() {
+			return name;
+		}
+
+		@Override
+		public List<String> getMembers() {
+			return members();
+		}
+
+		@Override
+		public void onMembershipChange(Consumer<List<String>> listener) {
+			listeners.add(listener);
+			listener.accept(members());
+		}
+
+		@Override
+		public void onReceive(Function<List<EmailJob>, List<EmailJobReceipt>> handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public List<EmailJobReceipt> forward(String node, List<EmailJob> jobs) throws IOException {
+			Function<List<EmailJob>, List<EmailJobReceipt>> target = node(node).handler;
+			if (target == null) {
+				throw new IOException("The node " + node + " does not accept jobs yet");
+			}
+			return target.apply(jobs);
+		}
+	}
+}
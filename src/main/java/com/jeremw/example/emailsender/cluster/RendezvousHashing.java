@@ -0,0 +1,70 @@
+package com.jeremw.example.emailsender.cluster;
+
+import java.util.List;
+
+/**
+ * Rendezvous, or highest random weight, hashing of keys to the nodes of a cluster.
+ *
+ * <p>
+ * Every node is given a pseudo-random weight for a key, and the key is owned by the node of highest weight. Keys are
+ * spread evenly across the nodes, and a change of membership only moves the keys of the nodes which left, or the
+ * share of the keys won by the nodes which joined: the other keys keep their owner. Any node computes the same owner
+ * from the same members, without any coordination.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class RendezvousHashing {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private RendezvousHashing() {
+	}
+
+	/**
+	 * Returns the node owning a key.
+	 *
+	 * @param key   the key, such as the address of a recipient
+	 * @param nodes the names of the nodes, not empty
+	 * @return the name of the owner
+	 * @throws IllegalArgumentException if there is no node
+	 */
+	public static String owner(String key, List<String> nodes) {
+		if (nodes.isEmpty()) {
+			throw new IllegalArgumentException("A key cannot be owned without any node");
+		}
+		long keyHash = hash(key);
+		String owner = null;
+		long highest = 0;
+		for (String node : nodes) {
+			// Compared as unsigned so that every node gets the same range of weights.
+			long weight = mix(keyHash ^ hash(node));
+			if (owner == null || Long.compareUnsigned(weight, highest) > 0) {
+				owner = node;
+				highest = weight;
+			}
+		}
+		return owner;
+	}
+
+	private static long hash(String value) {
+		long hash = FNV_OFFSET_BASIS;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= FNV_PRIME;
+		}
+		return mix(hash);
+	}
+
+	// Finalizer of SplitMix64, so that close inputs get unrelated weights.
+	private static long mix(long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,119 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free circuit breaker stopping calls to a failing dependency for a while.
+ *
+ * <p>
+ * The breaker opens after a number of consecutive failures. While open, calls are refused until the open duration
+ * has elapsed; a single trial call is then let through. The breaker closes again if the trial succeeds, and stays
+ * open for another period otherwise.
+ * </p>
+ *
+ * <p>
+ * Every call allowed by {@link #tryAcquire()} must be followed by a call to {@link #onSuccess()} or
+ * {@link #onFailure()}.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class CircuitBreaker {
+
+	/**
+	 * Enumeration of the states of a circuit breaker.
+	 */
+	public enum State {
+
+		/**
+		 * Calls are allowed.
+		 */
+		CLOSED,
+
+		/**
+		 * Calls are refused until the open duration has elapsed.
+		 */
+		OPEN,
+
+		/**
+		 * A trial call is in progress, other calls are refused.
+		 */
+		HALF_OPEN
+	}
+
+	private final int failureThreshold;
+
+	private final long openNanos;
+
+	private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+	private volatile long openedAt;
+
+	/**
+	 * Creates a closed breaker.
+	 *
+	 * @param failureThreshold the number of consecutive failures opening the breaker
+	 * @param openDuration     how long the breaker refuses calls once open
+	 */
+	public CircuitBreaker(int failureThreshold, Duration openDuration) {
+		this.failureThreshold = Math.max(1, failureThreshold);
+		this.openNanos = openDuration.toNanos();
+	}
+
+	/**
+	 * Asks for the permission to make a call.
+	 *
+	 * @return {@code true} if the call may be made
+	 */
+	public boolean tryAcquire() {
+		State current = state.get();
+		if (current == State.CLOSED) {
+			return true;
+		}
+		return current == State.OPEN && System.nanoTime() - openedAt >= openNanos
+				&& state.compareAndSet(State.OPEN, State.HALF_OPEN);
+	}
+
+	/**
+	 * Tells whether a call would currently be allowed, without asking for the permission.
+	 *
+	 * @return {@code true} if the breaker is closed, or open for longer than the open duration
+	 */
+	public boolean isAvailable() {
+		State current = state.get();
+		return current == State.CLOSED || current == State.OPEN && System.nanoTime() - openedAt >= openNanos;
+	}
+
+	/**
+	 * Records a successful call, closing the breaker.
+	 */
+	public void onSuccess() {
+		consecutiveFailures.set(0);
+		state.set(State.CLOSED);
+	}
+
+	/**
+	 * Records a failed call, opening the breaker if the trial call failed or too many calls failed in a row.
+	 */
+	public void onFailure() {
+		if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+			openedAt = System.nanoTime();
+			state.set(State.OPEN);
+		}
+	}
+
+	/**
+	 * Returns the current state of the breaker.
+	 *
+	 * @return the state
+	 */
+	public State getState() {
+		return state.get();
+	}
+}
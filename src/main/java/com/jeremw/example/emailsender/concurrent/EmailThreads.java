@@ -0,0 +1,57 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Factory methods for the threads running the send path.
+ *
+ * <p>
+ * Sending an email is mostly spent waiting for the SMTP server, which makes the send workers a good fit for virtual
+ * threads. They are only used when explicitly requested and supported by the running JVM (Java 21 or later), the
+ * application being built for Java 17; otherwise platform threads are used.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public final class EmailThreads {
+
+	private static final int VIRTUAL_THREADS_MIN_VERSION = 21;
+
+	private EmailThreads() {
+	}
+
+	/**
+	 * Tells whether the running JVM supports virtual threads.
+	 *
+	 * @return {@code true} when running on Java 21 or later
+	 */
+	public static boolean isVirtualSupported() {
+		return Runtime.version().feature() >= VIRTUAL_THREADS_MIN_VERSION;
+	}
+
+	/**
+	 * Creates a factory of named threads.
+	 *
+	 * @param prefix  the prefix of the thread names
+	 * @param virtual whether virtual threads are requested
+	 * @return a virtual thread factory if requested and supported, a platform thread factory otherwise
+	 */
+	public static ThreadFactory factory(String prefix, boolean virtual) {
+		if (virtual) {
+			if (isVirtualSupported()) {
+				return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+			}
+			log.warn("Virtual threads requested for '{}' but not supported by Java {}, using platform threads",
+					prefix, Runtime.version().feature());
+		}
+		return new CustomizableThreadFactory(prefix);
+	}
+}
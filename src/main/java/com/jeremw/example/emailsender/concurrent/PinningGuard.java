@@ -0,0 +1,85 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.util.concurrent.Semaphore;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds the number of threads executing code known to pin virtual threads to their carrier.
+ *
+ * <p>
+ * Jakarta Mail's SMTP transport performs its network I/O inside {@code synchronized} methods. A virtual thread
+ * blocked there keeps its carrier thread, so as many concurrent SMTP exchanges as carriers would stall every other
+ * virtual thread, including the ones serving HTTP requests. The guard keeps at least one carrier free by letting at
+ * most {@code custom.mail.threads.max-pinned} threads (by default, the number of carriers minus one) enter those
+ * sections at the same time. It does nothing when virtual threads are not in use.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+public class PinningGuard {
+
+	private static final PinningGuard DISABLED = new PinningGuard(false, 0);
+
+	private final Semaphore permits;
+
+	/**
+	 * Creates a guard.
+	 *
+	 * @param virtual   whether virtual threads are enabled
+	 * @param maxPinned the maximum number of threads inside pinning sections, or {@code 0} to derive it from the
+	 *                  number of carrier threads
+	 */
+	public PinningGuard(@Value("${spring.threads.virtual.enabled:false}") boolean virtual,
+			@Value("${custom.mail.threads.max-pinned:0}") int maxPinned) {
+		if (virtual && EmailThreads.isVirtualSupported()) {
+			int permits = maxPinned > 0 ? maxPinned : Math.max(1, carriers() - 1);
+			this.permits = new Semaphore(permits);
+			log.info("Virtual threads enabled, at most {} threads may be pinned by SMTP I/O", permits);
+		}
+		else {
+			this.permits = null;
+		}
+	}
+
+	/**
+	 * Returns a guard that never blocks.
+	 *
+	 * @return a disabled guard
+	 */
+	public static PinningGuard disabled() {
+		return DISABLED;
+	}
+
+	/**
+	 * Enters a pinning section, waiting for a permit if too many threads are already inside.
+	 *
+	 * <p>Every call must be followed by a call to {@link #exit()} in a {@code finally} block.</p>
+	 */
+	public void enter() {
+		if (permits != null) {
+			permits.acquireUninterruptibly();
+		}
+	}
+
+	/**
+	 * Leaves a pinning section.
+	 */
+	public void exit() {
+		if (permits != null) {
+			permits.release();
+		}
+	}
+
+	private static int carriers() {
+		String parallelism = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+		return parallelism != null ? Integer.parseInt(parallelism) : Runtime.getRuntime().availableProcessors();
+	}
+}
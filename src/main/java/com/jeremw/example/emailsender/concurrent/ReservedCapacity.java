@@ -0,0 +1,69 @@
+package com.jeremw.example.emailsender.concurrent;
+
+/**
+ * Grants the current thread access to the capacity reserved for high priority work.
+ *
+ * <p>
+ * Shared resources, such as the SMTP connection pool, may keep part of their capacity for high priority work, so
+ * that it is still served while low priority work saturates them. The code sending such work opens a grant around
+ * it, which the resources check when handing out their capacity:
+ * </p>
+ *
+ * <pre>{@code
+ * try (ReservedCapacity.Grant grant = ReservedCapacity.grant(highPriority)) {
+ *     send(job);
+ * }
+ * }</pre>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class ReservedCapacity {
+
+	private static final ThreadLocal<Boolean> GRANTED = new ThreadLocal<>();
+
+	private ReservedCapacity() {
+	}
+
+	/**
+	 * Grants or denies the current thread access to the reserved capacity until the returned grant is closed.
+	 *
+	 * @param granted whether the reserved capacity may be used
+	 * @return the grant, restoring the previous access once closed
+	 */
+	public static Grant grant(boolean granted) {
+		Boolean previous = GRANTED.get();
+		GRANTED.set(granted);
+		return () -> {
+			if (previous != null) {
+				GRANTED.set(previous);
+			}
+			else {
+				GRANTED.remove();
+			}
+		};
+	}
+
+	/**
+	 * Tells whether the current thread may use the reserved capacity.
+	 *
+	 * @return {@code true} if a grant is open on the current thread
+	 */
+	public static boolean isGranted() {
+		return Boolean.TRUE.equals(GRANTED.get());
+	}
+
+	/**
+	 * Access to the reserved capacity, open until closed.
+	 */
+	@FunctionalInterface
+	public interface Grant extends AutoCloseable {
+
+		/**
+		 * Restores the access the thread had before the grant.
+		 */
+		@Override
+		void close();
+	}
+}
@@ -0,0 +1,181 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timer wheel holding a large number of values until their deadline.
+ *
+ * <p>
+ * Time is divided in ticks. The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots each: a slot of the first
+ * level spans one tick, and a slot of every next level spans a whole turn of the previous one. A value is linked
+ * into the slot of the lowest level covering its deadline, so that scheduling is a constant time insertion whatever
+ * the number of pending values, and costs a single small node per value. Whenever a level completes a turn, the
+ * next slot of the level above is emptied and its values moved down, closer to their deadline; the values of the
+ * first level slot of the current tick are expired. With one second ticks, the wheel covers more than two thousand
+ * years; deadlines beyond it are kept in the last slot and placed again once reached.
+ * </p>
+ *
+ * <p>
+ * The wheel is passive: its owner calls {@link #advance(long)} once per tick to collect the expired values. Values
+ * never expire before their deadline, and at most one tick after it when advanced on time.
+ * </p>
+ *
+ * @param <T> the type of the values
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class TimerWheel<T> {
+
+	private static final int LEVELS = 4;
+
+	private static final int SLOT_BITS = 9;
+
+	private static final int SLOTS = 1 << SLOT_BITS;
+
+	private static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+	private final long tickMillis;
+
+	private final Node<T>[][] slots;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private long currentTick;
+
+	private long size;
+
+	/**
+	 * Creates an empty wheel.
+	 *
+	 * @param tick        the duration of a tick, which is the precision of the deadlines
+	 * @param startMillis the current time, in milliseconds since the epoch
+	 */
+	@SuppressWarnings("unchecked")
+	public TimerWheel(Duration tick, long startMillis) {
+		if (tick.toMillis() < 1) {
+			throw new IllegalArgumentException("The tick must be at least one millisecond");
+		}
+		this.tickMillis = tick.toMillis();
+		this.slots = new Node[LEVELS][SLOTS];
+		this.currentTick = Math.floorDiv(startMillis, tickMillis);
+	}
+
+	/**
+	 * Schedules a value until the given deadline.
+	 *
+	 * <p>A deadline already reached expires on the next tick.</p>
+	 *
+	 * @param deadlineMillis the deadline, in milliseconds since the epoch
+	 * @param value          the value to hold
+	 */
+	public void schedule(long deadlineMillis, T value) {
+		long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+		lock.lock();
+		try {
+			place(new Node<>(Math.max(deadlineTick, currentTick + 1), value));
+			size++;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Moves the wheel forward to the given time, and returns the values whose deadline was reached meanwhile.
+	 *
+	 * @param nowMillis the current time, in milliseconds since the epoch
+	 * @return the expired values, by deadline
+	 */
+	public List<T> advance(long nowMillis) {
+		List<T> expired = new ArrayList<>();
+		long targetTick = Math.floorDiv(nowMillis, tickMillis);
+		lock.lock();
+		try {
+			while (currentTick < targetTick) {
+				currentTick++;
+				for (int level = LEVELS - 1; level > 0; level--) {
+					if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+						cascade(level);
+					}
+				}
+				for (Node<T> node = detach(0, currentTick); node != null; node = node.next) {
+					expired.add(node.value);
+				}
+			}
+			size -= expired.size();
+		}
+		finally {
+			lock.unlock();
+		}
+		return expired;
+	}
+
+	/**
+	 * Returns the number of values waiting for their deadline.
+	 *
+	 * @return the number of pending values
+	 */
+	public long size() {
+		lock.lock();
+		try {
+			return size;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void cascade(int level) {
+		Node<T> node = detach(level, currentTick);
+		while (node != null) {
+			Node<T> next = node.next;
+			place(node);
+			node = next;
+		}
+	}
+
+	private void place(Node<T> node) {
+		// Beyond the range of the last level, the value waits in its farthest slot and is placed again from there.
+		long tick = Math.min(node.deadlineTick, currentTick + MAX_TICKS);
+		long delta = tick - currentTick;
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+			level++;
+		}
+		int slot = slot(level, tick);
+		node.next = slots[level][slot];
+		slots[level][slot] = node;
+	}
+
+	private Node<T> detach(int level, long tick) {
+		int slot = slot(level, tick);
+		Node<T> head = slots[level][slot];
+		slots[level][slot] = null;
+		return head;
+	}
+
+	private static int slot(int level, long tick) {
+		return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+	}
+
+	/**
+	 * Value linked in a slot.
+	 */
+	private static final class Node<T> {
+
+		private final long deadlineTick;
+
+		private final T value;
+
+		private Node<T> next;
+
+		private Node(long deadlineTick, T value) {
+			this.deadlineTick = deadlineTick;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free token bucket spreading operations at a steady rate, while allowing short bursts.
+ *
+ * <p>
+ * Rather than a count of tokens refilled over time, the bucket keeps the theoretical instant at which the next
+ * operation would be allowed if the rate had always been respected, as in the generic cell rate algorithm. Taking a
+ * token moves that instant forward by one interval with a single compare-and-set, and tells the caller how long it
+ * has to wait, so that concurrent callers never block each other: they only wait for their own slot.
+ * </p>
+ *
+ * <p>
+ * The rate may be changed while the bucket is in use, for instance when a rate shared by several instances is split
+ * again after one of them joined or left. The slots already reserved are kept.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class TokenBucket {
+
+	private final int burst;
+
+	private volatile long intervalNanos;
+
+	private volatile long toleranceNanos;
+
+	private final AtomicLong theoreticalArrival;
+
+	/**
+	 * Creates a full bucket.
+	 *
+	 * @param permitsPerSecond the sustained rate of operations
+	 * @param burst            the number of operations allowed at once after an idle period
+	 */
+	public TokenBucket(double permitsPerSecond, int burst) {
+		if (permitsPerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("The rate must be positive and the burst at least 1");
+		}
+		this.burst = burst;
+		this.theoreticalArrival = new AtomicLong(System.nanoTime());
+		setRate(permitsPerSecond);
+	}
+
+	/**
+	 * Changes the sustained rate of operations, keeping the burst.
+	 *
+	 * @param permitsPerSecond the new sustained rate of operations
+	 */
+	public void setRate(double permitsPerSecond) {
+		if (permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("The rate must be positive");
+		}
+		long interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+		this.toleranceNanos = interval * (burst - 1);
+		this.intervalNanos = interval;
+	}
+
+	/**
+	 * Takes a token if one is available right away.
+	 *
+	 * @return {@code true} if a token was taken
+	 */
+	public boolean tryAcquire() {
+		return reserve(0) == 0;
+	}
+
+	/**
+	 * Takes a token, waiting for one to become available if needed.
+	 *
+	 * <p>When no token would become available within the timeout, none is taken and the method returns right away
+	 * rather than waiting in vain.</p>
+	 *
+	 * @param timeout the maximum time to wait
+	 * @return the time waited in nanoseconds, or {@code -1} if no token could be taken in time
+	 * @throws InterruptedException if interrupted while waiting; the token is taken anyway
+	 */
+	public long acquire(Duration timeout) throws InterruptedException {
+		long waitNanos = reserve(timeout.toNanos());
+		if (waitNanos <= 0) {
+			return waitNanos;
+		}
+		long deadline = System.nanoTime() + waitNanos;
+		for (long remaining = waitNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+			LockSupport.parkNanos(this, remaining);
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+		}
+		return waitNanos;
+	}
+
+	/**
+	 * Reserves the next slot unless it is further away than the given wait.
+	 *
+	 * @param maxWaitNanos the maximum acceptable wait
+	 * @return the time to wait before using the slot, or {@code -1} if no slot was reserved
+	 */
+	long reserve(long maxWaitNanos) {
+		while (true) {
+			long interval = intervalNanos;
+			long tolerance = toleranceNanos;
+			long now = System.nanoTime();
+			long arrival = theoreticalArrival.get();
+			long waitNanos = Math.max(0, arrival - tolerance - now);
+			if (waitNanos > maxWaitNanos) {
+				return -1;
+			}
+			long next = (arrival - now > 0 ? arrival : now) + interval;
+			if (theoreticalArrival.compareAndSet(arrival, next)) {
+				return waitNanos;
+			}
+		}
+	}
+}
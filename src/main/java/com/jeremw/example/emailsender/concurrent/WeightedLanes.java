@@ -0,0 +1,209 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Set of bounded FIFO lanes drained in proportion to their weights.
+ *
+ * <p>
+ * Lanes are numbered by decreasing priority. Every {@link #take(int)} picks the next lane with the smooth weighted
+ * round-robin algorithm: each lane holding items earns its weight in credit, the lane with the most credit is
+ * served and pays back the weights of all the lanes which competed. Over any period during which the lanes are
+ * busy, a lane is served in proportion to its weight, and the picks of the lanes are interleaved rather than
+ * served in runs. Empty lanes do not earn credit, so that a lane idle for a while cannot starve the others once it
+ * fills up again.
+ * </p>
+ *
+ * <p>
+ * A consumer may be restricted to the first lanes, which lets the owner reserve some consumers to the most
+ * important ones.
+ * </p>
+ *
+ * @param <T> the type of the items
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class WeightedLanes<T> {
+
+	private final ArrayDeque<T>[] lanes;
+
+	private final int[] weights;
+
+	private final int[] capacities;
+
+	private final int[] credits;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notEmpty = lock.newCondition();
+
+	private boolean closed;
+
+	/**
+	 * Creates empty lanes.
+	 *
+	 * @param weights    the weight of every lane, by decreasing priority
+	 * @param capacities the maximum number of items held by every lane
+	 */
+	@SuppressWarnings("unchecked")
+	public WeightedLanes(int[] weights, int[] capacities) {
+		if (weights.length == 0 || weights.length != capacities.length) {
+			throw new IllegalArgumentException("Every lane must have a weight and a capacity");
+		}
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] < 1 || capacities[i] < 1) {
+				throw new IllegalArgumentException("The weight and the capacity of a lane must be at least 1");
+			}
+		}
+		this.weights = weights.clone();
+		this.capacities = capacities.clone();
+		this.credits = new int[weights.length];
+		this.lanes = new ArrayDeque[weights.length];
+		for (int i = 0; i < lanes.length; i++) {
+			lanes[i] = new ArrayDeque<>();
+		}
+	}
+
+	/**
+	 * Appends an item to a lane, unless it is full or the lanes are closed.
+	 *
+	 * @param lane the index of the lane
+	 * @param item the item to append
+	 * @return {@code true} if the item was appended
+	 */
+	public boolean offer(int lane, T item) {
+		lock.lock();
+		try {
+			if (closed || lanes[lane].size() >= capacities[lane]) {
+				return false;
+			}
+			lanes[lane].addLast(item);
+			// Consumers restricted to other lanes may be waiting as well, all of them get a chance.
+			notEmpty.signalAll();
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the next item of the lanes up to the given one, waiting for one if they are all empty.
+	 *
+	 * @param lastLane the index of the last lane the item may be taken from
+	 * @return the next item, or {@code null} once the lanes are closed and drained
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T take(int lastLane) throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while (true) {
+				int lane = pick(lastLane);
+				if (lane >= 0) {
+					return lanes[lane].pollFirst();
+				}
+				if (closed) {
+					return null;
+				}
+				notEmpty.await();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops accepting items. The items already held can still be taken, after which {@link #take(int)} returns
+	 * {@code null}.
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			notEmpty.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes every item still held.
+	 *
+	 * @return the removed items, by lane
+	 */
+	public List<T> drain() {
+		lock.lock();
+		try {
+			List<T> drained = new ArrayList<>();
+			for (ArrayDeque<T> lane : lanes) {
+				drained.addAll(lane);
+				lane.clear();
+			}
+			return drained;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of items held by a lane.
+	 *
+	 * @param lane the index of the lane
+	 * @return the number of items waiting in the lane
+	 */
+	public int size(int lane) {
+		lock.lock();
+		try {
+			return lanes[lane].size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of items held by all the lanes.
+	 *
+	 * @return the number of items waiting
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			int size = 0;
+			for (ArrayDeque<T> lane : lanes) {
+				size += lane.size();
+			}
+			return size;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private int pick(int lastLane) {
+		int picked = -1;
+		int total = 0;
+		for (int i = 0; i <= lastLane && i < lanes.length; i++) {
+			if (lanes[i].isEmpty()) {
+				continue;
+			}
+			credits[i] += weights[i];
+			total += weights[i];
+			if (picked < 0 || credits[i] > credits[picked]) {
+				picked = i;
+			}
+		}
+		if (picked >= 0) {
+			credits[picked] -= total;
+		}
+		return picked;
+	}
+}
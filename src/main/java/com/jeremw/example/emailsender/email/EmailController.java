@@ -1,21 +1,37 @@
 package com.jeremw.example.emailsender.email;
 
+import java.io.IOException;
+import java.util.List;
+
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
 import com.jeremw.example.emailsender.email.dto.RawEmailForm;
 import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import com.jeremw.example.emailsender.exception.ResourceException;
 import com.jeremw.example.emailsender.exception.ResourceExceptionDTO;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.mail.MessagingException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * Controller for handling email sending operations.
@@ -37,6 +53,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/email")
 public interface EmailController {
 
+	/**
+	 * The header identifying a send request, so that its repetitions are not sent again.
+	 */
+	String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
 	/**
 	 * Handles HTTP POST requests to send raw email data.
 	 *
@@ -44,18 +65,78 @@ public interface EmailController {
 	 * processes it, and sends an email accordingly. It returns a {@link ResponseEntity} with a
 	 * status message indicating the result of the email sending operation.</p>
 	 *
-	 * @param rawEmailForm an instance of {@link RawEmailForm} containing the raw email data to be sent
+	 * <p>When the asynchronous mode is enabled, the email is only queued and a {@code 202 Accepted} is returned
+	 * with the job identifier in the {@code X-Email-Job-Id} header.</p>
+	 *
+	 * <p>A request repeated with the same {@code Idempotency-Key} header is answered with the response of the first
+	 * one, without sending the email again.</p>
+	 *
+	 * @param idempotencyKey the key identifying the request, or {@code null}
+	 * @param rawEmailForm   an instance of {@link RawEmailForm} containing the raw email data to be sent
 	 * @return a {@link ResponseEntity} containing a status message as a {@link String}
 	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued, or the idempotency key cannot be honored
 	 */
 	@Operation(summary = "Send Raw Email Data")
 	@ApiResponse(responseCode = "200", description = "Email sent successfully.")
+	@ApiResponse(responseCode = "202", description = "Email queued for sending.")
+	@ApiResponse(responseCode = "207", description = "Email sent to some of its recipients only.",
+			content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchEmailResult.class))))
 	@ApiResponse(responseCode = "400", description = "Invalid input data.",
 			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "409", description = "Same request already being handled.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "422", description = "Idempotency key already used for another request.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
 	@ApiResponse(responseCode = "500", description = "Internal server error.",
 			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "503", description = "Email queue full.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
 	@PostMapping("/raw")
-	ResponseEntity<String> sendRowData(@Valid @RequestBody RawEmailForm rawEmailForm) throws MessagingException;
+	ResponseEntity<String> sendRowData(
+			@Parameter(description = "Key identifying the request, so that its repetitions are not sent again")
+			@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+			@Valid @RequestBody RawEmailForm rawEmailForm) throws MessagingException, ResourceException;
+
+	/**
+	 * Handles HTTP POST requests to send raw email data along with attachments.
+	 *
+	 * <p>This method receives a {@code multipart/form-data} request whose {@code email} part holds the raw email
+	 * data as JSON, and whose {@code attachments} parts hold the files to attach. The files are spooled to disk and
+	 * streamed into the message when it is sent, so that large files are never held in memory; a file attached to
+	 * an email with several recipients is stored once.</p>
+	 *
+	 * @param idempotencyKey the key identifying the request, or {@code null}
+	 * @param rawEmailForm   an instance of {@link RawEmailForm} containing the raw email data to be sent
+	 * @param attachments    the files to attach, or {@code null}
+	 * @return a {@link ResponseEntity} containing a status message as a {@link String}
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the attachments cannot be stored, the email cannot be queued, or the idempotency
+	 *                            key cannot be honored
+	 */
+	@Operation(summary = "Send Raw Email Data with attachments")
+	@ApiResponse(responseCode = "200", description = "Email sent successfully.")
+	@ApiResponse(responseCode = "202", description = "Email queued for sending.")
+	@ApiResponse(responseCode = "207", description = "Email sent to some of its recipients only.",
+			content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchEmailResult.class))))
+	@ApiResponse(responseCode = "400", description = "Invalid input data.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "409", description = "Same request already being handled.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "413", description = "Too many or too large attachments.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "422", description = "Idempotency key already used for another request.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "500", description = "Internal server error.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "503", description = "Email queue full or attachments not stored.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@PostMapping(value = "/raw", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	ResponseEntity<String> sendRowDataWithAttachments(
+			@Parameter(description = "Key identifying the request, so that its repetitions are not sent again")
+			@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+			@Valid @RequestPart("email") RawEmailForm rawEmailForm,
+			@RequestPart(name = "attachments", required = false) List<MultipartFile> attachments) throws MessagingException, ResourceException;
 
 	/**
 	 * Handles HTTP POST requests to send email data using a template.
@@ -64,16 +145,151 @@ public interface EmailController {
 	 * processes it, and sends an email accordingly. It returns a {@link ResponseEntity} with a
 	 * status message indicating the result of the email sending operation.</p>
 	 *
+	 * <p>When the asynchronous mode is enabled, the email is only queued and a {@code 202 Accepted} is returned
+	 * with the job identifier in the {@code X-Email-Job-Id} header.</p>
+	 *
+	 * <p>A request repeated with the same {@code Idempotency-Key} header is answered with the response of the first
+	 * one, without sending the email again.</p>
+	 *
+	 * @param idempotencyKey    the key identifying the request, or {@code null}
 	 * @param templateEmailForm an instance of {@link TemplateEmailForm} containing the template email data to be sent
 	 * @return a {@link ResponseEntity} containing a status message as a {@link String}
 	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued, or the idempotency key cannot be honored
 	 */
 	@Operation(summary = "Send email data using a template")
 	@ApiResponse(responseCode = "200", description = "Email sent successfully.")
+	@ApiResponse(responseCode = "202", description = "Email queued for sending.")
 	@ApiResponse(responseCode = "400", description = "Invalid input data.",
 			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "409", description = "Same request already being handled.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "422", description = "Idempotency key already used for another request.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
 	@ApiResponse(responseCode = "500", description = "Internal server error.",
 			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "503", description = "Email queue full.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
 	@PostMapping("/template")
-	ResponseEntity<String> sendTemplateData(@Valid @RequestBody TemplateEmailForm templateEmailForm) throws MessagingException;
+	ResponseEntity<String> sendTemplateData(
+			@Parameter(description = "Key identifying the request, so that its repetitions are not sent again")
+			@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+			@Valid @RequestBody TemplateEmailForm templateEmailForm) throws MessagingException, ResourceException;
+
+	/**
+	 * Handles HTTP POST requests to send email data using a template along with attachments.
+	 *
+	 * <p>This method receives a {@code multipart/form-data} request whose {@code email} part holds the template
+	 * email data as JSON, and whose {@code attachments} parts hold the files to attach. The files are spooled to
+	 * disk and streamed into the message when it is sent, so that large files are never held in memory.</p>
+	 *
+	 * @param idempotencyKey    the key identifying the request, or {@code null}
+	 * @param templateEmailForm an instance of {@link TemplateEmailForm} containing the template email data to be sent
+	 * @param attachments       the files to attach, or {@code null}
+	 * @return a {@link ResponseEntity} containing a status message as a {@link String}
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the attachments cannot be stored, the email cannot be queued, or the idempotency
+	 *                            key cannot be honored
+	 */
+	@Operation(summary = "Send email data using a template with attachments")
+	@ApiResponse(responseCode = "200", description = "Email sent successfully.")
+	@ApiResponse(responseCode = "202", description = "Email queued for sending.")
+	@ApiResponse(responseCode = "400", description = "Invalid input data.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "409", description = "Same request already being handled.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "413", description = "Too many or too large attachments.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "422", description = "Idempotency key already used for another request.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "500", description = "Internal server error.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "503", description = "Email queue full or attachments not stored.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@PostMapping(value = "/template", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	ResponseEntity<String> sendTemplateDataWithAttachments(
+			@Parameter(description = "Key identifying the request, so that its repetitions are not sent again")
+			@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+			@Valid @RequestPart("email") TemplateEmailForm templateEmailForm,
+			@RequestPart(name = "attachments", required = false) List<MultipartFile> attachments) throws MessagingException, ResourceException;
+
+	/**
+	 * Handles HTTP POST requests to send several raw emails at once.
+	 *
+	 * <p>This method receives a JSON array of raw email data. Every item is validated up front; the valid ones are
+	 * then sent over shared SMTP connections. It returns one {@link BatchEmailResult} per item, in the same order,
+	 * so that a failing item does not fail the whole batch.</p>
+	 *
+	 * @param rawEmailForms the raw email data to be sent
+	 * @return a {@link ResponseEntity} containing the result of every email
+	 * @throws ResourceException if the batch is empty or too large
+	 */
+	@Operation(summary = "Send several Raw Emails")
+	@ApiResponse(responseCode = "200", description = "Batch processed, see the result of every email.")
+	@ApiResponse(responseCode = "202", description = "Batch queued for sending.")
+	@ApiResponse(responseCode = "400", description = "Empty batch.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "413", description = "Batch too large.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@PostMapping("/raw/batch")
+	ResponseEntity<List<BatchEmailResult>> sendRowDataBatch(@RequestBody List<RawEmailForm> rawEmailForms) throws ResourceException;
+
+	/**
+	 * Handles HTTP POST requests to send several emails using a template at once.
+	 *
+	 * <p>This method receives a JSON array of template email data. Every item is validated up front; the valid ones
+	 * are then rendered and sent over shared SMTP connections. It returns one {@link BatchEmailResult} per item,
+	 * in the same order, so that a failing item does not fail the whole batch.</p>
+	 *
+	 * @param templateEmailForms the template email data to be sent
+	 * @return a {@link ResponseEntity} containing the result of every email
+	 * @throws ResourceException if the batch is empty or too large
+	 */
+	@Operation(summary = "Send several emails using a template")
+	@ApiResponse(responseCode = "200", description = "Batch processed, see the result of every email.")
+	@ApiResponse(responseCode = "202", description = "Batch queued for sending.")
+	@ApiResponse(responseCode = "400", description = "Empty batch.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@ApiResponse(responseCode = "413", description = "Batch too large.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@PostMapping("/template/batch")
+	ResponseEntity<List<BatchEmailResult>> sendTemplateDataBatch(@RequestBody List<TemplateEmailForm> templateEmailForms) throws ResourceException;
+
+	/**
+	 * Handles HTTP GET requests for the status of an email.
+	 *
+	 * <p>This method returns the last known {@link EmailDeliveryStatus} of the send job whose identifier was
+	 * returned in the {@code X-Email-Job-Id} header: queued, scheduled, sent, retrying, failed or rejected, when it
+	 * was accepted and last updated, and the reply of the SMTP server to the last failed attempt.</p>
+	 *
+	 * @param jobId the identifier of the send job
+	 * @return a {@link ResponseEntity} containing the last known status of the email
+	 * @throws ResourceException if no status is known for the job
+	 */
+	@Operation(summary = "Get the status of an email")
+	@ApiResponse(responseCode = "200", description = "Last known status of the email.")
+	@ApiResponse(responseCode = "404", description = "Unknown or expired email.",
+			content = @Content(schema = @Schema(implementation = ResourceExceptionDTO.class)))
+	@GetMapping("/{jobId}/status")
+	ResponseEntity<EmailDeliveryStatus> getStatus(
+			@Parameter(description = "Identifier of the send job, from the X-Email-Job-Id header")
+			@PathVariable("jobId") String jobId) throws ResourceException;
+
+	/**
+	 * Handles HTTP POST requests streaming emails using a template as NDJSON.
+	 *
+	 * <p>This method reads the request body incrementally, one template email form per line, and writes back one
+	 * {@link BatchEmailResult} per line as soon as it is known. Its memory usage does not depend on the size of the
+	 * input, which makes it suitable for very large recipient lists. The {@code index} of every result is the line
+	 * number it refers to.</p>
+	 *
+	 * @param request  the HTTP request whose body is read
+	 * @param response the HTTP response the results are written to
+	 * @throws IOException if the request cannot be read or the response cannot be written
+	 */
+	@Operation(summary = "Stream emails using a template as NDJSON")
+	@ApiResponse(responseCode = "200", description = "Stream processed, one NDJSON result per input line.")
+	@PostMapping(value = "/template/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+			produces = MediaType.APPLICATION_NDJSON_VALUE)
+	void sendTemplateDataStream(HttpServletRequest request, HttpServletResponse response) throws IOException;
 }
@@ -1,18 +1,29 @@
 package com.jeremw.example.emailsender.email;
 
-import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.jeremw.example.emailsender.email.attachment.AttachmentStore;
+import com.jeremw.example.emailsender.email.attachment.EmailAttachment;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
 import com.jeremw.example.emailsender.email.dto.RawEmailForm;
 import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import com.jeremw.example.emailsender.email.stream.EmailStreamProcessor;
+import com.jeremw.example.emailsender.exception.ResourceException;
 import jakarta.mail.MessagingException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.thymeleaf.context.Context;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * Implementation of {@link EmailController}.
@@ -22,70 +33,179 @@ import org.springframework.stereotype.Component;
  * </p>
  *
  * <p>
- * It contains methods to send emails either with raw data or using templates. Each method delegates the email sending process to the {@link EmailService}.
+ * It contains methods to send emails either with raw data or using templates. Each method delegates the request to
+ * the {@link EmailRequestHandler}, which builds an {@link EmailJob} per email and hands it over to the
+ * {@link com.jeremw.example.emailsender.email.queue.EmailJobDispatcher}, which either sends it right away through the
+ * {@link EmailService} or queues it. It serves the requests on servlet threads; the reactive stack is served by the
+ * controller of the {@code reactive} build profile instead. Uploaded attachments are handed over to the
+ * {@link AttachmentStore} before the request is handled.
  * </p>
  *
  * @author Jérémy Woirhaye
  * @version 1.0
  * @since 17/05/2024
  */
-@Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmailControllerImpl implements EmailController {
 
-	private final static String TEMPLATE_EMAIL_SUBJECT = "Bienvenue chez Votre Société";
+	private final EmailRequestHandler emailRequestHandler;
 
-	private final EmailService emailService;
+	private final EmailStreamProcessor emailStreamProcessor;
+
+	private final AttachmentStore attachmentStore;
 
 	/**
 	 * Handles HTTP POST requests to send raw email data.
 	 *
-	 * <p>This method receives a {@link RawEmailForm} object representing raw email data,
-	 * extracts necessary information (recipient, subject, content), and delegates the email sending process to the {@link EmailService}.
-	 * It then returns a {@link ResponseEntity} indicating the success of the operation.</p>
+	 * <p>This method delegates the {@link RawEmailForm} to the {@link EmailRequestHandler}, which sends one message
+	 * per recipient, or per group of recipients, and answers repeated requests with the response of the first
+	 * one.</p>
+	 *
+	 * @param idempotencyKey the key identifying the request, or {@code null}
+	 * @param rawEmailForm   an instance of {@link RawEmailForm} containing the raw email data to be sent
+	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued, has too many recipients or could not be sent to some
+	 *                            of them, or if the idempotency key cannot be honored
+	 */
+	@Override
+	public ResponseEntity<String> sendRowData(final String idempotencyKey, final RawEmailForm rawEmailForm) throws MessagingException, ResourceException {
+		return emailRequestHandler.sendRowData(idempotencyKey, rawEmailForm);
+	}
+
+	/**
+	 * Handles HTTP POST requests to send raw email data along with attachments.
+	 *
+	 * <p>This method stores the uploaded files in the {@link AttachmentStore}, then delegates the
+	 * {@link RawEmailForm} to the {@link EmailRequestHandler}, every message referencing the stored files.</p>
 	 *
-	 * @param rawEmailForm an instance of {@link RawEmailForm} containing the raw email data to be sent
+	 * @param idempotencyKey the key identifying the request, or {@code null}
+	 * @param rawEmailForm   an instance of {@link RawEmailForm} containing the raw email data to be sent
+	 * @param attachments    the files to attach, or {@code null}
 	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
 	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the attachments cannot be stored, the email cannot be queued, has too many
+	 *                            recipients or could not be sent to some of them, or if the idempotency key cannot
+	 *                            be honored
 	 */
 	@Override
-	public ResponseEntity<String> sendRowData(final RawEmailForm rawEmailForm) throws MessagingException {
-		emailService.sendRowText(rawEmailForm.getTo(), rawEmailForm.getSubject(), rawEmailForm.getContent());
-		log.info("Raw email successfully sent to {}", rawEmailForm.getTo());
-		return ResponseEntity.ok("Raw email sent successfully.");
+	public ResponseEntity<String> sendRowDataWithAttachments(final String idempotencyKey, final RawEmailForm rawEmailForm,
+			final List<MultipartFile> attachments) throws MessagingException, ResourceException {
+		return emailRequestHandler.sendRowData(idempotencyKey, rawEmailForm, store(attachments));
 	}
 
 	/**
 	 * Handles HTTP POST requests to send email data using a template.
 	 *
-	 * <p>This method receives a {@link TemplateEmailForm} object representing email data with a template,
-	 * prepares necessary variables (such as name, email, signup date) and delegates the email sending process to the {@link EmailService}.
-	 * It then returns a {@link ResponseEntity} indicating the success of the operation.</p>
+	 * <p>This method delegates the {@link TemplateEmailForm} to the {@link EmailRequestHandler}, which renders and
+	 * sends the template and answers repeated requests with the response of the first one.</p>
+	 *
+	 * @param idempotencyKey    the key identifying the request, or {@code null}
+	 * @param templateEmailForm an instance of {@link TemplateEmailForm} containing the template email data to be sent
+	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued, or if the idempotency key cannot be honored
+	 */
+	@Override
+	public ResponseEntity<String> sendTemplateData(final String idempotencyKey, final TemplateEmailForm templateEmailForm) throws MessagingException, ResourceException {
+		return emailRequestHandler.sendTemplateData(idempotencyKey, templateEmailForm);
+	}
+
+	/**
+	 * Handles HTTP POST requests to send email data using a template along with attachments.
+	 *
+	 * <p>This method stores the uploaded files in the {@link AttachmentStore}, then delegates the
+	 * {@link TemplateEmailForm} to the {@link EmailRequestHandler}.</p>
 	 *
+	 * @param idempotencyKey    the key identifying the request, or {@code null}
 	 * @param templateEmailForm an instance of {@link TemplateEmailForm} containing the template email data to be sent
+	 * @param attachments       the files to attach, or {@code null}
 	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
 	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the attachments cannot be stored, the email cannot be queued, or if the
+	 *                            idempotency key cannot be honored
+	 */
+	@Override
+	public ResponseEntity<String> sendTemplateDataWithAttachments(final String idempotencyKey,
+			final TemplateEmailForm templateEmailForm, final List<MultipartFile> attachments) throws MessagingException, ResourceException {
+		return emailRequestHandler.sendTemplateData(idempotencyKey, templateEmailForm, store(attachments));
+	}
+
+	/**
+	 * Handles HTTP POST requests to send several raw emails at once.
+	 *
+	 * <p>This method delegates the batch to the {@link EmailRequestHandler}, which validates every
+	 * {@link RawEmailForm} and sends the valid ones over shared SMTP connections.</p>
+	 *
+	 * @param rawEmailForms the raw email data to be sent
+	 * @return a {@link ResponseEntity} containing the result of every email
+	 * @throws ResourceException if the batch is empty or too large
+	 */
+	@Override
+	public ResponseEntity<List<BatchEmailResult>> sendRowDataBatch(final List<RawEmailForm> rawEmailForms) throws ResourceException {
+		return emailRequestHandler.sendRowDataBatch(rawEmailForms);
+	}
+
+	/**
+	 * Handles HTTP POST requests to send several emails using a template at once.
+	 *
+	 * <p>This method delegates the batch to the {@link EmailRequestHandler}, which validates every
+	 * {@link TemplateEmailForm} and renders and sends the valid ones over shared SMTP connections.</p>
+	 *
+	 * @param templateEmailForms the template email data to be sent
+	 * @return a {@link ResponseEntity} containing the result of every email
+	 * @throws ResourceException if the batch is empty or too large
+	 */
+	@Override
+	public ResponseEntity<List<BatchEmailResult>> sendTemplateDataBatch(final List<TemplateEmailForm> templateEmailForms) throws ResourceException {
+		return emailRequestHandler.sendTemplateDataBatch(templateEmailForms);
+	}
+
+	/**
+	 * Handles HTTP GET requests for the status of an email.
+	 *
+	 * <p>This method delegates the lookup to the {@link EmailRequestHandler}.</p>
+	 *
+	 * @param jobId the identifier of the send job
+	 * @return a {@link ResponseEntity} containing the last known status of the email
+	 * @throws ResourceException if no status is known for the job
+	 */
+	@Override
+	public ResponseEntity<EmailDeliveryStatus> getStatus(final String jobId) throws ResourceException {
+		return emailRequestHandler.getStatus(jobId);
+	}
+
+	/**
+	 * Handles HTTP POST requests streaming emails using a template as NDJSON.
+	 *
+	 * <p>This method hands the request and response bodies over to the {@link EmailStreamProcessor}, which reads,
+	 * validates and sends the forms incrementally while streaming the results back.</p>
+	 *
+	 * @param request  the HTTP request whose body is read
+	 * @param response the HTTP response the results are written to
+	 * @throws IOException if the request cannot be read or the response cannot be written
 	 */
 	@Override
-	public ResponseEntity<String> sendTemplateData(final TemplateEmailForm templateEmailForm) throws MessagingException {
-		Map<String, Object> variables = prepareTemplateVariables(templateEmailForm);
-		Context context = new Context();
-		context.setVariables(variables);
-
-		emailService.sentHtmlTemplate(templateEmailForm.getTo(), TEMPLATE_EMAIL_SUBJECT, "example-template", context);
-		log.info("Template email successfully sent to {}", templateEmailForm.getTo());
-		return ResponseEntity.ok("Template email sent successfully.");
+	public void sendTemplateDataStream(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		emailStreamProcessor.process(request.getInputStream(), response.getOutputStream(), TemplateEmailForm.class,
+				TemplateEmailForm::getTo, emailRequestHandler::toTemplateJob);
 	}
 
-	private Map<String, Object> prepareTemplateVariables(TemplateEmailForm templateEmailForm) {
-		Map<String, Object> variables = new HashMap<>();
-		variables.put("subject", TEMPLATE_EMAIL_SUBJECT);
-		variables.put("name", templateEmailForm.getName());
-		variables.put("email", templateEmailForm.getTo());
-		variables.put("signupDate", LocalDate.now().toString());
-		variables.put("companyName", templateEmailForm.getCompanyName());
-		variables.put("currentYear", LocalDate.now().getYear());
-		return variables;
+	private List<EmailAttachment> store(List<MultipartFile> files) throws ResourceException {
+		if (files == null) {
+			return List.of();
+		}
+		List<MultipartFile> uploaded = files.stream().filter(file -> !file.isEmpty()).toList();
+		attachmentStore.checkCount(uploaded.size());
+		List<EmailAttachment> attachments = new ArrayList<>(uploaded.size());
+		for (MultipartFile file : uploaded) {
+			attachments.add(attachmentStore.store(file.getOriginalFilename(), file.getContentType(), file::transferTo));
+		}
+		return attachments;
 	}
 }
@@ -0,0 +1,48 @@
+package com.jeremw.example.emailsender.email;
+
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates email forms outside of the regular {@code @Valid} request body binding.
+ *
+ * <p>
+ * Used by the endpoints handling several forms per request, so that an invalid form is reported on its own
+ * instead of failing the whole request.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailFormValidator {
+
+	private final Validator validator;
+
+	/**
+	 * Validates the given form against its jakarta.validation constraints.
+	 *
+	 * @param form the form to validate, possibly {@code null}
+	 * @param <T>  the type of the form
+	 * @return the concatenated constraint messages, or {@code null} if the form is valid
+	 */
+	public <T> String validate(T form) {
+		if (form == null) {
+			return "The email is required.";
+		}
+		Set<ConstraintViolation<T>> violations = validator.validate(form);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		StringBuilder eMsg = new StringBuilder();
+		violations.forEach(v -> eMsg.append(v.getMessage()).append(", "));
+		return eMsg.toString();
+	}
+}
@@ -0,0 +1,430 @@
+package com.jeremw.example.emailsender.email;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.attachment.EmailAttachment;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
+import com.jeremw.example.emailsender.email.dto.RawEmailForm;
+import com.jeremw.example.emailsender.email.dto.RecipientMode;
+import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import com.jeremw.example.emailsender.email.idempotency.IdempotencyStore;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobDispatcher;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import com.jeremw.example.emailsender.email.queue.EmailPriority;
+import com.jeremw.example.emailsender.email.queue.RecipientGroups;
+import com.jeremw.example.emailsender.email.schedule.EmailSendScheduler;
+import com.jeremw.example.emailsender.email.status.EmailStatusIndex;
+import com.jeremw.example.emailsender.email.template.PreparedTemplate;
+import com.jeremw.example.emailsender.email.template.TemplateRegistry;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import jakarta.mail.MessagingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles the send requests received by the email controllers, independently of the web stack serving them.
+ *
+ * <p>
+ * It validates the forms, builds an {@link EmailJob} per email and delegates their sending to the
+ * {@link EmailJobDispatcher}, which either sends them right away through the {@link EmailService} or queues them.
+ * The outcome is returned as the {@link ResponseEntity} to answer, so that the servlet {@link EmailControllerImpl}
+ * and the reactive controller answer the same way.
+ * </p>
+ *
+ * <p>
+ * Its methods block until the emails are sent or queued: callers running on an event loop must offload them.
+ * </p>
+ *
+ * <p>
+ * Emails without an explicit priority are sent as {@link EmailPriority#HIGH} when rendered from a template for a
+ * single recipient, such as welcome emails, as {@link EmailPriority#BULK} when part of a batch, a stream or an
+ * email to several recipients, and as {@link EmailPriority#NORMAL} otherwise.
+ * </p>
+ *
+ * <p>
+ * Attachments are stored by the controllers before the request is handled: every job of the request only
+ * references them, so that they are stored once however many recipients the email has.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailRequestHandler {
+
+	private final static String JOB_ID_HEADER = "X-Email-Job-Id";
+
+	private final EmailJobDispatcher emailJobDispatcher;
+
+	private final EmailFormValidator emailFormValidator;
+
+	private final IdempotencyStore idempotencyStore;
+
+	private final EmailSendScheduler emailSendScheduler;
+
+	private final TemplateRegistry templateRegistry;
+
+	private final EmailStatusIndex emailStatusIndex;
+
+	private final ObjectMapper objectMapper;
+
+	@Value("${custom.mail.batch.max-size:1000}")
+	private int maxBatchSize;
+
+	@Value("${custom.mail.recipients.max-per-message:50}")
+	private int maxRecipientsPerMessage;
+
+	/**
+	 * Handles a request to send raw email data.
+	 *
+	 * <p>This method receives a {@link RawEmailForm} object representing raw email data,
+	 * extracts necessary information (recipients, subject, content), and delegates the email sending process to the {@link EmailJobDispatcher}.
+	 * It then returns a {@link ResponseEntity} indicating the success of the operation.</p>
+	 *
+	 * <p>When the email has several recipients, one job is dispatched per recipient, or per group of recipients
+	 * sharing the same domain in {@link RecipientMode#GROUPED} mode, and the identifiers of all the jobs are returned
+	 * in the {@code X-Email-Job-Id} header. When some of the messages could not be sent, the response is a
+	 * {@code 207 Multi-Status} holding the {@link BatchEmailResult} of every message, so that the client knows which
+	 * ones went through.</p>
+	 *
+	 * <p>A request repeated with the same idempotency key, or an identical request within the deduplication
+	 * window, is answered by the {@link IdempotencyStore} with the response of the first one.</p>
+	 *
+	 * @param idempotencyKey the key identifying the request, or {@code null}
+	 * @param rawEmailForm   an instance of {@link RawEmailForm} containing the raw email data to be sent
+	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued or has too many recipients, or if the idempotency key
+	 *                            cannot be honored
+	 */
+	public ResponseEntity<String> sendRowData(final String idempotencyKey, final RawEmailForm rawEmailForm) throws MessagingException, ResourceException {
+		return sendRowData(idempotencyKey, rawEmailForm, List.of());
+	}
+
+	/**
+	 * Handles a request to send raw email data along with attachments.
+	 *
+	 * <p>Every message sent for the request references the same stored attachments. Requests are deduplicated
+	 * on the form and the content of the attachments.</p>
+	 *
+	 * @param idempotencyKey the key identifying the request, or {@code null}
+	 * @param rawEmailForm   an instance of {@link RawEmailForm} containing the raw email data to be sent
+	 * @param attachments    the stored attachments of the email
+	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued or has too many recipients, or if the idempotency key
+	 *                            cannot be honored
+	 */
+	public ResponseEntity<String> sendRowData(final String idempotencyKey, final RawEmailForm rawEmailForm,
+			final List<EmailAttachment> attachments) throws MessagingException, ResourceException {
+		return idempotencyStore.execute("raw", idempotencyKey, fingerprinted(rawEmailForm, attachments),
+				() -> sendRowData(rawEmailForm, attachments));
+	}
+
+	private ResponseEntity<String> sendRowData(RawEmailForm rawEmailForm, List<EmailAttachment> attachments) throws MessagingException, ResourceException {
+		emailSendScheduler.checkSendAt(toInstant(rawEmailForm.getSendAt()));
+		List<EmailJob> jobs = toRawJobs(rawEmailForm, attachments);
+		if (jobs.size() > 1) {
+			return sendRowDataToRecipients(jobs);
+		}
+		EmailJob job = jobs.get(0);
+		EmailJobReceipt receipt = emailJobDispatcher.dispatch(job);
+		if (receipt.isDeferred()) {
+			log.info("Raw email to {} deferred as job {} ({})", job.describeRecipients(), receipt.getJobId(), receipt.getStatus());
+			return accepted(receipt, "Raw email");
+		}
+		log.info("Raw email successfully sent to {}", job.describeRecipients());
+		return ResponseEntity.ok().header(JOB_ID_HEADER, receipt.getJobId()).body("Raw email sent successfully.");
+	}
+
+	/**
+	 * Handles a request to send email data using a template.
+	 *
+	 * <p>This method receives a {@link TemplateEmailForm} object representing email data with a template,
+	 * prepares the template registered under its identifier in the {@link TemplateRegistry}, rendering its subject,
+	 * and delegates the email sending process to the {@link EmailJobDispatcher}.
+	 * It then returns a {@link ResponseEntity} indicating the success of the operation.</p>
+	 *
+	 * <p>A request repeated with the same idempotency key, or an identical request within the deduplication
+	 * window, is answered by the {@link IdempotencyStore} with the response of the first one.</p>
+	 *
+	 * @param idempotencyKey    the key identifying the request, or {@code null}
+	 * @param templateEmailForm an instance of {@link TemplateEmailForm} containing the template email data to be sent
+	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued, or if the idempotency key cannot be honored
+	 */
+	public ResponseEntity<String> sendTemplateData(final String idempotencyKey, final TemplateEmailForm templateEmailForm) throws MessagingException, ResourceException {
+		return sendTemplateData(idempotencyKey, templateEmailForm, List.of());
+	}
+
+	/**
+	 * Handles a request to send email data using a template along with attachments.
+	 *
+	 * <p>Requests are deduplicated on the form and the content of the attachments.</p>
+	 *
+	 * @param idempotencyKey    the key identifying the request, or {@code null}
+	 * @param templateEmailForm an instance of {@link TemplateEmailForm} containing the template email data to be sent
+	 * @param attachments       the stored attachments of the email
+	 * @return a {@link ResponseEntity} indicating the success of the email sending operation
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the email cannot be queued, or if the idempotency key cannot be honored
+	 */
+	public ResponseEntity<String> sendTemplateData(final String idempotencyKey, final TemplateEmailForm templateEmailForm,
+			final List<EmailAttachment> attachments) throws MessagingException, ResourceException {
+		return idempotencyStore.execute("template", idempotencyKey, fingerprinted(templateEmailForm, attachments),
+				() -> sendTemplateData(templateEmailForm, attachments));
+	}
+
+	private ResponseEntity<String> sendTemplateData(TemplateEmailForm templateEmailForm, List<EmailAttachment> attachments) throws MessagingException, ResourceException {
+		EmailJob job = toTemplateJob(templateEmailForm, EmailPriority.HIGH).attaching(attachments);
+
+		EmailJobReceipt receipt = emailJobDispatcher.dispatch(job);
+		if (receipt.isDeferred()) {
+			log.info("Template email to {} deferred as job {} ({})", templateEmailForm.getTo(), receipt.getJobId(),
+					receipt.getStatus());
+			return accepted(receipt, "Template email");
+		}
+		log.info("Template email successfully sent to {}", templateEmailForm.getTo());
+		return ResponseEntity.ok().header(JOB_ID_HEADER, receipt.getJobId()).body("Template email sent successfully.");
+	}
+
+	/**
+	 * Handles a request to send several raw emails at once.
+	 *
+	 * <p>This method validates every {@link RawEmailForm} of the batch, builds a job for each valid one and delegates
+	 * their sending to the {@link EmailJobDispatcher}, which groups them over shared SMTP connections.</p>
+	 *
+	 * @param rawEmailForms the raw email data to be sent
+	 * @return a {@link ResponseEntity} containing the result of every email
+	 * @throws ResourceException if the batch is empty or too large
+	 */
+	public ResponseEntity<List<BatchEmailResult>> sendRowDataBatch(final List<RawEmailForm> rawEmailForms) throws ResourceException {
+		return sendBatch(rawEmailForms, RawEmailForm::getTo,
+				form -> form.getAllRecipients().size() > 1 ? "A batched email must have a single recipient." : null,
+				form -> EmailJob.raw(form.getAllRecipients().get(0), form.getSubject(), form.getContent())
+						.scheduledAt(toInstant(form.getSendAt()))
+						.prioritized(priority(form.getPriority(), EmailPriority.BULK)));
+	}
+
+	/**
+	 * Handles a request to send several emails using a template at once.
+	 *
+	 * <p>This method validates every {@link TemplateEmailForm} of the batch, including its template variables,
+	 * prepares the template of each valid one and delegates their sending to the {@link EmailJobDispatcher}, which groups them over shared SMTP
+	 * connections.</p>
+	 *
+	 * @param templateEmailForms the template email data to be sent
+	 * @return a {@link ResponseEntity} containing the result of every email
+	 * @throws ResourceException if the batch is empty or too large
+	 */
+	public ResponseEntity<List<BatchEmailResult>> sendTemplateDataBatch(final List<TemplateEmailForm> templateEmailForms) throws ResourceException {
+		return sendBatch(templateEmailForms, TemplateEmailForm::getTo, form -> null, this::toTemplateJob);
+	}
+
+	/**
+	 * Handles a request for the status of an email.
+	 *
+	 * <p>The status is looked up in the {@link EmailStatusIndex} of this instance, which only knows the jobs it
+	 * dispatched in the last {@code custom.mail.status.ttl}.</p>
+	 *
+	 * @param jobId the identifier of the send job, as returned in the {@code X-Email-Job-Id} header
+	 * @return a {@link ResponseEntity} containing the last known status of the email
+	 * @throws ResourceException if no status is known for the job
+	 */
+	public ResponseEntity<EmailDeliveryStatus> getStatus(final String jobId) throws ResourceException {
+		EmailDeliveryStatus status = emailStatusIndex.find(jobId).orElseThrow(() -> new ResourceException(
+				"EmailStatusNotFound", "No status is known for this email.", HttpStatus.NOT_FOUND));
+		return ResponseEntity.ok(status);
+	}
+
+	private <T> ResponseEntity<List<BatchEmailResult>> sendBatch(List<T> forms, Function<T, String> recipient,
+			Function<T, String> batchConstraint, Function<T, EmailJob> jobFactory) throws ResourceException {
+		if (forms == null || forms.isEmpty()) {
+			throw new ResourceException("EmptyBatch", "The batch must contain at least one email.", HttpStatus.BAD_REQUEST);
+		}
+		if (forms.size() > maxBatchSize) {
+			throw new ResourceException("BatchTooLarge", "The batch must not exceed " + maxBatchSize + " emails.",
+					HttpStatus.PAYLOAD_TOO_LARGE);
+		}
+
+		BatchEmailResult[] results = new BatchEmailResult[forms.size()];
+		List<EmailJob> jobs = new ArrayList<>(forms.size());
+		List<Integer> positions = new ArrayList<>(forms.size());
+		for (int i = 0; i < forms.size(); i++) {
+			T form = forms.get(i);
+			String error = emailFormValidator.validate(form);
+			if (error == null) {
+				error = batchConstraint.apply(form);
+			}
+			if (error != null) {
+				results[i] = BatchEmailResult.builder()
+						.index(i)
+						.to(form != null ? recipient.apply(form) : null)
+						.status(EmailJobStatus.REJECTED)
+						.error(error)
+						.build();
+				continue;
+			}
+			jobs.add(jobFactory.apply(form));
+			positions.add(i);
+		}
+
+		List<EmailJobReceipt> receipts = emailJobDispatcher.dispatchAll(jobs);
+		boolean deferred = false;
+		for (int k = 0; k < receipts.size(); k++) {
+			EmailJobReceipt receipt = receipts.get(k);
+			int index = positions.get(k);
+			results[index] = BatchEmailResult.builder()
+					.index(index)
+					.to(jobs.get(k).getTo())
+					.jobId(receipt.getJobId())
+					.status(receipt.getStatus())
+					.error(receipt.getError())
+					.build();
+			deferred |= receipt.isDeferred();
+		}
+		log.info("Batch of {} emails processed, {} valid", forms.size(), jobs.size());
+		return ResponseEntity.status(deferred ? HttpStatus.ACCEPTED : HttpStatus.OK).body(Arrays.asList(results));
+	}
+
+	private ResponseEntity<String> sendRowDataToRecipients(List<EmailJob> jobs) {
+		List<EmailJobReceipt> receipts = emailJobDispatcher.dispatchAll(jobs);
+		int failures = 0;
+		boolean deferred = false;
+		for (EmailJobReceipt receipt : receipts) {
+			if (receipt.getStatus() == EmailJobStatus.FAILED || receipt.getStatus() == EmailJobStatus.REJECTED) {
+				failures++;
+			}
+			deferred |= receipt.isDeferred();
+		}
+		String[] jobIds = receipts.stream().map(EmailJobReceipt::getJobId).toArray(String[]::new);
+		if (failures > 0) {
+			log.warn("Raw email could not be sent in {} of {} messages", failures, jobs.size());
+			return ResponseEntity.status(HttpStatus.MULTI_STATUS)
+					.header(JOB_ID_HEADER, jobIds)
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(toJson(messageResults(jobs, receipts)));
+		}
+		boolean scheduled = receipts.stream().allMatch(receipt -> receipt.getStatus() == EmailJobStatus.SCHEDULED);
+		log.info("Raw email dispatched in {} messages ({})", jobs.size(), deferred ? "deferred" : "sent");
+		return ResponseEntity.status(deferred ? HttpStatus.ACCEPTED : HttpStatus.OK)
+				.header(JOB_ID_HEADER, jobIds)
+				.body(scheduled ? "Raw email scheduled successfully."
+						: deferred ? "Raw email queued successfully." : "Raw email sent successfully.");
+	}
+
+	// One result per message, its recipients joined when the message was sent to a group of them.
+	private List<BatchEmailResult> messageResults(List<EmailJob> jobs, List<EmailJobReceipt> receipts) {
+		List<BatchEmailResult> results = new ArrayList<>(jobs.size());
+		for (int i = 0; i < jobs.size(); i++) {
+			EmailJob job = jobs.get(i);
+			EmailJobReceipt receipt = receipts.get(i);
+			results.add(BatchEmailResult.builder()
+					.index(i)
+					.to(job.getBcc() != null ? String.join(",", job.getBcc()) : job.getTo())
+					.jobId(receipt.getJobId())
+					.status(receipt.getStatus())
+					.error(receipt.getError())
+					.build());
+		}
+		return results;
+	}
+
+	private String toJson(List<BatchEmailResult> results) {
+		try {
+			return objectMapper.writeValueAsString(results);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("The results could not be written", e);
+		}
+	}
+
+	private List<EmailJob> toRawJobs(RawEmailForm rawEmailForm, List<EmailAttachment> attachments) throws ResourceException {
+		List<String> recipients = rawEmailForm.getAllRecipients();
+		if (recipients.size() > maxBatchSize) {
+			throw new ResourceException("TooManyRecipients", "The email must not exceed " + maxBatchSize + " recipients.",
+					HttpStatus.PAYLOAD_TOO_LARGE);
+		}
+		Instant sendAt = toInstant(rawEmailForm.getSendAt());
+		EmailPriority priority = priority(rawEmailForm.getPriority(),
+				recipients.size() > 1 ? EmailPriority.BULK : EmailPriority.NORMAL);
+		if (rawEmailForm.getMode() == RecipientMode.GROUPED) {
+			return RecipientGroups.byDomain(recipients, maxRecipientsPerMessage).stream()
+					.map(group -> group.size() == 1
+							? EmailJob.raw(group.get(0), rawEmailForm.getSubject(), rawEmailForm.getContent())
+							: EmailJob.rawGroup(group, rawEmailForm.getSubject(), rawEmailForm.getContent()))
+					.map(job -> job.scheduledAt(sendAt).prioritized(priority).attaching(attachments))
+					.toList();
+		}
+		return recipients.stream()
+				.map(recipient -> EmailJob.raw(recipient, rawEmailForm.getSubject(), rawEmailForm.getContent())
+						.scheduledAt(sendAt)
+						.prioritized(priority)
+						.attaching(attachments))
+				.toList();
+	}
+
+	private ResponseEntity<String> accepted(EmailJobReceipt receipt, String email) {
+		String message = switch (receipt.getStatus()) {
+			case RETRYING -> email + " could not be sent yet and will be retried.";
+			case SCHEDULED -> email + " scheduled successfully.";
+			default -> email + " queued successfully.";
+		};
+		return ResponseEntity.status(HttpStatus.ACCEPTED).header(JOB_ID_HEADER, receipt.getJobId()).body(message);
+	}
+
+	/**
+	 * Builds the job sending the given template email as part of a batch, used by the batch and streaming
+	 * endpoints.
+	 *
+	 * <p>The form must have been validated, including its template variables.</p>
+	 *
+	 * @param templateEmailForm the template email data to be sent
+	 * @return the {@link EmailJob} rendering and sending the template, {@link EmailPriority#BULK} unless the form
+	 * sets another priority
+	 */
+	public EmailJob toTemplateJob(TemplateEmailForm templateEmailForm) {
+		return toTemplateJob(templateEmailForm, EmailPriority.BULK);
+	}
+
+	private EmailJob toTemplateJob(TemplateEmailForm templateEmailForm, EmailPriority defaultPriority) {
+		PreparedTemplate template = templateRegistry.prepare(templateEmailForm.getTemplate(), templateEmailForm.getTo(),
+				templateEmailForm.getAllVariables());
+		EmailJob job = EmailJob.template(templateEmailForm.getTo(), template.getSubject(), template.getView(),
+				template.getVariables());
+		return job.scheduledAt(toInstant(templateEmailForm.getSendAt()))
+				.prioritized(priority(templateEmailForm.getPriority(), defaultPriority));
+	}
+
+	private static Object fingerprinted(Object form, List<EmailAttachment> attachments) {
+		return attachments.isEmpty() ? form : List.of(form, attachments);
+	}
+
+	private static EmailPriority priority(EmailPriority requested, EmailPriority defaultPriority) {
+		return requested != null ? requested : defaultPriority;
+	}
+
+	private static Instant toInstant(OffsetDateTime sendAt) {
+		return sendAt != null ? sendAt.toInstant() : null;
+	}
+}
@@ -1,5 +1,9 @@
 package com.jeremw.example.emailsender.email;
 
+import java.util.List;
+import java.util.Map;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
 import jakarta.mail.MessagingException;
 import org.thymeleaf.context.Context;
 
@@ -33,6 +37,20 @@ public interface EmailService {
 	 */
 	void sendRowText(String to, String subject, String content) throws MessagingException;
 
+	/**
+	 * Sends a plain text email to several recipients in a single SMTP transaction.
+	 *
+	 * <p>The message is transmitted once, with one {@code RCPT TO} per recipient. The recipients are not listed in
+	 * its headers, so that none of them sees the others. It throws a {@link MessagingException} if there is an error
+	 * while attempting to send the email.</p>
+	 *
+	 * @param recipients the recipients' email addresses
+	 * @param subject    the subject of the email
+	 * @param content    the content of the email
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 */
+	void sendGroupedText(List<String> recipients, String subject, String content) throws MessagingException;
+
 	/**
 	 * Sends an email using an HTML template.
 	 *
@@ -47,4 +65,28 @@ public interface EmailService {
 	 * @throws MessagingException if there is an error while attempting to send the email
 	 */
 	void sentHtmlTemplate(String to, String subject, String templateName, Context context) throws MessagingException;
+
+	/**
+	 * Sends the email described by a job, along with its attachments.
+	 *
+	 * <p>The attachments are read from the attachment store while the message is written to the SMTP server, so
+	 * that they are never held in memory. It throws a {@link MessagingException} if there is an error while
+	 * attempting to send the email.</p>
+	 *
+	 * @param job the email to send
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 */
+	void send(EmailJob job) throws MessagingException;
+
+	/**
+	 * Sends several emails at once.
+	 *
+	 * <p>This method takes a list of {@link EmailJob}s and sends them over shared SMTP connections. Unlike the other
+	 * methods, it does not throw when a message fails: the failures are returned so that the caller can report
+	 * a result for every email.</p>
+	 *
+	 * @param jobs the emails to send
+	 * @return the failures, keyed by job identifier; empty if every email was sent
+	 */
+	Map<String, Exception> sendBatch(List<EmailJob> jobs);
 }
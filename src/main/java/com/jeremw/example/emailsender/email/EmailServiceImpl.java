@@ -1,14 +1,42 @@
 package com.jeremw.example.emailsender.email;
 
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jeremw.example.emailsender.email.attachment.AttachmentStore;
+import com.jeremw.example.emailsender.email.attachment.EmailAttachment;
+import com.jeremw.example.emailsender.email.mime.EncodedBody;
+import com.jeremw.example.emailsender.email.mime.MimeBodyCache;
+import com.jeremw.example.emailsender.email.mime.PreEncodedMimeMessage;
+import com.jeremw.example.emailsender.email.mime.RenderBuffer;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobType;
+import com.jeremw.example.emailsender.email.template.EmailTemplateRenderer;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.activation.DataHandler;
+import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
@@ -17,7 +45,13 @@ import org.springframework.stereotype.Component;
  *
  * <p>
  * This class provides the implementation for sending plain text emails and emails using HTML templates.
- * It uses {@link JavaMailSender} for sending emails and {@link TemplateEngine} for processing HTML templates.
+ * It uses {@link JavaMailSender} for sending emails and {@link EmailTemplateRenderer} for processing HTML templates.
+ * The rendering and MIME building times, as well as the outcome of every email, are recorded in {@link EmailMetrics}.
+ * Messages are built as a single part, and the plain text bodies are encoded once by the {@link MimeBodyCache} for
+ * all the messages sharing the same content. The templates are rendered into a pooled {@link RenderBuffer} and
+ * encoded from there, without building their output as a string. Messages with attachments are built as
+ * {@code multipart/mixed} instead, every attachment being read from the {@link AttachmentStore} and base64-encoded
+ * while the message is written to the SMTP server.
  * </p>
  *
  * @author Jérémy Woirhaye
@@ -29,6 +63,14 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
+	private static final String UNDISCLOSED_RECIPIENTS = "undisclosed-recipients:;";
+
+	private static final String PLAIN_TEXT = "plain";
+
+	private static final String HTML = "html";
+
+	private static final String CHARSET = StandardCharsets.UTF_8.name();
+
 	/**
 	 * The 'from' email address.
 	 */
@@ -37,7 +79,16 @@ public class EmailServiceImpl implements EmailService {
 
 	private final JavaMailSender javaMailSender;
 
-	private final TemplateEngine templateEngine;
+	private final EmailTemplateRenderer emailTemplateRenderer;
+
+	private final EmailMetrics emailMetrics;
+
+	private final MimeBodyCache mimeBodyCache;
+
+	private final AttachmentStore attachmentStore;
+
+	// Looked up once: the sender only hands its session out through a new MimeMessage, or a synchronized getter.
+	private volatile Session session;
 
 	/**
 	 * Sends a plain text email.
@@ -53,22 +104,43 @@ public class EmailServiceImpl implements EmailService {
 	@Override
 	public void sendRowText(final String to, final String subject, final String content) throws MessagingException {
 		try {
-			MimeMessage mail = javaMailSender.createMimeMessage();
-			MimeMessageHelper helper = new MimeMessageHelper(mail, true);
-			helper.setFrom(from);
-			helper.setTo(to);
-			helper.setSubject(subject);
-			helper.setText(content, false);
-
-			javaMailSender.send(mail);
+			javaMailSender.send(createRawMessage(to, subject, content));
+			emailMetrics.recordSent(EmailJobType.RAW);
 			log.info("Sent raw text email to {}", to);
 		}
-		catch (MessagingException e) {
+		catch (MessagingException | MailException e) {
+			emailMetrics.recordFailed(EmailJobType.RAW, e);
 			log.error("Failed to send raw text email to {}: {}", to, e.getMessage());
 			throw e;
 		}
 	}
 
+	/**
+	 * Sends a plain text email to several recipients in a single SMTP transaction.
+	 *
+	 * <p>The recipients are set as blind copies, which JavaMail does not write in the transmitted message, and the
+	 * {@code To} header holds an empty group instead. It throws a {@link MessagingException} if there is an error
+	 * while attempting to send the email.</p>
+	 *
+	 * @param recipients the recipients' email addresses
+	 * @param subject    the subject of the email
+	 * @param content    the content of the email
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 */
+	@Override
+	public void sendGroupedText(final List<String> recipients, final String subject, final String content) throws MessagingException {
+		try {
+			javaMailSender.send(createGroupedMessage(recipients, subject, content));
+			emailMetrics.recordSent(EmailJobType.RAW);
+			log.info("Sent raw text email to {} recipients", recipients.size());
+		}
+		catch (MessagingException | MailException e) {
+			emailMetrics.recordFailed(EmailJobType.RAW, e);
+			log.error("Failed to send raw text email to {} recipients: {}", recipients.size(), e.getMessage());
+			throw e;
+		}
+	}
+
 	/**
 	 * Sends an email using an HTML template.
 	 *
@@ -85,22 +157,221 @@ public class EmailServiceImpl implements EmailService {
 	@Override
 	public void sentHtmlTemplate(final String to, final String subject, final String templateName, final Context context) throws MessagingException {
 		try {
-			MimeMessage mail = javaMailSender.createMimeMessage();
-			MimeMessageHelper helper = new MimeMessageHelper(mail, true);
-
-			String body = templateEngine.process(templateName, context);
-
-			helper.setFrom(from);
-			helper.setTo(to);
-			helper.setSubject(subject);
-			helper.setText(body, true);
-
-			javaMailSender.send(mail);
+			javaMailSender.send(createTemplateMessage(to, subject, templateName, context));
+			emailMetrics.recordSent(EmailJobType.TEMPLATE);
 			log.info("Sent HTML template email to {}", to);
 		}
-		catch (MessagingException e) {
+		catch (MessagingException | MailException e) {
+			emailMetrics.recordFailed(EmailJobType.TEMPLATE, e);
 			log.error("Failed to send HTML template email to {}: {}", to, e.getMessage());
 			throw e;
 		}
 	}
+
+	/**
+	 * Sends the email described by a job, along with its attachments.
+	 *
+	 * <p>The attachments are added as parts reading the stored files, so that they are streamed to the SMTP server
+	 * rather than loaded in memory. It throws a {@link MessagingException} if there is an error while attempting to
+	 * send the email, including when an attachment is no longer stored.</p>
+	 *
+	 * @param job the email to send
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 */
+	@Override
+	public void send(final EmailJob job) throws MessagingException {
+		try {
+			javaMailSender.send(createMessage(job));
+			emailMetrics.recordSent(job.getType());
+			log.info("Sent email with {} attachments to {}", job.getAttachments().size(), job.describeRecipients());
+		}
+		catch (MessagingException | MailException e) {
+			emailMetrics.recordFailed(job.getType(), e);
+			log.error("Failed to send email with {} attachments to {}: {}", job.getAttachments().size(),
+					job.describeRecipients(), e.getMessage());
+			throw e;
+		}
+	}
+
+	/**
+	 * Sends several emails over shared SMTP connections.
+	 *
+	 * <p>Every message is built first, then all of them are handed to the {@link JavaMailSender} in a single call,
+	 * so that they are sent one after the other over the same connection. A failure to build or send one message
+	 * does not prevent the others from being sent.</p>
+	 *
+	 * @param jobs the emails to send
+	 * @return the failures, keyed by job identifier
+	 */
+	@Override
+	public Map<String, Exception> sendBatch(final List<EmailJob> jobs) {
+		Map<String, Exception> failures = new HashMap<>();
+		Map<MimeMessage, String> messages = new LinkedHashMap<>();
+		for (EmailJob job : jobs) {
+			try {
+				messages.put(createMessage(job), job.getId());
+			}
+			catch (MessagingException | RuntimeException e) {
+				failures.put(job.getId(), e);
+			}
+		}
+		if (!messages.isEmpty()) {
+			try {
+				javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+			}
+			catch (MailSendException e) {
+				if (e.getFailedMessages().isEmpty()) {
+					messages.values().forEach(id -> failures.put(id, e));
+				}
+				e.getFailedMessages().forEach((message, cause) -> failures.put(messages.get(message), cause));
+			}
+			catch (MailException e) {
+				messages.values().forEach(id -> failures.put(id, e));
+			}
+		}
+		for (EmailJob job : jobs) {
+			Exception failure = failures.get(job.getId());
+			if (failure != null) {
+				emailMetrics.recordFailed(job.getType(), failure);
+			}
+			else {
+				emailMetrics.recordSent(job.getType());
+			}
+		}
+		log.info("Sent batch of {} emails, {} failed", jobs.size(), failures.size());
+		return failures;
+	}
+
+	private MimeMessage createMessage(EmailJob job) throws MessagingException {
+		if (!job.getAttachments().isEmpty()) {
+			return createMessageWithAttachments(job);
+		}
+		if (job.getType() == EmailJobType.TEMPLATE) {
+			Context context = new Context();
+			context.setVariables(job.getVariables());
+			return createTemplateMessage(job.getTo(), job.getSubject(), job.getTemplateName(), context);
+		}
+		if (job.getBcc() != null) {
+			return createGroupedMessage(job.getBcc(), job.getSubject(), job.getContent());
+		}
+		return createRawMessage(job.getTo(), job.getSubject(), job.getContent());
+	}
+
+	private MimeMessage createRawMessage(String to, String subject, String content) throws MessagingException {
+		Timer.Sample sample = emailMetrics.start();
+		MimeMessage mail = preEncodedMessage(mimeBodyCache.encode(content, PLAIN_TEXT), subject);
+		mail.setRecipient(Message.RecipientType.TO, address(to));
+		emailMetrics.recordMimeBuild(sample, EmailJobType.RAW);
+		return mail;
+	}
+
+	private MimeMessage createGroupedMessage(List<String> recipients, String subject, String content) throws MessagingException {
+		Timer.Sample sample = emailMetrics.start();
+		MimeMessage mail = preEncodedMessage(mimeBodyCache.encode(content, PLAIN_TEXT), subject);
+		mail.setRecipient(Message.RecipientType.TO, address(UNDISCLOSED_RECIPIENTS));
+		InternetAddress[] bcc = new InternetAddress[recipients.size()];
+		for (int i = 0; i < bcc.length; i++) {
+			bcc[i] = address(recipients.get(i));
+		}
+		mail.setRecipients(Message.RecipientType.BCC, bcc);
+		emailMetrics.recordMimeBuild(sample, EmailJobType.RAW);
+		return mail;
+	}
+
+	private MimeMessage preEncodedMessage(EncodedBody body, String subject) throws MessagingException {
+		// Headers are set directly: a MimeMessageHelper loads a new MIME type map for every message not created by
+		// the JavaMailSender, which weighs more than the whole message.
+		MimeMessage mail = new PreEncodedMimeMessage(session(), body);
+		mail.setFrom(address(from));
+		mail.setSubject(subject, CHARSET);
+		return mail;
+	}
+
+	private Session session() {
+		Session current = session;
+		if (current == null) {
+			current = javaMailSender instanceof JavaMailSenderImpl sender ? sender.getSession()
+					: javaMailSender.createMimeMessage().getSession();
+			session = current;
+		}
+		return current;
+	}
+
+	private MimeMessage createTemplateMessage(String to, String subject, String templateName, Context context) throws MessagingException {
+		RenderBuffer buffer = RenderBuffer.acquire();
+		try {
+			Timer.Sample sample = emailMetrics.start();
+			emailTemplateRenderer.render(templateName, context, buffer);
+			emailMetrics.recordRender(sample, templateName);
+
+			sample = emailMetrics.start();
+			MimeMessage mail = preEncodedMessage(buffer.encode(HTML), subject);
+			mail.setRecipient(Message.RecipientType.TO, address(to));
+			emailMetrics.recordMimeBuild(sample, EmailJobType.TEMPLATE);
+			return mail;
+		}
+		finally {
+			buffer.release();
+		}
+	}
+
+	private MimeMessage createMessageWithAttachments(EmailJob job) throws MessagingException {
+		String body = job.getContent();
+		boolean html = job.getType() == EmailJobType.TEMPLATE;
+		if (html) {
+			Timer.Sample sample = emailMetrics.start();
+			Context context = new Context();
+			context.setVariables(job.getVariables());
+			body = emailTemplateRenderer.render(job.getTemplateName(), context);
+			emailMetrics.recordRender(sample, job.getTemplateName());
+		}
+
+		Timer.Sample sample = emailMetrics.start();
+		MimeMessage mail = javaMailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(mail, MimeMessageHelper.MULTIPART_MODE_MIXED, CHARSET);
+		helper.setFrom(from);
+		if (job.getBcc() != null) {
+			helper.setTo(UNDISCLOSED_RECIPIENTS);
+			helper.setBcc(job.getBcc().toArray(new String[0]));
+		}
+		else {
+			helper.setTo(job.getTo());
+		}
+		helper.setSubject(job.getSubject());
+		helper.setText(body, html);
+		for (EmailAttachment attachment : job.getAttachments()) {
+			helper.getRootMimeMultipart().addBodyPart(createAttachmentPart(attachment));
+		}
+		emailMetrics.recordMimeBuild(sample, job.getType());
+		return mail;
+	}
+
+	private static InternetAddress address(String address) throws MessagingException {
+		// Parsed as MimeMessageHelper does, the personal name being encoded in UTF-8.
+		InternetAddress[] parsed = InternetAddress.parse(address);
+		if (parsed.length != 1) {
+			throw new AddressException("Illegal address", address);
+		}
+		try {
+			return new InternetAddress(parsed[0].getAddress(), parsed[0].getPersonal(), CHARSET);
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new MessagingException("Failed to encode the personal name of " + address, e);
+		}
+	}
+
+	private MimeBodyPart createAttachmentPart(EmailAttachment attachment) throws MessagingException {
+		MimeBodyPart part = new MimeBodyPart();
+		try {
+			part.setDataHandler(new DataHandler(attachmentStore.open(attachment)));
+		}
+		catch (NoSuchFileException e) {
+			throw new MessagingException("The attachment " + attachment.getFilename() + " is no longer available", e);
+		}
+		part.setFileName(attachment.getFilename());
+		part.setDisposition(Part.ATTACHMENT);
+		// Set up front, otherwise JavaMail reads the whole file to choose an encoding before writing it.
+		part.setHeader("Content-Transfer-Encoding", "base64");
+		return part;
+	}
 }
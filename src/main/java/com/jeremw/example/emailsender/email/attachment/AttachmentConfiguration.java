@@ -0,0 +1,31 @@
+package com.jeremw.example.emailsender.email.attachment;
+
+import java.io.IOException;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the {@link AttachmentStore}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AttachmentProperties.class)
+public class AttachmentConfiguration {
+
+	/**
+	 * Creates the attachment store.
+	 *
+	 * @param properties the {@code custom.mail.attachments} properties
+	 * @return the {@link AttachmentStore}
+	 * @throws IOException if the directories of the store cannot be created
+	 */
+	@Bean
+	public AttachmentStore attachmentStore(AttachmentProperties properties) throws IOException {
+		return new AttachmentStore(properties);
+	}
+}
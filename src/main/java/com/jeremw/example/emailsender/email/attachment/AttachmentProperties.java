@@ -0,0 +1,46 @@
+package com.jeremw.example.emailsender.email.attachment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the on-disk attachment store, bound from {@code custom.mail.attachments}.
+ *
+ * <p>
+ * The size of the uploaded files is limited by {@code spring.servlet.multipart.max-file-size} and
+ * {@code spring.servlet.multipart.max-request-size}.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.attachments")
+public class AttachmentProperties {
+
+	/**
+	 * The directory holding the attachments, one file per distinct content.
+	 */
+	private Path directory = Path.of("data", "attachments");
+
+	/**
+	 * The maximum number of attachments of an email.
+	 */
+	private int maxCount = 10;
+
+	/**
+	 * How long an attachment is kept once no pending email references it, so that a request uploading the same
+	 * content again reuses it.
+	 */
+	private Duration retention = Duration.ofHours(1);
+
+	/**
+	 * How often the attachments which are no longer referenced are looked for.
+	 */
+	private Duration sweepInterval = Duration.ofMinutes(5);
+}
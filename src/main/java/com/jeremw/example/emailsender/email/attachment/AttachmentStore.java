@@ -0,0 +1,390 @@
+package com.jeremw.example.emailsender.email.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Content-addressed store of the files attached to the emails.
+ *
+ * <p>
+ * Uploaded files are spooled to disk and never held in memory: they are transferred to a file of the
+ * {@code incoming} directory, which the servlet container does by moving its own temporary file when both are on
+ * the same file system, then digested and renamed after the SHA-256 digest of their content. The same content
+ * uploaded again, or sent to many recipients, is therefore stored once; the jobs only carry an
+ * {@link EmailAttachment} referencing it. When a message is built, the stored file is attached as a
+ * {@link DataSource} read while the message is written, so that it is base64-encoded on the way to the SMTP server.
+ * </p>
+ *
+ * <p>
+ * The attachments referenced by pending jobs are counted from the moment the jobs are recorded in the outbox until
+ * they are completed. A file which is no longer referenced is kept for {@code custom.mail.attachments.retention}
+ * after its last use, then deleted by a periodic sweep. The counts are only kept in memory: the jobs recovered from
+ * the outbox on startup are counted again before their attachments can be swept.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class AttachmentStore implements AutoCloseable {
+
+	private static final String INCOMING_DIRECTORY = "incoming";
+
+	private static final String DEFAULT_FILENAME = "attachment";
+
+	private static final int MAX_FILENAME_LENGTH = 255;
+
+	private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+	private final Path directory;
+
+	private final Path incoming;
+
+	private final int maxCount;
+
+	private final Duration retention;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Map<String, Integer> references = new HashMap<>();
+
+	private final ScheduledExecutorService sweeper;
+
+	/**
+	 * Opens the store, creating its directories, and starts its periodic sweep.
+	 *
+	 * @param properties the attachment store configuration
+	 * @throws IOException if the directories cannot be created or cleaned
+	 */
+	public AttachmentStore(AttachmentProperties properties) throws IOException {
+		this.directory = properties.getDirectory();
+		this.incoming = directory.resolve(INCOMING_DIRECTORY);
+		this.maxCount = properties.getMaxCount();
+		this.retention = properties.getRetention();
+		Files.createDirectories(incoming);
+		// Whatever is left in the incoming directory was being uploaded when the application stopped.
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(incoming)) {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("email-attachment-sweeper-");
+		threadFactory.setDaemon(true);
+		this.sweeper = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long interval = properties.getSweepInterval().toMillis();
+		sweeper.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+		log.info("Email attachment store opened in {}", directory);
+	}
+
+	/**
+	 * Checks the number of attachments of an email.
+	 *
+	 * @param count the number of files attached to the email
+	 * @throws ResourceException if there are too many of them
+	 */
+	public void checkCount(int count) throws ResourceException {
+		if (count > maxCount) {
+			throw new ResourceException("TooManyAttachments", "The email must not exceed " + maxCount
+					+ " attachments.", HttpStatus.PAYLOAD_TOO_LARGE);
+		}
+	}
+
+	/**
+	 * Stores an uploaded file.
+	 *
+	 * @param filename    the name of the file given by the client, or {@code null}
+	 * @param contentType the media type given by the client, or {@code null}
+	 * @param upload      the transfer of the uploaded content to a file
+	 * @return the reference to the stored content
+	 * @throws ResourceException if the file cannot be written to disk
+	 */
+	public EmailAttachment store(String filename, String contentType, Upload upload) throws ResourceException {
+		Path spooled = incoming.resolve(UUID.randomUUID().toString());
+		try {
+			upload.transferTo(spooled);
+			String id = digest(spooled);
+			Path stored = directory.resolve(id);
+			lock.lock();
+			try {
+				if (Files.exists(stored)) {
+					Files.delete(spooled);
+					Files.setLastModifiedTime(stored, FileTime.from(Instant.now()));
+				}
+				else {
+					Files.move(spooled, stored, StandardCopyOption.ATOMIC_MOVE);
+				}
+			}
+			finally {
+				lock.unlock();
+			}
+			return EmailAttachment.builder()
+					.id(id)
+					.filename(sanitizeFilename(filename))
+					.contentType(sanitizeContentType(contentType))
+					.size(Files.size(stored))
+					.build();
+		}
+		catch (IOException e) {
+			log.error("Failed to store attachment {}: {}", filename, e.getMessage());
+			try {
+				Files.deleteIfExists(spooled);
+			}
+			catch (IOException ignored) {
+				// Deleted on the next startup.
+			}
+			throw new ResourceException("AttachmentUnavailable", "The attachment could not be stored, please retry "
+					+ "later.", HttpStatus.SERVICE_UNAVAILABLE);
+		}
+	}
+
+	/**
+	 * Counts the attachments of jobs about to be recorded, so that they are kept until the jobs are released.
+	 *
+	 * @param jobs the accepted jobs
+	 */
+	public void retain(List<EmailJob> jobs) {
+		update(jobs, 1);
+	}
+
+	/**
+	 * Stops counting the attachments of processed jobs. The attachments no longer referenced are kept for the
+	 * retention period from now on.
+	 *
+	 * @param jobs the processed jobs
+	 */
+	public void release(List<EmailJob> jobs) {
+		update(jobs, -1);
+	}
+
+	/**
+	 * Opens an attachment as a {@link DataSource} reading the stored file.
+	 *
+	 * @param attachment the attachment of an email
+	 * @return the data source of the attachment, read when the message is written
+	 * @throws NoSuchFileException if the attachment is no longer stored
+	 */
+	public DataSource open(EmailAttachment attachment) throws NoSuchFileException {
+		Path stored = directory.resolve(attachment.getId());
+		if (!Files.isRegularFile(stored)) {
+			throw new NoSuchFileException(stored.toString(), null, "attachment " + attachment.getFilename()
+					+ " is no longer stored");
+		}
+		return new StoredDataSource(stored, attachment);
+	}
+
+	/**
+	 * Returns the number of distinct attachments referenced by pending jobs.
+	 *
+	 * @return the number of referenced attachments
+	 */
+	public int referenced() {
+		lock.lock();
+		try {
+			return references.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Deletes the attachments which have not been referenced for the retention period, as well as the uploads
+	 * abandoned for as long.
+	 *
+	 * @return the number of deleted files
+	 * @throws IOException if the directories cannot be read
+	 */
+	public int sweep() throws IOException {
+		FileTime threshold = FileTime.from(Instant.now().minus(retention));
+		int deleted = 0;
+		for (Path dir : List.of(directory, incoming)) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+				for (Path file : files) {
+					lock.lock();
+					try {
+						if (!references.containsKey(file.getFileName().toString())
+								&& Files.getLastModifiedTime(file).compareTo(threshold) < 0
+								&& Files.deleteIfExists(file)) {
+							deleted++;
+						}
+					}
+					catch (IOException e) {
+						log.warn("Failed to sweep attachment {}: {}", file, e.getMessage());
+					}
+					finally {
+						lock.unlock();
+					}
+				}
+			}
+		}
+		return deleted;
+	}
+
+	/**
+	 * Stops the sweep.
+	 */
+	@Override
+	public void close() {
+		sweeper.shutdownNow();
+	}
+
+	private void update(List<EmailJob> jobs, int delta) {
+		if (jobs.stream().allMatch(job -> job.getAttachments().isEmpty())) {
+			return;
+		}
+		lock.lock();
+		try {
+			for (EmailJob job : jobs) {
+				for (EmailAttachment attachment : job.getAttachments()) {
+					Integer count = references.merge(attachment.getId(), delta, Integer::sum);
+					if (count <= 0) {
+						references.remove(attachment.getId());
+						touch(directory.resolve(attachment.getId()));
+					}
+				}
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void sweepQuietly() {
+		try {
+			int deleted = sweep();
+			if (deleted > 0) {
+				log.info("Deleted {} attachments no longer referenced", deleted);
+			}
+		}
+		catch (IOException e) {
+			log.warn("Failed to sweep the attachment store: {}", e.getMessage());
+		}
+	}
+
+	private static void touch(Path file) {
+		try {
+			Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+		}
+		catch (IOException e) {
+			log.debug("Failed to touch attachment {}: {}", file, e.getMessage());
+		}
+	}
+
+	private static String digest(Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+		byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+		try (InputStream in = Files.newInputStream(file)) {
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static String sanitizeFilename(String filename) {
+		if (filename == null) {
+			return DEFAULT_FILENAME;
+		}
+		// Browsers of some platforms send the full path of the file.
+		String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1)
+				.replaceAll("\\p{Cntrl}", "")
+				.strip();
+		if (name.isEmpty()) {
+			return DEFAULT_FILENAME;
+		}
+		return name.length() > MAX_FILENAME_LENGTH ? name.substring(0, MAX_FILENAME_LENGTH) : name;
+	}
+
+	private static String sanitizeContentType(String contentType) {
+		if (contentType == null) {
+			return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+		}
+		try {
+			MediaType mediaType = MediaType.parseMediaType(contentType);
+			// JavaMail would otherwise label the text with the platform charset.
+			if ("text".equals(mediaType.getType()) && mediaType.getCharset() == null) {
+				mediaType = new MediaType(mediaType, StandardCharsets.UTF_8);
+			}
+			return mediaType.toString();
+		}
+		catch (InvalidMediaTypeException e) {
+			return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+		}
+	}
+
+	/**
+	 * Transfer of an uploaded content to a file, such as {@code MultipartFile::transferTo}.
+	 */
+	@FunctionalInterface
+	public interface Upload {
+
+		/**
+		 * Transfers the uploaded content to the given file.
+		 *
+		 * @param target the file to create
+		 * @throws IOException if the content cannot be transferred
+		 */
+		void transferTo(Path target) throws IOException;
+	}
+
+	/**
+	 * Stored file read with the name and media type of the attachment rather than guessed from the file name.
+	 */
+	private static final class StoredDataSource extends FileDataSource {
+
+		private final EmailAttachment attachment;
+
+		private StoredDataSource(Path stored, EmailAttachment attachment) {
+			super(stored.toFile());
+			this.attachment = attachment;
+		}
+
+		@Override
+		public String getContentType() {
+			return attachment.getContentType();
+		}
+
+		@Override
+		public String getName() {
+			return attachment.getFilename();
+		}
+	}
+}
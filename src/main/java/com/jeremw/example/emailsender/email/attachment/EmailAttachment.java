@@ -0,0 +1,44 @@
+package com.jeremw.example.emailsender.email.attachment;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Reference to a file of the {@link AttachmentStore} attached to an email.
+ *
+ * <p>
+ * The content itself stays on disk: a job only carries this reference, so that an attachment sent to many
+ * recipients is stored once however many jobs reference it, and the jobs stay small enough to be recorded in the
+ * outbox.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+@Builder
+@Jacksonized
+public class EmailAttachment {
+
+	/**
+	 * The SHA-256 digest of the content, in hexadecimal, under which it is stored.
+	 */
+	String id;
+
+	/**
+	 * The name of the file shown to the recipient.
+	 */
+	String filename;
+
+	/**
+	 * The media type of the content.
+	 */
+	String contentType;
+
+	/**
+	 * The size of the content, in bytes.
+	 */
+	long size;
+}
@@ -0,0 +1,53 @@
+package com.jeremw.example.emailsender.email.dto;
+
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object describing the outcome of one email of a batch.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Data transfer object describing the outcome of one email of a batch")
+public class BatchEmailResult {
+
+	/**
+	 * The position of the email in the submitted batch.
+	 */
+	@Schema(description = "The position of the email in the submitted batch", example = "0")
+	private int index;
+
+	/**
+	 * The recipient's email address.
+	 */
+	@Schema(description = "The recipient's email address", example = "recipient@example.com")
+	private String to;
+
+	/**
+	 * The identifier of the send job, absent when the email was rejected by validation.
+	 */
+	@Schema(description = "The identifier of the send job", example = "3f8c2a4e-5b7d-4c1e-9a2f-6d8e0b1c2d3e")
+	private String jobId;
+
+	/**
+	 * The outcome of the email.
+	 */
+	@Schema(description = "The outcome of the email", example = "SENT")
+	private EmailJobStatus status;
+
+	/**
+	 * The reason of the failure, if any.
+	 */
+	@Schema(description = "The reason of the failure, if any", example = "The email address must be valid.")
+	private String error;
+}
@@ -0,0 +1,62 @@
+package com.jeremw.example.emailsender.email.dto;
+
+import java.time.Instant;
+
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object describing what happened to an email.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Data transfer object describing what happened to an email")
+public class EmailDeliveryStatus {
+
+	/**
+	 * The identifier of the send job.
+	 */
+	@Schema(description = "The identifier of the send job", example = "3f8c2a4e-5b7d-4c1e-9a2f-6d8e0b1c2d3e")
+	private String jobId;
+
+	/**
+	 * The last known state of the email.
+	 */
+	@Schema(description = "The last known state of the email", example = "SENT")
+	private EmailJobStatus status;
+
+	/**
+	 * When the email was accepted.
+	 */
+	@Schema(description = "When the email was accepted", example = "2026-10-18T09:00:00.125Z")
+	private Instant acceptedAt;
+
+	/**
+	 * When the state of the email last changed.
+	 */
+	@Schema(description = "When the state of the email last changed", example = "2026-10-18T09:00:00.480Z")
+	private Instant updatedAt;
+
+	/**
+	 * The code of the reply of the SMTP server to the last attempt, if known.
+	 */
+	@Schema(description = "The code of the reply of the SMTP server to the last attempt, if known", example = "451")
+	private Integer replyCode;
+
+	/**
+	 * The reply of the SMTP server to the last attempt, if known.
+	 */
+	@Schema(description = "The reply of the SMTP server to the last attempt, if known",
+			example = "451 4.3.0 Try again later")
+	private String reply;
+}
@@ -1,6 +1,16 @@
 package com.jeremw.example.emailsender.email.dto;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jeremw.example.emailsender.email.queue.EmailPriority;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -12,7 +22,9 @@ import lombok.Data;
  *
  * <p>
  * This class represents the data required to send a raw email, including the recipient's email address,
- * the subject of the email, and the content of the email.
+ * the subject of the email, and the content of the email. The same email can be sent to several recipients by
+ * listing them in {@code recipients}, either one message per recipient or grouped by destination domain according
+ * to the {@link RecipientMode}.
  * </p>
  *
  * @author Jérémy Woirhaye
@@ -28,9 +40,21 @@ public class RawEmailForm {
 	 */
 	@Schema(description = "The recipient's email address", example = "recipient@example.com")
 	@Email(message = "The email address must be valid.")
-	@NotBlank(message = "The recipient's email address is required.")
 	private String to;
 
+	/**
+	 * Additional recipients receiving the same email.
+	 */
+	@Schema(description = "Additional recipients receiving the same email", example = "[\"other@example.com\"]")
+	private List<@Email(message = "The email address must be valid.") String> recipients;
+
+	/**
+	 * How the email is sent when it has several recipients.
+	 */
+	@Schema(description = "How the email is sent when it has several recipients", example = "GROUPED",
+			defaultValue = "INDIVIDUAL")
+	private RecipientMode mode = RecipientMode.INDIVIDUAL;
+
 	/**
 	 * The subject of the email.
 	 */
@@ -45,4 +69,51 @@ public class RawEmailForm {
 	@Schema(description = "The content of the email", example = "Hello, welcome to our service.")
 	@NotBlank(message = "The content is required.")
 	private String content;
-}
\ No newline at end of file
+
+	/**
+	 * The date before which the email must not be sent, with the offset of the recipient's time zone, or
+	 * {@code null} to send it right away.
+	 */
+	@Schema(description = "The date before which the email must not be sent, sent right away if omitted",
+			example = "2026-10-19T09:00:00+02:00")
+	private OffsetDateTime sendAt;
+
+	/**
+	 * The priority of the email, or {@code null} to send it as {@link EmailPriority#NORMAL} to a single recipient,
+	 * or as {@link EmailPriority#BULK} to several ones or when part of a batch.
+	 */
+	@Schema(description = "The priority of the email, NORMAL if omitted, or BULK when sent to several recipients "
+			+ "or part of a batch", example = "NORMAL")
+	private EmailPriority priority;
+
+	/**
+	 * Returns every recipient of the email, {@code to} first, without duplicates.
+	 *
+	 * @return the distinct recipients, compared ignoring case
+	 */
+	@JsonIgnore
+	public List<String> getAllRecipients() {
+		Map<String, String> distinct = new LinkedHashMap<>();
+		if (to != null && !to.isBlank()) {
+			distinct.put(to.toLowerCase(Locale.ROOT), to);
+		}
+		if (recipients != null) {
+			recipients.stream()
+					.filter(recipient -> recipient != null && !recipient.isBlank())
+					.forEach(recipient -> distinct.putIfAbsent(recipient.toLowerCase(Locale.ROOT), recipient));
+		}
+		return new ArrayList<>(distinct.values());
+	}
+
+	/**
+	 * Tells whether the email has at least one recipient.
+	 *
+	 * @return {@code true} if {@code to} or {@code recipients} is set
+	 */
+	@JsonIgnore
+	@Schema(hidden = true)
+	@AssertTrue(message = "The recipient's email address is required.")
+	public boolean isRecipientPresent() {
+		return !getAllRecipients().isEmpty();
+	}
+}
@@ -0,0 +1,22 @@
+package com.jeremw.example.emailsender.email.dto;
+
+/**
+ * Enumeration of the ways an email addressed to several recipients is sent.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum RecipientMode {
+
+	/**
+	 * One message per recipient, each addressed to its recipient only.
+	 */
+	INDIVIDUAL,
+
+	/**
+	 * One message per destination domain, sent in a single SMTP transaction to all the recipients of that domain,
+	 * none of them seeing the others.
+	 */
+	GROUPED
+}
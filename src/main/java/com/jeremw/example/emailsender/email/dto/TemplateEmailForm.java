@@ -1,5 +1,13 @@
 package com.jeremw.example.emailsender.email.dto;
 
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jeremw.example.emailsender.email.queue.EmailPriority;
+import com.jeremw.example.emailsender.email.template.TemplateRegistry;
+import com.jeremw.example.emailsender.email.template.ValidTemplateVariables;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -10,7 +18,8 @@ import lombok.Data;
  *
  * <p>
  * This class represents the data required to send an email using a template, including the recipient's email address,
- * the recipient's name, and the company name.
+ * the identifier of the template in the {@link TemplateRegistry} and the variables to render it with. The variables
+ * are validated against the ones declared by the template.
  * </p>
  *
  * @author Jérémy Woirhaye
@@ -18,6 +27,7 @@ import lombok.Data;
  * @since 17/05/2024
  */
 @Data
+@ValidTemplateVariables
 @Schema(description = "Data transfer object for template email form")
 public class TemplateEmailForm {
 
@@ -30,16 +40,64 @@ public class TemplateEmailForm {
 	private String to;
 
 	/**
-	 * The recipient's name.
+	 * The identifier of the template, or {@code null} for the default template.
+	 */
+	@Schema(description = "The identifier of the template, the default template if omitted", example = "welcome")
+	private String template;
+
+	/**
+	 * The variables to render the template with, by name.
 	 */
-	@Schema(description = "The recipient's name", example = "John Doe")
-	@NotBlank(message = "The recipient's name is required.")
+	@Schema(description = "The variables to render the template with, as declared by the template",
+			example = "{\"name\": \"John Doe\", \"companyName\": \"Example Inc.\"}")
+	private Map<String, Object> variables;
+
+	/**
+	 * The recipient's name, a shortcut for the {@code name} variable.
+	 */
+	@Schema(description = "The recipient's name, a shortcut for the name variable", example = "John Doe")
 	private String name;
 
 	/**
-	 * The company name.
+	 * The company name, a shortcut for the {@code companyName} variable.
 	 */
-	@Schema(description = "The company name", example = "Example Inc.")
-	@NotBlank(message = "The company name is required.")
+	@Schema(description = "The company name, a shortcut for the companyName variable", example = "Example Inc.")
 	private String companyName;
+
+	/**
+	 * The date before which the email must not be sent, with the offset of the recipient's time zone, or
+	 * {@code null} to send it right away.
+	 */
+	@Schema(description = "The date before which the email must not be sent, sent right away if omitted",
+			example = "2026-10-19T09:00:00+02:00")
+	private OffsetDateTime sendAt;
+
+	/**
+	 * The priority of the email, or {@code null} to send it as {@link EmailPriority#HIGH}, or as
+	 * {@link EmailPriority#BULK} when part of a batch or a stream.
+	 */
+	@Schema(description = "The priority of the email, HIGH if omitted, or BULK when part of a batch or a stream",
+			example = "HIGH")
+	private EmailPriority priority;
+
+	/**
+	 * Returns the variables to render the template with, including the {@code name} and {@code companyName}
+	 * shortcuts unless the same variables are given.
+	 *
+	 * @return the variables, by name
+	 */
+	@JsonIgnore
+	public Map<String, Object> getAllVariables() {
+		Map<String, Object> all = new LinkedHashMap<>();
+		if (variables != null) {
+			all.putAll(variables);
+		}
+		if (name != null) {
+			all.putIfAbsent("name", name);
+		}
+		if (companyName != null) {
+			all.putIfAbsent("companyName", companyName);
+		}
+		return all;
+	}
 }
@@ -0,0 +1,35 @@
+package com.jeremw.example.emailsender.email.idempotency;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the {@link IdempotencyStore}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfiguration {
+
+	/**
+	 * Creates the store of the responses replayed to repeated requests.
+	 *
+	 * @param properties   the {@code custom.mail.idempotency} properties
+	 * @param objectMapper the mapper used to fingerprint the requests and serialize the responses
+	 * @return the {@link IdempotencyStore}
+	 * @throws IOException if the journal of the responses cannot be opened
+	 */
+	@Bean
+	public IdempotencyStore idempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper)
+			throws IOException {
+		return new IdempotencyStore(properties, objectMapper);
+	}
+}
@@ -0,0 +1,74 @@
+package com.jeremw.example.emailsender.email.idempotency;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties of the deduplication of the send requests, bound from {@code custom.mail.idempotency}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.idempotency")
+public class IdempotencyProperties {
+
+	/**
+	 * Whether the {@code Idempotency-Key} header is honored.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * The maximum number of responses kept in memory for replay.
+	 */
+	private int maxSize = 10000;
+
+	/**
+	 * How long the response to a request with an idempotency key is kept for replay.
+	 */
+	private Duration ttl = Duration.ofHours(24);
+
+	/**
+	 * How long an identical request, without idempotency key, is answered with the response of the first one rather
+	 * than sent again. {@code 0} disables this deduplication.
+	 */
+	private Duration dedupWindow = Duration.ZERO;
+
+	/**
+	 * The on-disk persistence of the responses to requests with an idempotency key.
+	 */
+	private Persistence persistence = new Persistence();
+
+	/**
+	 * Configuration of the persistence of the responses.
+	 */
+	@Data
+	public static class Persistence {
+
+		/**
+		 * Whether the responses are journaled on disk, so that they are still replayed after a restart.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * The directory holding the segment files of the journal.
+		 */
+		private Path directory = Path.of("data", "idempotency");
+
+		/**
+		 * The size above which the current segment is sealed and a new one is started.
+		 */
+		private DataSize segmentSize = DataSize.ofMegabytes(4);
+
+		/**
+		 * How often expired responses are dropped from the journal and its segments compacted.
+		 */
+		private Duration compactionInterval = Duration.ofMinutes(1);
+	}
+}
@@ -0,0 +1,289 @@
+package com.jeremw.example.emailsender.email.idempotency;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.cache.BoundedTtlCache;
+import com.jeremw.example.emailsender.email.outbox.OutboxJournal;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Replays the response of a send request to the repetitions of that request, rather than sending the email again.
+ *
+ * <p>
+ * A request carrying an {@code Idempotency-Key} header is answered with the response of the first request with the same
+ * key for {@code ttl}; reusing a key for a different request is refused. When a {@code dedup-window} is set, a request
+ * identical to a previous one, that is with the same recipients and content, is also answered with its response during
+ * that window, even without key. Only successful responses are kept, so that a request which failed can be sent again;
+ * a {@code 207 Multi-Status}, answering an email sent to some of its recipients only, is kept as well, so that these
+ * recipients do not get it twice. Repetitions arriving while the first request is still being handled are refused with
+ * a {@code 409 Conflict}.
+ * </p>
+ *
+ * <p>
+ * Responses are held in memory, bounded by {@code max-size}. The ones of requests with a key can also be journaled
+ * on disk, so that they are still replayed after a restart.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class IdempotencyStore implements AutoCloseable {
+
+	/**
+	 * The header set on the replayed responses.
+	 */
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private final IdempotencyProperties properties;
+
+	private final ObjectMapper objectMapper;
+
+	private final BoundedTtlCache<String, StoredResponse> keyedResponses;
+
+	// Null when the requests without key are not deduplicated.
+	private final BoundedTtlCache<String, StoredResponse> recentResponses;
+
+	private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+	// Null, as the compactor, when the responses are not persisted.
+	private final OutboxJournal journal;
+
+	private final Queue<Map.Entry<String, Instant>> journaled = new ConcurrentLinkedQueue<>();
+
+	private final ScheduledExecutorService compactor;
+
+	/**
+	 * Creates a new store, reading back the journaled responses when the persistence is enabled.
+	 *
+	 * @param properties   the idempotency configuration
+	 * @param objectMapper the mapper used to fingerprint the requests and serialize the responses
+	 * @throws IOException if the journal cannot be opened
+	 */
+	public IdempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper) throws IOException {
+		this.properties = properties;
+		this.objectMapper = objectMapper;
+		this.keyedResponses = new BoundedTtlCache<>(properties.getMaxSize(), properties.getTtl());
+		this.recentResponses = !properties.getDedupWindow().isZero() && !properties.getDedupWindow().isNegative()
+				? new BoundedTtlCache<>(properties.getMaxSize(), properties.getDedupWindow())
+				: null;
+		IdempotencyProperties.Persistence persistence = properties.getPersistence();
+		if (properties.isEnabled() && persistence.isEnabled()) {
+			this.journal = new OutboxJournal(persistence.getDirectory(), persistence.getSegmentSize().toBytes(), 0.5);
+			recover();
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("email-idempotency-compactor-");
+			threadFactory.setDaemon(true);
+			this.compactor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+			long interval = persistence.getCompactionInterval().toMillis();
+			compactor.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		else {
+			this.journal = null;
+			this.compactor = null;
+		}
+	}
+
+	/**
+	 * Handles a request, unless it repeats a request already handled.
+	 *
+	 * @param scope          the endpoint the request was sent to, idempotency keys being scoped to an endpoint
+	 * @param idempotencyKey the idempotency key sent by the client, or {@code null}
+	 * @param request        the body of the request, fingerprinted to recognize the repetitions
+	 * @param action         handles the request when it is not a repetition
+	 * @return the response to the request, or the response to the first request when repeated
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the key is invalid or reused for another request, if the first request is still
+	 *                            being handled, or if the request cannot be handled
+	 */
+	public ResponseEntity<String> execute(String scope, String idempotencyKey, Object request,
+			IdempotentAction action) throws MessagingException, ResourceException {
+		if (!properties.isEnabled() || idempotencyKey == null && recentResponses == null) {
+			return action.execute();
+		}
+		if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH)) {
+			throw new ResourceException("InvalidIdempotencyKey", "The idempotency key must be between 1 and "
+					+ MAX_KEY_LENGTH + " characters long.", HttpStatus.BAD_REQUEST);
+		}
+		String fingerprint = fingerprint(scope, request);
+		String key = idempotencyKey != null ? scope + ':' + idempotencyKey : null;
+		String claim = key != null ? key : fingerprint;
+		if (!inFlight.add(claim)) {
+			throw new ResourceException("RequestInProgress", "The same request is already being handled, please "
+					+ "retry later.", HttpStatus.CONFLICT);
+		}
+		try {
+			StoredResponse stored = lookup(key, fingerprint);
+			if (stored != null) {
+				log.info("Replaying the response to a repeated request to {}", scope);
+				return replay(stored);
+			}
+			ResponseEntity<String> response = action.execute();
+			// Includes the 207 Multi-Status of the partial failures, whose sent messages must not be sent again.
+			if (response.getStatusCode().is2xxSuccessful()) {
+				store(key, fingerprint, response);
+			}
+			return response;
+		}
+		finally {
+			inFlight.remove(claim);
+		}
+	}
+
+	/**
+	 * Stops the compaction and closes the journal.
+	 *
+	 * @throws IOException if the journal cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (journal == null) {
+			return;
+		}
+		compactor.shutdownNow();
+		journal.close();
+	}
+
+	private StoredResponse lookup(String key, String fingerprint) throws ResourceException {
+		if (key != null) {
+			StoredResponse stored = keyedResponses.get(key);
+			if (stored != null && !stored.getFingerprint().equals(fingerprint)) {
+				throw new ResourceException("IdempotencyKeyReused", "The idempotency key was already used for "
+						+ "another request.", HttpStatus.UNPROCESSABLE_ENTITY);
+			}
+			if (stored != null) {
+				return stored;
+			}
+		}
+		return recentResponses != null ? recentResponses.get(fingerprint) : null;
+	}
+
+	private void store(String key, String fingerprint, ResponseEntity<String> response) {
+		Map<String, List<String>> headers = new LinkedHashMap<>();
+		response.getHeaders().forEach((name, values) -> headers.put(name, List.copyOf(values)));
+		StoredResponse stored = StoredResponse.builder()
+				.fingerprint(fingerprint)
+				.status(response.getStatusCode().value())
+				.headers(headers)
+				.body(response.getBody())
+				.storedAt(Instant.now())
+				.build();
+		if (recentResponses != null) {
+			recentResponses.put(fingerprint, stored);
+		}
+		if (key == null) {
+			return;
+		}
+		keyedResponses.put(key, stored);
+		if (journal != null) {
+			try {
+				journal.append(Map.of(key, objectMapper.writeValueAsBytes(stored)));
+				journaled.add(Map.entry(key, stored.getStoredAt()));
+			}
+			catch (IOException e) {
+				log.warn("Failed to journal the response to idempotency key {}, it will not survive a restart: {}",
+						key, e.getMessage());
+			}
+		}
+	}
+
+	private ResponseEntity<String> replay(StoredResponse stored) {
+		HttpHeaders headers = new HttpHeaders();
+		stored.getHeaders().forEach(headers::addAll);
+		headers.set(REPLAYED_HEADER, "true");
+		return ResponseEntity.status(stored.getStatus()).headers(headers).body(stored.getBody());
+	}
+
+	private String fingerprint(String scope, Object request) throws ResourceException {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(scope.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+		}
+		catch (JsonProcessingException e) {
+			throw new ResourceException("InvalidRequest", "The request could not be read.", HttpStatus.BAD_REQUEST);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private void recover() {
+		Instant expiry = Instant.now().minus(properties.getTtl());
+		List<String> dropped = new ArrayList<>();
+		journal.drainRecovered().forEach((key, data) -> {
+			try {
+				StoredResponse stored = objectMapper.readValue(data, StoredResponse.class);
+				if (stored.getStoredAt().isBefore(expiry)) {
+					dropped.add(key);
+					return;
+				}
+				keyedResponses.put(key, stored);
+				journaled.add(Map.entry(key, stored.getStoredAt()));
+			}
+			catch (IOException e) {
+				log.error("Dropping unreadable response to idempotency key {}: {}", key, e.getMessage());
+				dropped.add(key);
+			}
+		});
+		completeQuietly(dropped);
+		log.info("Recovered {} idempotent responses from {}", journaled.size(),
+				properties.getPersistence().getDirectory());
+	}
+
+	private void compact() {
+		Instant expiry = Instant.now().minus(properties.getTtl());
+		List<String> expired = new ArrayList<>();
+		for (Map.Entry<String, Instant> head = journaled.peek(); head != null && head.getValue().isBefore(expiry);
+				head = journaled.peek()) {
+			expired.add(journaled.poll().getKey());
+		}
+		completeQuietly(expired);
+		try {
+			journal.compact();
+		}
+		catch (IOException e) {
+			log.warn("Failed to compact the idempotency journal: {}", e.getMessage());
+		}
+	}
+
+	private void completeQuietly(List<String> keys) {
+		if (keys.isEmpty()) {
+			return;
+		}
+		try {
+			journal.complete(keys);
+		}
+		catch (IOException e) {
+			log.warn("Failed to drop {} expired responses from the idempotency journal: {}", keys.size(),
+					e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.jeremw.example.emailsender.email.idempotency;
+
+import com.jeremw.example.emailsender.exception.ResourceException;
+import jakarta.mail.MessagingException;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Send request whose response may be replayed by the {@link IdempotencyStore}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@FunctionalInterface
+public interface IdempotentAction {
+
+	/**
+	 * Handles the request.
+	 *
+	 * @return the response to the request
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 * @throws ResourceException  if the request cannot be handled
+	 */
+	ResponseEntity<String> execute() throws MessagingException, ResourceException;
+}
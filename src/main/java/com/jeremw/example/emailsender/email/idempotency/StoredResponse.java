@@ -0,0 +1,47 @@
+package com.jeremw.example.emailsender.email.idempotency;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Response to a send request, kept to be replayed to the repetitions of that request.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+@Builder
+@Jacksonized
+public class StoredResponse {
+
+	/**
+	 * The fingerprint of the request which produced the response.
+	 */
+	String fingerprint;
+
+	/**
+	 * The HTTP status code of the response.
+	 */
+	int status;
+
+	/**
+	 * The headers of the response.
+	 */
+	Map<String, List<String>> headers;
+
+	/**
+	 * The body of the response.
+	 */
+	String body;
+
+	/**
+	 * The instant at which the response was stored.
+	 */
+	Instant storedAt;
+}
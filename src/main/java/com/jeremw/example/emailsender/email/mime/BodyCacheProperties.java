@@ -0,0 +1,35 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties of the cache of encoded message bodies, bound from {@code custom.mail.body-cache}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.body-cache")
+public class BodyCacheProperties {
+
+	/**
+	 * The maximum number of encoded bodies kept, {@code 0} to encode every body.
+	 */
+	private int maxSize = 256;
+
+	/**
+	 * How long an encoded body is kept after being encoded.
+	 */
+	private Duration ttl = Duration.ofMinutes(10);
+
+	/**
+	 * The size above which a body is encoded for every message rather than cached.
+	 */
+	private DataSize maxContentSize = DataSize.ofKilobytes(256);
+}
@@ -0,0 +1,29 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import lombok.Value;
+
+/**
+ * Body of a single-part message, already encoded for transmission.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+public class EncodedBody {
+
+	/**
+	 * The value of the {@code Content-Type} header, charset included.
+	 */
+	String contentType;
+
+	/**
+	 * The value of the {@code Content-Transfer-Encoding} header.
+	 */
+	String transferEncoding;
+
+	/**
+	 * The encoded bytes, exactly as transmitted after the headers. Must not be modified.
+	 */
+	byte[] bytes;
+}
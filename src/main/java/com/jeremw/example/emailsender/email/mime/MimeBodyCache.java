@@ -0,0 +1,113 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import com.jeremw.example.emailsender.cache.BoundedTtlCache;
+import com.jeremw.example.emailsender.cache.CacheStats;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeUtility;
+
+/**
+ * Encodes text bodies once, and keeps the encoded bytes for the next messages with the same content.
+ *
+ * <p>
+ * Bodies are keyed by a SHA-256 digest of their content, so that the cache does not hold on to the content itself.
+ * The encoding is the one JavaMail would have picked for the same text: {@code 7bit} for short lines of ASCII,
+ * {@code quoted-printable} for mostly ASCII text and {@code base64} otherwise.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class MimeBodyCache {
+
+	private static final String CHARSET = StandardCharsets.UTF_8.name();
+
+	private final BoundedTtlCache<String, EncodedBody> cache;
+
+	private final long maxContentSize;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param properties the cache configuration
+	 */
+	public MimeBodyCache(BodyCacheProperties properties) {
+		this.cache = properties.getMaxSize() > 0
+				? new BoundedTtlCache<>(properties.getMaxSize(), properties.getTtl())
+				: null;
+		this.maxContentSize = properties.getMaxContentSize().toBytes();
+	}
+
+	/**
+	 * Returns the encoded form of the given text, encoding it only if it is not cached yet.
+	 *
+	 * @param text    the text of the body
+	 * @param subtype the MIME subtype of the text, such as {@code plain} or {@code html}
+	 * @return the encoded body
+	 * @throws MessagingException if the text cannot be encoded
+	 */
+	public EncodedBody encode(String text, String subtype) throws MessagingException {
+		if (cache == null || text.length() > maxContentSize) {
+			return encodeUncached(text, subtype);
+		}
+		String key = subtype + ':' + digest(text);
+		EncodedBody body = cache.get(key);
+		if (body == null) {
+			body = encodeUncached(text, subtype);
+			cache.put(key, body);
+		}
+		return body;
+	}
+
+	/**
+	 * Returns the statistics of the cache.
+	 *
+	 * @return the statistics, all zero when the cache is disabled
+	 */
+	public CacheStats stats() {
+		return cache != null ? cache.stats() : new CacheStats(0, 0, 0, 0);
+	}
+
+	/**
+	 * Encodes the given text.
+	 *
+	 * @param text    the text of the body
+	 * @param subtype the MIME subtype of the text
+	 * @return the encoded body
+	 * @throws MessagingException if the text cannot be encoded
+	 */
+	public static EncodedBody encodeUncached(String text, String subtype) throws MessagingException {
+		MimeBodyPart part = new MimeBodyPart();
+		part.setText(text, CHARSET, subtype);
+		String transferEncoding = MimeUtility.getEncoding(part.getDataHandler());
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length() + 64);
+		try {
+			OutputStream encoder = MimeUtility.encode(bytes, transferEncoding);
+			part.getDataHandler().writeTo(encoder);
+			encoder.flush();
+		}
+		catch (IOException e) {
+			throw new MessagingException("Could not encode the body", e);
+		}
+		return new EncodedBody("text/" + subtype + "; charset=" + CHARSET, transferEncoding, bytes.toByteArray());
+	}
+
+	private static String digest(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the construction of the messages.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(BodyCacheProperties.class)
+public class MimeConfiguration {
+
+	/**
+	 * Creates the cache of the encoded message bodies.
+	 *
+	 * @param properties the {@code custom.mail.body-cache} properties
+	 * @return the {@link MimeBodyCache}
+	 */
+	@Bean
+	public MimeBodyCache mimeBodyCache(BodyCacheProperties properties) {
+		return new MimeBodyCache(properties);
+	}
+}
@@ -0,0 +1,81 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Enumeration;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * {@link MimeMessage} whose body was encoded beforehand, and is written as is after the headers.
+ *
+ * <p>
+ * Only the headers are built for each message; the body, possibly shared by many messages, is neither parsed nor
+ * encoded again when the message is transmitted.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class PreEncodedMimeMessage extends MimeMessage {
+
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	private final EncodedBody body;
+
+	/**
+	 * Creates a new message with the given body.
+	 *
+	 * @param session the session of the message
+	 * @param body    the encoded body
+	 */
+	public PreEncodedMimeMessage(Session session, EncodedBody body) {
+		super(session);
+		this.body = body;
+	}
+
+	@Override
+	protected synchronized void updateHeaders() throws MessagingException {
+		setHeader("MIME-Version", "1.0");
+		setHeader("Content-Type", body.getContentType());
+		setHeader("Content-Transfer-Encoding", body.getTransferEncoding());
+		if (getHeader("Date") == null) {
+			setSentDate(new Date());
+		}
+		updateMessageID();
+	}
+
+	@Override
+	public void writeTo(OutputStream os, String[] ignoreList) throws IOException, MessagingException {
+		if (!saved) {
+			saveChanges();
+		}
+		// The transport may have changed the encoding, for instance to 8bit, while the body stays encoded as is
+		setHeader("Content-Transfer-Encoding", body.getTransferEncoding());
+		Enumeration<String> headerLines = getNonMatchingHeaderLines(ignoreList);
+		while (headerLines.hasMoreElements()) {
+			os.write(headerLines.nextElement().getBytes(StandardCharsets.UTF_8));
+			os.write(CRLF);
+		}
+		os.write(CRLF);
+		os.write(body.getBytes());
+		os.flush();
+	}
+
+	@Override
+	protected InputStream getContentStream() {
+		return new ByteArrayInputStream(body.getBytes());
+	}
+
+	@Override
+	public int getSize() {
+		return body.getBytes().length;
+	}
+}
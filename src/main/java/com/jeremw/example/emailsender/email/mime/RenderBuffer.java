@@ -0,0 +1,303 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.util.StreamProvider;
+
+/**
+ * Reusable buffer a body is rendered into, then encoded for transmission, without an intermediate {@link String}.
+ *
+ * <p>
+ * The characters written are encoded to UTF-8 as they come into a byte array kept from one body to the next, and
+ * {@link #encode(String)} encodes these bytes into the {@link EncodedBody} of the message, with the transfer encoding
+ * JavaMail would have picked for the same text, as {@link MimeBodyCache#encodeUncached(String, String)} does. The
+ * encoded bytes are the only array allocated for a body, once the buffers have grown to the size of the bodies sent.
+ * </p>
+ *
+ * <p>
+ * A buffer is not thread-safe: a thread takes one from a small pool shared by all the threads with
+ * {@link #acquire()}, and hands it back with {@link #release()} once the body is encoded. The pool holds at most two
+ * buffers per CPU core rather than one per thread, so that the buffers are still reused by virtual threads, each of
+ * which renders a single body, and no idle thread holds on to one. A buffer is allocated when the pool is empty, and
+ * dropped when the pool is full or when it grew past {@value #MAX_RETAINED_SIZE} bytes for an unusually large body.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class RenderBuffer extends Writer {
+
+	private static final int INITIAL_SIZE = 8 * 1024;
+
+	private static final int MAX_RETAINED_SIZE = 256 * 1024;
+
+	// Longest line of 7bit text allowed by RFC 5322, CRLF excluded.
+	private static final int MAX_LINE_LENGTH = 998;
+
+	private static final String CHARSET = StandardCharsets.UTF_8.name();
+
+	private static final String TEXT_HTML = "text/html; charset=" + CHARSET;
+
+	private static final String TEXT_PLAIN = "text/plain; charset=" + CHARSET;
+
+	private static final String SEVEN_BIT = "7bit";
+
+	private static final String QUOTED_PRINTABLE = "quoted-printable";
+
+	private static final String BASE64 = "base64";
+
+	// Looked up once: MimeUtility.encode looks the provider up through a ServiceLoader for every body.
+	private static final StreamProvider STREAMS = StreamProvider.provider();
+
+	private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+	// Last in, first out, so that the buffers used the most stay warm in the CPU caches.
+	private static final Deque<RenderBuffer> POOL = new ArrayDeque<>(POOL_SIZE);
+
+	private static final ReentrantLock POOL_LOCK = new ReentrantLock();
+
+	private final EncodingOutputStream encoded = new EncodingOutputStream();
+
+	private byte[] bytes = new byte[INITIAL_SIZE];
+
+	private int length;
+
+	private char highSurrogate;
+
+	private RenderBuffer() {
+	}
+
+	/**
+	 * Takes an emptied buffer from the pool, or allocates one if the pool is empty.
+	 *
+	 * @return a buffer owned by the caller until it is released
+	 */
+	public static RenderBuffer acquire() {
+		RenderBuffer buffer;
+		POOL_LOCK.lock();
+		try {
+			buffer = POOL.pollFirst();
+		}
+		finally {
+			POOL_LOCK.unlock();
+		}
+		if (buffer == null) {
+			return new RenderBuffer();
+		}
+		buffer.length = 0;
+		buffer.highSurrogate = 0;
+		return buffer;
+	}
+
+	/**
+	 * Hands the buffer back to the pool, dropping it if it grew too large to be kept or if the pool is full. The
+	 * buffer must not be used afterwards.
+	 */
+	public void release() {
+		if (bytes.length > MAX_RETAINED_SIZE || encoded.capacity() > MAX_RETAINED_SIZE) {
+			return;
+		}
+		POOL_LOCK.lock();
+		try {
+			if (POOL.size() < POOL_SIZE) {
+				POOL.addFirst(this);
+			}
+		}
+		finally {
+			POOL_LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of buffers waiting in the pool.
+	 *
+	 * @return the number of pooled buffers
+	 */
+	static int pooled() {
+		POOL_LOCK.lock();
+		try {
+			return POOL.size();
+		}
+		finally {
+			POOL_LOCK.unlock();
+		}
+	}
+
+	@Override
+	public void write(int c) {
+		writeChar((char) c);
+	}
+
+	@Override
+	public void write(char[] chars, int offset, int count) {
+		for (int i = offset; i < offset + count; i++) {
+			writeChar(chars[i]);
+		}
+	}
+
+	@Override
+	public void write(String text, int offset, int count) {
+		for (int i = offset; i < offset + count; i++) {
+			writeChar(text.charAt(i));
+		}
+	}
+
+	@Override
+	public Writer append(CharSequence text) {
+		String value = String.valueOf(text);
+		write(value, 0, value.length());
+		return this;
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() {
+	}
+
+	/**
+	 * Returns the number of bytes written so far, encoded in UTF-8.
+	 *
+	 * @return the number of bytes
+	 */
+	public int size() {
+		return length;
+	}
+
+	/**
+	 * Encodes the text written so far as the body of a message.
+	 *
+	 * @param subtype the MIME subtype of the text, such as {@code plain} or {@code html}
+	 * @return the encoded body, owning its bytes
+	 * @throws MessagingException if the text cannot be encoded
+	 */
+	public EncodedBody encode(String subtype) throws MessagingException {
+		if (highSurrogate != 0) {
+			appendByte('?');
+			highSurrogate = 0;
+		}
+		String transferEncoding = transferEncoding();
+		encoded.reset();
+		try {
+			OutputStream encoder = encoder(transferEncoding);
+			encoder.write(bytes, 0, length);
+			encoder.flush();
+		}
+		catch (IOException e) {
+			throw new MessagingException("Could not encode the body", e);
+		}
+		return new EncodedBody(contentType(subtype), transferEncoding, encoded.toByteArray());
+	}
+
+	/**
+	 * Picks the transfer encoding of the bytes as JavaMail does for text: {@code 7bit} for short lines of ASCII,
+	 * {@code quoted-printable} when most of the bytes are ASCII and {@code base64} otherwise.
+	 */
+	private String transferEncoding() {
+		int nonAscii = 0;
+		int lineLength = 0;
+		boolean longLine = false;
+		for (int i = 0; i < length; i++) {
+			int b = bytes[i] & 0xFF;
+			if (b == '\r' || b == '\n') {
+				lineLength = 0;
+			}
+			else if (++lineLength > MAX_LINE_LENGTH) {
+				longLine = true;
+			}
+			if (b >= 0x7F || b < 0x20 && b != '\r' && b != '\n' && b != '\t') {
+				nonAscii++;
+			}
+		}
+		if (nonAscii == 0) {
+			return longLine ? QUOTED_PRINTABLE : SEVEN_BIT;
+		}
+		return length - nonAscii > nonAscii ? QUOTED_PRINTABLE : BASE64;
+	}
+
+	private OutputStream encoder(String transferEncoding) {
+		return switch (transferEncoding) {
+			case BASE64 -> STREAMS.outputBase64(encoded);
+			case QUOTED_PRINTABLE -> STREAMS.outputQP(encoded);
+			default -> encoded;
+		};
+	}
+
+	private static String contentType(String subtype) {
+		return switch (subtype) {
+			case "html" -> TEXT_HTML;
+			case "plain" -> TEXT_PLAIN;
+			default -> "text/" + subtype + "; charset=" + CHARSET;
+		};
+	}
+
+	private void writeChar(char c) {
+		if (highSurrogate != 0) {
+			char high = highSurrogate;
+			highSurrogate = 0;
+			if (Character.isLowSurrogate(c)) {
+				appendCodePoint(Character.toCodePoint(high, c));
+				return;
+			}
+			appendByte('?');
+		}
+		if (c < 0x80) {
+			appendByte(c);
+		}
+		else if (c < 0x800) {
+			appendByte(0xC0 | c >> 6);
+			appendByte(0x80 | c & 0x3F);
+		}
+		else if (Character.isHighSurrogate(c)) {
+			highSurrogate = c;
+		}
+		else if (Character.isLowSurrogate(c)) {
+			appendByte('?');
+		}
+		else {
+			appendByte(0xE0 | c >> 12);
+			appendByte(0x80 | c >> 6 & 0x3F);
+			appendByte(0x80 | c & 0x3F);
+		}
+	}
+
+	private void appendCodePoint(int codePoint) {
+		appendByte(0xF0 | codePoint >> 18);
+		appendByte(0x80 | codePoint >> 12 & 0x3F);
+		appendByte(0x80 | codePoint >> 6 & 0x3F);
+		appendByte(0x80 | codePoint & 0x3F);
+	}
+
+	private void appendByte(int b) {
+		if (length == bytes.length) {
+			bytes = Arrays.copyOf(bytes, bytes.length * 2);
+		}
+		bytes[length++] = (byte) b;
+	}
+
+	/**
+	 * Output of the encoder, whose array is kept when it is reset.
+	 */
+	private static final class EncodingOutputStream extends ByteArrayOutputStream {
+
+		private EncodingOutputStream() {
+			super(INITIAL_SIZE);
+		}
+
+		private int capacity() {
+			return buf.length;
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package com.jeremw.example.emailsender.email.outbox;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Durable record of the {@link EmailJob}s accepted but not processed yet.
+ *
+ * <p>
+ * When {@code custom.mail.outbox.enabled} is set, jobs are written to an {@link OutboxJournal} before being
+ * acknowledged to the client, and completed once they have been processed. The jobs still pending when the
+ * application stopped, for instance because it crashed or because the send queue was not drained in time, are
+ * read back on startup so that they can be sent again. When disabled, every method does nothing.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class EmailOutbox implements AutoCloseable {
+
+	private static final EmailOutbox DISABLED = new EmailOutbox();
+
+	private final OutboxJournal journal;
+
+	private final ObjectMapper objectMapper;
+
+	private final ScheduledExecutorService compactor;
+
+	private EmailOutbox() {
+		this.journal = null;
+		this.objectMapper = null;
+		this.compactor = null;
+	}
+
+	/**
+	 * Opens the outbox journal and starts its periodic compaction.
+	 *
+	 * @param properties   the outbox configuration
+	 * @param objectMapper the mapper used to serialize the jobs
+	 * @throws IOException if the journal cannot be opened
+	 */
+	public EmailOutbox(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+		this.journal = new OutboxJournal(properties.getDirectory(), properties.getSegmentSize().toBytes(),
+				properties.getCompactionThreshold());
+		this.objectMapper = objectMapper;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("email-outbox-compactor-");
+		threadFactory.setDaemon(true);
+		this.compactor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long interval = properties.getCompactionInterval().toMillis();
+		compactor.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+		log.info("Email outbox opened in {}", properties.getDirectory());
+	}
+
+	/**
+	 * Returns an outbox which does not record anything.
+	 *
+	 * @return a disabled outbox
+	 */
+	public static EmailOutbox disabled() {
+		return DISABLED;
+	}
+
+	/**
+	 * Tells whether the jobs are journaled.
+	 *
+	 * @return {@code true} if the outbox is enabled
+	 */
+	public boolean isEnabled() {
+		return journal != null;
+	}
+
+	/**
+	 * Durably records jobs which are about to be acknowledged.
+	 *
+	 * @param jobs the accepted jobs
+	 * @throws ResourceException if the jobs cannot be written to disk
+	 */
+	public void store(List<EmailJob> jobs) throws ResourceException {
+		if (journal == null) {
+			return;
+		}
+		try {
+			Map<String, byte[]> entries = new LinkedHashMap<>();
+			for (EmailJob job : jobs) {
+				entries.put(job.getId(), objectMapper.writeValueAsBytes(job));
+			}
+			journal.append(entries);
+		}
+		catch (IOException e) {
+			log.error("Failed to write {} email jobs to the outbox: {}", jobs.size(), e.getMessage());
+			throw new ResourceException("OutboxUnavailable", "The email could not be recorded, please retry later.",
+					HttpStatus.SERVICE_UNAVAILABLE);
+		}
+	}
+
+	/**
+	 * Records that jobs have been processed, so that they are not sent again on the next startup.
+	 *
+	 * @param jobs the processed jobs
+	 */
+	public void complete(List<EmailJob> jobs) {
+		if (journal == null) {
+			return;
+		}
+		try {
+			journal.complete(jobs.stream().map(EmailJob::getId).toList());
+		}
+		catch (IOException e) {
+			log.warn("Failed to complete {} email jobs in the outbox, they will be sent again: {}", jobs.size(),
+					e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the jobs found pending when the outbox was opened. They are only returned once.
+	 *
+	 * @return the pending jobs, in the order they were accepted
+	 */
+	public List<EmailJob> drainRecovered() {
+		if (journal == null) {
+			return List.of();
+		}
+		List<EmailJob> jobs = new ArrayList<>();
+		List<String> unreadable = new ArrayList<>();
+		journal.drainRecovered().forEach((id, data) -> {
+			try {
+				jobs.add(objectMapper.readValue(data, EmailJob.class));
+			}
+			catch (IOException e) {
+				log.error("Dropping unreadable email job {} from the outbox: {}", id, e.getMessage());
+				unreadable.add(id);
+			}
+		});
+		if (!unreadable.isEmpty()) {
+			try {
+				journal.complete(unreadable);
+			}
+			catch (IOException e) {
+				log.warn("Failed to drop unreadable email jobs from the outbox: {}", e.getMessage());
+			}
+		}
+		return jobs;
+	}
+
+	/**
+	 * Returns the number of jobs recorded and not processed yet.
+	 *
+	 * @return the number of pending jobs
+	 */
+	public int size() {
+		return journal != null ? journal.size() : 0;
+	}
+
+	/**
+	 * Stops the compaction and closes the journal.
+	 *
+	 * @throws IOException if the journal cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (journal == null) {
+			return;
+		}
+		compactor.shutdownNow();
+		journal.close();
+	}
+
+	private void compact() {
+		try {
+			journal.compact();
+		}
+		catch (IOException e) {
+			log.warn("Failed to compact the email outbox: {}", e.getMessage());
+		}
+	}
+}
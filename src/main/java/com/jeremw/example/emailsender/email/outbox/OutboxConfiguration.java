@@ -0,0 +1,39 @@
+package com.jeremw.example.emailsender.email.outbox;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the {@link EmailOutbox}.
+ *
+ * <p>
+ * The outbox journal is only opened when {@code custom.mail.outbox.enabled} is set; otherwise a disabled outbox is
+ * registered so that the send path does not have to check for its presence.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+
+	/**
+	 * Creates the outbox.
+	 *
+	 * @param properties   the {@code custom.mail.outbox} properties
+	 * @param objectMapper the mapper used to serialize the jobs
+	 * @return the {@link EmailOutbox}
+	 * @throws IOException if the outbox journal cannot be opened
+	 */
+	@Bean
+	public EmailOutbox emailOutbox(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+		return properties.isEnabled() ? new EmailOutbox(properties, objectMapper) : EmailOutbox.disabled();
+	}
+}
@@ -0,0 +1,527 @@
+package com.jeremw.example.emailsender.email.outbox;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only journal of the entries accepted but not yet completed, split in segment files.
+ *
+ * <p>
+ * Each entry is written as a {@code STORED} record holding its payload, and settled later on by a
+ * {@code COMPLETED} record. Records are framed with their length and a CRC32 checksum, so that a record torn by a
+ * crash is detected and discarded when the journal is opened again. Once the current segment grows over the
+ * configured size, it is sealed and a new one is started.
+ * </p>
+ *
+ * <p>
+ * {@link #append(Map)} only returns once the entries are on disk. Concurrent appends share their {@code fsync}: the
+ * first waiting thread forces the segment for every record written so far while the others wait for it, so that
+ * the number of {@code fsync} calls follows the disk latency rather than the number of entries. Completions are
+ * not forced; a completion lost in a crash only causes its entry to be replayed.
+ * </p>
+ *
+ * <p>
+ * {@link #compact()} deletes the sealed segments whose entries are all completed, and rewrites the ones where few
+ * entries are still pending by copying those to the current segment. Segments are deleted oldest first, and only up to
+ * the first one still holding pending entries: a segment also holds the completions of entries stored in the older
+ * ones, which would be replayed if it was deleted before them.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class OutboxJournal implements AutoCloseable {
+
+	private static final String SEGMENT_PREFIX = "outbox-";
+
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private static final byte STORED = 1;
+
+	private static final byte COMPLETED = 2;
+
+	private static final int HEADER_SIZE = 8;
+
+	private static final int BODY_PREFIX_SIZE = 3;
+
+	private static final byte[] NO_DATA = new byte[0];
+
+	private final Path directory;
+
+	private final long segmentSize;
+
+	private final double compactionThreshold;
+
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private final ReentrantLock syncLock = new ReentrantLock();
+
+	private final Condition syncDone = syncLock.newCondition();
+
+	private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+	private final Map<String, Segment> pending = new HashMap<>();
+
+	private Map<String, byte[]> recovered = new LinkedHashMap<>();
+
+	private Segment current;
+
+	private long written;
+
+	private long durable;
+
+	private boolean syncing;
+
+	private boolean closed;
+
+	/**
+	 * Opens the journal stored in the given directory, reading back the entries which were not completed.
+	 *
+	 * @param directory           the directory holding the segment files, created if missing
+	 * @param segmentSize         the size in bytes above which a segment is sealed
+	 * @param compactionThreshold the ratio of pending entries under which a sealed segment is rewritten
+	 * @throws IOException if the journal cannot be read or a new segment cannot be created
+	 */
+	public OutboxJournal(Path directory, long segmentSize, double compactionThreshold) throws IOException {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.compactionThreshold = compactionThreshold;
+		Files.createDirectories(directory);
+		for (Path path : listSegments()) {
+			Segment segment = new Segment(sequenceOf(path), path);
+			segments.put(segment.sequence, segment);
+			recover(segment);
+		}
+		for (Segment segment : List.copyOf(segments.values())) {
+			if (segment.live > 0) {
+				break;
+			}
+			delete(segment);
+		}
+		current = createSegment(segments.isEmpty() ? 1 : segments.lastKey() + 1);
+		if (!recovered.isEmpty()) {
+			log.info("Recovered {} pending entries from the outbox journal in {}", recovered.size(), directory);
+		}
+	}
+
+	/**
+	 * Returns the entries found pending when the journal was opened, and forgets them.
+	 *
+	 * @return the payloads of the pending entries by identifier, in the order they were appended
+	 */
+	public Map<String, byte[]> drainRecovered() {
+		writeLock.lock();
+		try {
+			Map<String, byte[]> entries = recovered;
+			recovered = new LinkedHashMap<>();
+			return entries;
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Appends entries to the journal and waits for them to be on disk.
+	 *
+	 * @param entries the payloads of the entries by identifier
+	 * @throws IOException if the entries cannot be written or forced to disk
+	 */
+	public void append(Map<String, byte[]> entries) throws IOException {
+		long target;
+		writeLock.lock();
+		try {
+			ensureOpen();
+			List<String> appended = new ArrayList<>(entries.size());
+			try {
+				for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+					store(entry.getKey(), entry.getValue());
+					appended.add(entry.getKey());
+				}
+			}
+			catch (IOException e) {
+				appended.forEach(this::forget);
+				throw e;
+			}
+			target = written;
+		}
+		finally {
+			writeLock.unlock();
+		}
+		awaitDurable(target);
+	}
+
+	/**
+	 * Marks entries as completed, so that they are not replayed. Unknown identifiers are ignored.
+	 *
+	 * @param ids the identifiers of the completed entries
+	 * @throws IOException if the completions cannot be written
+	 */
+	public void complete(Collection<String> ids) throws IOException {
+		writeLock.lock();
+		try {
+			ensureOpen();
+			for (String id : ids) {
+				if (forget(id)) {
+					write(encode(COMPLETED, id, NO_DATA));
+				}
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Deletes the oldest sealed segments without pending entries, and rewrites the ones mostly made of completed
+	 * entries.
+	 *
+	 * @throws IOException if a segment cannot be read, rewritten or deleted
+	 */
+	public void compact() throws IOException {
+		writeLock.lock();
+		try {
+			ensureOpen();
+			for (Segment segment : List.copyOf(segments.headMap(current.sequence, false).values())) {
+				if (segment.live > 0 && segment.live < compactionThreshold * segment.stored) {
+					copyForward(segment);
+				}
+				if (segment.live > 0) {
+					// The next segments may complete entries stored in this one: they are kept as long as it is.
+					break;
+				}
+				delete(segment);
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of entries not completed yet.
+	 *
+	 * @return the number of pending entries
+	 */
+	public int size() {
+		writeLock.lock();
+		try {
+			return pending.size();
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of segment files, including the current one.
+	 *
+	 * @return the number of segments
+	 */
+	public int getSegmentCount() {
+		writeLock.lock();
+		try {
+			return segments.size();
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Forces the current segment to disk and closes it.
+	 *
+	 * @throws IOException if the segment cannot be forced or closed
+	 */
+	@Override
+	public void close() throws IOException {
+		writeLock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			current.channel.force(false);
+			current.channel.close();
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void store(String id, byte[] data) throws IOException {
+		write(encode(STORED, id, data));
+		Segment previous = pending.put(id, current);
+		if (previous != null) {
+			previous.live--;
+		}
+		current.live++;
+		current.stored++;
+	}
+
+	private boolean forget(String id) {
+		Segment owner = pending.remove(id);
+		if (owner == null) {
+			return false;
+		}
+		owner.live--;
+		return true;
+	}
+
+	private void write(ByteBuffer record) throws IOException {
+		if (current.size > 0 && current.size + record.remaining() > segmentSize) {
+			roll();
+		}
+		int length = record.remaining();
+		try {
+			while (record.hasRemaining()) {
+				current.channel.write(record);
+			}
+		}
+		catch (IOException e) {
+			current.channel.truncate(current.size);
+			throw e;
+		}
+		current.size += length;
+		written += length;
+	}
+
+	private void roll() throws IOException {
+		Segment sealed = current;
+		sealed.channel.force(false);
+		sealed.channel.close();
+		current = createSegment(sealed.sequence + 1);
+	}
+
+	private void awaitDurable(long target) throws IOException {
+		syncLock.lock();
+		try {
+			while (durable < target) {
+				if (syncing) {
+					syncDone.awaitUninterruptibly();
+					continue;
+				}
+				syncing = true;
+				syncLock.unlock();
+				long flushed;
+				try {
+					flushed = flush();
+				}
+				finally {
+					syncLock.lock();
+					syncing = false;
+					syncDone.signalAll();
+				}
+				durable = Math.max(durable, flushed);
+			}
+		}
+		finally {
+			syncLock.unlock();
+		}
+	}
+
+	private long flush() throws IOException {
+		FileChannel channel;
+		long target;
+		writeLock.lock();
+		try {
+			ensureOpen();
+			channel = current.channel;
+			target = written;
+		}
+		finally {
+			writeLock.unlock();
+		}
+		try {
+			channel.force(false);
+		}
+		catch (ClosedChannelException e) {
+			// The segment was sealed in the meantime, which forced every record written to it
+		}
+		return target;
+	}
+
+	private void copyForward(Segment segment) throws IOException {
+		List<String> ids = new ArrayList<>();
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+			readRecords(channel, (type, id, data) -> {
+				if (type == STORED && pending.get(id) == segment) {
+					ids.add(id);
+					entries.put(id, data);
+				}
+			});
+		}
+		for (String id : ids) {
+			store(id, entries.get(id));
+		}
+		current.channel.force(false);
+		log.debug("Copied {} pending entries out of outbox segment {}", ids.size(), segment.path.getFileName());
+	}
+
+	private void recover(Segment segment) throws IOException {
+		try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long end = readRecords(channel, (type, id, data) -> {
+				if (type == STORED) {
+					Segment previous = pending.put(id, segment);
+					if (previous != null) {
+						previous.live--;
+					}
+					segment.live++;
+					segment.stored++;
+					recovered.put(id, data);
+				}
+				else if (forget(id)) {
+					recovered.remove(id);
+				}
+			});
+			if (end < channel.size()) {
+				log.warn("Discarding {} bytes torn from the end of outbox segment {}", channel.size() - end,
+						segment.path.getFileName());
+				channel.truncate(end);
+			}
+			segment.size = end;
+		}
+	}
+
+	private long readRecords(FileChannel channel, RecordHandler handler) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+		long position = 0;
+		while (true) {
+			byte[] body;
+			try {
+				int length = in.readInt();
+				int checksum = in.readInt();
+				if (length < BODY_PREFIX_SIZE || length > channel.size() - position - HEADER_SIZE) {
+					return position;
+				}
+				body = new byte[length];
+				in.readFully(body);
+				if (checksum != checksum(body, 0, length)) {
+					return position;
+				}
+			}
+			catch (EOFException e) {
+				return position;
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(body);
+			byte type = buffer.get();
+			int idLength = Short.toUnsignedInt(buffer.getShort());
+			String id = new String(body, BODY_PREFIX_SIZE, idLength, StandardCharsets.UTF_8);
+			handler.handle(type, id, Arrays.copyOfRange(body, BODY_PREFIX_SIZE + idLength, body.length));
+			position += HEADER_SIZE + body.length;
+		}
+	}
+
+	private static ByteBuffer encode(byte type, String id, byte[] data) {
+		byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+		int length = BODY_PREFIX_SIZE + idBytes.length + data.length;
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + length);
+		buffer.putInt(length).putInt(0).put(type).putShort((short) idBytes.length).put(idBytes).put(data);
+		buffer.putInt(Integer.BYTES, checksum(buffer.array(), HEADER_SIZE, length));
+		return buffer.flip();
+	}
+
+	private static int checksum(byte[] bytes, int offset, int length) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, offset, length);
+		return (int) crc.getValue();
+	}
+
+	private Segment createSegment(long sequence) throws IOException {
+		Segment segment = new Segment(sequence, directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence,
+				SEGMENT_SUFFIX)));
+		segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		segments.put(sequence, segment);
+		syncDirectory();
+		return segment;
+	}
+
+	private void delete(Segment segment) throws IOException {
+		Files.deleteIfExists(segment.path);
+		segments.remove(segment.sequence);
+		log.debug("Deleted outbox segment {}", segment.path.getFileName());
+	}
+
+	private void syncDirectory() {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		}
+		catch (IOException e) {
+			log.debug("Directory {} cannot be forced to disk: {}", directory, e.getMessage());
+		}
+	}
+
+	private List<Path> listSegments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> {
+				String name = path.getFileName().toString();
+				return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+			}).sorted().toList();
+		}
+	}
+
+	private static long sequenceOf(Path path) {
+		String name = path.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("The outbox journal is closed");
+		}
+	}
+
+	@FunctionalInterface
+	private interface RecordHandler {
+
+		void handle(byte type, String id, byte[] data);
+	}
+
+	private static final class Segment {
+
+		private final long sequence;
+
+		private final Path path;
+
+		private FileChannel channel;
+
+		private long size;
+
+		private int live;
+
+		private int stored;
+
+		private Segment(long sequence, Path path) {
+			this.sequence = sequence;
+			this.path = path;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.jeremw.example.emailsender.email.outbox;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties of the on-disk outbox, bound from {@code custom.mail.outbox}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.outbox")
+public class OutboxProperties {
+
+	/**
+	 * Whether accepted emails are journaled on disk before being acknowledged.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * The directory holding the segment files of the journal.
+	 */
+	private Path directory = Path.of("data", "outbox");
+
+	/**
+	 * The size above which the current segment is sealed and a new one is started.
+	 */
+	private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+	/**
+	 * How often sealed segments are compacted.
+	 */
+	private Duration compactionInterval = Duration.ofMinutes(1);
+
+	/**
+	 * The ratio of pending entries under which a sealed segment is rewritten, its pending entries being copied to
+	 * the current segment. Segments without pending entries are always deleted.
+	 */
+	private double compactionThreshold = 0.5;
+}
@@ -0,0 +1,54 @@
+package com.jeremw.example.emailsender.email.outbox;
+
+import java.util.List;
+
+import com.jeremw.example.emailsender.email.attachment.AttachmentStore;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobDispatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends again the jobs left pending in the {@link EmailOutbox} by the previous run of the application.
+ *
+ * <p>
+ * The jobs are replayed once the application is ready, on a dedicated thread so that a slow or unreachable SMTP
+ * server does not delay the startup. Their attachments are retained in the {@link AttachmentStore} right away, as
+ * the references counted by the previous run were lost with it.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxReplayer {
+
+	private final EmailOutbox emailOutbox;
+
+	private final EmailJobDispatcher emailJobDispatcher;
+
+	private final AttachmentStore attachmentStore;
+
+	/**
+	 * Starts replaying the recovered jobs, if any.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void replay() {
+		List<EmailJob> jobs = emailOutbox.drainRecovered();
+		if (jobs.isEmpty()) {
+			return;
+		}
+		attachmentStore.retain(jobs);
+		log.info("Replaying {} email jobs recovered from the outbox", jobs.size());
+		Thread thread = new Thread(() -> emailJobDispatcher.resume(jobs), "email-outbox-replay");
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
@@ -0,0 +1,207 @@
+package com.jeremw.example.emailsender.email.queue;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.jeremw.example.emailsender.email.attachment.EmailAttachment;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Immutable description of a single email to send.
+ *
+ * <p>
+ * A job carries everything required to build the message later on, possibly on another thread than the one
+ * which accepted the request. Template variables are kept as a plain map rather than a Thymeleaf context so
+ * that the job stays independent from the rendering engine, and can be serialized to JSON when recorded in the
+ * outbox.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class EmailJob {
+
+	/**
+	 * The unique identifier of the job, returned to the client.
+	 */
+	@Builder.Default
+	String id = UUID.randomUUID().toString();
+
+	/**
+	 * The kind of email described by this job.
+	 */
+	EmailJobType type;
+
+	/**
+	 * The recipient's email address.
+	 */
+	String to;
+
+	/**
+	 * The recipients of a grouped email, sent the same message in a single SMTP transaction without seeing each
+	 * other. Only set for grouped {@link EmailJobType#RAW} jobs, whose {@code to} is then {@code null}.
+	 */
+	List<String> bcc;
+
+	/**
+	 * The subject of the email.
+	 */
+	String subject;
+
+	/**
+	 * The content of the email, only set for {@link EmailJobType#RAW} jobs.
+	 */
+	String content;
+
+	/**
+	 * The name of the template to render, only set for {@link EmailJobType#TEMPLATE} jobs.
+	 */
+	String templateName;
+
+	/**
+	 * The variables used to render the template, only set for {@link EmailJobType#TEMPLATE} jobs.
+	 */
+	Map<String, Object> variables;
+
+	/**
+	 * The instant at which the job was created.
+	 */
+	@Builder.Default
+	Instant createdAt = Instant.now();
+
+	/**
+	 * The number of sending attempts which already failed.
+	 */
+	int attempts;
+
+	/**
+	 * The instant before which the email must not be sent, or {@code null} to send it right away.
+	 */
+	Instant sendAt;
+
+	/**
+	 * The priority of the email, deciding the lane it is queued in.
+	 */
+	@Builder.Default
+	EmailPriority priority = EmailPriority.NORMAL;
+
+	/**
+	 * The files attached to the email, stored once in the attachment store however many jobs reference them.
+	 */
+	@Builder.Default
+	List<EmailAttachment> attachments = List.of();
+
+	/**
+	 * Creates a job for a plain text email.
+	 *
+	 * @param to      the recipient's email address
+	 * @param subject the subject of the email
+	 * @param content the content of the email
+	 * @return a new {@link EmailJob} of type {@link EmailJobType#RAW}
+	 */
+	public static EmailJob raw(String to, String subject, String content) {
+		return EmailJob.builder()
+				.type(EmailJobType.RAW)
+				.to(to)
+				.subject(subject)
+				.content(content)
+				.build();
+	}
+
+	/**
+	 * Creates a job for a plain text email sent at once to several recipients.
+	 *
+	 * @param recipients the recipients' email addresses, usually sharing the same domain
+	 * @param subject    the subject of the email
+	 * @param content    the content of the email
+	 * @return a new grouped {@link EmailJob} of type {@link EmailJobType#RAW}
+	 */
+	public static EmailJob rawGroup(List<String> recipients, String subject, String content) {
+		return EmailJob.builder()
+				.type(EmailJobType.RAW)
+				.bcc(List.copyOf(recipients))
+				.subject(subject)
+				.content(content)
+				.build();
+	}
+
+	/**
+	 * Creates a job for an email rendered from a template.
+	 *
+	 * @param to           the recipient's email address
+	 * @param subject      the subject of the email
+	 * @param templateName the name of the template to render
+	 * @param variables    the variables used to render the template
+	 * @return a new {@link EmailJob} of type {@link EmailJobType#TEMPLATE}
+	 */
+	public static EmailJob template(String to, String subject, String templateName, Map<String, Object> variables) {
+		return EmailJob.builder()
+				.type(EmailJobType.TEMPLATE)
+				.to(to)
+				.subject(subject)
+				.templateName(templateName)
+				.variables(Collections.unmodifiableMap(new HashMap<>(variables)))
+				.build();
+	}
+
+	/**
+	 * Describes the recipients of this job, for logging.
+	 *
+	 * @return the recipient's email address, or the number and domain of the recipients of a grouped job
+	 */
+	public String describeRecipients() {
+		if (bcc == null) {
+			return to;
+		}
+		return bcc.size() + " recipients at " + RecipientGroups.domain(bcc.get(0));
+	}
+
+	/**
+	 * Returns a copy of this job to be sent at the given date.
+	 *
+	 * @param sendAt the instant before which the email must not be sent, or {@code null} to send it right away
+	 * @return the same job with the given sending date
+	 */
+	public EmailJob scheduledAt(Instant sendAt) {
+		return sendAt == null ? this : toBuilder().sendAt(sendAt).build();
+	}
+
+	/**
+	 * Returns a copy of this job with the given priority.
+	 *
+	 * @param priority the priority of the email
+	 * @return the same job with the given priority
+	 */
+	public EmailJob prioritized(EmailPriority priority) {
+		return priority == this.priority ? this : toBuilder().priority(priority).build();
+	}
+
+	/**
+	 * Returns a copy of this job with the given attachments.
+	 *
+	 * @param attachments the files attached to the email
+	 * @return the same job with the given attachments
+	 */
+	public EmailJob attaching(List<EmailAttachment> attachments) {
+		return attachments.isEmpty() ? this : toBuilder().attachments(List.copyOf(attachments)).build();
+	}
+
+	/**
+	 * Returns a copy of this job for its next sending attempt.
+	 *
+	 * @return the same job with one more failed attempt
+	 */
+	public EmailJob nextAttempt() {
+		return toBuilder().attempts(attempts + 1).build();
+	}
+}
@@ -0,0 +1,513 @@
+package com.jeremw.example.emailsender.email.queue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.jeremw.example.emailsender.cluster.ClusterCoordinator;
+import com.jeremw.example.emailsender.cluster.RendezvousHashing;
+import com.jeremw.example.emailsender.concurrent.ReservedCapacity;
+import com.jeremw.example.emailsender.email.EmailService;
+import com.jeremw.example.emailsender.email.attachment.AttachmentStore;
+import com.jeremw.example.emailsender.email.outbox.EmailOutbox;
+import com.jeremw.example.emailsender.email.retry.EmailRetryScheduler;
+import com.jeremw.example.emailsender.email.schedule.EmailSendScheduler;
+import com.jeremw.example.emailsender.email.status.EmailStatusIndex;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.thymeleaf.context.Context;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entry point used by the controllers to send an {@link EmailJob}.
+ *
+ * <p>
+ * Depending on the configuration, the job is either sent right away on the calling thread, or handed over to
+ * the {@link EmailSendQueue} so that the HTTP request can return before the SMTP round-trip.
+ * </p>
+ *
+ * <p>
+ * Jobs are recorded in the {@link EmailOutbox} before being acknowledged, and completed there once processed.
+ * Failed jobs are handed over to the {@link EmailRetryScheduler}, which either schedules another attempt or gives
+ * them up; they stay in the outbox until then. The attachments of the jobs are retained in the
+ * {@link AttachmentStore} for as long as the jobs are recorded in the outbox.
+ * </p>
+ *
+ * <p>
+ * Jobs with a sending date in the future are recorded in the outbox as well, and held by the
+ * {@link EmailSendScheduler} until that date, which then hands them back to be sent as recovered jobs.
+ * </p>
+ *
+ * <p>
+ * Jobs are queued in the lane of their {@link EmailPriority}, a chunk of jobs in the lane of the most urgent one.
+ * {@link EmailPriority#HIGH} jobs are sent under a {@link ReservedCapacity} grant, so that they may use the SMTP
+ * connections reserved to them.
+ * </p>
+ *
+ * <p>
+ * When several instances form a cluster, every job is owned by one node, chosen by {@link RendezvousHashing} of
+ * its recipient among the live nodes of the {@link ClusterCoordinator}. The jobs owned by other nodes are forwarded
+ * to them, and the receipts they answer returned as is; the jobs which cannot be forwarded are dispatched locally
+ * rather than failed. Jobs with attachments are always dispatched by the node which stored the attachments.
+ * </p>
+ *
+ * <p>
+ * Every change of status of the jobs dispatched by this node is recorded in the {@link EmailStatusIndex}, so that
+ * clients can ask what happened to their emails. The jobs forwarded to another node are recorded by that node.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+public class EmailJobDispatcher {
+
+	private final EmailService emailService;
+
+	private final EmailSendQueue emailSendQueue;
+
+	private final EmailOutbox emailOutbox;
+
+	private final EmailRetryScheduler emailRetryScheduler;
+
+	private final EmailSendScheduler emailSendScheduler;
+
+	private final AttachmentStore attachmentStore;
+
+	private final ClusterCoordinator clusterCoordinator;
+
+	private final EmailStatusIndex emailStatusIndex;
+
+	@Value("${custom.mail.batch.chunk-size:50}")
+	private int chunkSize = 50;
+
+	/**
+	 * Creates a new dispatcher, which sends the scheduled jobs once released by the {@link EmailSendScheduler}.
+	 *
+	 * @param emailService        the service sending the emails
+	 * @param emailSendQueue      the queue of the asynchronous mode
+	 * @param emailOutbox         the outbox recording the accepted jobs
+	 * @param emailRetryScheduler the scheduler of the failed jobs
+	 * @param emailSendScheduler  the scheduler of the jobs with a sending date
+	 * @param attachmentStore     the store of the files attached to the jobs
+	 * @param clusterCoordinator  the coordinator of the nodes sharing the jobs
+	 * @param emailStatusIndex    the index recording the status of the jobs
+	 */
+	public EmailJobDispatcher(EmailService emailService, EmailSendQueue emailSendQueue, EmailOutbox emailOutbox,
+			EmailRetryScheduler emailRetryScheduler, EmailSendScheduler emailSendScheduler,
+			AttachmentStore attachmentStore, ClusterCoordinator clusterCoordinator, EmailStatusIndex emailStatusIndex) {
+		this.emailService = emailService;
+		this.emailSendQueue = emailSendQueue;
+		this.emailOutbox = emailOutbox;
+		this.emailRetryScheduler = emailRetryScheduler;
+		this.emailSendScheduler = emailSendScheduler;
+		this.attachmentStore = attachmentStore;
+		this.clusterCoordinator = clusterCoordinator;
+		this.emailStatusIndex = emailStatusIndex;
+		emailSendScheduler.onRelease(this::resume);
+		clusterCoordinator.onReceive(this::receive);
+	}
+
+	/**
+	 * Dispatches the given job.
+	 *
+	 * @param job the job to send
+	 * @return an {@link EmailJobReceipt} telling whether the job was sent, queued, scheduled, or failed and will be
+	 * retried
+	 * @throws MessagingException if the job is sent synchronously and the sending fails without being retried
+	 * @throws ResourceException  if the job cannot be recorded in the outbox, queued or scheduled
+	 */
+	public EmailJobReceipt dispatch(final EmailJob job) throws MessagingException, ResourceException {
+		String owner = ownerOf(job, clusterCoordinator.getMembers());
+		if (!owner.equals(clusterCoordinator.getLocalNode())) {
+			if (emailSendScheduler.isScheduled(job)) {
+				emailSendScheduler.checkSendAt(job.getSendAt());
+			}
+			List<EmailJobReceipt> receipts = forward(owner, List.of(job));
+			if (receipts != null) {
+				return unwrap(receipts.get(0));
+			}
+		}
+		if (emailSendScheduler.isScheduled(job)) {
+			return schedule(job);
+		}
+		store(List.of(job));
+		if (emailSendQueue.isEnabled()) {
+			// Recorded before the job is submitted, so that it cannot replace the status recorded by a fast worker.
+			emailStatusIndex.record(job, EmailJobStatus.QUEUED);
+			try {
+				emailSendQueue.submit(job.getPriority(), () -> executeQuietly(job));
+			}
+			catch (ResourceException e) {
+				emailStatusIndex.record(job, EmailJobStatus.REJECTED, e);
+				complete(List.of(job));
+				throw e;
+			}
+			log.debug("Email job {} queued for {}", job.getId(), job.describeRecipients());
+			return new EmailJobReceipt(job.getId(), EmailJobStatus.QUEUED);
+		}
+		try {
+			execute(job);
+		}
+		catch (MessagingException | RuntimeException e) {
+			if (emailRetryScheduler.onFailure(job, e, this::retry)) {
+				return receipt(job, EmailJobStatus.RETRYING, e);
+			}
+			emailStatusIndex.record(job, EmailJobStatus.FAILED, e);
+			complete(List.of(job));
+			throw e;
+		}
+		complete(List.of(job));
+		return receipt(job, EmailJobStatus.SENT);
+	}
+
+	/**
+	 * Dispatches several jobs, grouping them in chunks sent over a shared SMTP connection.
+	 *
+	 * <p>In asynchronous mode, each chunk is queued as a single task. When the queue is full, the jobs of the
+	 * remaining chunks are reported as {@link EmailJobStatus#REJECTED} rather than failing the whole batch. Jobs with
+	 * a sending date in the future are scheduled instead.</p>
+	 *
+	 * @param jobs the jobs to send
+	 * @return one {@link EmailJobReceipt} per job, in the same order
+	 */
+	public List<EmailJobReceipt> dispatchAll(final List<EmailJob> jobs) {
+		return route(jobs, owned -> dispatchScheduled(owned, this::dispatchNow));
+	}
+
+	private List<EmailJobReceipt> dispatchNow(List<EmailJob> jobs) {
+		List<EmailJobReceipt> receipts = new ArrayList<>(jobs.size());
+		for (int from = 0; from < jobs.size(); from += chunkSize) {
+			List<EmailJob> chunk = jobs.subList(from, Math.min(jobs.size(), from + chunkSize));
+			receipts.addAll(emailSendQueue.isEnabled() ? queueChunk(chunk) : sendAll(chunk));
+		}
+		return receipts;
+	}
+
+	/**
+	 * Sends the given job on the calling thread.
+	 *
+	 * @param job the job to send
+	 * @throws MessagingException if there is an error while attempting to send the email
+	 */
+	public void execute(final EmailJob job) throws MessagingException {
+		try (ReservedCapacity.Grant grant = ReservedCapacity.grant(job.getPriority() == EmailPriority.HIGH)) {
+			if (!job.getAttachments().isEmpty()) {
+				emailService.send(job);
+				return;
+			}
+			switch (job.getType()) {
+				case RAW -> {
+					if (job.getBcc() != null) {
+						emailService.sendGroupedText(job.getBcc(), job.getSubject(), job.getContent());
+					}
+					else {
+						emailService.sendRowText(job.getTo(), job.getSubject(), job.getContent());
+					}
+				}
+				case TEMPLATE -> {
+					Context context = new Context();
+					context.setVariables(job.getVariables());
+					emailService.sentHtmlTemplate(job.getTo(), job.getSubject(), job.getTemplateName(), context);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sends again jobs which were already recorded in the outbox, typically the ones recovered on startup.
+	 *
+	 * <p>The jobs are queued in chunks when the asynchronous mode is enabled, and sent on the calling thread
+	 * otherwise or when the queue is full, which slows the caller down to the pace of the workers. The jobs whose
+	 * sending date is not reached yet are scheduled again.</p>
+	 *
+	 * @param jobs the jobs to send
+	 */
+	public void resume(final List<EmailJob> jobs) {
+		Map<Boolean, List<EmailJob>> scheduled = jobs.stream()
+				.collect(Collectors.partitioningBy(emailSendScheduler::isScheduled));
+		if (!scheduled.get(true).isEmpty()) {
+			emailSendScheduler.reschedule(scheduled.get(true));
+			scheduled.get(true).forEach(job -> emailStatusIndex.record(job, EmailJobStatus.SCHEDULED));
+			log.info("{} recovered email jobs scheduled again", scheduled.get(true).size());
+		}
+		List<EmailJob> due = scheduled.get(false);
+		for (int from = 0; from < due.size(); from += chunkSize) {
+			List<EmailJob> chunk = List.copyOf(due.subList(from, Math.min(due.size(), from + chunkSize)));
+			if (emailSendQueue.isEnabled()) {
+				chunk.forEach(job -> emailStatusIndex.record(job, EmailJobStatus.QUEUED));
+				try {
+					emailSendQueue.submit(priorityOf(chunk), () -> deliverAll(chunk));
+					continue;
+				}
+				catch (ResourceException e) {
+					log.debug("Email queue full, sending {} recovered jobs on the calling thread", chunk.size());
+				}
+			}
+			deliverAll(chunk);
+		}
+	}
+
+	private List<EmailJobReceipt> queueChunk(List<EmailJob> chunk) {
+		List<EmailJob> jobs = List.copyOf(chunk);
+		try {
+			store(jobs);
+		}
+		catch (ResourceException e) {
+			return reject(jobs, e);
+		}
+		jobs.forEach(job -> emailStatusIndex.record(job, EmailJobStatus.QUEUED));
+		try {
+			emailSendQueue.submit(priorityOf(jobs), () -> deliverAll(jobs));
+			log.debug("Batch of {} email jobs queued", jobs.size());
+			return jobs.stream().map(job -> new EmailJobReceipt(job.getId(), EmailJobStatus.QUEUED)).toList();
+		}
+		catch (ResourceException e) {
+			complete(jobs);
+			return reject(jobs, e);
+		}
+	}
+
+	private List<EmailJobReceipt> reject(List<EmailJob> jobs, ResourceException e) {
+		return jobs.stream().map(job -> receipt(job, EmailJobStatus.REJECTED, e)).toList();
+	}
+
+	/**
+	 * Sends several jobs on the calling thread over a shared SMTP connection, bypassing the send queue.
+	 *
+	 * <p>Used by pipelines which already bound their own concurrency, such as the streaming endpoint. The jobs are
+	 * reported as {@link EmailJobStatus#REJECTED} when they cannot be recorded in the outbox. Jobs with a sending
+	 * date in the future are scheduled instead.</p>
+	 *
+	 * @param jobs the jobs to send
+	 * @return one {@link EmailJobReceipt} per job, in the same order
+	 */
+	public List<EmailJobReceipt> sendAll(final List<EmailJob> jobs) {
+		return route(jobs, owned -> dispatchScheduled(owned, this::sendNow));
+	}
+
+	private List<EmailJobReceipt> sendNow(List<EmailJob> jobs) {
+		try {
+			store(jobs);
+		}
+		catch (ResourceException e) {
+			return reject(jobs, e);
+		}
+		return deliverAll(jobs);
+	}
+
+	private EmailJobReceipt schedule(EmailJob job) throws ResourceException {
+		emailSendScheduler.checkSendAt(job.getSendAt());
+		store(List.of(job));
+		try {
+			emailSendScheduler.schedule(List.of(job));
+		}
+		catch (ResourceException e) {
+			complete(List.of(job));
+			throw e;
+		}
+		log.debug("Email job {} scheduled at {} for {}", job.getId(), job.getSendAt(), job.describeRecipients());
+		return receipt(job, EmailJobStatus.SCHEDULED);
+	}
+
+	private List<EmailJobReceipt> dispatchScheduled(List<EmailJob> jobs,
+			Function<List<EmailJob>, List<EmailJobReceipt>> immediate) {
+		Map<Boolean, List<EmailJob>> scheduled = jobs.stream()
+				.collect(Collectors.partitioningBy(emailSendScheduler::isScheduled));
+		if (scheduled.get(true).isEmpty()) {
+			return immediate.apply(jobs);
+		}
+		Map<String, EmailJobReceipt> receipts = new HashMap<>();
+		scheduleAll(scheduled.get(true)).forEach(receipt -> receipts.put(receipt.getJobId(), receipt));
+		if (!scheduled.get(false).isEmpty()) {
+			immediate.apply(scheduled.get(false)).forEach(receipt -> receipts.put(receipt.getJobId(), receipt));
+		}
+		return jobs.stream().map(job -> receipts.get(job.getId())).toList();
+	}
+
+	private List<EmailJobReceipt> scheduleAll(List<EmailJob> jobs) {
+		List<EmailJobReceipt> receipts = new ArrayList<>(jobs.size());
+		List<EmailJob> accepted = new ArrayList<>(jobs.size());
+		for (EmailJob job : jobs) {
+			try {
+				emailSendScheduler.checkSendAt(job.getSendAt());
+				accepted.add(job);
+			}
+			catch (ResourceException e) {
+				receipts.add(receipt(job, EmailJobStatus.REJECTED, e));
+			}
+		}
+		if (accepted.isEmpty()) {
+			return receipts;
+		}
+		try {
+			store(accepted);
+		}
+		catch (ResourceException e) {
+			receipts.addAll(reject(accepted, e));
+			return receipts;
+		}
+		try {
+			emailSendScheduler.schedule(accepted);
+		}
+		catch (ResourceException e) {
+			complete(accepted);
+			receipts.addAll(reject(accepted, e));
+			return receipts;
+		}
+		accepted.forEach(job -> receipts.add(receipt(job, EmailJobStatus.SCHEDULED)));
+		return receipts;
+	}
+
+	private List<EmailJobReceipt> deliverAll(List<EmailJob> jobs) {
+		Map<String, Exception> failures;
+		try (ReservedCapacity.Grant grant = ReservedCapacity.grant(priorityOf(jobs) == EmailPriority.HIGH)) {
+			failures = emailService.sendBatch(jobs);
+		}
+		List<EmailJobReceipt> receipts = new ArrayList<>(jobs.size());
+		List<EmailJob> processed = new ArrayList<>(jobs.size());
+		for (EmailJob job : jobs) {
+			Exception failure = failures.get(job.getId());
+			if (failure == null) {
+				receipts.add(receipt(job, EmailJobStatus.SENT));
+				processed.add(job);
+			}
+			else if (emailRetryScheduler.onFailure(job, failure, this::retry)) {
+				receipts.add(receipt(job, EmailJobStatus.RETRYING, failure));
+			}
+			else {
+				receipts.add(receipt(job, EmailJobStatus.FAILED, failure));
+				processed.add(job);
+			}
+		}
+		complete(processed);
+		return receipts;
+	}
+
+	private void retry(EmailJob job) {
+		if (emailSendQueue.isEnabled()) {
+			try {
+				emailSendQueue.submit(job.getPriority(), () -> executeQuietly(job));
+				return;
+			}
+			catch (ResourceException e) {
+				log.debug("Email queue full, retrying job {} on the retry thread", job.getId());
+			}
+		}
+		executeQuietly(job);
+	}
+
+	private List<EmailJobReceipt> receive(List<EmailJob> jobs) {
+		log.debug("Dispatching {} email jobs forwarded by another node", jobs.size());
+		return dispatchScheduled(jobs, this::dispatchNow);
+	}
+
+	private List<EmailJobReceipt> route(List<EmailJob> jobs, Function<List<EmailJob>, List<EmailJobReceipt>> local) {
+		List<String> members = clusterCoordinator.getMembers();
+		if (members.size() == 1) {
+			return local.apply(jobs);
+		}
+		Map<String, List<EmailJob>> shards = jobs.stream()
+				.collect(Collectors.groupingBy(job -> ownerOf(job, members), LinkedHashMap::new, Collectors.toList()));
+		Map<String, EmailJobReceipt> receipts = new HashMap<>();
+		List<EmailJob> owned = new ArrayList<>();
+		shards.forEach((node, shard) -> {
+			List<EmailJobReceipt> forwarded = node.equals(clusterCoordinator.getLocalNode()) ? null
+					: forward(node, shard);
+			if (forwarded == null) {
+				owned.addAll(shard);
+			}
+			else {
+				forwarded.forEach(receipt -> receipts.put(receipt.getJobId(), receipt));
+			}
+		});
+		if (!owned.isEmpty()) {
+			local.apply(owned).forEach(receipt -> receipts.put(receipt.getJobId(), receipt));
+		}
+		return jobs.stream().map(job -> receipts.get(job.getId())).toList();
+	}
+
+	private List<EmailJobReceipt> forward(String node, List<EmailJob> jobs) {
+		try {
+			List<EmailJobReceipt> receipts = clusterCoordinator.forward(node, jobs);
+			log.debug("{} email jobs forwarded to node {}", jobs.size(), node);
+			return receipts;
+		}
+		catch (IOException e) {
+			log.warn("Dispatching locally the email jobs owned by node {}. {}", node, e.getMessage());
+			return null;
+		}
+	}
+
+	private String ownerOf(EmailJob job, List<String> members) {
+		if (members.size() == 1 || !job.getAttachments().isEmpty()) {
+			return clusterCoordinator.getLocalNode();
+		}
+		String recipient = job.getTo() != null ? job.getTo() : job.getBcc().get(0);
+		return RendezvousHashing.owner(recipient.toLowerCase(Locale.ROOT), members);
+	}
+
+	private static EmailJobReceipt unwrap(EmailJobReceipt receipt) throws MessagingException, ResourceException {
+		return switch (receipt.getStatus()) {
+			case FAILED -> throw new MessagingException(receipt.getError());
+			case REJECTED -> throw new ResourceException("EmailRejected", receipt.getError(),
+					HttpStatus.SERVICE_UNAVAILABLE);
+			default -> receipt;
+		};
+	}
+
+	private void store(List<EmailJob> jobs) throws ResourceException {
+		emailOutbox.store(jobs);
+		attachmentStore.retain(jobs);
+	}
+
+	private void complete(List<EmailJob> jobs) {
+		emailOutbox.complete(jobs);
+		attachmentStore.release(jobs);
+	}
+
+	private static EmailPriority priorityOf(List<EmailJob> jobs) {
+		return jobs.stream().map(EmailJob::getPriority).min(Comparator.naturalOrder()).orElse(EmailPriority.NORMAL);
+	}
+
+	private EmailJobReceipt receipt(EmailJob job, EmailJobStatus status) {
+		emailStatusIndex.record(job, status);
+		return new EmailJobReceipt(job.getId(), status);
+	}
+
+	private EmailJobReceipt receipt(EmailJob job, EmailJobStatus status, Exception failure) {
+		emailStatusIndex.record(job, status, failure);
+		return new EmailJobReceipt(job.getId(), status, failure.getMessage());
+	}
+
+	private void executeQuietly(EmailJob job) {
+		try {
+			execute(job);
+		}
+		catch (Exception e) {
+			if (emailRetryScheduler.onFailure(job, e, this::retry)) {
+				emailStatusIndex.record(job, EmailJobStatus.RETRYING, e);
+			}
+			else {
+				emailStatusIndex.record(job, EmailJobStatus.FAILED, e);
+				complete(List.of(job));
+			}
+			return;
+		}
+		emailStatusIndex.record(job, EmailJobStatus.SENT);
+		complete(List.of(job));
+	}
+}
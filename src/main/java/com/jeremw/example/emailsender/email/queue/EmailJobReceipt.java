@@ -0,0 +1,67 @@
+package com.jeremw.example.emailsender.email.queue;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+/**
+ * Result of the dispatch of an {@link EmailJob}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+public class EmailJobReceipt {
+
+	/**
+	 * The identifier of the dispatched job.
+	 */
+	String jobId;
+
+	/**
+	 * The state of the job when the dispatch returned.
+	 */
+	EmailJobStatus status;
+
+	/**
+	 * The reason of the failure, only set for {@link EmailJobStatus#RETRYING}, {@link EmailJobStatus#FAILED} and
+	 * {@link EmailJobStatus#REJECTED} jobs.
+	 */
+	String error;
+
+	/**
+	 * Creates a receipt for a job which did not fail.
+	 *
+	 * @param jobId  the identifier of the dispatched job
+	 * @param status the state of the job
+	 */
+	public EmailJobReceipt(String jobId, EmailJobStatus status) {
+		this(jobId, status, null);
+	}
+
+	/**
+	 * Creates a receipt with an explicit failure reason.
+	 *
+	 * @param jobId  the identifier of the dispatched job
+	 * @param status the state of the job
+	 * @param error  the reason of the failure, or {@code null}
+	 */
+	@JsonCreator
+	public EmailJobReceipt(String jobId, EmailJobStatus status, String error) {
+		this.jobId = jobId;
+		this.status = status;
+		this.error = error;
+	}
+
+	/**
+	 * Tells whether the job was only accepted and will be sent later.
+	 *
+	 * @return {@code true} if the job is still waiting to be sent
+	 */
+	@JsonIgnore
+	public boolean isDeferred() {
+		return status == EmailJobStatus.QUEUED || status == EmailJobStatus.RETRYING
+				|| status == EmailJobStatus.SCHEDULED;
+	}
+}
@@ -0,0 +1,41 @@
+package com.jeremw.example.emailsender.email.queue;
+
+/**
+ * Enumeration of the states a {@link EmailJob} can be reported in once dispatched.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum EmailJobStatus {
+
+	/**
+	 * The job has been accepted into the send queue and will be sent by a worker.
+	 */
+	QUEUED,
+
+	/**
+	 * The job is held until its sending date, and will then be sent.
+	 */
+	SCHEDULED,
+
+	/**
+	 * The job has been handed over to the SMTP server.
+	 */
+	SENT,
+
+	/**
+	 * The job could not be sent yet, and another attempt is scheduled.
+	 */
+	RETRYING,
+
+	/**
+	 * The job could not be sent.
+	 */
+	FAILED,
+
+	/**
+	 * The job was refused before any sending attempt, for instance because it is invalid or the queue is full.
+	 */
+	REJECTED
+}
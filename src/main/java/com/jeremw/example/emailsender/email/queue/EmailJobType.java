@@ -0,0 +1,21 @@
+package com.jeremw.example.emailsender.email.queue;
+
+/**
+ * Enumeration of the kinds of email a {@link EmailJob} can describe.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum EmailJobType {
+
+	/**
+	 * A plain text email built from a subject and a raw content.
+	 */
+	RAW,
+
+	/**
+	 * An HTML email rendered from a Thymeleaf template.
+	 */
+	TEMPLATE
+}
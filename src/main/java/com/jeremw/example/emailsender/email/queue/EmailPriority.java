@@ -0,0 +1,32 @@
+package com.jeremw.example.emailsender.email.queue;
+
+/**
+ * Enumeration of the priorities of an {@link EmailJob}, from the most to the least urgent.
+ *
+ * <p>
+ * Every priority has its own lane in the {@link EmailSendQueue}, so that a large campaign does not delay the
+ * transactional emails queued after it.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum EmailPriority {
+
+	/**
+	 * A transactional email awaited by its recipient, such as a password reset or a welcome email. High priority
+	 * emails may use the send workers and SMTP connections reserved to them.
+	 */
+	HIGH,
+
+	/**
+	 * An individual email which is not time-sensitive.
+	 */
+	NORMAL,
+
+	/**
+	 * An email sent as part of a batch or a campaign.
+	 */
+	BULK
+}
@@ -0,0 +1,226 @@
+package com.jeremw.example.emailsender.email.queue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.concurrent.EmailThreads;
+import com.jeremw.example.emailsender.concurrent.WeightedLanes;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process queue drained by a fixed pool of send workers.
+ *
+ * <p>
+ * The queue is only started when {@code custom.mail.async.enabled} is set. Its capacity is bounded so that a burst
+ * of requests cannot exhaust the heap: once full, new jobs are rejected with a {@code 503 Service Unavailable}
+ * and the client is expected to retry later.
+ * </p>
+ *
+ * <p>
+ * The queue has one lane per {@link EmailPriority}, each bounded by {@code queue-capacity}, so that a campaign
+ * filling its lane does not prevent transactional emails from being queued. The workers drain the lanes in
+ * proportion to their {@code weights}, and {@code reserved-workers} of them only serve the {@link EmailPriority#HIGH}
+ * lane, so that a transactional email never waits for a worker busy with a campaign for long. The time every job
+ * waited in its lane is recorded by {@link EmailMetrics}.
+ * </p>
+ *
+ * <p>
+ * The workers are virtual threads when {@code spring.threads.virtual.enabled} is set and the JVM supports them.
+ * </p>
+ *
+ * <p>
+ * The queue is stopped before the outbox is closed, so that the jobs sent while draining it at shutdown are still
+ * completed in the outbox.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+@DependsOn("emailOutbox")
+public class EmailSendQueue {
+
+	@Value("${custom.mail.async.enabled:false}")
+	private boolean enabled;
+
+	@Value("${custom.mail.async.workers:4}")
+	private int workers;
+
+	@Value("${custom.mail.async.queue-capacity:1000}")
+	private int queueCapacity;
+
+	@Value("${custom.mail.async.weights.high:8}")
+	private int highWeight = 8;
+
+	@Value("${custom.mail.async.weights.normal:4}")
+	private int normalWeight = 4;
+
+	@Value("${custom.mail.async.weights.bulk:1}")
+	private int bulkWeight = 1;
+
+	@Value("${custom.mail.async.reserved-workers:1}")
+	private int reservedWorkers = 1;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	@Value("${custom.mail.async.shutdown-timeout:30s}")
+	private Duration shutdownTimeout;
+
+	private final EmailMetrics emailMetrics;
+
+	private final List<Thread> workerThreads = new ArrayList<>();
+
+	private WeightedLanes<QueuedTask> lanes;
+
+	/**
+	 * Creates a new queue, started once its configuration is injected.
+	 *
+	 * @param emailMetrics the recorder of the time spent by the jobs in the queue
+	 */
+	public EmailSendQueue(EmailMetrics emailMetrics) {
+		this.emailMetrics = emailMetrics;
+	}
+
+	/**
+	 * Starts the workers if the asynchronous mode is enabled.
+	 */
+	@PostConstruct
+	void start() {
+		if (!enabled) {
+			return;
+		}
+		int lanesCount = EmailPriority.values().length;
+		int[] capacities = new int[lanesCount];
+		Arrays.fill(capacities, queueCapacity);
+		lanes = new WeightedLanes<>(new int[] { highWeight, normalWeight, bulkWeight }, capacities);
+		// At least one worker serves every lane.
+		int reserved = Math.max(0, Math.min(reservedWorkers, workers - 1));
+		ThreadFactory threadFactory = EmailThreads.factory("email-sender-", virtualThreads);
+		for (int i = 0; i < workers; i++) {
+			int lastLane = i < reserved ? EmailPriority.HIGH.ordinal() : lanesCount - 1;
+			Thread worker = threadFactory.newThread(() -> work(lastLane));
+			workerThreads.add(worker);
+			worker.start();
+		}
+		log.info("Asynchronous email queue started with {} workers, {} reserved to high priority emails, and a "
+				+ "capacity of {} per priority", workers, reserved, queueCapacity);
+	}
+
+	/**
+	 * Stops accepting jobs and waits for the queued ones to be sent.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the workers
+	 */
+	@PreDestroy
+	void stop() throws InterruptedException {
+		if (lanes == null) {
+			return;
+		}
+		lanes.close();
+		long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+		for (Thread worker : workerThreads) {
+			long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMillis <= 0) {
+				break;
+			}
+			worker.join(remainingMillis);
+		}
+		if (workerThreads.stream().anyMatch(Thread::isAlive)) {
+			log.warn("{} queued emails were not sent before shutdown", lanes.drain().size());
+			workerThreads.forEach(Thread::interrupt);
+		}
+	}
+
+	/**
+	 * Tells whether the asynchronous mode is enabled.
+	 *
+	 * @return {@code true} if jobs should be queued rather than sent on the calling thread
+	 */
+	public boolean isEnabled() {
+		return lanes != null;
+	}
+
+	/**
+	 * Enqueues a task sending one or several jobs in the lane of the given priority.
+	 *
+	 * @param priority the priority of the jobs
+	 * @param task     the task sending the jobs
+	 * @throws ResourceException if the lane is full or the queue is shutting down
+	 */
+	public void submit(EmailPriority priority, Runnable task) throws ResourceException {
+		if (!lanes.offer(priority.ordinal(), new QueuedTask(priority, task))) {
+			throw new ResourceException("EmailQueueFull", "The email queue is full, please retry later.",
+					HttpStatus.SERVICE_UNAVAILABLE);
+		}
+	}
+
+	/**
+	 * Returns the number of jobs waiting for a worker.
+	 *
+	 * @return the current depth of the queue
+	 */
+	public int size() {
+		return lanes != null ? lanes.size() : 0;
+	}
+
+	/**
+	 * Returns the number of jobs of the given priority waiting for a worker.
+	 *
+	 * @param priority the priority of the jobs
+	 * @return the current depth of the lane
+	 */
+	public int size(EmailPriority priority) {
+		return lanes != null ? lanes.size(priority.ordinal()) : 0;
+	}
+
+	private void work(int lastLane) {
+		try {
+			QueuedTask queued;
+			while ((queued = lanes.take(lastLane)) != null) {
+				emailMetrics.recordQueueWait(queued.priority, System.nanoTime() - queued.queuedAt);
+				try {
+					queued.task.run();
+				}
+				catch (RuntimeException e) {
+					log.error("Email send task failed unexpectedly", e);
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Task waiting in a lane.
+	 */
+	private static final class QueuedTask {
+
+		private final EmailPriority priority;
+
+		private final Runnable task;
+
+		private final long queuedAt = System.nanoTime();
+
+		private QueuedTask(EmailPriority priority, Runnable task) {
+			this.priority = priority;
+			this.task = task;
+		}
+	}
+}
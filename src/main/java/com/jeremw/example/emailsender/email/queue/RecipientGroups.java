@@ -0,0 +1,62 @@
+package com.jeremw.example.emailsender.email.queue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Groups the recipients of an email by destination domain.
+ *
+ * <p>
+ * The recipients of a same domain are usually served by the same mail exchanger, so that an SMTP relay can deliver
+ * a single copy of a message addressed to all of them. Sending them one message with several {@code RCPT TO}
+ * rather than one message each saves transmitting the same content over and over.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public final class RecipientGroups {
+
+	private RecipientGroups() {
+	}
+
+	/**
+	 * Splits the given recipients into groups sharing the same domain.
+	 *
+	 * <p>The domains are compared ignoring case. Groups are returned in the order of the first recipient of each
+	 * domain, and a domain with more than {@code maxPerGroup} recipients is split into several groups.</p>
+	 *
+	 * @param recipients  the recipients' email addresses
+	 * @param maxPerGroup the maximum number of recipients of a group
+	 * @return the groups of recipients
+	 */
+	public static List<List<String>> byDomain(Collection<String> recipients, int maxPerGroup) {
+		int max = Math.max(1, maxPerGroup);
+		Map<String, List<String>> domains = new LinkedHashMap<>();
+		for (String recipient : recipients) {
+			domains.computeIfAbsent(domain(recipient), domain -> new ArrayList<>()).add(recipient);
+		}
+		List<List<String>> groups = new ArrayList<>();
+		for (List<String> domainRecipients : domains.values()) {
+			for (int from = 0; from < domainRecipients.size(); from += max) {
+				groups.add(List.copyOf(domainRecipients.subList(from, Math.min(domainRecipients.size(), from + max))));
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Returns the domain of the given email address.
+	 *
+	 * @param recipient the email address
+	 * @return the part following the last {@code @}, in lower case
+	 */
+	public static String domain(String recipient) {
+		return recipient.substring(recipient.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+	}
+}
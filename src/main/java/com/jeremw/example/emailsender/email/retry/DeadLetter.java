@@ -0,0 +1,42 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import java.time.Instant;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import lombok.Value;
+
+/**
+ * An email given up after a permanent failure or too many attempts.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+public class DeadLetter {
+
+	/**
+	 * The job which could not be sent.
+	 */
+	EmailJob job;
+
+	/**
+	 * The kind of the last failure. A {@link FailureType#TRANSIENT} failure means the attempts were exhausted.
+	 */
+	FailureType failureType;
+
+	/**
+	 * The type of the exception raised by the last attempt.
+	 */
+	String exception;
+
+	/**
+	 * The message of the exception raised by the last attempt.
+	 */
+	String error;
+
+	/**
+	 * The instant at which the job was given up.
+	 */
+	Instant deadAt;
+}
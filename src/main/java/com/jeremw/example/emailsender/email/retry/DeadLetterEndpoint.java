@@ -0,0 +1,47 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the emails given up at {@code /actuator/deadletters}.
+ *
+ * <p>
+ * A {@code DELETE} on the endpoint drops every dead letter.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "deadletters")
+public class DeadLetterEndpoint {
+
+	private final DeadLetterQueue deadLetterQueue;
+
+	/**
+	 * Returns the dead letters currently kept.
+	 *
+	 * @return the dead letters, oldest first
+	 */
+	@ReadOperation
+	public List<DeadLetter> deadLetters() {
+		return deadLetterQueue.list();
+	}
+
+	/**
+	 * Drops every dead letter.
+	 */
+	@DeleteOperation
+	public void clear() {
+		deadLetterQueue.clear();
+	}
+}
@@ -0,0 +1,111 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded in-memory record of the emails given up, kept for inspection through the {@code deadletters} endpoint.
+ *
+ * <p>
+ * Once full, the oldest dead letters are dropped. Every dead letter is also logged, so that none of them is lost
+ * from the logs.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class DeadLetterQueue {
+
+	private final int maxSize;
+
+	private final Deque<DeadLetter> deadLetters = new ArrayDeque<>();
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Creates a new queue.
+	 *
+	 * @param maxSize the maximum number of dead letters kept
+	 */
+	public DeadLetterQueue(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Records a job given up.
+	 *
+	 * @param job         the job which could not be sent
+	 * @param failureType the kind of the last failure
+	 * @param cause       the exception raised by the last attempt
+	 */
+	public void add(EmailJob job, FailureType failureType, Exception cause) {
+		log.error("Giving up email job {} to {} after {} attempts ({} failure): {}", job.getId(), job.describeRecipients(),
+				job.getAttempts() + 1, failureType, cause.getMessage());
+		DeadLetter deadLetter = new DeadLetter(job, failureType, cause.getClass().getSimpleName(), cause.getMessage(),
+				Instant.now());
+		lock.lock();
+		try {
+			if (maxSize <= 0) {
+				return;
+			}
+			if (deadLetters.size() >= maxSize) {
+				deadLetters.pollFirst();
+			}
+			deadLetters.offerLast(deadLetter);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the dead letters currently kept.
+	 *
+	 * @return the dead letters, oldest first
+	 */
+	public List<DeadLetter> list() {
+		lock.lock();
+		try {
+			return List.copyOf(deadLetters);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of dead letters currently kept.
+	 *
+	 * @return the number of dead letters
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return deadLetters.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Drops every dead letter.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			deadLetters.clear();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.jeremw.example.emailsender.concurrent.EmailThreads;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides what happens to a failed {@link EmailJob}, and schedules its retries.
+ *
+ * <p>
+ * Transient failures are retried until {@code custom.mail.retry.max-attempts} is reached, after an exponential
+ * backoff: the n-th retry waits {@code initial-delay * multiplier^(n-1)}, capped at {@code max-delay}. Half of that
+ * delay is drawn at random, so that the emails which failed together, for instance during an outage of the SMTP
+ * server, do not come back together. Permanent failures, exhausted jobs and failures occurring while too many
+ * retries are already pending go to the {@link DeadLetterQueue}.
+ * </p>
+ *
+ * <p>
+ * Retries are sent by a dedicated pool of threads, never by the thread serving a request. They are held in memory:
+ * the ones pending at shutdown are only sent again on the next startup when the outbox is enabled.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+@DependsOn("emailOutbox")
+public class EmailRetryScheduler {
+
+	private final RetryProperties properties;
+
+	private final SmtpFailureClassifier classifier;
+
+	private final DeadLetterQueue deadLetterQueue;
+
+	private final EmailMetrics emailMetrics;
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	/**
+	 * Creates a new scheduler.
+	 *
+	 * @param properties      the retry configuration
+	 * @param classifier      the classifier of the failures
+	 * @param deadLetterQueue the queue receiving the jobs given up
+	 * @param emailMetrics    the recorder of the retries and dead letters
+	 * @param virtualThreads  whether the retries are sent on virtual threads
+	 */
+	public EmailRetryScheduler(RetryProperties properties, SmtpFailureClassifier classifier,
+			DeadLetterQueue deadLetterQueue, EmailMetrics emailMetrics,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		this.properties = properties;
+		this.classifier = classifier;
+		this.deadLetterQueue = deadLetterQueue;
+		this.emailMetrics = emailMetrics;
+		this.executor = new ScheduledThreadPoolExecutor(properties.getWorkers(),
+				EmailThreads.factory("email-retry-", virtualThreads));
+		executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Handles the failure of a job, either by scheduling another attempt or by dead-lettering it.
+	 *
+	 * @param job   the job which failed
+	 * @param cause the exception raised by the attempt
+	 * @param retry the action sending the next attempt, given the job with its attempt count incremented
+	 * @return {@code true} if another attempt is scheduled, {@code false} if the job is given up
+	 */
+	public boolean onFailure(EmailJob job, Exception cause, Consumer<EmailJob> retry) {
+		FailureType failureType = classifier.classify(cause);
+		if (failureType == FailureType.TRANSIENT && properties.isEnabled()
+				&& job.getAttempts() + 1 < properties.getMaxAttempts()
+				&& executor.getQueue().size() < properties.getMaxPending() && !executor.isShutdown()) {
+			long delay = backoff(job.getAttempts() + 1);
+			EmailJob next = job.nextAttempt();
+			executor.schedule(() -> retry.accept(next), delay, TimeUnit.MILLISECONDS);
+			emailMetrics.recordRetry(job.getType());
+			log.warn("Email job {} to {} failed ({}), retrying in {} ms", job.getId(), job.describeRecipients(), cause.getMessage(),
+					delay);
+			return true;
+		}
+		deadLetterQueue.add(job, failureType, cause);
+		emailMetrics.recordDeadLetter(job.getType(), failureType);
+		return false;
+	}
+
+	/**
+	 * Returns the number of jobs waiting for their next attempt.
+	 *
+	 * @return the number of pending retries
+	 */
+	public int size() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Drops the pending retries.
+	 */
+	@PreDestroy
+	void stop() {
+		int pending = executor.shutdownNow().size();
+		if (pending > 0) {
+			log.warn("{} email retries were pending at shutdown", pending);
+		}
+	}
+
+	long backoff(int retry) {
+		double delay = properties.getInitialDelay().toMillis() * Math.pow(properties.getMultiplier(), retry - 1);
+		long capped = (long) Math.min(delay, properties.getMaxDelay().toMillis());
+		long half = capped / 2;
+		return half + ThreadLocalRandom.current().nextLong(capped - half + 1);
+	}
+}
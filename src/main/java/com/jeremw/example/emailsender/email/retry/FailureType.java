@@ -0,0 +1,21 @@
+package com.jeremw.example.emailsender.email.retry;
+
+/**
+ * Enumeration of the kinds of sending failures.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum FailureType {
+
+	/**
+	 * The failure may not happen again, for instance a {@code 4xx} reply or a connection reset: the email is retried.
+	 */
+	TRANSIENT,
+
+	/**
+	 * The failure will happen again, for instance a {@code 5xx} reply or an invalid address: the email is given up.
+	 */
+	PERMANENT
+}
@@ -0,0 +1,28 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the retries of failed emails.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(RetryProperties.class)
+public class RetryConfiguration {
+
+	/**
+	 * Creates the queue of the emails given up.
+	 *
+	 * @param properties the {@code custom.mail.retry} properties
+	 * @return the {@link DeadLetterQueue}
+	 */
+	@Bean
+	public DeadLetterQueue deadLetterQueue(RetryProperties properties) {
+		return new DeadLetterQueue(properties.getDeadLetterSize());
+	}
+}
@@ -0,0 +1,59 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the retries of failed emails, bound from {@code custom.mail.retry}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.retry")
+public class RetryProperties {
+
+	/**
+	 * Whether emails failing with a transient error are sent again later. When disabled, every failure is final.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * The maximum number of sending attempts of an email, including the first one.
+	 */
+	private int maxAttempts = 5;
+
+	/**
+	 * The delay before the first retry.
+	 */
+	private Duration initialDelay = Duration.ofSeconds(1);
+
+	/**
+	 * The factor applied to the delay after each attempt.
+	 */
+	private double multiplier = 2.0;
+
+	/**
+	 * The maximum delay between two attempts.
+	 */
+	private Duration maxDelay = Duration.ofMinutes(5);
+
+	/**
+	 * The number of threads sending the retries.
+	 */
+	private int workers = 2;
+
+	/**
+	 * The maximum number of emails waiting for a retry. Further failures are dead-lettered right away.
+	 */
+	private int maxPending = 10000;
+
+	/**
+	 * The maximum number of dead letters kept in memory, the oldest ones being dropped first.
+	 */
+	private int deadLetterSize = 1000;
+}
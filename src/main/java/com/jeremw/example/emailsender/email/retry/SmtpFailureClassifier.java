@@ -0,0 +1,104 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.thymeleaf.exceptions.TemplateEngineException;
+
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells whether a sending failure is worth retrying.
+ *
+ * <p>
+ * The chain of causes is walked down to the first SMTP reply: {@code 4xx} replies are transient and {@code 5xx}
+ * replies are permanent. Without a reply, I/O errors such as connection resets and timeouts are transient, while
+ * authentication failures, invalid addresses, template errors and attachments no longer stored are permanent. Any other mail failure is
+ * considered transient, and any other exception permanent.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Component
+public class SmtpFailureClassifier {
+
+	private static final int MAX_DEPTH = 16;
+
+	/**
+	 * Classifies a sending failure.
+	 *
+	 * @param failure the exception raised while sending
+	 * @return the {@link FailureType} of the failure
+	 */
+	public FailureType classify(Exception failure) {
+		Throwable current = failure;
+		for (int depth = 0; current != null && depth < MAX_DEPTH; depth++) {
+			int replyCode = replyCode(current);
+			if (replyCode >= 400 && replyCode < 500) {
+				return FailureType.TRANSIENT;
+			}
+			if (replyCode >= 500) {
+				return FailureType.PERMANENT;
+			}
+			if (current instanceof AuthenticationFailedException || current instanceof MailAuthenticationException
+					|| current instanceof AddressException || current instanceof TemplateEngineException
+					|| current instanceof NoSuchFileException) {
+				return FailureType.PERMANENT;
+			}
+			if (current instanceof IOException) {
+				return FailureType.TRANSIENT;
+			}
+			current = next(current);
+		}
+		return failure instanceof MessagingException || failure instanceof MailException
+				? FailureType.TRANSIENT : FailureType.PERMANENT;
+	}
+
+	/**
+	 * Returns the first SMTP reply found in the chain of causes of a sending failure.
+	 *
+	 * @param failure the exception raised while sending
+	 * @return the reply, such as {@code 451 4.3.0 Try again later}, or {@code null} if the server did not reply
+	 */
+	public String reply(Exception failure) {
+		Throwable current = failure;
+		for (int depth = 0; current != null && depth < MAX_DEPTH; depth++) {
+			if (replyCode(current) > 0 && current.getMessage() != null) {
+				return current.getMessage().strip();
+			}
+			current = next(current);
+		}
+		return null;
+	}
+
+	private static int replyCode(Throwable throwable) {
+		if (throwable instanceof SMTPSendFailedException e) {
+			return e.getReturnCode();
+		}
+		if (throwable instanceof SMTPAddressFailedException e) {
+			return e.getReturnCode();
+		}
+		if (throwable instanceof SMTPSenderFailedException e) {
+			return e.getReturnCode();
+		}
+		return -1;
+	}
+
+	private static Throwable next(Throwable throwable) {
+		if (throwable instanceof MailSendException e && e.getCause() == null && !e.getFailedMessages().isEmpty()) {
+			return e.getFailedMessages().values().iterator().next();
+		}
+		return throwable.getCause();
+	}
+}
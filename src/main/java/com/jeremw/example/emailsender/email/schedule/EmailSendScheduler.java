@@ -0,0 +1,188 @@
+package com.jeremw.example.emailsender.email.schedule;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.jeremw.example.emailsender.concurrent.EmailThreads;
+import com.jeremw.example.emailsender.concurrent.TimerWheel;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Holds the {@link EmailJob}s given a sending date until that date, then releases them into the send path.
+ *
+ * <p>
+ * The jobs are kept in a {@link TimerWheel}, so that millions of them can be pending at a small constant cost per
+ * job. Each job is released at a random instant within {@code spread} after its sending date: clients tend to
+ * schedule their emails at round hours, and the emails due at the same instant would otherwise reach the SMTP
+ * server all at once. A single thread advances the wheel once per {@code tick}, and hands the due jobs over to
+ * {@code release-workers} threads in chunks of the batch chunk size, so that a burst of due jobs is sent over shared
+ * SMTP connections without delaying the next ticks. A chunk the release action fails on is put back into the wheel
+ * and released again {@code retry-delay} later, without releasing again the other chunks due with it. The jobs stay
+ * in the wheel as long as no release action is set.
+ * </p>
+ *
+ * <p>
+ * The jobs are held in memory: the ones pending at shutdown are only scheduled again on the next startup when the
+ * outbox is enabled.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class EmailSendScheduler implements AutoCloseable {
+
+	private final ScheduleProperties properties;
+
+	private final TimerWheel<EmailJob> wheel;
+
+	private final ScheduledExecutorService ticker;
+
+	private final ExecutorService releaser;
+
+	private final int chunkSize;
+
+	private volatile Consumer<List<EmailJob>> release;
+
+	/**
+	 * Creates a new scheduler and starts its threads.
+	 *
+	 * @param properties the scheduling configuration
+	 * @param chunkSize  the maximum number of due jobs released at once
+	 */
+	public EmailSendScheduler(ScheduleProperties properties, int chunkSize) {
+		this.properties = properties;
+		this.chunkSize = chunkSize;
+		this.wheel = new TimerWheel<>(properties.getTick(), System.currentTimeMillis());
+		this.ticker = Executors.newSingleThreadScheduledExecutor(EmailThreads.factory("email-schedule-", false));
+		// Unbounded: the chunks waiting for a worker are jobs which were held by the wheel a moment before.
+		this.releaser = Executors.newFixedThreadPool(properties.getReleaseWorkers(),
+				EmailThreads.factory("email-schedule-release-", false));
+		long tick = properties.getTick().toMillis();
+		ticker.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Sets the action sending the jobs whose sending date is reached.
+	 *
+	 * @param release the action sending the due jobs
+	 */
+	public void onRelease(Consumer<List<EmailJob>> release) {
+		this.release = release;
+	}
+
+	/**
+	 * Tells whether the given job has to wait for its sending date.
+	 *
+	 * @param job the job to check
+	 * @return {@code true} if the job has a sending date in the future
+	 */
+	public boolean isScheduled(EmailJob job) {
+		return job.getSendAt() != null && job.getSendAt().isAfter(Instant.now());
+	}
+
+	/**
+	 * Checks that an email may be scheduled at the given date.
+	 *
+	 * @param sendAt the requested sending date, or {@code null} to send right away
+	 * @throws ResourceException if the date is too far in the future
+	 */
+	public void checkSendAt(Instant sendAt) throws ResourceException {
+		if (sendAt != null && sendAt.isAfter(Instant.now().plus(properties.getMaxDelay()))) {
+			throw new ResourceException("SendAtTooFar", "The sending date must be within "
+					+ properties.getMaxDelay().toDays() + " days.", HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Schedules jobs accepted by a request.
+	 *
+	 * @param jobs the jobs to hold until their sending date
+	 * @throws ResourceException if a sending date is too far in the future, or too many jobs are already scheduled
+	 */
+	public void schedule(List<EmailJob> jobs) throws ResourceException {
+		for (EmailJob job : jobs) {
+			checkSendAt(job.getSendAt());
+		}
+		if (wheel.size() + jobs.size() > properties.getMaxPending()) {
+			throw new ResourceException("ScheduleFull", "Too many emails are scheduled, please retry later.",
+					HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		reschedule(jobs);
+	}
+
+	/**
+	 * Schedules jobs already accepted, typically the ones recovered from the outbox on startup, without limit.
+	 *
+	 * @param jobs the jobs to hold until their sending date
+	 */
+	public void reschedule(List<EmailJob> jobs) {
+		long spread = properties.getSpread().toMillis();
+		for (EmailJob job : jobs) {
+			long jitter = spread > 0 ? ThreadLocalRandom.current().nextLong(spread + 1) : 0;
+			wheel.schedule(job.getSendAt().toEpochMilli() + jitter, job);
+		}
+		log.debug("{} email jobs scheduled, {} pending", jobs.size(), wheel.size());
+	}
+
+	/**
+	 * Returns the number of jobs waiting for their sending date.
+	 *
+	 * @return the number of scheduled jobs
+	 */
+	public long size() {
+		return wheel.size();
+	}
+
+	/**
+	 * Stops releasing the scheduled jobs.
+	 */
+	@Override
+	public void close() {
+		ticker.shutdownNow();
+		releaser.shutdownNow();
+		long pending = wheel.size();
+		if (pending > 0) {
+			log.warn("{} scheduled emails were pending at shutdown", pending);
+		}
+	}
+
+	private void tick() {
+		Consumer<List<EmailJob>> action = release;
+		if (action == null) {
+			return;
+		}
+		List<EmailJob> due = wheel.advance(System.currentTimeMillis());
+		if (due.isEmpty()) {
+			return;
+		}
+		log.info("Releasing {} scheduled email jobs", due.size());
+		for (int from = 0; from < due.size(); from += chunkSize) {
+			List<EmailJob> chunk = List.copyOf(due.subList(from, Math.min(due.size(), from + chunkSize)));
+			releaser.execute(() -> releaseChunk(action, chunk));
+		}
+	}
+
+	private void releaseChunk(Consumer<List<EmailJob>> action, List<EmailJob> chunk) {
+		try {
+			action.accept(chunk);
+		}
+		catch (RuntimeException e) {
+			log.error("Failed to release {} scheduled email jobs, they are retried in {}", chunk.size(),
+					properties.getRetryDelay(), e);
+			long retryAt = System.currentTimeMillis() + properties.getRetryDelay().toMillis();
+			chunk.forEach(job -> wheel.schedule(retryAt, job));
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.jeremw.example.emailsender.email.schedule;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the scheduled sends.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ScheduleProperties.class)
+public class ScheduleConfiguration {
+
+	/**
+	 * Creates the scheduler holding the emails until their sending date.
+	 *
+	 * @param properties the {@code custom.mail.schedule} properties
+	 * @param chunkSize  the number of jobs sent over a shared SMTP connection, released at once
+	 * @return the {@link EmailSendScheduler}
+	 */
+	@Bean
+	public EmailSendScheduler emailSendScheduler(ScheduleProperties properties,
+			@Value("${custom.mail.batch.chunk-size:50}") int chunkSize) {
+		return new EmailSendScheduler(properties, chunkSize);
+	}
+}
@@ -0,0 +1,50 @@
+package com.jeremw.example.emailsender.email.schedule;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the scheduled sends, bound from {@code custom.mail.schedule}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.schedule")
+public class ScheduleProperties {
+
+	/**
+	 * The precision of the sending dates: the scheduled emails are released once per tick.
+	 */
+	private Duration tick = Duration.ofMillis(100);
+
+	/**
+	 * The window after its sending date over which a scheduled email is released at random, so that the emails
+	 * scheduled at the same instant are not all sent at once. {@code 0} releases them exactly on time.
+	 */
+	private Duration spread = Duration.ofSeconds(30);
+
+	/**
+	 * The number of threads releasing the due emails into the send path, in chunks of the batch chunk size.
+	 */
+	private int releaseWorkers = 4;
+
+	/**
+	 * The delay after which a scheduled email whose release failed is released again.
+	 */
+	private Duration retryDelay = Duration.ofSeconds(30);
+
+	/**
+	 * How far in the future an email may be scheduled.
+	 */
+	private Duration maxDelay = Duration.ofDays(90);
+
+	/**
+	 * The maximum number of scheduled emails waiting for their sending date. Once reached, scheduling is refused.
+	 */
+	private int maxPending = 1000000;
+}
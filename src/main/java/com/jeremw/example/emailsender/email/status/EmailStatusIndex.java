@@ -0,0 +1,300 @@
+package com.jeremw.example.emailsender.email.status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import com.jeremw.example.emailsender.email.retry.SmtpFailureClassifier;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Index of the last known {@link EmailJobStatus} of every {@link EmailJob} dispatched by this instance, served to the
+ * clients asking what happened to their emails.
+ *
+ * <p>
+ * The statuses are keyed by the 128 bits of the job identifier and held off-heap in {@link StatusTable}s, so that
+ * tens of millions of them neither weigh on the heap nor on the garbage collector. Each status records when the job
+ * was accepted, when it last changed, and the reply of the SMTP server to the last failed attempt. Reply texts repeat
+ * a lot, so each distinct one is stored once and referenced by its identifier; past
+ * {@link StatusProperties#getMaxReplies()} distinct replies, only the reply code of new ones is kept.
+ * </p>
+ *
+ * <p>
+ * Statuses are removed {@link StatusProperties#getTtl()} after their last update. When the index is full, the
+ * statuses of new jobs are not recorded until older ones expire. When disabled, nothing is recorded.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class EmailStatusIndex implements AutoCloseable {
+
+	private static final EmailStatusIndex DISABLED = new EmailStatusIndex();
+
+	private static final int STRIPES = 32;
+
+	private static final int MAX_REPLY_LENGTH = 256;
+
+	private static final EmailJobStatus[] STATUSES = EmailJobStatus.values();
+
+	private final StatusTable[] tables;
+
+	private final SmtpFailureClassifier classifier;
+
+	private final long ttlMillis;
+
+	private final int maxReplies;
+
+	private final ReentrantLock repliesLock = new ReentrantLock();
+
+	private final Map<String, Integer> replyIds = new HashMap<>();
+
+	private final List<String> replies = new ArrayList<>();
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final ScheduledExecutorService evictor;
+
+	private EmailStatusIndex() {
+		this.tables = null;
+		this.classifier = null;
+		this.ttlMillis = 0;
+		this.maxReplies = 0;
+		this.evictor = null;
+	}
+
+	/**
+	 * Allocates the index and starts the periodic removal of the expired statuses.
+	 *
+	 * @param properties the status index configuration
+	 * @param classifier the classifier finding the SMTP reply of a failure
+	 */
+	public EmailStatusIndex(StatusProperties properties, SmtpFailureClassifier classifier) {
+		// The jobs do not spread exactly evenly over the tables: leave each one room for four standard deviations.
+		int meanEntriesPerTable = Math.max(1, (properties.getMaxEntries() + STRIPES - 1) / STRIPES);
+		int maxEntriesPerTable = meanEntriesPerTable + (int) Math.ceil(4 * Math.sqrt(meanEntriesPerTable));
+		this.tables = new StatusTable[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			tables[i] = new StatusTable(maxEntriesPerTable);
+		}
+		this.classifier = classifier;
+		this.ttlMillis = properties.getTtl().toMillis();
+		this.maxReplies = properties.getMaxReplies();
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("email-status-evictor-");
+		threadFactory.setDaemon(true);
+		this.evictor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long interval = properties.getEvictionInterval().toMillis();
+		evictor.scheduleWithFixedDelay(() -> evictExpired(System.currentTimeMillis()), interval, interval,
+				TimeUnit.MILLISECONDS);
+		log.info("Email status index allocated for {} statuses ({} MB of direct memory)", properties.getMaxEntries(),
+				(long) maxEntriesPerTable * STRIPES * StatusTable.SLOT_SIZE * 5 / 4 / (1024 * 1024));
+	}
+
+	/**
+	 * Returns an index which does not record anything.
+	 *
+	 * @return a disabled index
+	 */
+	public static EmailStatusIndex disabled() {
+		return DISABLED;
+	}
+
+	/**
+	 * Records the status of a job.
+	 *
+	 * @param job    the job
+	 * @param status its new status
+	 */
+	public void record(EmailJob job, EmailJobStatus status) {
+		record(job.getId(), status, null);
+	}
+
+	/**
+	 * Records the status of a job which failed, along with the reply of the SMTP server or, without reply, the
+	 * reason of the failure.
+	 *
+	 * @param job     the job
+	 * @param status  its new status
+	 * @param failure the reason of the failure
+	 */
+	public void record(EmailJob job, EmailJobStatus status, Exception failure) {
+		String reply = classifier != null ? classifier.reply(failure) : null;
+		record(job.getId(), status, reply != null ? reply : failure.getMessage());
+	}
+
+	/**
+	 * Records the status of a job.
+	 *
+	 * @param jobId  the identifier of the job
+	 * @param status its new status
+	 * @param reply  the reply of the SMTP server, or the reason of the failure, or {@code null}
+	 */
+	public void record(String jobId, EmailJobStatus status, String reply) {
+		if (tables == null) {
+			return;
+		}
+		UUID key = parse(jobId);
+		if (key == null) {
+			return;
+		}
+		long msb = key.getMostSignificantBits();
+		long lsb = key.getLeastSignificantBits();
+		boolean recorded = tableOf(msb, lsb).put(msb, lsb, (byte) (status.ordinal() + 1), System.currentTimeMillis(),
+				replyCode(reply), replyId(reply));
+		if (!recorded && dropped.getAndIncrement() % 10_000 == 0) {
+			log.warn("Email status index full, the status of new jobs is not recorded ({} dropped so far)",
+					dropped.get());
+		}
+	}
+
+	/**
+	 * Returns the last known status of a job.
+	 *
+	 * @param jobId the identifier of the job
+	 * @return the status, or an empty optional if the job is unknown, its status expired, or the index is disabled
+	 */
+	public Optional<EmailDeliveryStatus> find(String jobId) {
+		UUID key = tables != null ? parse(jobId) : null;
+		if (key == null) {
+			return Optional.empty();
+		}
+		long msb = key.getMostSignificantBits();
+		long lsb = key.getLeastSignificantBits();
+		StatusEntry entry = tableOf(msb, lsb).get(msb, lsb);
+		if (entry == null) {
+			return Optional.empty();
+		}
+		return Optional.of(EmailDeliveryStatus.builder()
+				.jobId(key.toString())
+				.status(STATUSES[entry.getStatus() - 1])
+				.acceptedAt(Instant.ofEpochMilli(entry.getRecordedAt()))
+				.updatedAt(Instant.ofEpochMilli(entry.getUpdatedAt()))
+				.replyCode(entry.getReplyCode() > 0 ? (int) entry.getReplyCode() : null)
+				.reply(reply(entry.getReplyId()))
+				.build());
+	}
+
+	/**
+	 * Returns the number of statuses held.
+	 *
+	 * @return the number of statuses
+	 */
+	public long size() {
+		if (tables == null) {
+			return 0;
+		}
+		long size = 0;
+		for (StatusTable table : tables) {
+			size += table.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the number of new statuses not recorded because the index was full.
+	 *
+	 * @return the number of statuses dropped
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Stops the removal of the expired statuses. The direct memory of the index is released once it is collected.
+	 */
+	@Override
+	public void close() {
+		if (evictor != null) {
+			evictor.shutdownNow();
+		}
+	}
+
+	int evictExpired(long now) {
+		int removed = 0;
+		for (StatusTable table : tables) {
+			removed += table.removeUpdatedBefore(now - ttlMillis);
+		}
+		if (removed > 0) {
+			log.debug("{} expired email statuses removed", removed);
+		}
+		return removed;
+	}
+
+	private StatusTable tableOf(long msb, long lsb) {
+		long hash = StatusTable.hash(msb, lsb) & 0xFFFFFFFFL;
+		return tables[(int) ((hash * STRIPES) >>> 32)];
+	}
+
+	private int replyId(String reply) {
+		if (reply == null || maxReplies <= 0) {
+			return -1;
+		}
+		String text = reply.length() > MAX_REPLY_LENGTH ? reply.substring(0, MAX_REPLY_LENGTH) : reply;
+		repliesLock.lock();
+		try {
+			Integer id = replyIds.get(text);
+			if (id == null) {
+				if (replies.size() >= maxReplies) {
+					return -1;
+				}
+				id = replies.size();
+				replies.add(text);
+				replyIds.put(text, id);
+			}
+			return id;
+		}
+		finally {
+			repliesLock.unlock();
+		}
+	}
+
+	private String reply(int replyId) {
+		if (replyId < 0) {
+			return null;
+		}
+		repliesLock.lock();
+		try {
+			return replies.get(replyId);
+		}
+		finally {
+			repliesLock.unlock();
+		}
+	}
+
+	private static short replyCode(String reply) {
+		if (reply == null || reply.length() < 3) {
+			return 0;
+		}
+		for (int i = 0; i < 3; i++) {
+			if (!Character.isDigit(reply.charAt(i))) {
+				return 0;
+			}
+		}
+		return Short.parseShort(reply.substring(0, 3));
+	}
+
+	private static UUID parse(String jobId) {
+		try {
+			return jobId != null ? UUID.fromString(jobId) : null;
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.jeremw.example.emailsender.email.status;
+
+import com.jeremw.example.emailsender.email.retry.SmtpFailureClassifier;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the {@link EmailStatusIndex}.
+ *
+ * <p>
+ * A disabled index is registered when {@code custom.mail.status.enabled} is not set, so that the send path does not
+ * have to check for its presence.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(StatusProperties.class)
+public class StatusConfiguration {
+
+	/**
+	 * Creates the status index.
+	 *
+	 * @param properties the {@code custom.mail.status} properties
+	 * @param classifier the classifier finding the SMTP reply of a failure
+	 * @return the {@link EmailStatusIndex}
+	 */
+	@Bean
+	public EmailStatusIndex emailStatusIndex(StatusProperties properties, SmtpFailureClassifier classifier) {
+		return properties.isEnabled() ? new EmailStatusIndex(properties, classifier) : EmailStatusIndex.disabled();
+	}
+}
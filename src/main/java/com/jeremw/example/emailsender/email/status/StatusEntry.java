@@ -0,0 +1,39 @@
+package com.jeremw.example.emailsender.email.status;
+
+import lombok.Value;
+
+/**
+ * Copy of an entry of a {@link StatusTable}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+class StatusEntry {
+
+	/**
+	 * The status, the ordinal of the {@link com.jeremw.example.emailsender.email.queue.EmailJobStatus} plus one.
+	 */
+	byte status;
+
+	/**
+	 * The time the entry was first recorded, in milliseconds.
+	 */
+	long recordedAt;
+
+	/**
+	 * The time the entry was last updated, in milliseconds.
+	 */
+	long updatedAt;
+
+	/**
+	 * The SMTP reply code, {@code 0} if unknown.
+	 */
+	short replyCode;
+
+	/**
+	 * The identifier of the reply text, {@code -1} if unknown.
+	 */
+	int replyId;
+}
@@ -0,0 +1,44 @@
+package com.jeremw.example.emailsender.email.status;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the delivery status index, bound from {@code custom.mail.status}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.status")
+public class StatusProperties {
+
+	/**
+	 * Whether the status of the email jobs is recorded and served.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * The maximum number of statuses held. Each takes about 50 bytes of direct memory, allocated on startup.
+	 */
+	private int maxEntries = 1_000_000;
+
+	/**
+	 * How long a status is kept after its last update.
+	 */
+	private Duration ttl = Duration.ofHours(24);
+
+	/**
+	 * How often the expired statuses are removed.
+	 */
+	private Duration evictionInterval = Duration.ofMinutes(1);
+
+	/**
+	 * The maximum number of distinct SMTP reply texts kept. Once reached, only the reply code of new replies is kept.
+	 */
+	private int maxReplies = 10_000;
+}
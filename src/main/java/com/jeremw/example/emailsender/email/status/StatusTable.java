@@ -0,0 +1,227 @@
+package com.jeremw.example.emailsender.email.status;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hash table of delivery statuses keyed by the two halves of a job identifier, stored off-heap in fixed-size slots.
+ *
+ * <p>
+ * Every entry takes {@value #SLOT_SIZE} bytes of a direct buffer and no object on the heap: the key, the times it
+ * was recorded and last updated, the status, the SMTP reply code and the identifier of the reply text. Collisions are
+ * resolved by linear probing, and removed entries by shifting the next ones back, so that the table never holds
+ * tombstones. The table is sized for its maximum number of entries up front and never grows.
+ * </p>
+ *
+ * <p>
+ * All the methods lock the table: the {@link EmailStatusIndex} spreads its entries over several tables to keep the
+ * contention low.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class StatusTable {
+
+	/**
+	 * The number of bytes of an entry.
+	 */
+	static final int SLOT_SIZE = 40;
+
+	private static final double LOAD_FACTOR = 0.8;
+
+	private static final int MOST_SIGNIFICANT_BITS = 0;
+
+	private static final int LEAST_SIGNIFICANT_BITS = 8;
+
+	private static final int RECORDED_AT = 16;
+
+	private static final int UPDATED_AT = 24;
+
+	private static final int STATUS = 32;
+
+	private static final int REPLY_CODE = 34;
+
+	private static final int REPLY_ID = 36;
+
+	private static final byte EMPTY = 0;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final ByteBuffer slots;
+
+	private final int capacity;
+
+	private final int maxEntries;
+
+	private int size;
+
+	/**
+	 * Allocates a table.
+	 *
+	 * @param maxEntries the maximum number of entries
+	 */
+	StatusTable(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.capacity = Math.max(maxEntries + 1, (int) Math.ceil(maxEntries / LOAD_FACTOR));
+		this.slots = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, SLOT_SIZE));
+	}
+
+	/**
+	 * Records a status, keeping the time the entry was first recorded if it already exists.
+	 *
+	 * @param msb       the most significant bits of the key
+	 * @param lsb       the least significant bits of the key
+	 * @param status    the status, strictly positive
+	 * @param now       the current time in milliseconds
+	 * @param replyCode the SMTP reply code, {@code 0} if unknown
+	 * @param replyId   the identifier of the reply text, {@code -1} if unknown
+	 * @return {@code false} if the entry is new and the table is full
+	 */
+	boolean put(long msb, long lsb, byte status, long now, short replyCode, int replyId) {
+		lock.lock();
+		try {
+			int slot = find(msb, lsb);
+			int offset = slot * SLOT_SIZE;
+			if (slots.get(offset + STATUS) == EMPTY) {
+				if (size == maxEntries) {
+					return false;
+				}
+				slots.putLong(offset + MOST_SIGNIFICANT_BITS, msb);
+				slots.putLong(offset + LEAST_SIGNIFICANT_BITS, lsb);
+				slots.putLong(offset + RECORDED_AT, now);
+				size++;
+			}
+			slots.putLong(offset + UPDATED_AT, now);
+			slots.put(offset + STATUS, status);
+			slots.putShort(offset + REPLY_CODE, replyCode);
+			slots.putInt(offset + REPLY_ID, replyId);
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the entry of a key.
+	 *
+	 * @param msb the most significant bits of the key
+	 * @param lsb the least significant bits of the key
+	 * @return a copy of the entry, or {@code null} if the key is unknown
+	 */
+	StatusEntry get(long msb, long lsb) {
+		lock.lock();
+		try {
+			int offset = find(msb, lsb) * SLOT_SIZE;
+			byte status = slots.get(offset + STATUS);
+			if (status == EMPTY) {
+				return null;
+			}
+			return new StatusEntry(status, slots.getLong(offset + RECORDED_AT), slots.getLong(offset + UPDATED_AT),
+					slots.getShort(offset + REPLY_CODE), slots.getInt(offset + REPLY_ID));
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the entries last updated before the given time.
+	 *
+	 * @param cutoff the time in milliseconds
+	 * @return the number of entries removed
+	 */
+	int removeUpdatedBefore(long cutoff) {
+		lock.lock();
+		try {
+			int removed = 0;
+			int slot = 0;
+			while (slot < capacity && size > 0) {
+				int offset = slot * SLOT_SIZE;
+				if (slots.get(offset + STATUS) != EMPTY && slots.getLong(offset + UPDATED_AT) < cutoff) {
+					remove(slot);
+					removed++;
+					// The next entry of the cluster may have been shifted into this slot.
+					continue;
+				}
+				slot++;
+			}
+			return removed;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of entries.
+	 *
+	 * @return the number of entries
+	 */
+	int size() {
+		lock.lock();
+		try {
+			return size;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Spreads the bits of a key, so that the keys which are not random still spread evenly over the slots.
+	 *
+	 * @param msb the most significant bits of the key
+	 * @param lsb the least significant bits of the key
+	 * @return the hash of the key
+	 */
+	static long hash(long msb, long lsb) {
+		long hash = msb * 0x9E3779B97F4A7C15L ^ lsb;
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	private int find(long msb, long lsb) {
+		int slot = home(msb, lsb);
+		while (true) {
+			int offset = slot * SLOT_SIZE;
+			if (slots.get(offset + STATUS) == EMPTY || slots.getLong(offset + MOST_SIGNIFICANT_BITS) == msb
+					&& slots.getLong(offset + LEAST_SIGNIFICANT_BITS) == lsb) {
+				return slot;
+			}
+			slot = next(slot);
+		}
+	}
+
+	private void remove(int slot) {
+		int hole = slot;
+		int current = slot;
+		while (true) {
+			current = next(current);
+			int offset = current * SLOT_SIZE;
+			if (slots.get(offset + STATUS) == EMPTY) {
+				break;
+			}
+			int home = home(slots.getLong(offset + MOST_SIGNIFICANT_BITS), slots.getLong(offset + LEAST_SIGNIFICANT_BITS));
+			boolean homeAfterHole = hole <= current ? hole < home && home <= current : hole < home || home <= current;
+			if (!homeAfterHole) {
+				slots.put(hole * SLOT_SIZE, slots, offset, SLOT_SIZE);
+				hole = current;
+			}
+		}
+		slots.put(hole * SLOT_SIZE + STATUS, EMPTY);
+		size--;
+	}
+
+	private int home(long msb, long lsb) {
+		return (int) (((hash(msb, lsb) >>> 32) * capacity) >>> 32);
+	}
+
+	private int next(int slot) {
+		return slot + 1 == capacity ? 0 : slot + 1;
+	}
+}
@@ -0,0 +1,92 @@
+package com.jeremw.example.emailsender.email.stream;
+
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jeremw.example.emailsender.email.EmailFormValidator;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Parses and validates the lines of an NDJSON stream of email forms, for both the servlet and the reactive streaming
+ * endpoints.
+ *
+ * <p>
+ * Each line is either turned into the job sending its form or into the result rejecting it: a line which is not
+ * valid JSON, which holds JSON {@code null}, or whose form does not pass the {@link EmailFormValidator}.
+ * </p>
+ *
+ * @param <T> the type of the forms carried by every line
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@RequiredArgsConstructor
+public class EmailStreamLineParser<T> {
+
+	private final ObjectReader formReader;
+
+	private final EmailFormValidator emailFormValidator;
+
+	private final Function<T, String> recipient;
+
+	private final Function<T, EmailJob> jobFactory;
+
+	/**
+	 * Parses and validates one line of the stream.
+	 *
+	 * @param line the number of the line in the stream, starting at 1
+	 * @param text the text of the line, not blank
+	 * @return the parsed line, holding either the job sending it or the result rejecting it
+	 */
+	public ParsedLine parse(int line, String text) {
+		T form;
+		try {
+			form = formReader.readValue(text);
+		}
+		catch (JsonProcessingException e) {
+			return new ParsedLine(line, null, rejected(line, null, "Malformed JSON line."));
+		}
+		String error = emailFormValidator.validate(form);
+		if (error != null) {
+			// A line holding JSON null parses to a null form, rejected without recipient.
+			return new ParsedLine(line, null, rejected(line, form != null ? recipient.apply(form) : null, error));
+		}
+		return new ParsedLine(line, jobFactory.apply(form), null);
+	}
+
+	/**
+	 * Builds the result of a line which is not sent.
+	 *
+	 * @param line  the number of the line in the stream
+	 * @param to    the recipient of the line, may be null when it is unknown
+	 * @param error the reason why the line is not sent
+	 * @return the {@link EmailJobStatus#REJECTED} result
+	 */
+	public static BatchEmailResult rejected(int line, String to, String error) {
+		return BatchEmailResult.builder()
+				.index(line)
+				.to(to)
+				.status(EmailJobStatus.REJECTED)
+				.error(error)
+				.build();
+	}
+
+	/**
+	 * A parsed line of the stream, either the job sending it or the result rejecting it.
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static final class ParsedLine {
+
+		private final int line;
+
+		private final EmailJob job;
+
+		private final BatchEmailResult rejection;
+	}
+}
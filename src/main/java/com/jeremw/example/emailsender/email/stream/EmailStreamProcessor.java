@@ -0,0 +1,331 @@
+package com.jeremw.example.emailsender.email.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jeremw.example.emailsender.concurrent.EmailThreads;
+import com.jeremw.example.emailsender.email.EmailFormValidator;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobDispatcher;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Processes an NDJSON stream of email forms with a bounded memory footprint.
+ *
+ * <p>
+ * Lines are read, parsed and validated one at a time, then grouped in chunks sent by a pool of stream workers.
+ * At most {@code max-in-flight-chunks} chunks of a stream are pending at any time: once reached, reading the
+ * request body stops until a chunk completes, which propagates the backpressure to the client through TCP flow
+ * control. The result of every line is written back as an NDJSON line as soon as it is known, so results are not
+ * necessarily in input order; each carries the line number it refers to.
+ * </p>
+ *
+ * <p>
+ * Lines longer than {@code max-line-length} characters are rejected without being held in memory, and a chunk whose
+ * sending fails as a whole gets a result for each of its lines, so that every line of the stream is answered.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+public class EmailStreamProcessor {
+
+	private final EmailJobDispatcher emailJobDispatcher;
+
+	private final EmailFormValidator emailFormValidator;
+
+	private final ObjectMapper objectMapper;
+
+	private final ThreadPoolExecutor executor;
+
+	@Value("${custom.mail.batch.chunk-size:50}")
+	private int chunkSize = 50;
+
+	@Value("${custom.mail.stream.max-in-flight-chunks:4}")
+	private int maxInFlightChunks = 4;
+
+	@Value("${custom.mail.stream.max-line-length:65536}")
+	private int maxLineLength = 65536;
+
+	/**
+	 * Creates the processor and its pool of stream workers.
+	 *
+	 * @param emailJobDispatcher the dispatcher sending the chunks
+	 * @param emailFormValidator the validator applied to every line
+	 * @param objectMapper       the mapper used to read forms and write results
+	 * @param workers            the number of stream workers shared by all the streams
+	 * @param virtualThreads     whether the stream workers are virtual threads
+	 */
+	public EmailStreamProcessor(EmailJobDispatcher emailJobDispatcher, EmailFormValidator emailFormValidator,
+			ObjectMapper objectMapper, @Value("${custom.mail.stream.workers:8}") int workers,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		this.emailJobDispatcher = emailJobDispatcher;
+		this.emailFormValidator = emailFormValidator;
+		this.objectMapper = objectMapper;
+		// When every worker is busy, the chunk is sent by the request thread itself, which stops reading meanwhile.
+		this.executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+				EmailThreads.factory("email-stream-", virtualThreads), new ThreadPoolExecutor.CallerRunsPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Reads forms from the given NDJSON stream, sends them, and writes one NDJSON result per line.
+	 *
+	 * @param in         the NDJSON request body
+	 * @param out        the response body
+	 * @param formType   the type of the forms carried by every line
+	 * @param recipient  extracts the recipient of a form, used in the results
+	 * @param jobFactory builds the job sending a valid form
+	 * @param <T>        the type of the forms
+	 * @throws IOException if the request cannot be read or the response cannot be written
+	 */
+	public <T> void process(InputStream in, OutputStream out, Class<T> formType, Function<T, String> recipient,
+			Function<T, EmailJob> jobFactory) throws IOException {
+		EmailStreamLineParser<T> parser = new EmailStreamLineParser<>(objectMapper.readerFor(formType),
+				emailFormValidator, recipient, jobFactory);
+		ResultWriter results = new ResultWriter(out, objectMapper.writerFor(BatchEmailResult.class));
+		Semaphore inFlight = new Semaphore(maxInFlightChunks);
+		List<EmailJob> chunk = new ArrayList<>(chunkSize);
+		List<Integer> lines = new ArrayList<>(chunkSize);
+		int total = 0;
+
+		LineReader reader = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxLineLength);
+		try {
+			String text;
+			int line = 0;
+			while ((text = reader.readLine()) != null && !results.isBroken()) {
+				line++;
+				if (reader.isTooLong()) {
+					total++;
+					results.write(EmailStreamLineParser.rejected(line, null, "Line too long."));
+					continue;
+				}
+				if (text.isBlank()) {
+					continue;
+				}
+				total++;
+				EmailStreamLineParser.ParsedLine parsed = parser.parse(line, text);
+				if (parsed.getRejection() != null) {
+					results.write(parsed.getRejection());
+					continue;
+				}
+				chunk.add(parsed.getJob());
+				lines.add(line);
+				if (chunk.size() == chunkSize) {
+					submit(chunk, lines, inFlight, results);
+					chunk = new ArrayList<>(chunkSize);
+					lines = new ArrayList<>(chunkSize);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				submit(chunk, lines, inFlight, results);
+			}
+		}
+		finally {
+			inFlight.acquireUninterruptibly(maxInFlightChunks);
+		}
+		results.rethrowFailure();
+		log.info("NDJSON stream of {} emails processed", total);
+	}
+
+	/**
+	 * Stops the stream workers.
+	 */
+	@PreDestroy
+	void stop() {
+		executor.shutdown();
+	}
+
+	private void submit(List<EmailJob> chunk, List<Integer> lines, Semaphore inFlight, ResultWriter results) {
+		inFlight.acquireUninterruptibly();
+		try {
+			executor.execute(() -> {
+				try {
+					List<EmailJobReceipt> receipts = emailJobDispatcher.sendAll(chunk);
+					for (int i = 0; i < receipts.size(); i++) {
+						EmailJobReceipt receipt = receipts.get(i);
+						results.write(BatchEmailResult.builder()
+								.index(lines.get(i))
+								.to(chunk.get(i).getTo())
+								.jobId(receipt.getJobId())
+								.status(receipt.getStatus())
+								.error(receipt.getError())
+								.build());
+					}
+				}
+				catch (RuntimeException e) {
+					log.error("Failed to send a chunk of {} emails of a NDJSON stream", chunk.size(), e);
+					for (int i = 0; i < chunk.size(); i++) {
+						results.write(BatchEmailResult.builder()
+								.index(lines.get(i))
+								.to(chunk.get(i).getTo())
+								.jobId(chunk.get(i).getId())
+								.status(EmailJobStatus.FAILED)
+								.error("The email could not be sent.")
+								.build());
+					}
+				}
+				finally {
+					inFlight.release();
+				}
+			});
+		}
+		catch (RuntimeException e) {
+			inFlight.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the lines of the request body, skipping the characters of a line beyond the maximum length rather than
+	 * holding them in memory.
+	 */
+	private static final class LineReader {
+
+		private final Reader in;
+
+		private final int maxLength;
+
+		private final char[] buffer = new char[8192];
+
+		private final StringBuilder line = new StringBuilder();
+
+		private int position;
+
+		private int limit;
+
+		private boolean tooLong;
+
+		private boolean skipLineFeed;
+
+		private LineReader(Reader in, int maxLength) {
+			this.in = in;
+			this.maxLength = maxLength;
+		}
+
+		// Returns the next line, empty when it is too long, or null at the end of the stream.
+		private String readLine() throws IOException {
+			line.setLength(0);
+			tooLong = false;
+			boolean read = false;
+			while (true) {
+				if (position == limit && !fill()) {
+					return read ? result() : null;
+				}
+				if (skipLineFeed) {
+					skipLineFeed = false;
+					if (buffer[position] == '\n') {
+						position++;
+						continue;
+					}
+				}
+				read = true;
+				int end = position;
+				while (end < limit && buffer[end] != '\n' && buffer[end] != '\r') {
+					end++;
+				}
+				append(position, end);
+				if (end < limit) {
+					skipLineFeed = buffer[end] == '\r';
+					position = end + 1;
+					return result();
+				}
+				position = end;
+			}
+		}
+
+		private boolean fill() throws IOException {
+			int count = in.read(buffer, 0, buffer.length);
+			position = 0;
+			limit = Math.max(count, 0);
+			return count > 0;
+		}
+
+		private void append(int from, int to) {
+			int kept = Math.min(to - from, maxLength - line.length());
+			line.append(buffer, from, kept);
+			if (kept < to - from) {
+				tooLong = true;
+			}
+		}
+
+		private boolean isTooLong() {
+			return tooLong;
+		}
+
+		private String result() {
+			return tooLong ? "" : line.toString();
+		}
+	}
+
+	/**
+	 * Serializes results to the response, one line at a time, from any thread.
+	 */
+	private static final class ResultWriter {
+
+		private final OutputStream out;
+
+		private final ObjectWriter writer;
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private volatile IOException failure;
+
+		private ResultWriter(OutputStream out, ObjectWriter writer) {
+			this.out = out;
+			this.writer = writer;
+		}
+
+		private void write(BatchEmailResult result) {
+			lock.lock();
+			try {
+				if (failure == null) {
+					out.write(writer.writeValueAsBytes(result));
+					out.write('\n');
+					out.flush();
+				}
+			}
+			catch (IOException e) {
+				log.warn("Failed to write NDJSON result, the client probably went away: {}", e.getMessage());
+				failure = e;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private boolean isBroken() {
+			return failure != null;
+		}
+
+		private void rethrowFailure() throws IOException {
+			if (failure != null) {
+				throw failure;
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.jeremw.example.emailsender.cache.BoundedTtlCache;
+import com.jeremw.example.emailsender.cache.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders email templates, reusing the output of the fragments shared by every recipient.
+ *
+ * <p>
+ * Parsed templates are cached by the template engine itself. On top of that, the fragments declared in
+ * {@code custom.mail.template-cache.shared-fragments} are rendered once per distinct value of the variables they
+ * depend on, and the result is handed to the template in the {@code fragments} variable. A template uses it as
+ * follows, falling back to rendering the fragment inline when no cached output is provided:
+ * </p>
+ *
+ * <pre>{@code
+ * <th:block th:if="${fragments?.footer == null}"><div th:fragment="footer">...</div></th:block>
+ * <th:block th:unless="${fragments?.footer == null}" th:utext="${fragments.footer}"></th:block>
+ * }</pre>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+public class EmailTemplateRenderer {
+
+	/**
+	 * The name of the variable holding the rendered shared fragments, by fragment name.
+	 */
+	public static final String FRAGMENTS_VARIABLE = "fragments";
+
+	private final TemplateEngine templateEngine;
+
+	private final TemplateCacheProperties properties;
+
+	private final BoundedTtlCache<List<Object>, String> fragmentCache;
+
+	/**
+	 * Creates a new renderer.
+	 *
+	 * @param templateEngine the engine rendering the templates
+	 * @param properties     the template cache properties
+	 */
+	public EmailTemplateRenderer(TemplateEngine templateEngine, TemplateCacheProperties properties) {
+		this.templateEngine = templateEngine;
+		this.properties = properties;
+		this.fragmentCache = new BoundedTtlCache<>(properties.getFragmentMaxSize(), properties.getFragmentTtl());
+	}
+
+	/**
+	 * Renders the given template.
+	 *
+	 * @param templateName the name of the template to render
+	 * @param context      the variables of the template; the {@code fragments} variable is added to it
+	 * @return the rendered template
+	 */
+	public String render(String templateName, Context context) {
+		addSharedFragments(templateName, context);
+		return templateEngine.process(templateName, context);
+	}
+
+	/**
+	 * Renders the given template into a writer, without building the rendered template as a string.
+	 *
+	 * @param templateName the name of the template to render
+	 * @param context      the variables of the template; the {@code fragments} variable is added to it
+	 * @param writer       the writer the template is rendered into
+	 */
+	public void render(String templateName, Context context, Writer writer) {
+		addSharedFragments(templateName, context);
+		templateEngine.process(templateName, context, writer);
+	}
+
+	/**
+	 * Returns the usage statistics of the rendered fragment cache.
+	 *
+	 * @return the statistics of the fragment cache
+	 */
+	public CacheStats getFragmentCacheStats() {
+		return fragmentCache.stats();
+	}
+
+	/**
+	 * Drops every rendered fragment, so that they are rendered again from the current templates.
+	 */
+	public void clearFragments() {
+		fragmentCache.clear();
+	}
+
+	private void addSharedFragments(String templateName, Context context) {
+		Map<String, List<String>> sharedFragments = properties.getSharedFragments().get(templateName);
+		if (sharedFragments != null && !sharedFragments.isEmpty()) {
+			Map<String, String> fragments = new HashMap<>();
+			sharedFragments.forEach((fragment, variables) ->
+					fragments.put(fragment, renderSharedFragment(templateName, fragment, variables, context)));
+			context.setVariable(FRAGMENTS_VARIABLE, fragments);
+		}
+	}
+
+	private String renderSharedFragment(String templateName, String fragment, List<String> variables, Context context) {
+		List<Object> key = new ArrayList<>(variables.size() + 2);
+		key.add(templateName);
+		key.add(fragment);
+		variables.forEach(variable -> key.add(context.getVariable(variable)));
+		return fragmentCache.get(key, k -> {
+			log.debug("Rendering shared fragment {} of template {}", fragment, templateName);
+			Context fragmentContext = new Context(context.getLocale());
+			variables.forEach(variable -> fragmentContext.setVariable(variable, context.getVariable(variable)));
+			return templateEngine.process(templateName, Set.of(fragment), fragmentContext);
+		});
+	}
+}
@@ -0,0 +1,31 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Template of the {@link TemplateRegistry} ready to be sent to a recipient.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Value
+public class PreparedTemplate {
+
+	/**
+	 * The name of the Thymeleaf template rendering the body.
+	 */
+	String view;
+
+	/**
+	 * The rendered subject.
+	 */
+	String subject;
+
+	/**
+	 * The variables to render the body with, including the built-in ones.
+	 */
+	Map<String, Object> variables;
+}
@@ -0,0 +1,68 @@
+package com.jeremw.example.emailsender.email.template;
+
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the Thymeleaf template cache.
+ *
+ * <p>
+ * Spring Boot does not expose the size of the parsed template cache nor its time to live. This configuration
+ * installs a {@link StandardCacheManager} sized from {@link TemplateCacheProperties}, with its counters enabled so
+ * that hits and misses can be reported, and applies the configured time to live to the template resolvers.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TemplateCacheProperties.class)
+public class TemplateCacheConfiguration {
+
+	/**
+	 * Creates the cache manager used by the template engine.
+	 *
+	 * @param properties the template cache properties
+	 * @return the cache manager
+	 */
+	@Bean
+	public StandardCacheManager thymeleafCacheManager(TemplateCacheProperties properties) {
+		StandardCacheManager cacheManager = new StandardCacheManager();
+		cacheManager.setTemplateCacheMaxSize(properties.getMaxSize());
+		cacheManager.setTemplateCacheEnableCounters(true);
+		cacheManager.setExpressionCacheEnableCounters(true);
+		return cacheManager;
+	}
+
+	/**
+	 * Applies the cache configuration to the template engine and its resolvers before they are initialized.
+	 *
+	 * @param cacheManager the cache manager to install
+	 * @param properties   the template cache properties
+	 * @return the post processor
+	 */
+	@Bean
+	public static BeanPostProcessor thymeleafCachePostProcessor(ObjectProvider<StandardCacheManager> cacheManager,
+			ObjectProvider<TemplateCacheProperties> properties) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof TemplateEngine engine && !engine.isInitialized()) {
+					engine.setCacheManager(cacheManager.getObject());
+				}
+				if (bean instanceof AbstractConfigurableTemplateResolver resolver && properties.getObject().getTtl() != null) {
+					resolver.setCacheTTLMs(properties.getObject().getTtl().toMillis());
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,67 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jeremw.example.emailsender.cache.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.StandardCache;
+import org.thymeleaf.cache.StandardCacheManager;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the statistics of the template caches at {@code /actuator/templatecache}.
+ *
+ * <p>
+ * A {@code DELETE} on the endpoint clears every cache, forcing the templates to be parsed and the shared fragments
+ * to be rendered again.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "templatecache")
+public class TemplateCacheEndpoint {
+
+	private final StandardCacheManager thymeleafCacheManager;
+
+	private final EmailTemplateRenderer emailTemplateRenderer;
+
+	/**
+	 * Returns the statistics of the parsed template, expression and rendered fragment caches.
+	 *
+	 * @return the statistics, by cache name
+	 */
+	@ReadOperation
+	public Map<String, CacheStats> stats() {
+		Map<String, CacheStats> stats = new LinkedHashMap<>();
+		stats.put("templates", toStats(thymeleafCacheManager.getTemplateCache()));
+		stats.put("expressions", toStats(thymeleafCacheManager.getExpressionCache()));
+		stats.put("fragments", emailTemplateRenderer.getFragmentCacheStats());
+		return stats;
+	}
+
+	/**
+	 * Clears every template cache.
+	 */
+	@DeleteOperation
+	public void clear() {
+		thymeleafCacheManager.clearAllCaches();
+		emailTemplateRenderer.clearFragments();
+	}
+
+	private static CacheStats toStats(ICache<?, ?> cache) {
+		if (cache instanceof StandardCache<?, ?> standardCache) {
+			return new CacheStats(standardCache.getHitCount(), standardCache.getMissCount(), 0, standardCache.size());
+		}
+		return new CacheStats(0, 0, 0, cache != null ? cache.keySet().size() : 0);
+	}
+}
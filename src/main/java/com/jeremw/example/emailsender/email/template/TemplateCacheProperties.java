@@ -0,0 +1,49 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the template caches, bound from {@code custom.mail.template-cache}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.template-cache")
+public class TemplateCacheProperties {
+
+	/**
+	 * The maximum number of parsed templates held in memory.
+	 */
+	private int maxSize = 200;
+
+	/**
+	 * How long a parsed template is used before being resolved and parsed again, so that changes are picked up.
+	 * Templates are kept until evicted when not set.
+	 */
+	private Duration ttl;
+
+	/**
+	 * The maximum number of rendered shared fragments held in memory.
+	 */
+	private int fragmentMaxSize = 1000;
+
+	/**
+	 * How long a rendered shared fragment is reused.
+	 */
+	private Duration fragmentTtl = Duration.ofHours(1);
+
+	/**
+	 * The fragments rendered once and shared by every recipient, by template name then fragment name. Each fragment
+	 * lists the variables its output depends on; none of them may be specific to a recipient.
+	 */
+	private Map<String, Map<String, List<String>>> sharedFragments = new LinkedHashMap<>();
+}
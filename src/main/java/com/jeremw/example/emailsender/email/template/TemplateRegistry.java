@@ -0,0 +1,247 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Registry of the templates which may be sent, declared in {@code custom.mail.template-registry}.
+ *
+ * <p>
+ * Every template is registered by identifier, along with the Thymeleaf template rendering its body, its subject,
+ * itself a Thymeleaf text template, and the variables it accepts. The variables of a request are validated against
+ * these declarations before anything is queued or sent, so that a missing, unknown or mistyped variable is reported
+ * to the client right away rather than rendered as an empty string. The following variables are provided to every
+ * template and cannot be declared: {@code email}, the recipient's address, {@code subject}, the rendered subject,
+ * {@code currentDate} and {@code currentYear}.
+ * </p>
+ *
+ * <p>
+ * Unless disabled, every template is rendered once with example values before the application accepts requests,
+ * which parses the templates into the template cache and checks that they can be rendered at all.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class TemplateRegistry implements SmartInitializingSingleton {
+
+	private static final String EMAIL_VARIABLE = "email";
+
+	private static final String SUBJECT_VARIABLE = "subject";
+
+	private static final String CURRENT_DATE_VARIABLE = "currentDate";
+
+	private static final String CURRENT_YEAR_VARIABLE = "currentYear";
+
+	private static final Set<String> BUILT_IN_VARIABLES = Set.of(EMAIL_VARIABLE, SUBJECT_VARIABLE,
+			CURRENT_DATE_VARIABLE, CURRENT_YEAR_VARIABLE, EmailTemplateRenderer.FRAGMENTS_VARIABLE);
+
+	private static final String WARM_UP_RECIPIENT = "warm-up@example.com";
+
+	private final TemplateRegistryProperties properties;
+
+	private final EmailTemplateRenderer emailTemplateRenderer;
+
+	private final SpringTemplateEngine subjectEngine;
+
+	private volatile CurrentDay currentDay;
+
+	/**
+	 * Creates a new registry of the configured templates.
+	 *
+	 * @param properties            the template registry properties
+	 * @param emailTemplateRenderer the renderer of the template bodies, used to warm them up
+	 * @throws IllegalStateException if a template is not properly declared
+	 */
+	public TemplateRegistry(TemplateRegistryProperties properties, EmailTemplateRenderer emailTemplateRenderer) {
+		this.properties = properties;
+		this.emailTemplateRenderer = emailTemplateRenderer;
+		checkDeclarations();
+		StringTemplateResolver resolver = new StringTemplateResolver();
+		resolver.setTemplateMode(TemplateMode.TEXT);
+		resolver.setCacheable(true);
+		this.subjectEngine = new SpringTemplateEngine();
+		subjectEngine.setTemplateResolver(resolver);
+	}
+
+	/**
+	 * Validates the variables given for a template.
+	 *
+	 * @param templateId the identifier of the template, or {@code null} for the default one
+	 * @param variables  the variables given by the client, or {@code null}
+	 * @return the validation messages, empty if the template exists and the variables match its declarations
+	 */
+	public List<String> validate(String templateId, Map<String, Object> variables) {
+		String id = templateId != null ? templateId : properties.getDefaultTemplate();
+		TemplateRegistryProperties.Template template = properties.getTemplates().get(id);
+		if (template == null) {
+			return List.of("The template '" + id + "' does not exist.");
+		}
+		Map<String, Object> given = variables != null ? variables : Map.of();
+		List<String> errors = new ArrayList<>();
+		template.getVariables().forEach((name, variable) -> {
+			Object value = given.get(name);
+			if (value == null || value instanceof String text && text.isBlank()) {
+				if (variable.isRequired()) {
+					errors.add("The variable '" + name + "' is required.");
+				}
+			}
+			else if (!variable.getType().accepts(value)) {
+				errors.add("The variable '" + name + "' must be " + variable.getType().describe() + ".");
+			}
+			else if (value instanceof String text && text.length() > variable.getMaxLength()) {
+				errors.add("The variable '" + name + "' must not exceed " + variable.getMaxLength() + " characters.");
+			}
+		});
+		given.keySet().stream()
+				.filter(name -> !template.getVariables().containsKey(name))
+				.forEach(name -> errors.add("The variable '" + name + "' is not accepted by the template '" + id + "'."));
+		return errors;
+	}
+
+	/**
+	 * Prepares a template for a recipient, rendering its subject and adding the built-in variables.
+	 *
+	 * @param templateId the identifier of the template, or {@code null} for the default one
+	 * @param to         the recipient's email address
+	 * @param variables  the variables given by the client, already validated, or {@code null}
+	 * @return the template ready to be sent
+	 * @throws IllegalArgumentException if the template does not exist or the variables are invalid
+	 */
+	public PreparedTemplate prepare(String templateId, String to, Map<String, Object> variables) {
+		List<String> errors = validate(templateId, variables);
+		if (!errors.isEmpty()) {
+			throw new IllegalArgumentException(String.join(" ", errors));
+		}
+		String id = templateId != null ? templateId : properties.getDefaultTemplate();
+		TemplateRegistryProperties.Template template = properties.getTemplates().get(id);
+		int size = (variables != null ? variables.size() : 0) + 4;
+		Map<String, Object> prepared = new HashMap<>(size * 4 / 3 + 1);
+		if (variables != null) {
+			variables.forEach((name, value) -> {
+				if (value != null) {
+					prepared.put(name, value);
+				}
+			});
+		}
+		CurrentDay today = currentDay();
+		prepared.put(EMAIL_VARIABLE, to);
+		prepared.put(CURRENT_DATE_VARIABLE, today.getDate());
+		prepared.put(CURRENT_YEAR_VARIABLE, today.getYear());
+		String subject = renderSubject(template.getSubject(), prepared);
+		prepared.put(SUBJECT_VARIABLE, subject);
+		return new PreparedTemplate(viewOf(id, template), subject, Collections.unmodifiableMap(prepared));
+	}
+
+	/**
+	 * Renders every template once with the example values of its variables, so that they are parsed and cached.
+	 *
+	 * @throws IllegalStateException if a template cannot be rendered
+	 */
+	public void warmUp() {
+		long start = System.nanoTime();
+		properties.getTemplates().forEach((id, template) -> {
+			Map<String, Object> examples = new HashMap<>();
+			template.getVariables().forEach((name, variable) ->
+					examples.put(name, variable.getType().example(variable.getExample())));
+			try {
+				PreparedTemplate prepared = prepare(id, WARM_UP_RECIPIENT, examples);
+				Context context = new Context();
+				context.setVariables(prepared.getVariables());
+				emailTemplateRenderer.render(prepared.getView(), context);
+			}
+			catch (RuntimeException e) {
+				throw new IllegalStateException("The template '" + id + "' cannot be rendered: " + e.getMessage(), e);
+			}
+		});
+		log.info("Warmed up {} email templates in {} ms", properties.getTemplates().size(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * Warms the templates up once every singleton is created, before the application accepts requests.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (properties.isWarmUp()) {
+			warmUp();
+		}
+	}
+
+	private CurrentDay currentDay() {
+		CurrentDay day = currentDay;
+		if (day == null || System.currentTimeMillis() >= day.getEndsAt()) {
+			day = CurrentDay.of(LocalDate.now());
+			currentDay = day;
+		}
+		return day;
+	}
+
+	private String renderSubject(String subject, Map<String, Object> variables) {
+		Context context = new Context();
+		context.setVariables(variables);
+		// The subject ends up in a header, where a line break would start a new header.
+		return subjectEngine.process(subject, context).replaceAll("[\\r\\n]+", " ").strip();
+	}
+
+	private void checkDeclarations() {
+		if (!properties.getTemplates().containsKey(properties.getDefaultTemplate())) {
+			throw new IllegalStateException("The default template '" + properties.getDefaultTemplate()
+					+ "' is not declared in custom.mail.template-registry.templates");
+		}
+		properties.getTemplates().forEach((id, template) -> {
+			if (template.getSubject() == null || template.getSubject().isBlank()) {
+				throw new IllegalStateException("The template '" + id + "' must declare a subject");
+			}
+			template.getVariables().keySet().stream()
+					.filter(BUILT_IN_VARIABLES::contains)
+					.findFirst()
+					.ifPresent(name -> {
+						throw new IllegalStateException("The template '" + id + "' cannot declare the built-in "
+								+ "variable '" + name + "'");
+					});
+		});
+	}
+
+	private static String viewOf(String id, TemplateRegistryProperties.Template template) {
+		return template.getView() != null ? template.getView() : id;
+	}
+
+	/**
+	 * The values of the built-in variables which only change once a day, computed once for all the emails of the day.
+	 */
+	@Value
+	private static class CurrentDay {
+
+		String date;
+
+		Integer year;
+
+		/**
+		 * The time the day ends at, in milliseconds.
+		 */
+		long endsAt;
+
+		static CurrentDay of(LocalDate date) {
+			long endsAt = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+			return new CurrentDay(date.toString(), date.getYear(), endsAt);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.jeremw.example.emailsender.email.template;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the templates which may be sent.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TemplateRegistryProperties.class)
+public class TemplateRegistryConfiguration {
+
+	/**
+	 * Creates the registry of the templates, warmed up before the application accepts requests.
+	 *
+	 * @param properties            the {@code custom.mail.template-registry} properties
+	 * @param emailTemplateRenderer the renderer of the template bodies
+	 * @return the {@link TemplateRegistry}
+	 */
+	@Bean
+	public TemplateRegistry templateRegistry(TemplateRegistryProperties properties,
+			EmailTemplateRenderer emailTemplateRenderer) {
+		return new TemplateRegistry(properties, emailTemplateRenderer);
+	}
+}
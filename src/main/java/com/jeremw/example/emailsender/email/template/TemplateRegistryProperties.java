@@ -0,0 +1,85 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the templates which may be sent, bound from {@code custom.mail.template-registry}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.template-registry")
+public class TemplateRegistryProperties {
+
+	/**
+	 * The identifier of the template sent when a form does not name one.
+	 */
+	private String defaultTemplate = "welcome";
+
+	/**
+	 * Whether every template is rendered once on startup, so that the first requests do not pay for parsing it.
+	 */
+	private boolean warmUp = true;
+
+	/**
+	 * The templates which may be sent, by identifier.
+	 */
+	private Map<String, Template> templates = new LinkedHashMap<>();
+
+	/**
+	 * Template which may be sent.
+	 */
+	@Data
+	public static class Template {
+
+		/**
+		 * The name of the Thymeleaf template rendering the body, the identifier of the template when not set.
+		 */
+		private String view;
+
+		/**
+		 * The subject, a Thymeleaf text template which may use the variables, such as
+		 * {@code Welcome to [(${companyName})]}.
+		 */
+		private String subject;
+
+		/**
+		 * The variables the template accepts, by name.
+		 */
+		private Map<String, Variable> variables = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Variable accepted by a template.
+	 */
+	@Data
+	public static class Variable {
+
+		/**
+		 * Whether the variable must be given.
+		 */
+		private boolean required;
+
+		/**
+		 * The type of the values.
+		 */
+		private TemplateVariableType type = TemplateVariableType.STRING;
+
+		/**
+		 * The maximum length of a {@link TemplateVariableType#STRING} value.
+		 */
+		private int maxLength = 1000;
+
+		/**
+		 * The value used to render the template on startup, a value matching the type when not set.
+		 */
+		private String example;
+	}
+}
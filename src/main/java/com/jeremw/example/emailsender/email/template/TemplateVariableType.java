@@ -0,0 +1,114 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Enumeration of the types of the variables declared by a template of the {@link TemplateRegistry}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum TemplateVariableType {
+
+	/**
+	 * A JSON string.
+	 */
+	STRING("a string", "Example") {
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof String;
+		}
+	},
+
+	/**
+	 * A JSON number.
+	 */
+	NUMBER("a number", "1") {
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Number;
+		}
+	},
+
+	/**
+	 * A JSON boolean.
+	 */
+	BOOLEAN("a boolean", "true") {
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Boolean;
+		}
+	},
+
+	/**
+	 * A JSON string holding an ISO-8601 date, such as {@code 2026-10-18}.
+	 */
+	DATE("a date such as 2026-10-18", "2026-10-18") {
+		@Override
+		boolean accepts(Object value) {
+			if (!(value instanceof String text)) {
+				return false;
+			}
+			try {
+				LocalDate.parse(text);
+				return true;
+			}
+			catch (DateTimeParseException e) {
+				return false;
+			}
+		}
+	},
+
+	/**
+	 * Any JSON value, including arrays and objects.
+	 */
+	ANY("any value", "Example") {
+		@Override
+		boolean accepts(Object value) {
+			return true;
+		}
+	};
+
+	private final String description;
+
+	private final String example;
+
+	TemplateVariableType(String description, String example) {
+		this.description = description;
+		this.example = example;
+	}
+
+	/**
+	 * Tells whether the given value is of this type.
+	 *
+	 * @param value the value given for the variable, not {@code null}
+	 * @return {@code true} if the value is accepted
+	 */
+	abstract boolean accepts(Object value);
+
+	/**
+	 * Converts the example declared for a variable to a value of this type.
+	 *
+	 * @param example the declared example, or {@code null} to use a default one
+	 * @return the value used to render the template on startup
+	 */
+	Object example(String example) {
+		String text = example != null ? example : this.example;
+		return switch (this) {
+			case NUMBER -> Double.valueOf(text);
+			case BOOLEAN -> Boolean.valueOf(text);
+			default -> text;
+		};
+	}
+
+	/**
+	 * Describes the values of this type, for the validation messages.
+	 *
+	 * @return the description of the type
+	 */
+	String describe() {
+		return description;
+	}
+}
@@ -0,0 +1,44 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.util.List;
+
+import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Validates the variables of a {@link TemplateEmailForm} against the declarations of the {@link TemplateRegistry}.
+ *
+ * <p>
+ * Instantiated by the Spring validator, which injects the registry.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@RequiredArgsConstructor
+public class TemplateVariablesValidator implements ConstraintValidator<ValidTemplateVariables, TemplateEmailForm> {
+
+	private final TemplateRegistry templateRegistry;
+
+	@Override
+	public boolean isValid(TemplateEmailForm form, ConstraintValidatorContext context) {
+		if (form == null) {
+			return true;
+		}
+		List<String> errors = templateRegistry.validate(form.getTemplate(), form.getAllVariables());
+		if (errors.isEmpty()) {
+			return true;
+		}
+		context.disableDefaultConstraintViolation();
+		errors.forEach(error -> context.buildConstraintViolationWithTemplate(escape(error)).addConstraintViolation());
+		return false;
+	}
+
+	private static String escape(String message) {
+		// The messages quote names given by the client, which must not be interpolated as expressions.
+		return message.replaceAll("([\\\\{}$#])", "\\\\$1");
+	}
+}
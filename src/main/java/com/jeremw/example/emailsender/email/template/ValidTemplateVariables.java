@@ -0,0 +1,50 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * Checks that a template email form names a template of the {@link TemplateRegistry} and gives the variables it
+ * declares.
+ *
+ * <p>
+ * Every problem is reported as its own constraint violation, such as a missing or unknown variable.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Documented
+@Constraint(validatedBy = TemplateVariablesValidator.class)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidTemplateVariables {
+
+	/**
+	 * The message reported when the template or its variables are invalid.
+	 *
+	 * @return the message
+	 */
+	String message() default "The template variables are invalid.";
+
+	/**
+	 * The validation groups the constraint belongs to.
+	 *
+	 * @return the groups
+	 */
+	Class<?>[] groups() default {};
+
+	/**
+	 * The payload associated with the constraint.
+	 *
+	 * @return the payload
+	 */
+	Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,155 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import com.jeremw.example.emailsender.cluster.ClusterCoordinator;
+import com.jeremw.example.emailsender.concurrent.CircuitBreaker;
+import com.jeremw.example.emailsender.concurrent.PinningGuard;
+import com.jeremw.example.emailsender.concurrent.TokenBucket;
+import com.jeremw.example.emailsender.email.retry.SmtpFailureClassifier;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Configuration of the {@link JavaMailSender} used to send emails.
+ *
+ * <p>
+ * When {@code custom.mail.relays.servers} lists SMTP relays, a {@link RoutingJavaMailSender} spreads the sends
+ * across them, each relay having its own connection pool. Otherwise, when {@code custom.mail.pool.enabled} is not
+ * disabled, a {@link PooledJavaMailSender} configured from the standard {@code spring.mail} properties replaces the
+ * sender auto-configured by Spring Boot. Sends are spread according to {@code custom.mail.rate-limit} when a rate
+ * is set. The rate is the one of the whole cluster: it is split evenly between the live nodes of the
+ * {@link ClusterCoordinator}, and split again whenever one joins or leaves.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({ MailProperties.class, SmtpPoolProperties.class, SmtpRateLimitProperties.class,
+		SmtpRelayProperties.class })
+public class MailTransportConfiguration {
+
+	/**
+	 * Creates the mail sender routing to the configured SMTP relays.
+	 *
+	 * @param mailProperties      the {@code spring.mail} properties, used as defaults for every relay
+	 * @param relayProperties     the {@code custom.mail.relays} properties
+	 * @param poolProperties      the {@code custom.mail.pool} properties, used by the relays without their own
+	 * @param rateLimitProperties the {@code custom.mail.rate-limit} properties, used by the relays without their own
+	 * @param classifier          the classifier telling the relay failures from the message failures
+	 * @param pinningGuard        the guard bounding the SMTP I/O pinning virtual threads
+	 * @param emailMetrics        the recorder of the SMTP exchanges and failovers
+	 * @param clusterCoordinator  the coordinator of the nodes sharing the rate limits
+	 * @return the routing {@link JavaMailSender}
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "custom.mail.relays", name = "servers[0].host")
+	public RoutingJavaMailSender routingJavaMailSender(MailProperties mailProperties,
+			SmtpRelayProperties relayProperties, SmtpPoolProperties poolProperties,
+			SmtpRateLimitProperties rateLimitProperties, SmtpFailureClassifier classifier, PinningGuard pinningGuard,
+			EmailMetrics emailMetrics, ClusterCoordinator clusterCoordinator) {
+		List<RoutingJavaMailSender.Relay> relays = new ArrayList<>();
+		for (SmtpRelayProperties.Server server : relayProperties.getServers()) {
+			PooledJavaMailSender sender = new PooledJavaMailSender(
+					server.getPool() != null ? server.getPool() : poolProperties, pinningGuard, emailMetrics);
+			applyProperties(mailProperties, sender);
+			applyProperties(server, sender);
+			applyRateLimit(server.getRateLimit() != null ? server.getRateLimit() : rateLimitProperties, sender,
+					clusterCoordinator);
+			relays.add(new RoutingJavaMailSender.Relay(server.getName(), server.getWeight(), sender,
+					new CircuitBreaker(relayProperties.getFailureThreshold(), relayProperties.getOpenDuration())));
+		}
+		return new RoutingJavaMailSender(relays, relayProperties.getBalancing(), classifier, emailMetrics);
+	}
+
+	/**
+	 * Creates the health indicator reporting the state of the SMTP relays.
+	 *
+	 * @param routingJavaMailSender the sender routing to the relays
+	 * @return the health indicator
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "custom.mail.relays", name = "servers[0].host")
+	public SmtpRelayHealthIndicator smtpRelayHealthIndicator(RoutingJavaMailSender routingJavaMailSender) {
+		return new SmtpRelayHealthIndicator(routingJavaMailSender);
+	}
+
+	/**
+	 * Creates the pooled mail sender.
+	 *
+	 * @param mailProperties      the {@code spring.mail} properties
+	 * @param poolProperties      the {@code custom.mail.pool} properties
+	 * @param rateLimitProperties the {@code custom.mail.rate-limit} properties
+	 * @param pinningGuard        the guard bounding the SMTP I/O pinning virtual threads
+	 * @param emailMetrics        the recorder of the SMTP connection and transmission times
+	 * @param clusterCoordinator  the coordinator of the nodes sharing the rate limit
+	 * @return the pooled {@link JavaMailSender}
+	 */
+	@Bean
+	@ConditionalOnMissingBean(JavaMailSender.class)
+	@ConditionalOnProperty(prefix = "custom.mail.pool", name = "enabled", matchIfMissing = true)
+	public PooledJavaMailSender javaMailSender(MailProperties mailProperties, SmtpPoolProperties poolProperties,
+			SmtpRateLimitProperties rateLimitProperties, PinningGuard pinningGuard, EmailMetrics emailMetrics,
+			ClusterCoordinator clusterCoordinator) {
+		PooledJavaMailSender sender = new PooledJavaMailSender(poolProperties, pinningGuard, emailMetrics);
+		applyProperties(mailProperties, sender);
+		applyRateLimit(rateLimitProperties, sender, clusterCoordinator);
+		return sender;
+	}
+
+	static void applyProperties(MailProperties mailProperties, PooledJavaMailSender sender) {
+		sender.setHost(mailProperties.getHost());
+		if (mailProperties.getPort() != null) {
+			sender.setPort(mailProperties.getPort());
+		}
+		sender.setUsername(mailProperties.getUsername());
+		sender.setPassword(mailProperties.getPassword());
+		sender.setProtocol(mailProperties.getProtocol());
+		if (mailProperties.getDefaultEncoding() != null) {
+			sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+		}
+		if (!mailProperties.getProperties().isEmpty()) {
+			Properties javaMailProperties = new Properties();
+			javaMailProperties.putAll(mailProperties.getProperties());
+			sender.setJavaMailProperties(javaMailProperties);
+		}
+	}
+
+	static void applyProperties(SmtpRelayProperties.Server server, PooledJavaMailSender sender) {
+		sender.setHost(server.getHost());
+		sender.setPort(server.getPort() != null ? server.getPort() : -1);
+		if (server.getUsername() != null) {
+			sender.setUsername(server.getUsername());
+			sender.setPassword(server.getPassword());
+		}
+		sender.setProtocol(server.getProtocol());
+		if (!server.getProperties().isEmpty()) {
+			Properties javaMailProperties = new Properties();
+			javaMailProperties.putAll(sender.getJavaMailProperties());
+			javaMailProperties.putAll(server.getProperties());
+			sender.setJavaMailProperties(javaMailProperties);
+		}
+	}
+
+	static void applyRateLimit(SmtpRateLimitProperties rateLimitProperties, PooledJavaMailSender sender,
+			ClusterCoordinator clusterCoordinator) {
+		if (rateLimitProperties.getRate() > 0) {
+			TokenBucket rateLimiter = new TokenBucket(rateLimitProperties.getRate(), rateLimitProperties.getBurst());
+			clusterCoordinator.onMembershipChange(
+					members -> rateLimiter.setRate(rateLimitProperties.getRate() / members.size()));
+			sender.setRateLimiter(rateLimiter);
+			sender.setRateLimitTimeout(rateLimitProperties.getAcquireTimeout());
+		}
+	}
+}
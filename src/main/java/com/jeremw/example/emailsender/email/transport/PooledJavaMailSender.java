@@ -0,0 +1,244 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jeremw.example.emailsender.concurrent.PinningGuard;
+import com.jeremw.example.emailsender.concurrent.TokenBucket;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * {@link JavaMailSenderImpl} sending messages over connections borrowed from a {@link SmtpTransportPool}.
+ *
+ * <p>
+ * The default implementation opens a new connection, negotiates STARTTLS and authenticates for every call to
+ * {@code send}. This implementation keeps those connections open and reuses them across calls, so that the
+ * handshake cost is only paid once per connection.
+ * </p>
+ *
+ * <p>
+ * When a rate limiter is set, every message waits for a token before being transmitted, so that bursts of sends are
+ * smoothed to a rate the relay accepts rather than throttled by the relay itself. A sender waiting for a token hands
+ * its connection back to the pool meanwhile, so that throttled senders do not hold idle connections.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+	private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+	@Getter
+	private final SmtpTransportPool pool;
+
+	private final PinningGuard pinningGuard;
+
+	private final EmailMetrics emailMetrics;
+
+	/**
+	 * The rate limiter every message is transmitted through, or {@code null} to send as fast as possible.
+	 */
+	@Setter
+	private TokenBucket rateLimiter;
+
+	/**
+	 * The maximum time a message waits for the rate limiter.
+	 */
+	@Setter
+	private Duration rateLimitTimeout = Duration.ofSeconds(30);
+
+	/**
+	 * Creates a new sender backed by a connection pool configured with the given properties.
+	 *
+	 * @param poolProperties the pool configuration
+	 */
+	public PooledJavaMailSender(SmtpPoolProperties poolProperties) {
+		this(poolProperties, PinningGuard.disabled());
+	}
+
+	/**
+	 * Creates a new sender backed by a connection pool, bounding the SMTP I/O which pins virtual threads.
+	 *
+	 * @param poolProperties the pool configuration
+	 * @param pinningGuard   the guard entered around connection and message transmission
+	 */
+	public PooledJavaMailSender(SmtpPoolProperties poolProperties, PinningGuard pinningGuard) {
+		this(poolProperties, pinningGuard, EmailMetrics.disabled());
+	}
+
+	/**
+	 * Creates a new sender backed by a connection pool, recording the duration of the SMTP exchanges.
+	 *
+	 * @param poolProperties the pool configuration
+	 * @param pinningGuard   the guard entered around connection and message transmission
+	 * @param emailMetrics   the recorder of the connection and transmission times
+	 */
+	public PooledJavaMailSender(SmtpPoolProperties poolProperties, PinningGuard pinningGuard,
+			EmailMetrics emailMetrics) {
+		this.pinningGuard = pinningGuard;
+		this.emailMetrics = emailMetrics;
+		this.pool = new SmtpTransportPool(this::connectGuarded, poolProperties);
+	}
+
+	/**
+	 * Sends the messages over a connection borrowed from the pool, borrowing another one if it breaks on the way.
+	 *
+	 * @param mimeMessages     the messages to send
+	 * @param originalMessages the messages they were prepared from, reported on failure; may be null when the
+	 *                         messages were given as {@link MimeMessage}s
+	 * @throws MailException if a connection cannot be opened or some messages cannot be sent
+	 */
+	@Override
+	protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+		Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+		PooledTransport pooled = null;
+		try {
+			for (int i = 0; i < mimeMessages.length; i++) {
+				MimeMessage mimeMessage = mimeMessages[i];
+				Object failedMessage = originalMessages != null ? originalMessages[i] : mimeMessage;
+				try {
+					prepare(mimeMessage);
+					if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+						// The token is waited for without holding a connection, which other senders use meanwhile.
+						if (pooled != null) {
+							pool.release(pooled, false);
+							pooled = null;
+						}
+						awaitRateLimit();
+					}
+				}
+				catch (Exception ex) {
+					failedMessages.put(failedMessage, ex);
+					continue;
+				}
+				if (pooled == null) {
+					pooled = borrow(mimeMessages, originalMessages, i, failedMessages);
+				}
+				try {
+					transmit(pooled, mimeMessage);
+				}
+				catch (Exception ex) {
+					failedMessages.put(failedMessage, ex);
+					if (!pooled.isAlive()) {
+						pool.release(pooled, true);
+						pooled = null;
+						continue;
+					}
+				}
+				if (pool.isExhausted(pooled)) {
+					pool.release(pooled, true);
+					pooled = null;
+				}
+			}
+		}
+		finally {
+			if (pooled != null) {
+				pool.release(pooled, false);
+			}
+		}
+		if (!failedMessages.isEmpty()) {
+			throw new MailSendException(failedMessages);
+		}
+	}
+
+	/**
+	 * Closes the connection pool.
+	 */
+	@Override
+	public void destroy() {
+		pool.close();
+	}
+
+	private PooledTransport borrow(MimeMessage[] mimeMessages, Object[] originalMessages, int from,
+			Map<Object, Exception> failedMessages) {
+		try {
+			return pool.borrow();
+		}
+		catch (AuthenticationFailedException ex) {
+			throw new MailAuthenticationException(ex);
+		}
+		catch (Exception ex) {
+			for (int j = from; j < mimeMessages.length; j++) {
+				failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+			}
+			throw new MailSendException("Mail server connection failed", ex, failedMessages);
+		}
+	}
+
+	private Transport connectGuarded() throws MessagingException {
+		pinningGuard.enter();
+		Timer.Sample sample = emailMetrics.start();
+		boolean connected = false;
+		try {
+			Transport transport = connectTransport();
+			connected = true;
+			return transport;
+		}
+		finally {
+			emailMetrics.recordConnect(sample, connected);
+			pinningGuard.exit();
+		}
+	}
+
+	private void transmit(PooledTransport pooled, MimeMessage mimeMessage) throws MessagingException {
+		Address[] addresses = mimeMessage.getAllRecipients();
+		pinningGuard.enter();
+		Timer.Sample sample = emailMetrics.start();
+		boolean sent = false;
+		try {
+			pooled.getTransport().sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+			sent = true;
+		}
+		finally {
+			emailMetrics.recordTransmit(sample, sent);
+			pinningGuard.exit();
+		}
+		pooled.messageSent();
+	}
+
+	private void awaitRateLimit() throws MessagingException {
+		if (rateLimiter == null) {
+			return;
+		}
+		try {
+			long waitedNanos = rateLimiter.acquire(rateLimitTimeout);
+			if (waitedNanos < 0) {
+				throw new MessagingException("Timed out waiting for the SMTP rate limit");
+			}
+			emailMetrics.recordThrottle(waitedNanos);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted while waiting for the SMTP rate limit", e);
+		}
+	}
+
+	private void prepare(MimeMessage mimeMessage) throws MessagingException {
+		if (mimeMessage.getSentDate() == null) {
+			mimeMessage.setSentDate(new Date());
+		}
+		String messageId = mimeMessage.getMessageID();
+		mimeMessage.saveChanges();
+		if (messageId != null) {
+			mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+		}
+	}
+}
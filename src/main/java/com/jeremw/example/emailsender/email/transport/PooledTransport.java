@@ -0,0 +1,71 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Connected {@link Transport} held by the {@link SmtpTransportPool}, along with its usage statistics.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Getter
+public class PooledTransport {
+
+	private final Transport transport;
+
+	private final long createdAt;
+
+	private volatile long lastUsedAt;
+
+	private volatile int messageCount;
+
+	private volatile boolean shared = true;
+
+	PooledTransport(Transport transport) {
+		this.transport = transport;
+		this.createdAt = System.nanoTime();
+		this.lastUsedAt = createdAt;
+	}
+
+	/**
+	 * Records a message sent over this connection.
+	 */
+	public void messageSent() {
+		messageCount++;
+	}
+
+	/**
+	 * Tells whether the underlying connection is still open, issuing a {@code NOOP} to the server.
+	 *
+	 * @return {@code true} if the server answered the {@code NOOP}
+	 */
+	public boolean isAlive() {
+		return transport.isConnected();
+	}
+
+	void setShared(boolean shared) {
+		this.shared = shared;
+	}
+
+	void touch() {
+		lastUsedAt = System.nanoTime();
+	}
+
+	long idleNanos() {
+		return System.nanoTime() - lastUsedAt;
+	}
+
+	void close() {
+		try {
+			transport.close();
+		}
+		catch (MessagingException e) {
+			log.debug("Failed to close SMTP connection cleanly: {}", e.getMessage());
+		}
+	}
+}
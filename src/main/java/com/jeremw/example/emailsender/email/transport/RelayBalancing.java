@@ -0,0 +1,21 @@
+package com.jeremw.example.emailsender.email.transport;
+
+/**
+ * Enumeration of the strategies used to spread the sends across several SMTP relays.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public enum RelayBalancing {
+
+	/**
+	 * Relays are used in turn, each of them as often as its weight.
+	 */
+	ROUND_ROBIN,
+
+	/**
+	 * The relay with the fewest sends in progress relative to its weight is used.
+	 */
+	LEAST_OUTSTANDING
+}
@@ -0,0 +1,293 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jeremw.example.emailsender.concurrent.CircuitBreaker;
+import com.jeremw.example.emailsender.email.retry.FailureType;
+import com.jeremw.example.emailsender.email.retry.SmtpFailureClassifier;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+
+/**
+ * {@link JavaMailSender} spreading the sends across several SMTP relays, and failing over when one of them fails.
+ *
+ * <p>
+ * Each send is routed to a relay picked according to the {@link RelayBalancing} strategy. The messages failing
+ * because of the relay itself, that is with a connection or authentication error, a timeout or a {@code 4xx}
+ * reply, are sent again through the next relay; the ones rejected with a {@code 5xx} reply are reported right
+ * away. A relay failing several times in a row is left aside by its {@link CircuitBreaker} for a while, then tried
+ * again with a single send.
+ * </p>
+ *
+ * <p>
+ * A message may be delivered twice when a relay times out after having accepted it.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class RoutingJavaMailSender implements JavaMailSender, DisposableBean {
+
+	@Getter
+	private final List<Relay> relays;
+
+	private final RelayBalancing balancing;
+
+	private final SmtpFailureClassifier classifier;
+
+	private final EmailMetrics emailMetrics;
+
+	private final int[] schedule;
+
+	private final AtomicInteger cursor = new AtomicInteger();
+
+	/**
+	 * Creates a new sender routing to the given relays.
+	 *
+	 * @param relays       the relays, at least one
+	 * @param balancing    the strategy used to pick the relay of each send
+	 * @param classifier   the classifier telling the relay failures from the message failures
+	 * @param emailMetrics the recorder of the failovers
+	 */
+	public RoutingJavaMailSender(List<Relay> relays, RelayBalancing balancing, SmtpFailureClassifier classifier,
+			EmailMetrics emailMetrics) {
+		if (relays.isEmpty()) {
+			throw new IllegalArgumentException("At least one SMTP relay is required");
+		}
+		this.relays = List.copyOf(relays);
+		this.balancing = balancing;
+		this.classifier = classifier;
+		this.emailMetrics = emailMetrics;
+		this.schedule = weightedSchedule(this.relays);
+	}
+
+	@Override
+	public MimeMessage createMimeMessage() {
+		return relays.get(0).getSender().createMimeMessage();
+	}
+
+	@Override
+	public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+		return relays.get(0).getSender().createMimeMessage(contentStream);
+	}
+
+	@Override
+	public void send(SimpleMailMessage... simpleMessages) throws MailException {
+		MimeMessage[] mimeMessages = new MimeMessage[simpleMessages.length];
+		for (int i = 0; i < simpleMessages.length; i++) {
+			MimeMailMessage message = new MimeMailMessage(createMimeMessage());
+			simpleMessages[i].copyTo(message);
+			mimeMessages[i] = message.getMimeMessage();
+		}
+		send(mimeMessages);
+	}
+
+	@Override
+	public void send(MimeMessage... mimeMessages) throws MailException {
+		Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+		Map<MimeMessage, Exception> pending = new LinkedHashMap<>();
+		for (MimeMessage mimeMessage : mimeMessages) {
+			pending.put(mimeMessage, null);
+		}
+		for (Relay relay : candidates()) {
+			if (pending.isEmpty()) {
+				break;
+			}
+			if (!relay.getCircuitBreaker().tryAcquire()) {
+				continue;
+			}
+			Map<MimeMessage, Exception> failures;
+			try {
+				failures = sendThrough(relay, List.copyOf(pending.keySet()));
+			}
+			catch (MailParseException e) {
+				// A malformed message says nothing about the relay, whose trial call must be settled all the same.
+				relay.getCircuitBreaker().onSuccess();
+				throw e;
+			}
+			catch (RuntimeException | Error e) {
+				relay.getCircuitBreaker().onFailure();
+				throw e;
+			}
+			boolean relayFailed = false;
+			for (MimeMessage mimeMessage : List.copyOf(pending.keySet())) {
+				Exception failure = failures.get(mimeMessage);
+				if (failure == null) {
+					pending.remove(mimeMessage);
+				}
+				else if (isRelayFailure(failure)) {
+					pending.put(mimeMessage, failure);
+					relayFailed = true;
+				}
+				else {
+					pending.remove(mimeMessage);
+					failedMessages.put(mimeMessage, failure);
+				}
+			}
+			if (relayFailed) {
+				relay.getCircuitBreaker().onFailure();
+				emailMetrics.recordFailover(relay.getName());
+				log.warn("SMTP relay {} failed, failing over {} messages", relay.getName(), pending.size());
+			}
+			else {
+				relay.getCircuitBreaker().onSuccess();
+			}
+		}
+		pending.forEach((mimeMessage, failure) -> failedMessages.put(mimeMessage,
+				failure != null ? failure : new MessagingException("No SMTP relay available")));
+		if (!failedMessages.isEmpty()) {
+			throw new MailSendException(failedMessages);
+		}
+	}
+
+	/**
+	 * Closes the connection pools of every relay.
+	 */
+	@Override
+	public void destroy() {
+		relays.forEach(relay -> relay.getSender().destroy());
+	}
+
+	private Map<MimeMessage, Exception> sendThrough(Relay relay, List<MimeMessage> mimeMessages) {
+		relay.outstanding.incrementAndGet();
+		try {
+			relay.getSender().send(mimeMessages.toArray(new MimeMessage[0]));
+			return Map.of();
+		}
+		catch (MailSendException e) {
+			Map<MimeMessage, Exception> failures = new LinkedHashMap<>();
+			if (e.getFailedMessages().isEmpty()) {
+				mimeMessages.forEach(mimeMessage -> failures.put(mimeMessage, e));
+			}
+			e.getFailedMessages().forEach((message, cause) -> failures.put((MimeMessage) message, cause));
+			return failures;
+		}
+		catch (MailParseException e) {
+			throw e;
+		}
+		catch (MailException e) {
+			Map<MimeMessage, Exception> failures = new LinkedHashMap<>();
+			mimeMessages.forEach(mimeMessage -> failures.put(mimeMessage, e));
+			return failures;
+		}
+		finally {
+			relay.outstanding.decrementAndGet();
+		}
+	}
+
+	private boolean isRelayFailure(Exception failure) {
+		return failure instanceof MailAuthenticationException
+				|| classifier.classify(failure) == FailureType.TRANSIENT;
+	}
+
+	private List<Relay> candidates() {
+		int first = balancing == RelayBalancing.LEAST_OUTSTANDING ? leastOutstanding() : nextScheduled();
+		List<Relay> candidates = new ArrayList<>(relays.size());
+		for (int i = 0; i < relays.size(); i++) {
+			candidates.add(relays.get((first + i) % relays.size()));
+		}
+		return candidates;
+	}
+
+	private int nextScheduled() {
+		return schedule[Math.floorMod(cursor.getAndIncrement(), schedule.length)];
+	}
+
+	private int leastOutstanding() {
+		int offset = Math.floorMod(cursor.getAndIncrement(), relays.size());
+		int best = offset;
+		double bestLoad = Double.MAX_VALUE;
+		for (int i = 0; i < relays.size(); i++) {
+			int index = (offset + i) % relays.size();
+			Relay relay = relays.get(index);
+			double load = (double) relay.outstanding.get() / relay.getWeight();
+			if (relay.getCircuitBreaker().isAvailable() && load < bestLoad) {
+				best = index;
+				bestLoad = load;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Interleaves the relays according to their weight, as in smooth weighted round-robin, so that a heavy relay is
+	 * not used several times in a row.
+	 */
+	private static int[] weightedSchedule(List<Relay> relays) {
+		int total = relays.stream().mapToInt(Relay::getWeight).sum();
+		int[] schedule = new int[total];
+		int[] current = new int[relays.size()];
+		for (int slot = 0; slot < total; slot++) {
+			int best = 0;
+			for (int i = 0; i < relays.size(); i++) {
+				current[i] += relays.get(i).getWeight();
+				if (current[i] > current[best]) {
+					best = i;
+				}
+			}
+			current[best] -= total;
+			schedule[slot] = best;
+		}
+		return schedule;
+	}
+
+	/**
+	 * A single SMTP relay and its health.
+	 */
+	@Getter
+	public static class Relay {
+
+		private final String name;
+
+		private final int weight;
+
+		private final PooledJavaMailSender sender;
+
+		private final CircuitBreaker circuitBreaker;
+
+		private final AtomicInteger outstanding = new AtomicInteger();
+
+		/**
+		 * Creates a new relay.
+		 *
+		 * @param name           the name of the relay
+		 * @param weight         the share of the sends handled by the relay, at least 1
+		 * @param sender         the sender connected to the relay
+		 * @param circuitBreaker the breaker tracking the failures of the relay
+		 */
+		public Relay(String name, int weight, PooledJavaMailSender sender, CircuitBreaker circuitBreaker) {
+			this.name = name;
+			this.weight = Math.max(1, weight);
+			this.sender = sender;
+			this.circuitBreaker = circuitBreaker;
+		}
+
+		/**
+		 * Returns the number of sends in progress through this relay.
+		 *
+		 * @return the number of outstanding sends
+		 */
+		public int getOutstanding() {
+			return outstanding.get();
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the SMTP connection pool, bound from {@code custom.mail.pool}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.pool")
+public class SmtpPoolProperties {
+
+	/**
+	 * Whether authenticated SMTP connections are pooled and reused across sends.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * The maximum number of connections used at the same time.
+	 */
+	private int maxSize = 4;
+
+	/**
+	 * The number of connections kept for the high priority emails, which the other emails cannot use. At least one
+	 * connection is always left to the other emails.
+	 */
+	private int reservedConnections = 1;
+
+	/**
+	 * The maximum number of messages sent over a single connection before it is recycled.
+	 */
+	private int maxMessagesPerConnection = 100;
+
+	/**
+	 * How long a connection may stay idle in the pool before being closed.
+	 */
+	private Duration maxIdle = Duration.ofSeconds(30);
+
+	/**
+	 * How long a connection may stay idle before being checked with a {@code NOOP} when borrowed.
+	 */
+	private Duration validateAfter = Duration.ofSeconds(5);
+
+	/**
+	 * How long a send waits for a connection when all of them are in use.
+	 */
+	private Duration borrowTimeout = Duration.ofSeconds(10);
+
+	/**
+	 * How often idle connections are checked for eviction.
+	 */
+	private Duration evictionInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,38 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the rate limit applied to the SMTP relay, bound from {@code custom.mail.rate-limit}.
+ *
+ * <p>
+ * The number of connections opened concurrently to the relay is capped by {@link SmtpPoolProperties#getMaxSize()}.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.rate-limit")
+public class SmtpRateLimitProperties {
+
+	/**
+	 * The maximum sustained number of messages sent per second, or {@code 0} to send as fast as possible.
+	 */
+	private double rate = 0;
+
+	/**
+	 * The number of messages which may be sent at once after an idle period.
+	 */
+	private int burst = 10;
+
+	/**
+	 * The maximum time a message waits for the rate limit before failing. Such failures are retried.
+	 */
+	private Duration acquireTimeout = Duration.ofSeconds(30);
+}
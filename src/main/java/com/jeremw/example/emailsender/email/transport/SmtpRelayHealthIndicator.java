@@ -0,0 +1,40 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.jeremw.example.emailsender.concurrent.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Reports the state of the circuit breaker of every SMTP relay.
+ *
+ * <p>
+ * The health is up as long as at least one relay is usable, and down when every relay has been left aside.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@RequiredArgsConstructor
+public class SmtpRelayHealthIndicator implements HealthIndicator {
+
+	private final RoutingJavaMailSender routingJavaMailSender;
+
+	@Override
+	public Health health() {
+		boolean available = false;
+		Map<String, Object> details = new LinkedHashMap<>();
+		for (RoutingJavaMailSender.Relay relay : routingJavaMailSender.getRelays()) {
+			CircuitBreaker circuitBreaker = relay.getCircuitBreaker();
+			available |= circuitBreaker.isAvailable();
+			details.put(relay.getName(), Map.of("state", circuitBreaker.getState(), "outstanding",
+					relay.getOutstanding()));
+		}
+		return (available ? Health.up() : Health.down()).withDetails(details).build();
+	}
+}
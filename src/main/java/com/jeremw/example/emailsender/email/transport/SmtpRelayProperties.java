@@ -0,0 +1,113 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the SMTP relays, bound from {@code custom.mail.relays}.
+ *
+ * <p>
+ * When no server is listed, emails are sent through the single relay configured under {@code spring.mail}.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.relays")
+public class SmtpRelayProperties {
+
+	/**
+	 * The strategy used to pick the relay of each send.
+	 */
+	private RelayBalancing balancing = RelayBalancing.ROUND_ROBIN;
+
+	/**
+	 * The number of consecutive failures after which a relay is no longer used for a while.
+	 */
+	private int failureThreshold = 5;
+
+	/**
+	 * How long a failing relay is left aside before being tried again.
+	 */
+	private Duration openDuration = Duration.ofSeconds(30);
+
+	/**
+	 * The relays to send through.
+	 */
+	private List<Server> servers = new ArrayList<>();
+
+	/**
+	 * Configuration of a single SMTP relay.
+	 */
+	@Data
+	public static class Server {
+
+		/**
+		 * The name of the relay, used in logs, metrics and health details. Defaults to {@code host:port}.
+		 */
+		private String name;
+
+		/**
+		 * The host of the relay.
+		 */
+		private String host;
+
+		/**
+		 * The port of the relay, or the default port of the protocol when not set.
+		 */
+		private Integer port;
+
+		/**
+		 * The login used to authenticate to the relay, or {@code null} to use the credentials of {@code spring.mail}.
+		 */
+		private String username;
+
+		/**
+		 * The password used to authenticate to the relay.
+		 */
+		private String password;
+
+		/**
+		 * The protocol used to talk to the relay.
+		 */
+		private String protocol = "smtp";
+
+		/**
+		 * The share of the sends handled by this relay relative to the others.
+		 */
+		private int weight = 1;
+
+		/**
+		 * Additional JavaMail session properties, overriding the ones of {@code spring.mail.properties}.
+		 */
+		private Map<String, String> properties = new LinkedHashMap<>();
+
+		/**
+		 * The connection pool of this relay, or {@code null} to use {@code custom.mail.pool}.
+		 */
+		private SmtpPoolProperties pool;
+
+		/**
+		 * The rate limit of this relay, or {@code null} to use {@code custom.mail.rate-limit}.
+		 */
+		private SmtpRateLimitProperties rateLimit;
+
+		/**
+		 * Returns the name of the relay.
+		 *
+		 * @return the configured name, or {@code host:port}
+		 */
+		public String getName() {
+			return name != null ? name : port != null ? host + ":" + port : host;
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.concurrent.ReservedCapacity;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Bounded pool of connected and authenticated SMTP {@link Transport}s.
+ *
+ * <p>
+ * Connections are reused in LIFO order so that the busiest ones stay warm while the others age out. A connection is
+ * recycled once it has sent {@link SmtpPoolProperties#getMaxMessagesPerConnection()} messages, closed once it has
+ * been idle longer than {@link SmtpPoolProperties#getMaxIdle()}, and checked with a {@code NOOP} before being
+ * reused after {@link SmtpPoolProperties#getValidateAfter()}.
+ * </p>
+ *
+ * <p>
+ * {@link SmtpPoolProperties#getReservedConnections()} connections are kept for the threads holding a
+ * {@link ReservedCapacity} grant: the other threads share the remaining ones, so that high priority emails still
+ * find a connection while a campaign keeps all the others busy.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class SmtpTransportPool implements AutoCloseable {
+
+	/**
+	 * Opens a new connected {@link Transport}.
+	 */
+	@FunctionalInterface
+	public interface TransportConnector {
+
+		/**
+		 * Opens and authenticates a new connection to the SMTP server.
+		 *
+		 * @return the connected transport
+		 * @throws MessagingException if the connection cannot be established
+		 */
+		Transport connect() throws MessagingException;
+	}
+
+	private final TransportConnector connector;
+
+	private final SmtpPoolProperties properties;
+
+	private final Semaphore permits;
+
+	private final Semaphore sharedPermits;
+
+	private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+
+	private final ScheduledExecutorService evictor;
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new pool and starts its idle connection evictor.
+	 *
+	 * @param connector  the connector used to open new connections
+	 * @param properties the pool configuration
+	 */
+	public SmtpTransportPool(TransportConnector connector, SmtpPoolProperties properties) {
+		this.connector = connector;
+		this.properties = properties;
+		this.permits = new Semaphore(properties.getMaxSize());
+		int reserved = Math.max(0, Math.min(properties.getReservedConnections(), properties.getMaxSize() - 1));
+		this.sharedPermits = new Semaphore(properties.getMaxSize() - reserved);
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("smtp-pool-evictor-");
+		threadFactory.setDaemon(true);
+		this.evictor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		long interval = properties.getEvictionInterval().toMillis();
+		evictor.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Borrows a connection, reusing an idle one when possible.
+	 *
+	 * <p>Every borrowed connection must be handed back through {@link #release(PooledTransport, boolean)}. Unless
+	 * the current thread holds a {@link ReservedCapacity} grant, the reserved connections are not used.</p>
+	 *
+	 * @return a connected transport
+	 * @throws MessagingException if no connection becomes available in time, or a new one cannot be opened
+	 */
+	public PooledTransport borrow() throws MessagingException {
+		boolean shared = !ReservedCapacity.isGranted();
+		acquirePermit(shared);
+		try {
+			PooledTransport pooled;
+			while ((pooled = idle.pollFirst()) != null) {
+				if (isReusable(pooled)) {
+					pooled.setShared(shared);
+					return pooled;
+				}
+				pooled.close();
+			}
+			pooled = new PooledTransport(connector.connect());
+			pooled.setShared(shared);
+			return pooled;
+		}
+		catch (MessagingException | RuntimeException e) {
+			releasePermit(shared);
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens connections in advance until the pool holds the given number of idle ones, so that the first sends do not
+	 * wait for the handshake. They are evicted like any other connection once idle longer than
+	 * {@link SmtpPoolProperties#getMaxIdle()}.
+	 *
+	 * @param count the number of idle connections wanted, capped to the size of the pool
+	 * @return the number of connections opened
+	 * @throws MessagingException if a connection cannot be opened
+	 */
+	public int prewarm(int count) throws MessagingException {
+		int target = Math.min(count, properties.getMaxSize());
+		int opened = 0;
+		while (!closed && idle.size() < target) {
+			idle.offerLast(new PooledTransport(connector.connect()));
+			opened++;
+		}
+		return opened;
+	}
+
+	/**
+	 * Hands a borrowed connection back to the pool.
+	 *
+	 * @param pooled the borrowed connection
+	 * @param broken whether the connection failed and must not be reused
+	 */
+	public void release(PooledTransport pooled, boolean broken) {
+		try {
+			if (broken || closed || isExhausted(pooled) || idle.size() >= properties.getMaxSize()) {
+				pooled.close();
+			}
+			else {
+				pooled.touch();
+				idle.offerFirst(pooled);
+			}
+		}
+		finally {
+			releasePermit(pooled.isShared());
+		}
+	}
+
+	/**
+	 * Tells whether a connection reached the maximum number of messages it may send.
+	 *
+	 * @param pooled the connection to check
+	 * @return {@code true} if the connection must be recycled
+	 */
+	public boolean isExhausted(PooledTransport pooled) {
+		return pooled.getMessageCount() >= properties.getMaxMessagesPerConnection();
+	}
+
+	/**
+	 * Returns the number of idle connections currently held by the pool.
+	 *
+	 * @return the number of idle connections
+	 */
+	public int getIdleCount() {
+		return idle.size();
+	}
+
+	/**
+	 * Returns the number of connections currently borrowed.
+	 *
+	 * @return the number of connections in use
+	 */
+	public int getActiveCount() {
+		return properties.getMaxSize() - permits.availablePermits();
+	}
+
+	/**
+	 * Closes every idle connection and stops the evictor. Borrowed connections are closed when released.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		evictor.shutdownNow();
+		PooledTransport pooled;
+		while ((pooled = idle.pollFirst()) != null) {
+			pooled.close();
+		}
+	}
+
+	void evictIdle() {
+		long maxIdle = properties.getMaxIdle().toNanos();
+		for (PooledTransport pooled : idle) {
+			if (pooled.idleNanos() > maxIdle && idle.remove(pooled)) {
+				log.debug("Closing SMTP connection idle for more than {}", properties.getMaxIdle());
+				pooled.close();
+			}
+		}
+	}
+
+	private void acquirePermit(boolean shared) throws MessagingException {
+		long deadline = System.nanoTime() + properties.getBorrowTimeout().toNanos();
+		try {
+			if (shared && !sharedPermits.tryAcquire(properties.getBorrowTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new MessagingException("Timed out waiting for an SMTP connection from the pool");
+			}
+			try {
+				if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+					throw new MessagingException("Timed out waiting for an SMTP connection from the pool");
+				}
+			}
+			catch (MessagingException | InterruptedException e) {
+				if (shared) {
+					sharedPermits.release();
+				}
+				throw e;
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted while waiting for an SMTP connection from the pool", e);
+		}
+	}
+
+	private void releasePermit(boolean shared) {
+		permits.release();
+		if (shared) {
+			sharedPermits.release();
+		}
+	}
+
+	private boolean isReusable(PooledTransport pooled) {
+		long idleNanos = pooled.idleNanos();
+		if (idleNanos > properties.getMaxIdle().toNanos()) {
+			return false;
+		}
+		return idleNanos <= properties.getValidateAfter().toNanos() || pooled.isAlive();
+	}
+}
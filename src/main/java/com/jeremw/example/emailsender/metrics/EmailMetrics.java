@@ -0,0 +1,234 @@
+package com.jeremw.example.emailsender.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.email.queue.EmailJobType;
+import com.jeremw.example.emailsender.email.queue.EmailPriority;
+import com.jeremw.example.emailsender.email.retry.FailureType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the duration and the outcome of each phase of the send pipeline.
+ *
+ * <p>
+ * The following meters are published, all of them tagged with the email type where it is known:
+ * </p>
+ * <ul>
+ *     <li>{@code email.queue.wait}: wait of a send task for a worker, tagged with its priority;</li>
+ *     <li>{@code email.render}: rendering of an HTML template, tagged with the template name;</li>
+ *     <li>{@code email.mime.build}: construction of the MIME message, excluding the rendering;</li>
+ *     <li>{@code email.smtp.connect}: opening and authenticating an SMTP connection;</li>
+ *     <li>{@code email.smtp.transmit}: transmission of one message over an open connection;</li>
+ *     <li>{@code email.smtp.throttle}: wait of one message for the rate limit of the SMTP relay;</li>
+ *     <li>{@code email.send}: number of emails sent, tagged with the outcome and the exception type on failure;</li>
+ *     <li>{@code email.retry}: number of retries scheduled after a transient failure;</li>
+ *     <li>{@code email.dead.letter}: number of emails given up, tagged with the kind of the last failure.</li>
+ * </ul>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Component
+public class EmailMetrics {
+
+	private static final String OUTCOME = "outcome";
+
+	private static final String SUCCESS = "success";
+
+	private static final String FAILURE = "failure";
+
+	private static final String NONE = "none";
+
+	private final MeterRegistry registry;
+
+	/**
+	 * Creates a new recorder publishing to the given registry.
+	 *
+	 * @param registry the registry of the application
+	 */
+	public EmailMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Returns a recorder discarding every measurement.
+	 *
+	 * @return a disabled recorder
+	 */
+	public static EmailMetrics disabled() {
+		return new EmailMetrics(new CompositeMeterRegistry());
+	}
+
+	/**
+	 * Starts timing a phase.
+	 *
+	 * @return the sample to hand to one of the {@code record} methods once the phase is over
+	 */
+	public Timer.Sample start() {
+		return Timer.start(registry);
+	}
+
+	/**
+	 * Records the time a send task waited in the queue for a worker.
+	 *
+	 * @param priority    the priority of the emails sent by the task
+	 * @param waitedNanos the time waited, in nanoseconds
+	 */
+	public void recordQueueWait(EmailPriority priority, long waitedNanos) {
+		Timer.builder("email.queue.wait")
+				.description("Time spent by send tasks waiting for a worker")
+				.tag("priority", priority.name())
+				.register(registry)
+				.record(waitedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Records the rendering of a template.
+	 *
+	 * @param sample       the sample started before rendering
+	 * @param templateName the name of the rendered template
+	 */
+	public void recordRender(Timer.Sample sample, String templateName) {
+		sample.stop(Timer.builder("email.render")
+				.description("Time spent rendering email templates")
+				.tag("template", templateName)
+				.register(registry));
+	}
+
+	/**
+	 * Records the construction of a MIME message.
+	 *
+	 * @param sample the sample started before building the message
+	 * @param type   the type of the email
+	 */
+	public void recordMimeBuild(Timer.Sample sample, EmailJobType type) {
+		sample.stop(Timer.builder("email.mime.build")
+				.description("Time spent building MIME messages")
+				.tag("type", type.name())
+				.register(registry));
+	}
+
+	/**
+	 * Records an attempt to open an SMTP connection.
+	 *
+	 * @param sample  the sample started before connecting
+	 * @param success whether the connection was established
+	 */
+	public void recordConnect(Timer.Sample sample, boolean success) {
+		sample.stop(Timer.builder("email.smtp.connect")
+				.description("Time spent opening and authenticating SMTP connections")
+				.tag(OUTCOME, success ? SUCCESS : FAILURE)
+				.register(registry));
+	}
+
+	/**
+	 * Records the transmission of a message over an SMTP connection.
+	 *
+	 * @param sample  the sample started before transmitting
+	 * @param success whether the message was accepted by the server
+	 */
+	public void recordTransmit(Timer.Sample sample, boolean success) {
+		sample.stop(Timer.builder("email.smtp.transmit")
+				.description("Time spent transmitting messages to the SMTP server")
+				.tag(OUTCOME, success ? SUCCESS : FAILURE)
+				.register(registry));
+	}
+
+	/**
+	 * Records the time a message waited for the rate limit of the SMTP relay.
+	 *
+	 * @param waitedNanos the time waited, in nanoseconds
+	 */
+	public void recordThrottle(long waitedNanos) {
+		Timer.builder("email.smtp.throttle")
+				.description("Time spent waiting for the rate limit of the SMTP relay")
+				.register(registry)
+				.record(waitedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Counts a send failed over from an SMTP relay to the next one.
+	 *
+	 * @param relay the name of the relay which failed
+	 */
+	public void recordFailover(String relay) {
+		Counter.builder("email.smtp.failover")
+				.description("Number of sends failed over to another SMTP relay")
+				.tag("relay", relay)
+				.register(registry)
+				.increment();
+	}
+
+	/**
+	 * Counts an email sent successfully.
+	 *
+	 * @param type the type of the email
+	 */
+	public void recordSent(EmailJobType type) {
+		sendCounter(type, SUCCESS, NONE).increment();
+	}
+
+	/**
+	 * Counts an email which could not be sent.
+	 *
+	 * <p>When the cause is a {@link MailSendException}, the failure reported for the message by the server is
+	 * used as the exception type rather than the wrapper itself.</p>
+	 *
+	 * @param type  the type of the email
+	 * @param cause the reason of the failure
+	 */
+	public void recordFailed(EmailJobType type, Exception cause) {
+		sendCounter(type, FAILURE, exceptionType(cause)).increment();
+	}
+
+	/**
+	 * Counts a retry scheduled after a transient failure.
+	 *
+	 * @param type the type of the email
+	 */
+	public void recordRetry(EmailJobType type) {
+		Counter.builder("email.retry")
+				.description("Number of retries scheduled after a transient failure")
+				.tag("type", type.name())
+				.register(registry)
+				.increment();
+	}
+
+	/**
+	 * Counts an email given up.
+	 *
+	 * @param type        the type of the email
+	 * @param failureType the kind of the last failure
+	 */
+	public void recordDeadLetter(EmailJobType type, FailureType failureType) {
+		Counter.builder("email.dead.letter")
+				.description("Number of emails given up after a permanent failure or too many attempts")
+				.tag("type", type.name())
+				.tag("failure", failureType.name())
+				.register(registry)
+				.increment();
+	}
+
+	private static String exceptionType(Exception cause) {
+		if (cause instanceof MailSendException mailSendException && !mailSendException.getFailedMessages().isEmpty()) {
+			return mailSendException.getFailedMessages().values().iterator().next().getClass().getSimpleName();
+		}
+		return cause.getClass().getSimpleName();
+	}
+
+	private Counter sendCounter(EmailJobType type, String outcome, String exception) {
+		return Counter.builder("email.send")
+				.description("Number of emails handed to the SMTP server")
+				.tag("type", type.name())
+				.tag(OUTCOME, outcome)
+				.tag("exception", exception)
+				.register(registry);
+	}
+}
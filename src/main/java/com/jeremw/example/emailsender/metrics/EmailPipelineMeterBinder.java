@@ -0,0 +1,75 @@
+package com.jeremw.example.emailsender.metrics;
+
+import com.jeremw.example.emailsender.email.queue.EmailPriority;
+import com.jeremw.example.emailsender.email.queue.EmailSendQueue;
+import com.jeremw.example.emailsender.email.retry.EmailRetryScheduler;
+import com.jeremw.example.emailsender.email.schedule.EmailSendScheduler;
+import com.jeremw.example.emailsender.email.transport.PooledJavaMailSender;
+import com.jeremw.example.emailsender.email.transport.RoutingJavaMailSender;
+import com.jeremw.example.emailsender.email.transport.SmtpTransportPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the occupancy of the send queue, of the retry scheduler and of the SMTP connection pool.
+ *
+ * <p>
+ * The {@code email.queue.size} gauge is published for every lane of the queue, tagged with its priority. The
+ * {@code email.smtp.pool.*} gauges are only published when the pooled mail sender is in use. When sending through
+ * several SMTP relays, they are published for every relay, tagged with its name.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailPipelineMeterBinder implements MeterBinder {
+
+	private final EmailSendQueue emailSendQueue;
+
+	private final EmailRetryScheduler emailRetryScheduler;
+
+	private final EmailSendScheduler emailSendScheduler;
+
+	private final ObjectProvider<PooledJavaMailSender> pooledJavaMailSender;
+
+	private final ObjectProvider<RoutingJavaMailSender> routingJavaMailSender;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (EmailPriority priority : EmailPriority.values()) {
+			Gauge.builder("email.queue.size", emailSendQueue, queue -> queue.size(priority))
+					.description("Number of email jobs waiting for a send worker")
+					.tag("priority", priority.name())
+					.register(registry);
+		}
+		Gauge.builder("email.retry.pending", emailRetryScheduler, EmailRetryScheduler::size)
+				.description("Number of email jobs waiting for their next attempt")
+				.register(registry);
+		Gauge.builder("email.schedule.pending", emailSendScheduler, EmailSendScheduler::size)
+				.description("Number of email jobs waiting for their sending date")
+				.register(registry);
+		pooledJavaMailSender.ifAvailable(sender -> bindPool(registry, sender.getPool(), Tags.empty()));
+		routingJavaMailSender.ifAvailable(sender -> sender.getRelays()
+				.forEach(relay -> bindPool(registry, relay.getSender().getPool(), Tags.of("relay", relay.getName()))));
+	}
+
+	private static void bindPool(MeterRegistry registry, SmtpTransportPool pool, Tags tags) {
+		Gauge.builder("email.smtp.pool.active", pool, SmtpTransportPool::getActiveCount)
+				.description("Number of SMTP connections currently in use")
+				.tags(tags)
+				.register(registry);
+		Gauge.builder("email.smtp.pool.idle", pool, SmtpTransportPool::getIdleCount)
+				.description("Number of idle SMTP connections kept open")
+				.tags(tags)
+				.register(registry);
+	}
+}
@@ -0,0 +1,57 @@
+package com.jeremw.example.emailsender.startup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.core.Ordered;
+
+/**
+ * Marks the beans of springdoc as lazy, so that the API documentation is set up on its first request rather than on
+ * startup.
+ *
+ * <p>
+ * It applies the rules of Spring Boot's global lazy initialization to the springdoc beans only: the beans explicitly
+ * declared eager, and the ones which must run once every singleton is created, are left alone. Springdoc declares
+ * eager the beans computing the paths of the Swagger UI, which must be known before the resources are mapped. The
+ * OpenAPI description itself is only generated on its first request, as long as
+ * {@code springdoc.pre-loading-enabled} is not set.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class LazyApiDocsPostProcessor implements BeanFactoryPostProcessor, Ordered {
+
+	private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+		int deferred = 0;
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			if (beanDefinition instanceof AbstractBeanDefinition definition && definition.getLazyInit() == null
+					&& isApiDocs(beanFactory.getType(beanName, false))) {
+				definition.setLazyInit(true);
+				deferred++;
+			}
+		}
+		log.debug("Deferred the creation of {} API documentation beans", deferred);
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	private static boolean isApiDocs(Class<?> beanType) {
+		return beanType != null && beanType.getName().startsWith(SPRINGDOC_PACKAGE)
+				&& !SmartInitializingSingleton.class.isAssignableFrom(beanType);
+	}
+}
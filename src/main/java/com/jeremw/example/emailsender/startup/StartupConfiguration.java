@@ -0,0 +1,49 @@
+package com.jeremw.example.emailsender.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Configuration of the startup of the application.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(StartupProperties.class)
+public class StartupConfiguration {
+
+	/**
+	 * Creates the post-processor deferring the creation of the API documentation beans, when
+	 * {@code custom.mail.startup.lazy-api-docs} is set.
+	 *
+	 * @return the {@link LazyApiDocsPostProcessor}
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "custom.mail.startup", name = "lazy-api-docs", matchIfMissing = true)
+	public static LazyApiDocsPostProcessor lazyApiDocsPostProcessor() {
+		return new LazyApiDocsPostProcessor();
+	}
+
+	/**
+	 * Creates the warm-up of the request forms, of the mail session and of the SMTP connections.
+	 *
+	 * @param properties     the {@code custom.mail.startup} properties
+	 * @param javaMailSender the sender of the emails
+	 * @param objectMapper   the mapper reading the request bodies
+	 * @param validator      the validator of the request forms
+	 * @return the {@link StartupWarmUp}
+	 */
+	@Bean
+	public StartupWarmUp startupWarmUp(StartupProperties properties, JavaMailSender javaMailSender,
+			ObjectMapper objectMapper, Validator validator) {
+		return new StartupWarmUp(properties, javaMailSender, objectMapper, validator);
+	}
+}
@@ -0,0 +1,36 @@
+package com.jeremw.example.emailsender.startup;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the startup of the application, bound from {@code custom.mail.startup}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.startup")
+public class StartupProperties {
+
+	/**
+	 * Whether the request forms, the mail session and the MIME classes are loaded on startup, by reading a form and
+	 * building a message without sending it, so that the first requests do not pay for it. The templates are warmed
+	 * up by the template registry.
+	 */
+	private boolean warmUp = true;
+
+	/**
+	 * The number of connections each SMTP connection pool opens on startup, when warming up. They are closed like any
+	 * other idle connection if no email is sent within {@code custom.mail.pool.max-idle}.
+	 */
+	private int smtpConnections = 1;
+
+	/**
+	 * Whether the beans of the API documentation are only created on the first request to the documentation, rather
+	 * than on startup.
+	 */
+	private boolean lazyApiDocs = true;
+}
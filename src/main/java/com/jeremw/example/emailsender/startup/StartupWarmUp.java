@@ -0,0 +1,143 @@
+package com.jeremw.example.emailsender.startup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.dto.RawEmailForm;
+import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import com.jeremw.example.emailsender.email.transport.PooledJavaMailSender;
+import com.jeremw.example.emailsender.email.transport.RoutingJavaMailSender;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+/**
+ * Loads the request forms, the mail session, the MIME classes and the SMTP connections once every singleton is
+ * created, before the application accepts requests, so that the first sends are not slower than the next ones.
+ *
+ * <p>
+ * An example of each form is read and validated, which builds the JSON deserializers and the validation metadata.
+ * A plain text and an HTML message are then built and written out without being sent, which loads the JavaMail and
+ * Jakarta Activation classes and their encoders. The SMTP provider of every sender is then loaded, and the
+ * connection pools open {@link StartupProperties#getSmtpConnections()} connections each. A server which cannot be
+ * reached is only logged: the sends will connect on demand, as they would without warm-up.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class StartupWarmUp implements SmartInitializingSingleton {
+
+	private static final String WARM_UP_ADDRESS = "warm-up@example.com";
+
+	private static final String DEFAULT_PROTOCOL = "smtp";
+
+	private static final String RAW_EMAIL =
+			"{\"to\": \"warm-up@example.com\", \"subject\": \"Warm-up\", \"content\": \"Warm-up\"}";
+
+	private static final String TEMPLATE_EMAIL =
+			"{\"to\": \"warm-up@example.com\", \"name\": \"Warm-up\", \"companyName\": \"Warm-up\"}";
+
+	private final StartupProperties properties;
+
+	private final JavaMailSender javaMailSender;
+
+	private final ObjectMapper objectMapper;
+
+	private final Validator validator;
+
+	/**
+	 * Creates the warm-up of the given sender.
+	 *
+	 * @param properties     the {@code custom.mail.startup} properties
+	 * @param javaMailSender the sender of the emails
+	 * @param objectMapper   the mapper reading the request bodies
+	 * @param validator      the validator of the request forms
+	 */
+	public StartupWarmUp(StartupProperties properties, JavaMailSender javaMailSender, ObjectMapper objectMapper,
+			Validator validator) {
+		this.properties = properties;
+		this.javaMailSender = javaMailSender;
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+	}
+
+	/**
+	 * Warms the request forms, the mail session and the SMTP connections up.
+	 */
+	public void warmUp() {
+		long start = System.nanoTime();
+		try {
+			validator.validate(objectMapper.readValue(RAW_EMAIL, RawEmailForm.class));
+			validator.validate(objectMapper.readValue(TEMPLATE_EMAIL, TemplateEmailForm.class));
+			writeMessage(false);
+			writeMessage(true);
+		}
+		catch (MessagingException | IOException e) {
+			log.warn("Failed to build the warm-up emails: {}", e.getMessage());
+		}
+		int connections = 0;
+		for (JavaMailSenderImpl sender : senders()) {
+			connections += warmUp(sender);
+		}
+		log.info("Warmed up the request forms, the mail session and {} SMTP connections in {} ms", connections,
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * Warms up once every singleton is created, before the application accepts requests.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (properties.isWarmUp()) {
+			warmUp();
+		}
+	}
+
+	private void writeMessage(boolean html) throws MessagingException, IOException {
+		MimeMessage message = javaMailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+		helper.setFrom(WARM_UP_ADDRESS);
+		helper.setTo(WARM_UP_ADDRESS);
+		helper.setSubject("Warm-up");
+		helper.setText(html ? "<p>Warm-up</p>" : "Warm-up", html);
+		message.saveChanges();
+		message.writeTo(OutputStream.nullOutputStream());
+	}
+
+	private int warmUp(JavaMailSenderImpl sender) {
+		String server = sender.getHost() + ":" + sender.getPort();
+		try {
+			String protocol = sender.getProtocol() != null ? sender.getProtocol() : DEFAULT_PROTOCOL;
+			sender.getSession().getTransport(protocol);
+			if (sender instanceof PooledJavaMailSender pooled && properties.getSmtpConnections() > 0) {
+				return pooled.getPool().prewarm(properties.getSmtpConnections());
+			}
+		}
+		catch (MessagingException | RuntimeException e) {
+			log.warn("Failed to warm the SMTP connections to {} up: {}", server, e.getMessage());
+		}
+		return 0;
+	}
+
+	private List<JavaMailSenderImpl> senders() {
+		if (javaMailSender instanceof RoutingJavaMailSender routing) {
+			return routing.getRelays().stream().<JavaMailSenderImpl>map(RoutingJavaMailSender.Relay::getSender).toList();
+		}
+		if (javaMailSender instanceof JavaMailSenderImpl sender) {
+			return List.of(sender);
+		}
+		return List.of();
+	}
+}
@@ -0,0 +1,153 @@
+package com.jeremw.example.emailsender.email.reactive;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.EmailFormValidator;
+import com.jeremw.example.emailsender.email.EmailRequestHandler;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobDispatcher;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import com.jeremw.example.emailsender.exception.ReactiveGlobalHandler;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmailControllerImplTests {
+
+	@Mock
+	private EmailRequestHandler emailRequestHandler;
+
+	@Mock
+	private EmailJobDispatcher emailJobDispatcher;
+
+	@Mock
+	private EmailFormValidator emailFormValidator;
+
+	private EmailSendOffloader emailSendOffloader;
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		emailSendOffloader = new EmailSendOffloader(new ReactiveProperties());
+		ReactiveEmailControllerImpl controller = new ReactiveEmailControllerImpl(emailRequestHandler,
+				emailJobDispatcher, emailFormValidator, emailSendOffloader, new ObjectMapper());
+		client = WebTestClient.bindToController(controller)
+				.controllerAdvice(new ReactiveGlobalHandler())
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		emailSendOffloader.close();
+	}
+
+	@Test
+	void sendTemplateDataStream_ShouldRejectOnlyTheFaultyLines_WhenStreamMixesMalformedNullAndValidLines() {
+		// The template variables are validated against the registry, left out here.
+		when(emailFormValidator.validate(any())).thenAnswer(invocation -> {
+			TemplateEmailForm form = invocation.getArgument(0);
+			if (form == null) {
+				return "The email is required.";
+			}
+			return form.getTo().contains("@") ? null : "The email address must be valid.";
+		});
+		when(emailRequestHandler.toTemplateJob(any())).thenAnswer(invocation -> EmailJob.template(
+				invocation.<TemplateEmailForm>getArgument(0).getTo(), "Subject", "welcome", Map.of()));
+		when(emailJobDispatcher.sendAll(any())).thenAnswer(invocation -> {
+			List<EmailJob> jobs = invocation.getArgument(0);
+			return jobs.stream().map(job -> new EmailJobReceipt(job.getId(), EmailJobStatus.QUEUED)).toList();
+		});
+		String stream = String.join("\n",
+				"{\"to\": \"first@example.com\", \"template\": \"welcome\"}",
+				"{\"to\": ",
+				"null",
+				"",
+				"{\"to\": \"invalid\", \"template\": \"welcome\"}",
+				"{\"to\": \"last@example.com\", \"template\": \"welcome\"}") + "\n";
+
+		List<BatchEmailResult> results = client.post()
+				.uri("/email/template/stream")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.accept(MediaType.APPLICATION_NDJSON)
+				.bodyValue(stream)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(BatchEmailResult.class)
+				.getResponseBody()
+				.collectSortedList(Comparator.comparingInt(BatchEmailResult::getIndex))
+				.block();
+
+		assertEquals(List.of(1, 2, 3, 5, 6), results.stream().map(BatchEmailResult::getIndex).toList());
+		assertEquals(EmailJobStatus.QUEUED, results.get(0).getStatus());
+		assertEquals("Malformed JSON line.", results.get(1).getError());
+		assertEquals("The email is required.", results.get(2).getError());
+		assertNull(results.get(2).getTo());
+		assertEquals(EmailJobStatus.REJECTED, results.get(3).getStatus());
+		assertEquals("invalid", results.get(3).getTo());
+		assertEquals(EmailJobStatus.QUEUED, results.get(4).getStatus());
+		assertEquals("last@example.com", results.get(4).getTo());
+	}
+
+	@Test
+	void sendRowData_ShouldAnswerWithResourceError_WhenHandlerThrows() throws Exception {
+		when(emailRequestHandler.sendRowData(eq(null), any())).thenThrow(new ResourceException("EmailQueueFull",
+				"The email queue is full, please retry later.", HttpStatus.SERVICE_UNAVAILABLE));
+
+		client.post()
+				.uri("/email/raw")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"to\": \"to@example.com\", \"subject\": \"Hello\", \"content\": \"Hi\"}")
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+				.expectBody()
+				.jsonPath("$.errorCode").isEqualTo("EmailQueueFull")
+				.jsonPath("$.requestURL").isEqualTo("/email/raw");
+	}
+
+	@Test
+	void sendRowData_ShouldSendOffTheEventLoop_WhenFormIsValid() throws Exception {
+		when(emailRequestHandler.sendRowData(eq(null), any()))
+				.thenAnswer(invocation -> ResponseEntity.ok(Thread.currentThread().getName()));
+
+		String thread = client.post()
+				.uri("/email/raw")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"to\": \"to@example.com\", \"subject\": \"Hello\", \"content\": \"Hi\"}")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertTrue(thread.startsWith("email-send-reactive"), thread);
+	}
+}
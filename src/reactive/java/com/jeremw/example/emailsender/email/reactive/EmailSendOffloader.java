@@ -0,0 +1,81 @@
+package com.jeremw.example.emailsender.email.reactive;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jeremw.example.emailsender.exception.ResourceException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Runs the blocking sends of the reactive endpoints off the event loop.
+ *
+ * <p>
+ * Sends run on a bounded elastic scheduler of at most {@code max-threads} threads, so that the event loop keeps
+ * serving the other connections while an email goes through its SMTP round-trip. The sends beyond it wait in
+ * a queue of at most {@code max-queued-tasks} tasks, which costs no thread: tens of thousands of requests can be in
+ * flight on a few event-loop threads. Once the queue is full, the requests are refused with a
+ * {@code 503 Service Unavailable}, pushing the backpressure back to the clients.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+public class EmailSendOffloader implements MeterBinder, AutoCloseable {
+
+	private final Scheduler scheduler;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * Creates the offloader and its scheduler.
+	 *
+	 * @param properties the reactive endpoints configuration
+	 */
+	public EmailSendOffloader(ReactiveProperties properties) {
+		int maxThreads = properties.getMaxThreads();
+		// The queue capacity of a bounded elastic scheduler is given per thread.
+		int queuedTasksPerThread = Math.max(1, properties.getMaxQueuedTasks() / maxThreads);
+		this.scheduler = Schedulers.newBoundedElastic(maxThreads, queuedTasksPerThread, "email-send-reactive");
+	}
+
+	/**
+	 * Runs the given blocking send on the scheduler.
+	 *
+	 * @param send the blocking send
+	 * @param <T>  the type of the outcome of the send
+	 * @return a {@link Mono} emitting the outcome of the send, or a {@link ResourceException} if too many sends are
+	 * already waiting for a thread
+	 */
+	public <T> Mono<T> offload(Callable<T> send) {
+		return Mono.fromCallable(send)
+				.subscribeOn(scheduler)
+				.doOnSubscribe(subscription -> inFlight.incrementAndGet())
+				.doFinally(signal -> inFlight.decrementAndGet())
+				.onErrorMap(RejectedExecutionException.class, e -> new ResourceException("EmailSendersBusy",
+						"Too many emails are being sent, please retry later.", HttpStatus.SERVICE_UNAVAILABLE));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("email.reactive.in-flight", inFlight, AtomicInteger::get)
+				.description("Number of sends of the reactive endpoints running or waiting for a thread")
+				.register(registry);
+	}
+
+	/**
+	 * Stops the scheduler, interrupting the sends in progress.
+	 */
+	@Override
+	public void close() {
+		scheduler.dispose();
+	}
+}
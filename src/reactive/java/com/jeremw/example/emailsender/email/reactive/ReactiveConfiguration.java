@@ -0,0 +1,44 @@
+package com.jeremw.example.emailsender.email.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the reactive email endpoints, active when the application runs on WebFlux.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfiguration {
+
+	/**
+	 * Serves the reactive endpoints with Reactor Netty, on as many event-loop threads as CPU cores.
+	 *
+	 * <p>Tomcat is still on the classpath for the servlet stack, and would otherwise be preferred by Spring Boot to
+	 * serve WebFlux too.</p>
+	 *
+	 * @return the {@link NettyReactiveWebServerFactory}
+	 */
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+	/**
+	 * Creates the offloader running the blocking sends off the event loop.
+	 *
+	 * @param properties the {@code custom.mail.reactive} properties
+	 * @return the {@link EmailSendOffloader}
+	 */
+	@Bean
+	public EmailSendOffloader emailSendOffloader(ReactiveProperties properties) {
+		return new EmailSendOffloader(properties);
+	}
+}
@@ -0,0 +1,106 @@
+package com.jeremw.example.emailsender.email.reactive;
+
+import java.util.List;
+
+import com.jeremw.example.emailsender.email.EmailController;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
+import com.jeremw.example.emailsender.email.dto.RawEmailForm;
+import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reactive counterpart of the {@link EmailController}, serving the same endpoints when the application runs on
+ * WebFlux.
+ *
+ * <p>
+ * The requests are read and answered on the event loop without blocking it: the SMTP sends are run off the loop,
+ * so that a few threads can hold a large number of requests in flight.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@RestController
+@RequestMapping("/email")
+public interface ReactiveEmailController {
+
+	/**
+	 * Handles HTTP POST requests to send raw email data.
+	 *
+	 * @param idempotencyKey the key identifying the request, or {@code null}
+	 * @param rawEmailForm   the raw email data to be sent
+	 * @return a {@link Mono} emitting the status message, answered as the servlet endpoint does
+	 */
+	@PostMapping("/raw")
+	Mono<ResponseEntity<String>> sendRowData(
+			@RequestHeader(name = EmailController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+			@Valid @RequestBody Mono<RawEmailForm> rawEmailForm);
+
+	/**
+	 * Handles HTTP POST requests to send email data using a template.
+	 *
+	 * @param idempotencyKey    the key identifying the request, or {@code null}
+	 * @param templateEmailForm the template email data to be sent
+	 * @return a {@link Mono} emitting the status message, answered as the servlet endpoint does
+	 */
+	@PostMapping("/template")
+	Mono<ResponseEntity<String>> sendTemplateData(
+			@RequestHeader(name = EmailController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+			@Valid @RequestBody Mono<TemplateEmailForm> templateEmailForm);
+
+	/**
+	 * Handles HTTP POST requests to send several raw emails at once.
+	 *
+	 * @param rawEmailForms the raw email data to be sent
+	 * @return a {@link Mono} emitting the result of every email
+	 */
+	@PostMapping("/raw/batch")
+	Mono<ResponseEntity<List<BatchEmailResult>>> sendRowDataBatch(@RequestBody Mono<List<RawEmailForm>> rawEmailForms);
+
+	/**
+	 * Handles HTTP POST requests to send several emails using a template at once.
+	 *
+	 * @param templateEmailForms the template email data to be sent
+	 * @return a {@link Mono} emitting the result of every email
+	 */
+	@PostMapping("/template/batch")
+	Mono<ResponseEntity<List<BatchEmailResult>>> sendTemplateDataBatch(
+			@RequestBody Mono<List<TemplateEmailForm>> templateEmailForms);
+
+	/**
+	 * Handles HTTP GET requests for the status of an email.
+	 *
+	 * @param jobId the identifier of the send job
+	 * @return a {@link Mono} emitting the last known status of the email, answered as the servlet endpoint does
+	 */
+	@GetMapping("/{jobId}/status")
+	Mono<ResponseEntity<EmailDeliveryStatus>> getStatus(@PathVariable("jobId") String jobId);
+
+	/**
+	 * Handles HTTP POST requests streaming emails using a template as NDJSON.
+	 *
+	 * <p>The lines are read as the client sends them and only as fast as the emails are sent: the demand of the
+	 * results flux bounds the number of lines read ahead, which propagates the backpressure to the client through
+	 * TCP flow control. The {@code index} of every result is the line number it refers to.</p>
+	 *
+	 * @param lines the lines of the NDJSON request body
+	 * @return a {@link Flux} of one result per non-blank line, in completion order
+	 */
+	@PostMapping(value = "/template/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+			produces = MediaType.APPLICATION_NDJSON_VALUE)
+	Flux<BatchEmailResult> sendTemplateDataStream(@RequestBody Flux<String> lines);
+}
@@ -0,0 +1,148 @@
+package com.jeremw.example.emailsender.email.reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.EmailFormValidator;
+import com.jeremw.example.emailsender.email.EmailRequestHandler;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
+import com.jeremw.example.emailsender.email.dto.RawEmailForm;
+import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobDispatcher;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.email.stream.EmailStreamLineParser;
+import com.jeremw.example.emailsender.email.stream.EmailStreamLineParser.ParsedLine;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementation of {@link ReactiveEmailController}.
+ *
+ * <p>
+ * Each method delegates the request to the {@link EmailRequestHandler}, as the servlet controller does, but through
+ * the {@link EmailSendOffloader}: the event loop only reads the request and writes the response, while the SMTP
+ * round-trip runs on a bounded pool of threads.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmailControllerImpl implements ReactiveEmailController {
+
+	private final EmailRequestHandler emailRequestHandler;
+
+	private final EmailJobDispatcher emailJobDispatcher;
+
+	private final EmailFormValidator emailFormValidator;
+
+	private final EmailSendOffloader emailSendOffloader;
+
+	private final ObjectMapper objectMapper;
+
+	@Value("${custom.mail.batch.chunk-size:50}")
+	private int chunkSize = 50;
+
+	@Value("${custom.mail.stream.max-in-flight-chunks:4}")
+	private int maxInFlightChunks = 4;
+
+	@Override
+	public Mono<ResponseEntity<String>> sendRowData(final String idempotencyKey, final Mono<RawEmailForm> rawEmailForm) {
+		return rawEmailForm.flatMap(form -> emailSendOffloader.offload(
+				() -> emailRequestHandler.sendRowData(idempotencyKey, form)));
+	}
+
+	@Override
+	public Mono<ResponseEntity<String>> sendTemplateData(final String idempotencyKey, final Mono<TemplateEmailForm> templateEmailForm) {
+		return templateEmailForm.flatMap(form -> emailSendOffloader.offload(
+				() -> emailRequestHandler.sendTemplateData(idempotencyKey, form)));
+	}
+
+	@Override
+	public Mono<ResponseEntity<List<BatchEmailResult>>> sendRowDataBatch(final Mono<List<RawEmailForm>> rawEmailForms) {
+		return rawEmailForms.flatMap(forms -> emailSendOffloader.offload(
+				() -> emailRequestHandler.sendRowDataBatch(forms)));
+	}
+
+	@Override
+	public Mono<ResponseEntity<List<BatchEmailResult>>> sendTemplateDataBatch(final Mono<List<TemplateEmailForm>> templateEmailForms) {
+		return templateEmailForms.flatMap(forms -> emailSendOffloader.offload(
+				() -> emailRequestHandler.sendTemplateDataBatch(forms)));
+	}
+
+	/**
+	 * Handles HTTP GET requests for the status of an email, on the event loop since the lookup does not block.
+	 *
+	 * @param jobId the identifier of the send job
+	 * @return a {@link Mono} emitting the last known status of the email
+	 */
+	@Override
+	public Mono<ResponseEntity<EmailDeliveryStatus>> getStatus(final String jobId) {
+		return Mono.fromCallable(() -> emailRequestHandler.getStatus(jobId));
+	}
+
+	/**
+	 * Handles HTTP POST requests streaming emails using a template as NDJSON.
+	 *
+	 * <p>Every line is parsed and validated on the event loop; the rejected ones are answered right away, while the
+	 * valid ones are grouped in chunks sent off the loop. At most {@code max-in-flight-chunks} chunks are pending at
+	 * any time, and no more lines are requested from the body until one of them completes.</p>
+	 *
+	 * @param lines the lines of the NDJSON request body
+	 * @return a {@link Flux} of one result per non-blank line, in completion order
+	 */
+	@Override
+	public Flux<BatchEmailResult> sendTemplateDataStream(final Flux<String> lines) {
+		EmailStreamLineParser<TemplateEmailForm> parser = new EmailStreamLineParser<>(
+				objectMapper.readerFor(TemplateEmailForm.class), emailFormValidator, TemplateEmailForm::getTo,
+				emailRequestHandler::toTemplateJob);
+		return lines.index()
+				.filter(line -> !line.getT2().isBlank())
+				.map(line -> parser.parse(line.getT1().intValue() + 1, line.getT2()))
+				.publish(parsed -> Flux.merge(
+						parsed.filter(line -> line.getRejection() != null).map(ParsedLine::getRejection),
+						parsed.filter(line -> line.getRejection() == null)
+								.buffer(chunkSize)
+								.flatMap(this::send, maxInFlightChunks)))
+				.doOnComplete(() -> log.info("Reactive NDJSON stream processed"));
+	}
+
+	private Flux<BatchEmailResult> send(List<ParsedLine> chunk) {
+		List<EmailJob> jobs = chunk.stream().map(ParsedLine::getJob).toList();
+		return emailSendOffloader.offload(() -> emailJobDispatcher.sendAll(jobs))
+				.map(receipts -> {
+					List<BatchEmailResult> results = new ArrayList<>(receipts.size());
+					for (int i = 0; i < receipts.size(); i++) {
+						EmailJobReceipt receipt = receipts.get(i);
+						results.add(BatchEmailResult.builder()
+								.index(chunk.get(i).getLine())
+								.to(jobs.get(i).getTo())
+								.jobId(receipt.getJobId())
+								.status(receipt.getStatus())
+								.error(receipt.getError())
+								.build());
+					}
+					return results;
+				})
+				.onErrorResume(ResourceException.class, e -> Mono.just(chunk.stream()
+						.map(line -> EmailStreamLineParser.rejected(line.getLine(), line.getJob().getTo(),
+								e.getMessage()))
+						.toList()))
+				.flatMapIterable(results -> results);
+	}
+}
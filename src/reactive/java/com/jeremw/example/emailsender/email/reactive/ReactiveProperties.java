@@ -0,0 +1,29 @@
+package com.jeremw.example.emailsender.email.reactive;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the reactive email endpoints, bound from {@code custom.mail.reactive}.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.mail.reactive")
+public class ReactiveProperties {
+
+	/**
+	 * The maximum number of threads running the blocking sends. Requests beyond it wait in the queue, without
+	 * holding a thread. There is little use in exceeding the number of SMTP connections.
+	 */
+	private int maxThreads = 16;
+
+	/**
+	 * The maximum number of sends waiting for a thread. Once reached, requests are refused with a
+	 * {@code 503 Service Unavailable} rather than queued.
+	 */
+	private int maxQueuedTasks = 100000;
+}
@@ -0,0 +1,102 @@
+package com.jeremw.example.emailsender.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Reactive counterpart of the {@link GlobalHandler}, answering the errors of the reactive endpoints with the same
+ * {@link ResourceExceptionDTO} bodies.
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalHandler extends ResponseEntityExceptionHandler {
+
+	/**
+	 * Handles unknown errors that occur within the application.
+	 *
+	 * @param req       The ServerHttpRequest in which the error occurred.
+	 * @param exception The Exception that was thrown.
+	 * @return A ResponseEntity containing details of the error.
+	 */
+	@ExceptionHandler(Exception.class)
+	public ResponseEntity<ResourceExceptionDTO> unknownError(ServerHttpRequest req, Exception exception) {
+
+		log.info("An unknown error occurred. Request URL: {}", req.getURI(), exception);
+
+		ResourceExceptionDTO res = ResourceExceptionDTO.builder()
+				.errorCode(HttpStatus.INTERNAL_SERVER_ERROR.toString().substring(4))
+				.errorMessage(exception.getMessage())
+				.requestURL(req.getURI().toString())
+				.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.build();
+
+		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(res);
+	}
+
+	/**
+	 * Handles errors related to specific resources within the application.
+	 *
+	 * @param req       The ServerHttpRequest in which the error occurred.
+	 * @param exception The ResourceException that was thrown.
+	 * @return A ResponseEntity containing details of the error.
+	 */
+	@ExceptionHandler(ResourceException.class)
+	public ResponseEntity<ResourceExceptionDTO> resourceError(ServerHttpRequest req, ResourceException exception) {
+
+		log.info("An resource exception error occurred. Request URL: {}", req.getURI(), exception);
+
+		ResourceExceptionDTO res = ResourceExceptionDTO.builder()
+				.errorCode(exception.getErrorCode() != null ? exception.getErrorCode() : "Undefined")
+				.errorMessage(exception.getMessage())
+				.requestURL(req.getURI().toString())
+				.status(exception.getStatus())
+				.build();
+
+		return ResponseEntity.status(exception.getStatus()).body(res);
+	}
+
+	/**
+	 * Handles request body validation errors within the application.
+	 *
+	 * @param exception The WebExchangeBindException that was thrown.
+	 * @param headers   The HttpHeaders associated with the request.
+	 * @param status    The HttpStatusCode associated with the error.
+	 * @param exchange  The ServerWebExchange of the request.
+	 * @return A Mono emitting a ResponseEntity containing details of the validation error.
+	 */
+	@Override
+	protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException exception,
+			HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+
+		log.error("Method argument not valid. Request URL: {}", exchange.getRequest().getURI(), exception);
+
+		StringBuilder eMsg = new StringBuilder();
+		exception.getBindingResult().getAllErrors().forEach(e -> eMsg.append(e.getDefaultMessage()).append(", "));
+
+		ResourceExceptionDTO res = ResourceExceptionDTO.builder()
+				.errorCode("FormValidationError")
+				.errorMessage(eMsg.toString())
+				.requestURL(exchange.getRequest().getURI().toString())
+				.status(HttpStatus.BAD_REQUEST)
+				.build();
+
+		return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(res));
+	}
+}
@@ -0,0 +1,71 @@
+package com.jeremw.example.emailsender.cluster;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class RendezvousHashingTests {
+
+	private static final int KEYS = 30_000;
+
+	@Test
+	void owner_ShouldSpreadKeysEvenly_WhenNodesAreMembers() {
+		List<String> nodes = List.of("http://10.0.0.1:3001", "http://10.0.0.2:3001", "http://10.0.0.3:3001");
+		Map<String, Integer> counts = new HashMap<>();
+
+		for (int i = 0; i < KEYS; i++) {
+			counts.merge(RendezvousHashing.owner("user" + i + "@example.com", nodes), 1, Integer::sum);
+		}
+
+		assertEquals(3, counts.size());
+		counts.values().forEach(count -> assertTrue(Math.abs(count - KEYS / 3) < KEYS / 30, "Unbalanced: " + counts));
+	}
+
+	@Test
+	void owner_ShouldOnlyMoveKeysOfLeavingNode_WhenNodeLeaves() {
+		List<String> before = List.of("a", "b", "c");
+		List<String> after = List.of("a", "c");
+
+		for (int i = 0; i < KEYS; i++) {
+			String key = "user" + i + "@example.com";
+			String owner = RendezvousHashing.owner(key, before);
+			if (!owner.equals("b")) {
+				assertEquals(owner, RendezvousHashing.owner(key, after));
+			}
+		}
+	}
+
+	@Test
+	void owner_ShouldOnlyMoveKeysToJoiningNode_WhenNodeJoins() {
+		List<String> before = List.of("a", "b");
+		List<String> after = List.of("a", "b", "c");
+		int moved = 0;
+
+		for (int i = 0; i < KEYS; i++) {
+			String key = "user" + i + "@example.com";
+			String owner = RendezvousHashing.owner(key, after);
+			if (!owner.equals(RendezvousHashing.owner(key, before))) {
+				assertEquals("c", owner);
+				moved++;
+			}
+		}
+
+		assertTrue(Math.abs(moved - KEYS / 3) < KEYS / 30, "Moved: " + moved);
+	}
+
+	@Test
+	void owner_ShouldThrow_WhenThereIsNoNode() {
+		assertThrows(IllegalArgumentException.class, () -> RendezvousHashing.owner("to@example.com", List.of()));
+	}
+}
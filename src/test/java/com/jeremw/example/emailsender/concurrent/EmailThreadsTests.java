@@ -0,0 +1,68 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class EmailThreadsTests {
+
+	@Test
+	void factory_ShouldCreateNamedPlatformThreads_WhenVirtualThreadsAreNotRequested() throws Exception {
+		Thread thread = run(EmailThreads.factory("email-test-", false));
+
+		assertTrue(thread.getName().startsWith("email-test-"));
+		assertFalse(isVirtual(thread));
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void factory_ShouldCreateVirtualThreads_WhenRequestedAndSupported() throws Exception {
+		Thread thread = run(EmailThreads.factory("email-test-", true));
+
+		assertTrue(thread.getName().startsWith("email-test-"));
+		assertTrue(isVirtual(thread));
+	}
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	void factory_ShouldFallBackToPlatformThreads_WhenVirtualThreadsAreNotSupported() throws Exception {
+		Thread thread = run(EmailThreads.factory("email-test-", true));
+
+		assertFalse(EmailThreads.isVirtualSupported());
+		assertTrue(thread.getName().startsWith("email-test-"));
+		assertFalse(isVirtual(thread));
+	}
+
+	private static Thread run(ThreadFactory factory) throws InterruptedException {
+		Thread[] current = new Thread[1];
+		Thread thread = factory.newThread(() -> current[0] = Thread.currentThread());
+		thread.start();
+		thread.join();
+		assertEquals(thread, current[0]);
+		return thread;
+	}
+
+	private static boolean isVirtual(Thread thread) {
+		try {
+			// Thread.isVirtual() only exists from Java 21, while the tests are compiled for Java 17.
+			return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+		}
+		catch (NoSuchMethodException e) {
+			return false;
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class PinningGuardTests {
+
+	@Test
+	void enter_ShouldNeverBlock_WhenVirtualThreadsAreDisabled() {
+		PinningGuard guard = new PinningGuard(false, 1);
+
+		guard.enter();
+		guard.enter();
+		guard.exit();
+		guard.exit();
+		PinningGuard.disabled().enter();
+		PinningGuard.disabled().exit();
+	}
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	void enter_ShouldNeverBlock_WhenVirtualThreadsAreNotSupported() throws InterruptedException {
+		PinningGuard guard = new PinningGuard(true, 1);
+		CountDownLatch allInside = new CountDownLatch(4);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread(() -> {
+				guard.enter();
+				try {
+					allInside.countDown();
+					allInside.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					guard.exit();
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(0, allInside.getCount());
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void enter_ShouldLetAtMostMaxPinnedThreadsIn_WhenVirtualThreadsAreEnabled() throws InterruptedException {
+		PinningGuard guard = new PinningGuard(true, 2);
+
+		assertEquals(2, maxConcurrentlyInside(guard, EmailThreads.factory("email-pinning-", true), 6));
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void enter_ShouldKeepACarrierFree_WhenMaxPinnedIsDerivedFromCarriers() throws InterruptedException {
+		int carriers = Runtime.getRuntime().availableProcessors();
+		PinningGuard guard = new PinningGuard(true, 0);
+
+		int inside = maxConcurrentlyInside(guard, EmailThreads.factory("email-pinning-", true), carriers + 2);
+
+		assertEquals(Math.max(1, carriers - 1), inside);
+	}
+
+	private static int maxConcurrentlyInside(PinningGuard guard, ThreadFactory factory, int threads)
+			throws InterruptedException {
+		AtomicInteger inside = new AtomicInteger();
+		AtomicInteger maxInside = new AtomicInteger();
+		List<Thread> started = new ArrayList<>(threads);
+		for (int i = 0; i < threads; i++) {
+			Thread thread = factory.newThread(() -> {
+				guard.enter();
+				try {
+					maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+					Thread.sleep(100);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					inside.decrementAndGet();
+					guard.exit();
+				}
+			});
+			thread.start();
+			started.add(thread);
+		}
+		for (Thread thread : started) {
+			thread.join();
+		}
+		return maxInside.get();
+	}
+}
@@ -0,0 +1,53 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class TimerWheelTests {
+
+	@Test
+	void advance_ShouldExpireEveryValueWithinOneTickOfItsDeadline_WhenDeadlinesSpanSeveralLevels() {
+		TimerWheel<Long> wheel = new TimerWheel<>(Duration.ofMillis(100), 0);
+		Random random = new Random(42);
+		int count = 10000;
+		for (int i = 0; i < count; i++) {
+			// Up to eight hours ahead, that is beyond the two first levels of 100 ms ticks.
+			long deadline = 1 + random.nextLong(8 * 3600 * 1000L);
+			wheel.schedule(deadline, deadline);
+		}
+
+		int expired = 0;
+		for (long now = 100; wheel.size() > 0; now += 100) {
+			List<Long> deadlines = wheel.advance(now);
+			for (long deadline : deadlines) {
+				assertTrue(deadline <= now && now < deadline + 100, "Expired at " + now + " instead of " + deadline);
+			}
+			expired += deadlines.size();
+		}
+
+		assertEquals(count, expired);
+	}
+
+	@Test
+	void advance_ShouldExpireOnNextTick_WhenDeadlineIsAlreadyReached() {
+		TimerWheel<String> wheel = new TimerWheel<>(Duration.ofSeconds(1), 10_000);
+
+		wheel.schedule(5_000, "late");
+
+		assertEquals(1, wheel.size());
+		assertEquals(List.of(), wheel.advance(10_999));
+		assertEquals(List.of("late"), wheel.advance(11_000));
+		assertEquals(0, wheel.size());
+	}
+}
@@ -0,0 +1,75 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class TokenBucketTests {
+
+	@Test
+	void tryAcquire_ShouldAllowBurst_WhenBucketIsFull() {
+		TokenBucket bucket = new TokenBucket(1, 3);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	void acquire_ShouldGiveUpWithoutTakingToken_WhenWaitExceedsTimeout() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		bucket.tryAcquire();
+
+		assertEquals(-1, bucket.acquire(Duration.ofMillis(10)));
+		assertEquals(-1, bucket.acquire(Duration.ofMillis(10)));
+	}
+
+	@Test
+	void setRate_ShouldSlowDownAcquisitions_WhenRateIsLowered() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(1000, 1);
+		assertTrue(bucket.tryAcquire());
+
+		bucket.setRate(1);
+
+		assertTrue(bucket.acquire(Duration.ofMillis(100)) >= 0);
+		assertFalse(bucket.tryAcquire());
+		assertEquals(-1, bucket.acquire(Duration.ofMillis(100)));
+	}
+
+	@Test
+	void acquire_ShouldSpreadConcurrentCallersAtConfiguredRate() throws Exception {
+		TokenBucket bucket = new TokenBucket(500, 1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		long start = System.nanoTime();
+		try {
+			List<Future<Long>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				results.add(executor.submit(() -> bucket.acquire(Duration.ofSeconds(5))));
+			}
+			for (Future<Long> result : results) {
+				assertTrue(result.get() >= 0);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(190));
+	}
+}
@@ -0,0 +1,60 @@
+package com.jeremw.example.emailsender.concurrent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class WeightedLanesTests {
+
+	@Test
+	void take_ShouldServeLanesInProportionToTheirWeights_WhenAllLanesAreBusy() throws InterruptedException {
+		WeightedLanes<String> lanes = new WeightedLanes<>(new int[] { 8, 4, 1 }, new int[] { 1000, 1000, 1000 });
+		for (int i = 0; i < 1000; i++) {
+			lanes.offer(0, "high");
+			lanes.offer(1, "normal");
+			lanes.offer(2, "bulk");
+		}
+
+		Map<String, Integer> served = new HashMap<>();
+		for (int i = 0; i < 130; i++) {
+			served.merge(lanes.take(2), 1, Integer::sum);
+		}
+
+		assertEquals(80, served.get("high"));
+		assertEquals(40, served.get("normal"));
+		assertEquals(10, served.get("bulk"));
+	}
+
+	@Test
+	void take_ShouldOnlyServeFirstLanes_WhenRestrictedToThem() throws InterruptedException {
+		WeightedLanes<String> lanes = new WeightedLanes<>(new int[] { 8, 1 }, new int[] { 10, 10 });
+		lanes.offer(1, "bulk");
+		lanes.offer(0, "high");
+
+		assertEquals("high", lanes.take(0));
+		lanes.close();
+		assertNull(lanes.take(0));
+		assertEquals("bulk", lanes.take(1));
+	}
+
+	@Test
+	void offer_ShouldRefuseItem_WhenLaneIsFull() {
+		WeightedLanes<String> lanes = new WeightedLanes<>(new int[] { 8, 1 }, new int[] { 1, 1 });
+
+		assertTrue(lanes.offer(1, "first"));
+		assertFalse(lanes.offer(1, "second"));
+		assertTrue(lanes.offer(0, "high"));
+		assertEquals(2, lanes.size());
+	}
+}
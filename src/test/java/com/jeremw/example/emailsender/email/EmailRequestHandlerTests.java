@@ -0,0 +1,124 @@
+package com.jeremw.example.emailsender.email;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.RawEmailForm;
+import com.jeremw.example.emailsender.email.idempotency.IdempotencyProperties;
+import com.jeremw.example.emailsender.email.idempotency.IdempotencyStore;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobDispatcher;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import com.jeremw.example.emailsender.email.schedule.EmailSendScheduler;
+import com.jeremw.example.emailsender.email.status.EmailStatusIndex;
+import com.jeremw.example.emailsender.email.template.TemplateRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailRequestHandlerTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	@Mock
+	private EmailJobDispatcher emailJobDispatcher;
+
+	@Mock
+	private EmailFormValidator emailFormValidator;
+
+	@Mock
+	private EmailSendScheduler emailSendScheduler;
+
+	@Mock
+	private TemplateRegistry templateRegistry;
+
+	private IdempotencyStore idempotencyStore;
+
+	private EmailRequestHandler handler;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		idempotencyStore = new IdempotencyStore(new IdempotencyProperties(), objectMapper);
+		handler = new EmailRequestHandler(emailJobDispatcher, emailFormValidator, idempotencyStore, emailSendScheduler,
+				templateRegistry, EmailStatusIndex.disabled(), objectMapper);
+		ReflectionTestUtils.setField(handler, "maxBatchSize", 1000);
+		ReflectionTestUtils.setField(handler, "maxRecipientsPerMessage", 50);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		idempotencyStore.close();
+	}
+
+	@Test
+	void sendRowData_ShouldAnswerMultiStatusWithResultOfEveryMessage_WhenSomeRecipientsFailed() throws Exception {
+		when(emailJobDispatcher.dispatchAll(any())).thenAnswer(invocation -> {
+			List<EmailJob> jobs = invocation.getArgument(0);
+			return List.of(new EmailJobReceipt(jobs.get(0).getId(), EmailJobStatus.SENT),
+					new EmailJobReceipt(jobs.get(1).getId(), EmailJobStatus.FAILED, "Mailbox unavailable"));
+		});
+
+		ResponseEntity<String> response = handler.sendRowData(null, form("alice@example.com", "bob@example.org"));
+		List<BatchEmailResult> results = objectMapper.readValue(response.getBody(), new TypeReference<>() {
+		});
+
+		assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+		assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+		assertEquals(2, response.getHeaders().get("X-Email-Job-Id").size());
+		assertEquals(2, results.size());
+		assertEquals("alice@example.com", results.get(0).getTo());
+		assertEquals(EmailJobStatus.SENT, results.get(0).getStatus());
+		assertEquals("bob@example.org", results.get(1).getTo());
+		assertEquals(EmailJobStatus.FAILED, results.get(1).getStatus());
+		assertEquals("Mailbox unavailable", results.get(1).getError());
+	}
+
+	@Test
+	void sendRowData_ShouldReplayMultiStatus_WhenPartiallyFailedRequestIsRetriedWithSameKey() throws Exception {
+		when(emailJobDispatcher.dispatchAll(any())).thenAnswer(invocation -> {
+			List<EmailJob> jobs = invocation.getArgument(0);
+			return List.of(new EmailJobReceipt(jobs.get(0).getId(), EmailJobStatus.SENT),
+					new EmailJobReceipt(jobs.get(1).getId(), EmailJobStatus.FAILED, "Mailbox unavailable"));
+		});
+
+		ResponseEntity<String> first = handler.sendRowData("key", form("alice@example.com", "bob@example.org"));
+		ResponseEntity<String> retry = handler.sendRowData("key", form("alice@example.com", "bob@example.org"));
+
+		verify(emailJobDispatcher, times(1)).dispatchAll(any());
+		assertEquals(HttpStatus.MULTI_STATUS, retry.getStatusCode());
+		assertEquals(first.getBody(), retry.getBody());
+		assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+	}
+
+	private static RawEmailForm form(String... recipients) {
+		RawEmailForm form = new RawEmailForm();
+		form.setRecipients(List.of(recipients));
+		form.setSubject("Subject");
+		form.setContent("Content");
+		return form;
+	}
+}
@@ -0,0 +1,114 @@
+package com.jeremw.example.emailsender.email.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import jakarta.activation.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class AttachmentStoreTests {
+
+	private static final byte[] CONTENT = "%PDF-1.7 invoice".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	private Path directory;
+
+	private AttachmentStore store;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		AttachmentProperties properties = new AttachmentProperties();
+		properties.setDirectory(directory);
+		properties.setMaxCount(2);
+		store = new AttachmentStore(properties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		store.close();
+	}
+
+	@Test
+	void store_ShouldStoreContentOnce_WhenUploadedTwice() throws Exception {
+		EmailAttachment first = store.store("C:\\Users\\john\\invoice.pdf", "application/pdf", this::upload);
+		EmailAttachment second = store.store("copy.pdf", "not a media type", this::upload);
+
+		assertEquals(first.getId(), second.getId());
+		assertEquals("invoice.pdf", first.getFilename());
+		assertEquals("application/octet-stream", second.getContentType());
+		assertEquals(CONTENT.length, first.getSize());
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(1, files.filter(Files::isRegularFile).count());
+		}
+		ResourceException e = assertThrows(ResourceException.class, () -> store.checkCount(3));
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatus());
+	}
+
+	@Test
+	void open_ShouldReadStoredContent() throws Exception {
+		EmailAttachment attachment = store.store("invoice.pdf", "application/pdf", this::upload);
+
+		DataSource dataSource = store.open(attachment);
+
+		assertEquals("application/pdf", dataSource.getContentType());
+		assertEquals("invoice.pdf", dataSource.getName());
+		try (InputStream in = dataSource.getInputStream()) {
+			assertArrayEquals(CONTENT, in.readAllBytes());
+		}
+	}
+
+	@Test
+	void sweep_ShouldOnlyDeleteAttachments_WhenNoLongerReferenced() throws Exception {
+		EmailAttachment attachment = store.store("invoice.pdf", "application/pdf", this::upload);
+		List<EmailJob> jobs = List.of(
+				EmailJob.raw("alice@example.com", "Invoice", "Content").attaching(List.of(attachment)),
+				EmailJob.raw("bob@example.com", "Invoice", "Content").attaching(List.of(attachment)));
+		store.retain(jobs);
+		age(attachment);
+
+		assertEquals(0, store.sweep());
+
+		store.release(jobs.subList(0, 1));
+		assertEquals(0, store.sweep());
+		store.release(jobs.subList(1, 2));
+		assertEquals(0, store.sweep());
+
+		age(attachment);
+		assertEquals(1, store.sweep());
+		assertThrows(NoSuchFileException.class, () -> store.open(attachment));
+	}
+
+	private void upload(Path target) throws IOException {
+		Files.write(target, CONTENT);
+	}
+
+	private void age(EmailAttachment attachment) throws IOException {
+		Files.setLastModifiedTime(directory.resolve(attachment.getId()),
+				FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+	}
+}
@@ -0,0 +1,98 @@
+package com.jeremw.example.emailsender.email.idempotency;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class IdempotencyStoreTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	private final AtomicInteger executions = new AtomicInteger();
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void execute_ShouldReplayFirstResponse_WhenKeyIsRepeated() throws Exception {
+		try (IdempotencyStore store = new IdempotencyStore(new IdempotencyProperties(), objectMapper)) {
+			ResponseEntity<String> first = store.execute("raw", "key", Map.of("to", "a@example.com"), this::send);
+			ResponseEntity<String> second = store.execute("raw", "key", Map.of("to", "a@example.com"), this::send);
+
+			assertEquals(1, executions.get());
+			assertEquals(first.getBody(), second.getBody());
+			assertEquals("job-1", second.getHeaders().getFirst("X-Email-Job-Id"));
+			assertEquals("true", second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+			assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		}
+	}
+
+	@Test
+	void execute_ShouldThrowUnprocessableEntity_WhenKeyIsReusedForAnotherRequest() throws Exception {
+		try (IdempotencyStore store = new IdempotencyStore(new IdempotencyProperties(), objectMapper)) {
+			store.execute("raw", "key", Map.of("to", "a@example.com"), this::send);
+
+			ResourceException exception = assertThrows(ResourceException.class,
+					() -> store.execute("raw", "key", Map.of("to", "b@example.com"), this::send));
+
+			assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+			assertEquals(1, executions.get());
+		}
+	}
+
+	@Test
+	void execute_ShouldExecuteAgain_WhenFirstRequestFailed() throws Exception {
+		try (IdempotencyStore store = new IdempotencyStore(new IdempotencyProperties(), objectMapper)) {
+			assertThrows(ResourceException.class, () -> store.execute("raw", "key", "request", () -> {
+				executions.incrementAndGet();
+				throw new ResourceException("QueueFull", "Full", HttpStatus.SERVICE_UNAVAILABLE);
+			}));
+
+			store.execute("raw", "key", "request", this::send);
+
+			assertEquals(2, executions.get());
+		}
+	}
+
+	@Test
+	void execute_ShouldReplayJournaledResponse_WhenReopened() throws Exception {
+		IdempotencyProperties properties = new IdempotencyProperties();
+		properties.getPersistence().setEnabled(true);
+		properties.getPersistence().setDirectory(directory);
+		try (IdempotencyStore store = new IdempotencyStore(properties, objectMapper)) {
+			store.execute("template", "key", "request", this::send);
+		}
+
+		try (IdempotencyStore store = new IdempotencyStore(properties, objectMapper)) {
+			ResponseEntity<String> replayed = store.execute("template", "key", "request", this::send);
+
+			assertEquals(1, executions.get());
+			assertEquals("true", replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		}
+	}
+
+	private ResponseEntity<String> send() throws MessagingException, ResourceException {
+		int execution = executions.incrementAndGet();
+		return ResponseEntity.status(HttpStatus.ACCEPTED)
+				.header("X-Email-Job-Id", "job-" + execution)
+				.body("Email queued for delivery.");
+	}
+}
@@ -0,0 +1,57 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Properties;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class MimeBodyCacheTests {
+
+	private final Session session = Session.getInstance(new Properties());
+
+	@Test
+	void encode_ShouldReuseEncodedBody_WhenContentIsTheSame() throws Exception {
+		MimeBodyCache cache = new MimeBodyCache(new BodyCacheProperties());
+
+		EncodedBody first = cache.encode("Hello, welcome to our service.", "plain");
+
+		assertSame(first, cache.encode(new String("Hello, welcome to our service."), "plain"));
+		assertNotSame(first, cache.encode("Hello, welcome to our service.", "html"));
+		assertEquals(1, cache.stats().getHits());
+	}
+
+	@Test
+	void writeTo_ShouldProduceParsableMessage_WhenBodyIsPreEncoded() throws Exception {
+		String text = "Bienvenue chez Votre Société, à très bientôt !";
+		MimeMessage message = new PreEncodedMimeMessage(session, MimeBodyCache.encodeUncached(text, "plain"));
+		message.setFrom("from@example.com");
+		message.setRecipients(MimeMessage.RecipientType.TO, "to@example.com");
+		message.setRecipients(MimeMessage.RecipientType.BCC, "hidden@example.com");
+		message.setSubject("Subject", "UTF-8");
+		message.saveChanges();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		message.writeTo(out, new String[] { "Bcc" });
+		MimeMessage parsed = new MimeMessage(session, new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(text, parsed.getContent());
+		assertEquals("text/plain; charset=UTF-8", parsed.getContentType());
+		assertEquals(new InternetAddress("to@example.com"), parsed.getAllRecipients()[0]);
+		assertNull(parsed.getHeader("Bcc"));
+		assertEquals(text, message.getContent());
+	}
+}
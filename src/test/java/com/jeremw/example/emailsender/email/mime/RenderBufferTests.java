@@ -0,0 +1,140 @@
+package com.jeremw.example.emailsender.email.mime;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.jeremw.example.emailsender.concurrent.EmailThreads;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class RenderBufferTests {
+
+	@Test
+	void encode_ShouldEncodeAsJavaMail_WhenTextIsWritten() throws Exception {
+		String[] texts = {
+				"<p>Hello, welcome to our service.</p>\r\n",
+				"<p>Bienvenue chez Votre Société, à très bientôt !</p>",
+				"x".repeat(1500),
+				"ようこそ、私たちのサービスへ",
+				"Emoji 🚀 and a lone surrogate \uD83D here",
+				"\tcontrol\u0001characters",
+		};
+		for (String text : texts) {
+			RenderBuffer buffer = RenderBuffer.acquire();
+			buffer.write(text.substring(0, text.length() / 2));
+			buffer.write(text.toCharArray(), text.length() / 2, text.length() - text.length() / 2);
+
+			EncodedBody body = buffer.encode("html");
+			buffer.release();
+
+			EncodedBody expected = MimeBodyCache.encodeUncached(text, "html");
+			assertEquals(expected.getContentType(), body.getContentType());
+			assertEquals(expected.getTransferEncoding(), body.getTransferEncoding(), text);
+			assertArrayEquals(expected.getBytes(), body.getBytes(), text);
+		}
+	}
+
+	@Test
+	void acquire_ShouldReturnEmptiedReleasedBuffer_WhenReleasedOnSameThread() throws Exception {
+		RenderBuffer buffer = RenderBuffer.acquire();
+		buffer.write("A first body");
+		buffer.encode("plain");
+		buffer.release();
+
+		RenderBuffer next = RenderBuffer.acquire();
+
+		assertSame(buffer, next);
+		assertEquals(0, next.size());
+		next.release();
+	}
+
+	@Test
+	void acquire_ShouldReuseBufferReleasedByAnotherThread_WhenThreadsArePlatformThreads() throws Exception {
+		assertSame(renderOn(Thread::new), renderOn(Thread::new));
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void acquire_ShouldReuseBufferReleasedByAnotherThread_WhenThreadsAreVirtual() throws Exception {
+		ThreadFactory factory = EmailThreads.factory("email-render-", true);
+
+		assertSame(renderOn(factory), renderOn(factory));
+	}
+
+	@Test
+	void release_ShouldDropBuffer_WhenItGrewTooLarge() throws Exception {
+		RenderBuffer buffer = RenderBuffer.acquire();
+		buffer.write("x".repeat(300 * 1024));
+		buffer.encode("plain");
+		int pooled = RenderBuffer.pooled();
+
+		buffer.release();
+
+		assertEquals(pooled, RenderBuffer.pooled());
+	}
+
+	@Test
+	void release_ShouldKeepPoolBounded_WhenManyThreadsReleaseBuffers() throws Exception {
+		int threads = 4 * Runtime.getRuntime().availableProcessors() + 1;
+		CountDownLatch acquired = new CountDownLatch(threads);
+		List<Thread> started = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			Thread thread = new Thread(() -> {
+				RenderBuffer buffer = RenderBuffer.acquire();
+				acquired.countDown();
+				try {
+					acquired.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				buffer.release();
+			});
+			thread.start();
+			started.add(thread);
+		}
+		for (Thread thread : started) {
+			thread.join();
+		}
+
+		assertEquals(2 * Runtime.getRuntime().availableProcessors(), RenderBuffer.pooled());
+	}
+
+	// Renders a body on a new thread of the factory and returns the buffer it was rendered into.
+	private static RenderBuffer renderOn(ThreadFactory factory) throws InterruptedException {
+		AtomicReference<RenderBuffer> used = new AtomicReference<>();
+		Thread thread = factory.newThread(() -> {
+			RenderBuffer buffer = RenderBuffer.acquire();
+			try {
+				buffer.write("<p>Hello</p>");
+				buffer.encode("html");
+				used.set(buffer);
+			}
+			catch (IOException | MessagingException e) {
+				throw new IllegalStateException(e);
+			}
+			finally {
+				buffer.release();
+			}
+		});
+		thread.start();
+		thread.join();
+		return used.get();
+	}
+}
@@ -0,0 +1,52 @@
+package com.jeremw.example.emailsender.email.outbox;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class EmailOutboxTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void drainRecovered_ShouldReturnJobsNotCompleted_WhenReopened() throws IOException, ResourceException {
+		EmailJob raw = EmailJob.raw("raw@example.com", "Subject", "Content");
+		EmailJob template = EmailJob.template("template@example.com", "Subject", "example-template",
+				Map.of("name", "Name", "currentYear", 2026));
+		EmailJob completed = EmailJob.raw("completed@example.com", "Subject", "Content");
+		try (EmailOutbox outbox = new EmailOutbox(properties(), objectMapper)) {
+			outbox.store(List.of(raw, template, completed));
+			outbox.complete(List.of(completed));
+		}
+
+		try (EmailOutbox outbox = new EmailOutbox(properties(), objectMapper)) {
+			assertEquals(List.of(raw, template), outbox.drainRecovered());
+			assertTrue(outbox.drainRecovered().isEmpty());
+		}
+	}
+
+	private OutboxProperties properties() {
+		OutboxProperties properties = new OutboxProperties();
+		properties.setEnabled(true);
+		properties.setDirectory(directory);
+		return properties;
+	}
+}
@@ -0,0 +1,133 @@
+package com.jeremw.example.emailsender.email.outbox;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class OutboxJournalTests {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void open_ShouldRecoverPendingEntries_WhenReopened() throws IOException {
+		try (OutboxJournal journal = new OutboxJournal(directory, 1024, 0.5)) {
+			journal.append(entries("first", "second", "third"));
+			journal.complete(List.of("second"));
+		}
+
+		try (OutboxJournal journal = new OutboxJournal(directory, 1024, 0.5)) {
+			Map<String, byte[]> recovered = journal.drainRecovered();
+
+			assertEquals(List.of("first", "third"), List.copyOf(recovered.keySet()));
+			assertArrayEquals(bytes("third"), recovered.get("third"));
+			assertEquals(2, journal.size());
+		}
+	}
+
+	@Test
+	void open_ShouldDiscardTornRecord_WhenSegmentEndsWithPartialWrite() throws IOException {
+		try (OutboxJournal journal = new OutboxJournal(directory, 1024, 0.5)) {
+			journal.append(entries("first"));
+		}
+		Files.write(segments().get(0), new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+		try (OutboxJournal journal = new OutboxJournal(directory, 1024, 0.5)) {
+			journal.append(entries("second"));
+		}
+
+		try (OutboxJournal journal = new OutboxJournal(directory, 1024, 0.5)) {
+			assertEquals(List.of("first", "second"), List.copyOf(journal.drainRecovered().keySet()));
+		}
+	}
+
+	@Test
+	void compact_ShouldDeleteSegments_WhenEveryEntryIsCompleted() throws IOException {
+		try (OutboxJournal journal = new OutboxJournal(directory, 64, 0.5)) {
+			journal.append(entries("first"));
+			journal.append(entries("second"));
+			journal.append(entries("third"));
+			journal.complete(List.of("first", "second", "third"));
+
+			journal.compact();
+
+			assertEquals(1, journal.getSegmentCount());
+			assertEquals(0, journal.size());
+		}
+	}
+
+	@Test
+	void compact_ShouldCopyPendingEntriesForward_WhenSegmentIsMostlyCompleted() throws IOException {
+		try (OutboxJournal journal = new OutboxJournal(directory, 512, 0.5)) {
+			journal.append(entries("first", "second", "third", "fourth", "fifth"));
+			journal.complete(List.of("first", "second", "third", "fifth"));
+			journal.append(entries("sixth".repeat(100)));
+
+			journal.compact();
+
+			assertEquals(2, journal.size());
+		}
+
+		try (OutboxJournal journal = new OutboxJournal(directory, 512, 0.5)) {
+			Map<String, byte[]> recovered = journal.drainRecovered();
+
+			assertEquals(2, recovered.size());
+			assertArrayEquals(bytes("fourth"), recovered.get("fourth"));
+			assertTrue(recovered.containsKey("sixth".repeat(100)));
+		}
+	}
+
+	@Test
+	void compact_ShouldKeepCompletions_WhenEntryWasStoredInOlderSegmentStillKept() throws IOException {
+		String large = "large".repeat(16);
+		try (OutboxJournal journal = new OutboxJournal(directory, 100, 0.5)) {
+			journal.append(entries("X", "Y", "Z", "T"));
+			journal.complete(List.of("X"));
+			journal.append(entries(large));
+
+			journal.compact();
+
+			assertEquals(4, journal.size());
+		}
+
+		try (OutboxJournal journal = new OutboxJournal(directory, 100, 0.5)) {
+			assertEquals(List.of("Y", "Z", "T", large), List.copyOf(journal.drainRecovered().keySet()));
+		}
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.sorted().toList();
+		}
+	}
+
+	private static Map<String, byte[]> entries(String... ids) {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		for (String id : ids) {
+			entries.put(id, bytes(id));
+		}
+		return entries;
+	}
+
+	private static byte[] bytes(String id) {
+		return ("payload of " + id).getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,433 @@
+package com.jeremw.example.emailsender.email.queue;
+
+import java.net.SocketException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.jeremw.example.emailsender.cluster.ClusterCoordinator;
+import com.jeremw.example.emailsender.cluster.LocalCluster;
+import com.jeremw.example.emailsender.cluster.RendezvousHashing;
+import com.jeremw.example.emailsender.email.EmailService;
+import com.jeremw.example.emailsender.email.attachment.AttachmentStore;
+import com.jeremw.example.emailsender.email.attachment.EmailAttachment;
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
+import com.jeremw.example.emailsender.email.outbox.EmailOutbox;
+import com.jeremw.example.emailsender.email.retry.DeadLetterQueue;
+import com.jeremw.example.emailsender.email.retry.EmailRetryScheduler;
+import com.jeremw.example.emailsender.email.retry.RetryProperties;
+import com.jeremw.example.emailsender.email.retry.SmtpFailureClassifier;
+import com.jeremw.example.emailsender.email.schedule.EmailSendScheduler;
+import com.jeremw.example.emailsender.email.schedule.ScheduleProperties;
+import com.jeremw.example.emailsender.email.status.EmailStatusIndex;
+import com.jeremw.example.emailsender.email.status.StatusProperties;
+import com.jeremw.example.emailsender.exception.ResourceException;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thymeleaf.context.Context;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailJobDispatcherTests {
+
+	@Mock
+	private EmailService emailService;
+
+	@Mock
+	private AttachmentStore attachmentStore;
+
+	private EmailSendQueue emailSendQueue;
+
+	private final DeadLetterQueue deadLetterQueue = new DeadLetterQueue(10);
+
+	private final EmailSendScheduler emailSendScheduler = new EmailSendScheduler(scheduleProperties(), 50);
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		emailSendQueue.stop();
+		emailSendScheduler.close();
+	}
+
+	@Test
+	void dispatch_ShouldSendOnCallingThread_WhenAsyncDisabled() throws Exception {
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+
+		EmailJobReceipt receipt = dispatcher.dispatch(EmailJob.raw("to@example.com", "Subject", "Content"));
+
+		assertEquals(EmailJobStatus.SENT, receipt.getStatus());
+		assertFalse(receipt.isDeferred());
+		verify(emailService).sendRowText("to@example.com", "Subject", "Content");
+	}
+
+	@Test
+	void dispatch_ShouldSendGroupedMessage_WhenJobHasSeveralRecipients() throws Exception {
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+		List<String> recipients = List.of("alice@example.com", "bob@example.com");
+
+		EmailJobReceipt receipt = dispatcher.dispatch(EmailJob.rawGroup(recipients, "Subject", "Content"));
+
+		assertEquals(EmailJobStatus.SENT, receipt.getStatus());
+		verify(emailService).sendGroupedText(recipients, "Subject", "Content");
+	}
+
+	@Test
+	void dispatch_ShouldRetainAttachmentsUntilSent_WhenJobHasAttachments() throws Exception {
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+		EmailAttachment attachment = EmailAttachment.builder()
+				.id("0123abcd")
+				.filename("invoice.pdf")
+				.contentType("application/pdf")
+				.size(42)
+				.build();
+		EmailJob job = EmailJob.raw("to@example.com", "Subject", "Content").attaching(List.of(attachment));
+
+		EmailJobReceipt receipt = dispatcher.dispatch(job);
+
+		assertEquals(EmailJobStatus.SENT, receipt.getStatus());
+		verify(attachmentStore).retain(List.of(job));
+		verify(emailService).send(job);
+		verify(attachmentStore).release(List.of(job));
+		verify(emailService, never()).sendRowText(any(), any(), any());
+	}
+
+	@Test
+	void dispatch_ShouldQueueJob_WhenAsyncEnabled() throws Exception {
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(true, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+
+		EmailJobReceipt receipt = dispatcher.dispatch(
+				EmailJob.template("to@example.com", "Subject", "example-template", Map.of("name", "John")));
+
+		assertEquals(EmailJobStatus.QUEUED, receipt.getStatus());
+		assertTrue(receipt.isDeferred());
+		verify(emailService, timeout(1000)).sentHtmlTemplate(eq("to@example.com"), eq("Subject"),
+				eq("example-template"), any(Context.class));
+	}
+
+	@Test
+	void dispatch_ShouldRejectJob_WhenQueueIsFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return null;
+		}).when(emailService).sendRowText(any(), any(), any());
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(true, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+
+		dispatcher.dispatch(EmailJob.raw("first@example.com", "Subject", "Content"));
+		assertTrue(started.await(1, TimeUnit.SECONDS));
+		dispatcher.dispatch(EmailJob.raw("second@example.com", "Subject", "Content"));
+
+		ResourceException exception = assertThrows(ResourceException.class,
+				() -> dispatcher.dispatch(EmailJob.raw("third@example.com", "Subject", "Content")));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+		release.countDown();
+	}
+
+	@Test
+	void dispatch_ShouldSendHighPriorityJob_WhenBulkJobsKeepWorkersBusy() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return null;
+		}).when(emailService).sendRowText(eq("bulk@example.com"), any(), any());
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(true, 2, 10), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+
+		dispatcher.dispatch(EmailJob.raw("bulk@example.com", "Subject", "Content").prioritized(EmailPriority.BULK));
+		assertTrue(started.await(1, TimeUnit.SECONDS));
+		dispatcher.dispatch(EmailJob.raw("bulk@example.com", "Subject", "Content").prioritized(EmailPriority.BULK));
+		EmailJobReceipt receipt = dispatcher.dispatch(
+				EmailJob.raw("urgent@example.com", "Subject", "Content").prioritized(EmailPriority.HIGH));
+
+		assertEquals(EmailJobStatus.QUEUED, receipt.getStatus());
+		verify(emailService, timeout(1000)).sendRowText("urgent@example.com", "Subject", "Content");
+		assertEquals(1, emailSendQueue.size(EmailPriority.BULK));
+		release.countDown();
+	}
+
+	@Test
+	void dispatchAll_ShouldReportResultOfEveryJob() throws Exception {
+		EmailJob sent = EmailJob.raw("sent@example.com", "Subject", "Content");
+		EmailJob failed = EmailJob.raw("failed@example.com", "Subject", "Content");
+		when(emailService.sendBatch(List.of(sent, failed))).thenReturn(Map.of(failed.getId(),
+				new SMTPAddressFailedException(new InternetAddress("failed@example.com"), "RCPT", 550, "Mailbox unavailable")));
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+
+		List<EmailJobReceipt> receipts = dispatcher.dispatchAll(List.of(sent, failed));
+
+		assertEquals(2, receipts.size());
+		assertEquals(EmailJobStatus.SENT, receipts.get(0).getStatus());
+		assertEquals(EmailJobStatus.FAILED, receipts.get(1).getStatus());
+		assertEquals("Mailbox unavailable", receipts.get(1).getError());
+	}
+
+	@Test
+	void dispatchAll_ShouldRecordStatusOfEveryJob() throws Exception {
+		EmailJob sent = EmailJob.raw("sent@example.com", "Subject", "Content");
+		EmailJob failed = EmailJob.raw("failed@example.com", "Subject", "Content");
+		when(emailService.sendBatch(List.of(sent, failed))).thenReturn(Map.of(failed.getId(),
+				new SMTPAddressFailedException(new InternetAddress("failed@example.com"), "RCPT", 550,
+						"550 5.1.1 Mailbox unavailable")));
+		StatusProperties properties = new StatusProperties();
+		properties.setMaxEntries(100);
+		try (EmailStatusIndex emailStatusIndex = new EmailStatusIndex(properties, new SmtpFailureClassifier())) {
+			EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1),
+					EmailOutbox.disabled(), retryScheduler(), emailSendScheduler, attachmentStore,
+					ClusterCoordinator.standalone(), emailStatusIndex);
+
+			dispatcher.dispatchAll(List.of(sent, failed));
+
+			assertEquals(EmailJobStatus.SENT, emailStatusIndex.find(sent.getId()).orElseThrow().getStatus());
+			EmailDeliveryStatus failedStatus = emailStatusIndex.find(failed.getId()).orElseThrow();
+			assertEquals(EmailJobStatus.FAILED, failedStatus.getStatus());
+			assertEquals(550, failedStatus.getReplyCode());
+			assertEquals("550 5.1.1 Mailbox unavailable", failedStatus.getReply());
+		}
+	}
+
+	@Test
+	void dispatch_ShouldKeepStatusRecordedByWorker_WhenWorkerFinishesBeforeSubmitReturns() throws Exception {
+		EmailJob job = EmailJob.raw("to@example.com", "Subject", "Content");
+		try (EmailStatusIndex emailStatusIndex = statusIndex()) {
+			EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService,
+					queueAwaitingStatus(emailStatusIndex, job, EmailJobStatus.SENT), EmailOutbox.disabled(),
+					retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+					emailStatusIndex);
+
+			EmailJobReceipt receipt = dispatcher.dispatch(job);
+
+			assertEquals(EmailJobStatus.QUEUED, receipt.getStatus());
+			assertEquals(EmailJobStatus.SENT, emailStatusIndex.find(job.getId()).orElseThrow().getStatus());
+		}
+	}
+
+	@Test
+	void dispatchAll_ShouldKeepStatusRecordedByWorker_WhenWorkerFinishesBeforeSubmitReturns() throws Exception {
+		EmailJob job = EmailJob.raw("to@example.com", "Subject", "Content");
+		try (EmailStatusIndex emailStatusIndex = statusIndex()) {
+			EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService,
+					queueAwaitingStatus(emailStatusIndex, job, EmailJobStatus.SENT), EmailOutbox.disabled(),
+					retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+					emailStatusIndex);
+
+			List<EmailJobReceipt> receipts = dispatcher.dispatchAll(List.of(job));
+
+			assertEquals(EmailJobStatus.QUEUED, receipts.get(0).getStatus());
+			assertEquals(EmailJobStatus.SENT, emailStatusIndex.find(job.getId()).orElseThrow().getStatus());
+		}
+	}
+
+	@Test
+	void dispatch_ShouldRecordRejected_WhenQueueIsFull() throws Exception {
+		EmailJob job = EmailJob.raw("to@example.com", "Subject", "Content");
+		EmailSendQueue full = spy(queue(true, 1, 1));
+		doThrow(new ResourceException("EmailQueueFull", "Full", HttpStatus.SERVICE_UNAVAILABLE))
+				.when(full).submit(any(), any());
+		try (EmailStatusIndex emailStatusIndex = statusIndex()) {
+			EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, full, EmailOutbox.disabled(),
+					retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+					emailStatusIndex);
+
+			assertThrows(ResourceException.class, () -> dispatcher.dispatch(job));
+
+			assertEquals(EmailJobStatus.REJECTED, emailStatusIndex.find(job.getId()).orElseThrow().getStatus());
+		}
+	}
+
+	@Test
+	void dispatchAll_ShouldForwardJobsToTheirOwner_WhenClusterHasSeveralNodes() throws Exception {
+		LocalCluster cluster = new LocalCluster();
+		ClusterCoordinator local = cluster.join("a");
+		ClusterCoordinator remote = cluster.join("b");
+		List<EmailJob> forwarded = new CopyOnWriteArrayList<>();
+		remote.onReceive(jobs -> {
+			forwarded.addAll(jobs);
+			return jobs.stream().map(job -> new EmailJobReceipt(job.getId(), EmailJobStatus.SENT)).toList();
+		});
+		EmailJob ownedLocally = EmailJob.raw(recipientOwnedBy("a", local), "Subject", "Content");
+		EmailJob ownedRemotely = EmailJob.raw(recipientOwnedBy("b", local), "Subject", "Content");
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, local, EmailStatusIndex.disabled());
+
+		List<EmailJobReceipt> receipts = dispatcher.dispatchAll(List.of(ownedRemotely, ownedLocally));
+
+		assertEquals(List.of(ownedRemotely.getId(), ownedLocally.getId()),
+				receipts.stream().map(EmailJobReceipt::getJobId).toList());
+		assertEquals(List.of(ownedRemotely), forwarded);
+		verify(emailService).sendBatch(List.of(ownedLocally));
+	}
+
+	@Test
+	void dispatchAll_ShouldSendJobsLocally_WhenOwnerLeftTheCluster() throws Exception {
+		LocalCluster cluster = new LocalCluster();
+		ClusterCoordinator local = cluster.join("a");
+		cluster.join("b");
+		EmailJob job = EmailJob.raw(recipientOwnedBy("b", local), "Subject", "Content");
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, local, EmailStatusIndex.disabled());
+
+		cluster.leave("b");
+		List<EmailJobReceipt> receipts = dispatcher.dispatchAll(List.of(job));
+
+		assertEquals(EmailJobStatus.SENT, receipts.get(0).getStatus());
+		verify(emailService).sendBatch(List.of(job));
+	}
+
+	@Test
+	void dispatch_ShouldRetryOffCallingThread_WhenFailureIsTransient() throws Exception {
+		doThrow(new MessagingException("Connection reset", new SocketException("Connection reset")))
+				.doNothing()
+				.when(emailService).sendRowText(any(), any(), any());
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+
+		EmailJobReceipt receipt = dispatcher.dispatch(EmailJob.raw("to@example.com", "Subject", "Content"));
+
+		assertEquals(EmailJobStatus.RETRYING, receipt.getStatus());
+		assertTrue(receipt.isDeferred());
+		verify(emailService, timeout(1000).times(2)).sendRowText("to@example.com", "Subject", "Content");
+		assertEquals(0, deadLetterQueue.size());
+	}
+
+	@Test
+	void dispatchAll_ShouldDeadLetterJob_WhenFailureIsPermanent() throws Exception {
+		EmailJob failed = EmailJob.raw("failed@example.com", "Subject", "Content");
+		when(emailService.sendBatch(List.of(failed))).thenReturn(Map.of(failed.getId(),
+				new SMTPAddressFailedException(new InternetAddress("failed@example.com"), "RCPT", 550, "No such user")));
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+
+		List<EmailJobReceipt> receipts = dispatcher.dispatchAll(List.of(failed));
+
+		assertEquals(EmailJobStatus.FAILED, receipts.get(0).getStatus());
+		assertEquals(failed, deadLetterQueue.list().get(0).getJob());
+	}
+
+	@Test
+	void dispatch_ShouldSendJobOnceReleased_WhenSendAtIsInTheFuture() throws Exception {
+		EmailJobDispatcher dispatcher = new EmailJobDispatcher(emailService, queue(false, 1, 1), EmailOutbox.disabled(),
+				retryScheduler(), emailSendScheduler, attachmentStore, ClusterCoordinator.standalone(),
+				EmailStatusIndex.disabled());
+		EmailJob job = EmailJob.raw("to@example.com", "Subject", "Content")
+				.scheduledAt(Instant.now().plusMillis(200));
+
+		EmailJobReceipt receipt = dispatcher.dispatch(job);
+
+		assertEquals(EmailJobStatus.SCHEDULED, receipt.getStatus());
+		assertTrue(receipt.isDeferred());
+		verify(emailService, never()).sendRowText(any(), any(), any());
+		verify(emailService, timeout(2000)).sendBatch(List.of(job));
+		assertEquals(0, emailSendScheduler.size());
+	}
+
+	private static String recipientOwnedBy(String node, ClusterCoordinator coordinator) {
+		for (int i = 0; ; i++) {
+			String recipient = "user" + i + "@example.com";
+			if (RendezvousHashing.owner(recipient, coordinator.getMembers()).equals(node)) {
+				return recipient;
+			}
+		}
+	}
+
+	private EmailRetryScheduler retryScheduler() {
+		RetryProperties properties = new RetryProperties();
+		properties.setInitialDelay(Duration.ofMillis(1));
+		properties.setMaxDelay(Duration.ofMillis(10));
+		return new EmailRetryScheduler(properties, new SmtpFailureClassifier(), deadLetterQueue,
+				EmailMetrics.disabled(), false);
+	}
+
+	private static ScheduleProperties scheduleProperties() {
+		ScheduleProperties properties = new ScheduleProperties();
+		properties.setTick(Duration.ofMillis(10));
+		properties.setSpread(Duration.ZERO);
+		return properties;
+	}
+
+	private static EmailStatusIndex statusIndex() {
+		StatusProperties properties = new StatusProperties();
+		properties.setMaxEntries(100);
+		return new EmailStatusIndex(properties, new SmtpFailureClassifier());
+	}
+
+	// A queue whose submit only returns once the worker recorded the given status of the job.
+	private EmailSendQueue queueAwaitingStatus(EmailStatusIndex emailStatusIndex, EmailJob job,
+			EmailJobStatus status) {
+		EmailSendQueue awaiting = spy(queue(true, 1, 10));
+		try {
+			doAnswer(invocation -> {
+				invocation.callRealMethod();
+				long deadline = System.currentTimeMillis() + 1000;
+				while (emailStatusIndex.find(job.getId()).map(EmailDeliveryStatus::getStatus).orElse(null) != status
+						&& System.currentTimeMillis() < deadline) {
+					Thread.sleep(5);
+				}
+				return null;
+			}).when(awaiting).submit(any(), any());
+		}
+		catch (ResourceException e) {
+			throw new IllegalStateException(e);
+		}
+		return awaiting;
+	}
+
+	private EmailSendQueue queue(boolean enabled, int workers, int capacity) {
+		emailSendQueue = new EmailSendQueue(EmailMetrics.disabled());
+		ReflectionTestUtils.setField(emailSendQueue, "enabled", enabled);
+		ReflectionTestUtils.setField(emailSendQueue, "workers", workers);
+		ReflectionTestUtils.setField(emailSendQueue, "queueCapacity", capacity);
+		ReflectionTestUtils.setField(emailSendQueue, "shutdownTimeout", Duration.ofSeconds(1));
+		emailSendQueue.start();
+		return emailSendQueue;
+	}
+}
@@ -0,0 +1,31 @@
+package com.jeremw.example.emailsender.email.queue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class RecipientGroupsTests {
+
+	@Test
+	void byDomain_ShouldGroupRecipientsSharingDomain_IgnoringCase() {
+		List<List<String>> groups = RecipientGroups.byDomain(
+				List.of("alice@example.com", "carol@example.org", "bob@EXAMPLE.com"), 50);
+
+		assertEquals(List.of(List.of("alice@example.com", "bob@EXAMPLE.com"), List.of("carol@example.org")), groups);
+	}
+
+	@Test
+	void byDomain_ShouldSplitGroup_WhenDomainExceedsMaxPerGroup() {
+		List<List<String>> groups = RecipientGroups.byDomain(
+				List.of("a@example.com", "b@example.com", "c@example.com"), 2);
+
+		assertEquals(List.of(List.of("a@example.com", "b@example.com"), List.of("c@example.com")), groups);
+	}
+}
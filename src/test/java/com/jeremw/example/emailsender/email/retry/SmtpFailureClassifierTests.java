@@ -0,0 +1,59 @@
+package com.jeremw.example.emailsender.email.retry;
+
+import java.net.SocketTimeoutException;
+import java.util.Map;
+
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mail.MailSendException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class SmtpFailureClassifierTests {
+
+	private final SmtpFailureClassifier classifier = new SmtpFailureClassifier();
+
+	@Test
+	void classify_ShouldReturnTransient_WhenReplyCodeIs4xx() {
+		SMTPSendFailedException failure = new SMTPSendFailedException("DATA", 451, "Try again later", null, null,
+				null, null);
+
+		assertEquals(FailureType.TRANSIENT, classifier.classify(new MailSendException(Map.of(new Object(), failure))));
+	}
+
+	@Test
+	void classify_ShouldReturnPermanent_WhenNestedReplyCodeIs5xx() throws Exception {
+		SendFailedException failure = new SendFailedException("Invalid Addresses",
+				new SMTPAddressFailedException(new InternetAddress("to@example.com"), "RCPT", 550, "No such user"));
+
+		assertEquals(FailureType.PERMANENT, classifier.classify(failure));
+	}
+
+	@Test
+	void classify_ShouldReturnTransient_WhenConnectionTimesOut() {
+		MessagingException failure = new MessagingException("Could not connect", new SocketTimeoutException());
+
+		assertEquals(FailureType.TRANSIENT, classifier.classify(failure));
+	}
+
+	@Test
+	void classify_ShouldReturnPermanent_WhenAuthenticationFails() {
+		assertEquals(FailureType.PERMANENT, classifier.classify(new AuthenticationFailedException("535 Bad login")));
+	}
+
+	@Test
+	void classify_ShouldReturnPermanent_WhenFailureIsNotMailRelated() {
+		assertEquals(FailureType.PERMANENT, classifier.classify(new IllegalStateException("Unexpected")));
+	}
+}
@@ -0,0 +1,105 @@
+package com.jeremw.example.emailsender.email.schedule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class EmailSendSchedulerTests {
+
+	private final EmailSendScheduler scheduler = new EmailSendScheduler(scheduleProperties(), 50);
+
+	@AfterEach
+	void tearDown() {
+		scheduler.close();
+	}
+
+	@Test
+	void tick_ShouldKeepDueJobs_WhenNoReleaseActionIsSet() throws Exception {
+		scheduler.schedule(List.of(job("alice@example.com")));
+		Thread.sleep(200);
+
+		assertEquals(1, scheduler.size());
+
+		CountDownLatch released = new CountDownLatch(1);
+		scheduler.onRelease(jobs -> released.countDown());
+
+		assertTrue(released.await(1, TimeUnit.SECONDS));
+		assertEquals(0, scheduler.size());
+	}
+
+	@Test
+	void tick_ShouldReleaseDueJobsInChunksOffTheTicker_WhenManyAreDue() throws Exception {
+		try (EmailSendScheduler chunked = new EmailSendScheduler(scheduleProperties(), 2)) {
+			List<List<String>> chunks = new CopyOnWriteArrayList<>();
+			List<String> threads = new CopyOnWriteArrayList<>();
+			CountDownLatch released = new CountDownLatch(2);
+			chunked.onRelease(jobs -> {
+				chunks.add(jobs.stream().map(EmailJob::getTo).toList());
+				threads.add(Thread.currentThread().getName());
+				released.countDown();
+			});
+
+			chunked.schedule(List.of(job("alice@example.com"), job("bob@example.com"), job("carol@example.com")));
+
+			assertTrue(released.await(1, TimeUnit.SECONDS));
+			assertEquals(List.of(2, 1), chunks.stream().map(List::size).sorted(Comparator.reverseOrder()).toList());
+			assertTrue(threads.stream().allMatch(thread -> thread.startsWith("email-schedule-release-")),
+					threads::toString);
+		}
+	}
+
+	@Test
+	void tick_ShouldReleaseAgainOnlyFailedChunk_WhenReleaseThrows() throws Exception {
+		try (EmailSendScheduler chunked = new EmailSendScheduler(scheduleProperties(), 2)) {
+			List<String> released = new CopyOnWriteArrayList<>();
+			AtomicBoolean failed = new AtomicBoolean();
+			CountDownLatch retried = new CountDownLatch(1);
+			chunked.onRelease(jobs -> {
+				boolean carol = jobs.stream().anyMatch(job -> job.getTo().equals("carol@example.com"));
+				if (carol && failed.compareAndSet(false, true)) {
+					throw new IllegalStateException("Outbox unavailable");
+				}
+				jobs.forEach(job -> released.add(job.getTo()));
+				if (carol) {
+					retried.countDown();
+				}
+			});
+
+			chunked.schedule(List.of(job("alice@example.com"), job("bob@example.com"), job("carol@example.com")));
+
+			assertTrue(retried.await(1, TimeUnit.SECONDS));
+			assertEquals(List.of("alice@example.com", "bob@example.com", "carol@example.com"),
+					released.stream().sorted().toList());
+			assertEquals(0, chunked.size());
+		}
+	}
+
+	private static EmailJob job(String to) {
+		return EmailJob.raw(to, "Subject", "Content").scheduledAt(Instant.now().plusMillis(20));
+	}
+
+	private static ScheduleProperties scheduleProperties() {
+		ScheduleProperties properties = new ScheduleProperties();
+		properties.setTick(Duration.ofMillis(10));
+		properties.setSpread(Duration.ZERO);
+		properties.setRetryDelay(Duration.ofMillis(50));
+		return properties;
+	}
+}
@@ -0,0 +1,94 @@
+package com.jeremw.example.emailsender.email.status;
+
+import java.util.UUID;
+
+import com.jeremw.example.emailsender.email.dto.EmailDeliveryStatus;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import com.jeremw.example.emailsender.email.retry.SmtpFailureClassifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class EmailStatusIndexTests {
+
+	private final EmailStatusIndex index = new EmailStatusIndex(properties(1000, 1), new SmtpFailureClassifier());
+
+	@AfterEach
+	void tearDown() {
+		index.close();
+	}
+
+	@Test
+	void find_ShouldReturnLastStatus_WhenJobWasRecorded() {
+		String jobId = UUID.randomUUID().toString();
+
+		index.record(jobId, EmailJobStatus.QUEUED, null);
+		index.record(jobId, EmailJobStatus.RETRYING, "451 4.3.0 Try again later");
+
+		EmailDeliveryStatus status = index.find(jobId).orElseThrow();
+		assertEquals(jobId, status.getJobId());
+		assertEquals(EmailJobStatus.RETRYING, status.getStatus());
+		assertEquals(451, status.getReplyCode());
+		assertEquals("451 4.3.0 Try again later", status.getReply());
+		assertFalse(status.getUpdatedAt().isBefore(status.getAcceptedAt()));
+	}
+
+	@Test
+	void find_ShouldReturnEmpty_WhenJobIsUnknownOrInvalid() {
+		index.record("not-a-job-id", EmailJobStatus.SENT, null);
+
+		assertTrue(index.find(UUID.randomUUID().toString()).isEmpty());
+		assertTrue(index.find("not-a-job-id").isEmpty());
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void record_ShouldOnlyKeepReplyCode_WhenTooManyDistinctReplies() {
+		String first = UUID.randomUUID().toString();
+		String second = UUID.randomUUID().toString();
+
+		index.record(first, EmailJobStatus.FAILED, "550 5.1.1 <a@example.com> unknown");
+		index.record(second, EmailJobStatus.FAILED, "550 5.1.1 <b@example.com> unknown");
+
+		assertEquals("550 5.1.1 <a@example.com> unknown", index.find(first).orElseThrow().getReply());
+		EmailDeliveryStatus status = index.find(second).orElseThrow();
+		assertEquals(550, status.getReplyCode());
+		assertNull(status.getReply());
+	}
+
+	@Test
+	void evictExpired_ShouldRemoveStatuses_WhenTtlElapsed() {
+		String jobId = UUID.randomUUID().toString();
+		index.record(jobId, EmailJobStatus.SENT, null);
+
+		assertEquals(0, index.evictExpired(System.currentTimeMillis()));
+		assertEquals(1, index.evictExpired(System.currentTimeMillis() + properties(1000, 1).getTtl().toMillis() + 1));
+
+		assertTrue(index.find(jobId).isEmpty());
+	}
+
+	@Test
+	void record_ShouldDoNothing_WhenDisabled() {
+		String jobId = UUID.randomUUID().toString();
+
+		EmailStatusIndex.disabled().record(jobId, EmailJobStatus.SENT, null);
+
+		assertTrue(EmailStatusIndex.disabled().find(jobId).isEmpty());
+	}
+
+	private static StatusProperties properties(int maxEntries, int maxReplies) {
+		StatusProperties properties = new StatusProperties();
+		properties.setMaxEntries(maxEntries);
+		properties.setMaxReplies(maxReplies);
+		return properties;
+	}
+}
@@ -0,0 +1,73 @@
+package com.jeremw.example.emailsender.email.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class StatusTableTests {
+
+	private static final int ENTRIES = 10_000;
+
+	@Test
+	void put_ShouldKeepRecordedTime_WhenEntryIsUpdated() {
+		StatusTable table = new StatusTable(10);
+
+		table.put(1, 2, (byte) 1, 100, (short) 0, -1);
+		table.put(1, 2, (byte) 4, 200, (short) 451, 3);
+
+		StatusEntry entry = table.get(1, 2);
+		assertEquals(new StatusEntry((byte) 4, 100, 200, (short) 451, 3), entry);
+		assertEquals(1, table.size());
+	}
+
+	@Test
+	void put_ShouldRefuseNewEntries_WhenTableIsFull() {
+		StatusTable table = new StatusTable(2);
+
+		assertTrue(table.put(1, 1, (byte) 1, 0, (short) 0, -1));
+		assertTrue(table.put(2, 2, (byte) 1, 0, (short) 0, -1));
+		assertFalse(table.put(3, 3, (byte) 1, 0, (short) 0, -1));
+		assertTrue(table.put(1, 1, (byte) 3, 1, (short) 0, -1));
+
+		assertNull(table.get(3, 3));
+	}
+
+	@Test
+	void removeUpdatedBefore_ShouldKeepOtherEntriesReachable_WhenEntriesAreRemoved() {
+		StatusTable table = new StatusTable(ENTRIES);
+		List<UUID> keys = new ArrayList<>();
+		for (int i = 0; i < ENTRIES; i++) {
+			UUID key = UUID.randomUUID();
+			keys.add(key);
+			assertTrue(table.put(key.getMostSignificantBits(), key.getLeastSignificantBits(), (byte) 1, i, (short) 0, -1));
+		}
+
+		int removed = table.removeUpdatedBefore(ENTRIES / 2);
+
+		assertEquals(ENTRIES / 2, removed);
+		assertEquals(ENTRIES / 2, table.size());
+		for (int i = 0; i < ENTRIES; i++) {
+			StatusEntry entry = table.get(keys.get(i).getMostSignificantBits(), keys.get(i).getLeastSignificantBits());
+			if (i < ENTRIES / 2) {
+				assertNull(entry);
+			}
+			else {
+				assertNotNull(entry);
+				assertEquals(i, entry.getUpdatedAt());
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.jeremw.example.emailsender.email.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.EmailFormValidator;
+import com.jeremw.example.emailsender.email.dto.BatchEmailResult;
+import com.jeremw.example.emailsender.email.dto.RawEmailForm;
+import com.jeremw.example.emailsender.email.queue.EmailJob;
+import com.jeremw.example.emailsender.email.queue.EmailJobDispatcher;
+import com.jeremw.example.emailsender.email.queue.EmailJobReceipt;
+import com.jeremw.example.emailsender.email.queue.EmailJobStatus;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailStreamProcessorTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Mock
+	private EmailJobDispatcher emailJobDispatcher;
+
+	private EmailStreamProcessor processor;
+
+	@AfterEach
+	void tearDown() {
+		processor.stop();
+	}
+
+	@Test
+	void process_ShouldRejectOnlyTheFaultyLines_WhenStreamMixesMalformedNullAndValidLines() throws Exception {
+		processor = new EmailStreamProcessor(emailJobDispatcher,
+				new EmailFormValidator(Validation.buildDefaultValidatorFactory().getValidator()), objectMapper, 2, false);
+		when(emailJobDispatcher.sendAll(any())).thenAnswer(invocation -> {
+			List<EmailJob> jobs = invocation.getArgument(0);
+			return jobs.stream().map(job -> new EmailJobReceipt(job.getId(), EmailJobStatus.SENT)).toList();
+		});
+		String stream = String.join("\n",
+				"{\"to\": \"first@example.com\", \"subject\": \"Hello\", \"content\": \"Hi\"}",
+				"{\"to\": ",
+				"null",
+				"",
+				"{\"to\": \"invalid\", \"subject\": \"Hello\", \"content\": \"Hi\"}",
+				"{\"to\": \"last@example.com\", \"subject\": \"Hello\", \"content\": \"Hi\"}");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		processor.process(new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)), out, RawEmailForm.class,
+				RawEmailForm::getTo, form -> EmailJob.raw(form.getTo(), form.getSubject(), form.getContent()));
+		List<BatchEmailResult> results = out.toString(StandardCharsets.UTF_8).lines()
+				.map(this::read)
+				.sorted(Comparator.comparingInt(BatchEmailResult::getIndex))
+				.toList();
+
+		assertEquals(List.of(1, 2, 3, 5, 6), results.stream().map(BatchEmailResult::getIndex).toList());
+		assertEquals(EmailJobStatus.SENT, results.get(0).getStatus());
+		assertEquals("Malformed JSON line.", results.get(1).getError());
+		assertEquals(EmailJobStatus.REJECTED, results.get(2).getStatus());
+		assertEquals("The email is required.", results.get(2).getError());
+		assertNull(results.get(2).getTo());
+		assertEquals(EmailJobStatus.REJECTED, results.get(3).getStatus());
+		assertEquals("invalid", results.get(3).getTo());
+		assertEquals(EmailJobStatus.SENT, results.get(4).getStatus());
+		assertEquals("last@example.com", results.get(4).getTo());
+	}
+
+	@Test
+	void process_ShouldAnswerEveryLineOfChunk_WhenSendingChunkThrows() throws Exception {
+		processor = processor();
+		when(emailJobDispatcher.sendAll(any())).thenThrow(new IllegalStateException("Boom"));
+		String stream = String.join("\n", line("first@example.com"), line("second@example.com"), line("third@example.com"));
+
+		List<BatchEmailResult> results = process(stream);
+
+		assertEquals(List.of(1, 2, 3), results.stream().map(BatchEmailResult::getIndex).toList());
+		results.forEach(result -> assertEquals(EmailJobStatus.FAILED, result.getStatus()));
+		assertEquals("third@example.com", results.get(2).getTo());
+	}
+
+	@Test
+	void process_ShouldRejectOnlyTheLongLine_WhenLineExceedsMaxLength() throws Exception {
+		processor = processor();
+		ReflectionTestUtils.setField(processor, "maxLineLength", 100);
+		when(emailJobDispatcher.sendAll(any())).thenAnswer(invocation -> {
+			List<EmailJob> jobs = invocation.getArgument(0);
+			return jobs.stream().map(job -> new EmailJobReceipt(job.getId(), EmailJobStatus.SENT)).toList();
+		});
+		String stream = String.join("\r\n", line("first@example.com"), line("x".repeat(20_000) + "@example.com"),
+				line("last@example.com"));
+
+		List<BatchEmailResult> results = process(stream);
+
+		assertEquals(List.of(1, 2, 3), results.stream().map(BatchEmailResult::getIndex).toList());
+		assertEquals(EmailJobStatus.SENT, results.get(0).getStatus());
+		assertEquals(EmailJobStatus.REJECTED, results.get(1).getStatus());
+		assertEquals("Line too long.", results.get(1).getError());
+		assertEquals(EmailJobStatus.SENT, results.get(2).getStatus());
+		assertEquals("last@example.com", results.get(2).getTo());
+	}
+
+	private EmailStreamProcessor processor() {
+		return new EmailStreamProcessor(emailJobDispatcher,
+				new EmailFormValidator(Validation.buildDefaultValidatorFactory().getValidator()), objectMapper, 2, false);
+	}
+
+	private String line(String to) {
+		return "{\"to\": \"" + to + "\", \"subject\": \"Hello\", \"content\": \"Hi\"}";
+	}
+
+	private List<BatchEmailResult> process(String stream) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		processor.process(new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)), out, RawEmailForm.class,
+				RawEmailForm::getTo, form -> EmailJob.raw(form.getTo(), form.getSubject(), form.getContent()));
+		return out.toString(StandardCharsets.UTF_8).lines()
+				.map(this::read)
+				.sorted(Comparator.comparingInt(BatchEmailResult::getIndex))
+				.toList();
+	}
+
+	private BatchEmailResult read(String line) {
+		try {
+			return objectMapper.readValue(line, BatchEmailResult.class);
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class EmailTemplateRendererTests {
+
+	private EmailTemplateRenderer renderer;
+
+	@BeforeEach
+	void setUp() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setCharacterEncoding("UTF-8");
+		SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+		templateEngine.setTemplateResolver(resolver);
+
+		TemplateCacheProperties properties = new TemplateCacheProperties();
+		properties.setSharedFragments(Map.of("example-template", Map.of("footer", List.of("currentYear"))));
+		renderer = new EmailTemplateRenderer(templateEngine, properties);
+	}
+
+	@Test
+	void render_ShouldRenderSharedFragmentOnce_WhenSharedVariablesAreEqual() {
+		String first = renderer.render("example-template", context("Alice", 2026));
+		String second = renderer.render("example-template", context("Bob", 2026));
+
+		assertTrue(first.contains("Alice"));
+		assertTrue(second.contains("Bob"));
+		assertTrue(second.contains("&copy; <span>2026</span> Votre Société."));
+		assertEquals(1, renderer.getFragmentCacheStats().getMisses());
+		assertEquals(1, renderer.getFragmentCacheStats().getHits());
+	}
+
+	@Test
+	void render_ShouldRenderSharedFragmentAgain_WhenSharedVariablesChange() {
+		renderer.render("example-template", context("Alice", 2026));
+		String next = renderer.render("example-template", context("Alice", 2027));
+
+		assertTrue(next.contains("&copy; <span>2027</span> Votre Société."));
+		assertEquals(2, renderer.getFragmentCacheStats().getMisses());
+	}
+
+	private Context context(String name, int currentYear) {
+		Context context = new Context();
+		context.setVariable("subject", "Subject");
+		context.setVariable("name", name);
+		context.setVariable("email", "to@example.com");
+		context.setVariable("companyName", "Example Inc.");
+		context.setVariable("currentYear", currentYear);
+		return context;
+	}
+}
@@ -0,0 +1,100 @@
+package com.jeremw.example.emailsender.email.template;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class TemplateRegistryTests {
+
+	private TemplateRegistryProperties properties;
+
+	private TemplateRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		properties = new TemplateRegistryProperties();
+		TemplateRegistryProperties.Template welcome = new TemplateRegistryProperties.Template();
+		welcome.setView("example-template");
+		welcome.setSubject("Bienvenue chez [(${companyName})]");
+		welcome.setVariables(new LinkedHashMap<>(Map.of(
+				"name", variable(true, TemplateVariableType.STRING),
+				"companyName", variable(true, TemplateVariableType.STRING),
+				"signupDate", variable(false, TemplateVariableType.DATE))));
+		properties.setTemplates(Map.of("welcome", welcome));
+		registry = new TemplateRegistry(properties, renderer());
+	}
+
+	@Test
+	void validate_ShouldReportEveryProblem_WhenVariablesDoNotMatchDeclarations() {
+		List<String> errors = registry.validate(null, Map.of("companyName", "Example Inc.", "signupDate", "tomorrow",
+				"coupon", "SAVE10"));
+
+		assertEquals(3, errors.size());
+		assertTrue(errors.contains("The variable 'name' is required."));
+		assertTrue(errors.contains("The variable 'signupDate' must be a date such as 2026-10-18."));
+		assertTrue(errors.contains("The variable 'coupon' is not accepted by the template 'welcome'."));
+		assertEquals(List.of("The template 'unknown' does not exist."), registry.validate("unknown", Map.of()));
+	}
+
+	@Test
+	void prepare_ShouldRenderSubjectAndAddBuiltInVariables() {
+		PreparedTemplate prepared = registry.prepare("welcome", "to@example.com",
+				Map.of("name", "John", "companyName", "Example\r\nBcc: evil@example.com"));
+
+		assertEquals("example-template", prepared.getView());
+		assertEquals("Bienvenue chez Example Bcc: evil@example.com", prepared.getSubject());
+		assertEquals(prepared.getSubject(), prepared.getVariables().get("subject"));
+		assertEquals("to@example.com", prepared.getVariables().get("email"));
+		assertEquals(LocalDate.now().toString(), prepared.getVariables().get("currentDate"));
+		assertEquals(LocalDate.now().getYear(), prepared.getVariables().get("currentYear"));
+	}
+
+	@Test
+	void new_ShouldFail_WhenTemplateDeclaresBuiltInVariable() {
+		properties.getTemplates().get("welcome").getVariables().put("email", variable(true, TemplateVariableType.STRING));
+
+		assertThrows(IllegalStateException.class, () -> new TemplateRegistry(properties, renderer()));
+	}
+
+	@Test
+	void warmUp_ShouldRenderEveryTemplate() {
+		EmailTemplateRenderer renderer = renderer();
+		new TemplateRegistry(properties, renderer).warmUp();
+
+		assertEquals(1, renderer.getFragmentCacheStats().getMisses());
+	}
+
+	private static TemplateRegistryProperties.Variable variable(boolean required, TemplateVariableType type) {
+		TemplateRegistryProperties.Variable variable = new TemplateRegistryProperties.Variable();
+		variable.setRequired(required);
+		variable.setType(type);
+		return variable;
+	}
+
+	private static EmailTemplateRenderer renderer() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setCharacterEncoding("UTF-8");
+		SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+		templateEngine.setTemplateResolver(resolver);
+		TemplateCacheProperties cacheProperties = new TemplateCacheProperties();
+		cacheProperties.setSharedFragments(Map.of("example-template", Map.of("footer", List.of("currentYear"))));
+		return new EmailTemplateRenderer(templateEngine, cacheProperties);
+	}
+}
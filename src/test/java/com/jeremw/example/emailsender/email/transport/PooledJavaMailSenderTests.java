@@ -0,0 +1,115 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import com.jeremw.example.emailsender.concurrent.TokenBucket;
+import com.jeremw.example.emailsender.support.SmtpStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class PooledJavaMailSenderTests {
+
+	private SmtpStubServer smtpServer;
+
+	private PooledJavaMailSender sender;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		smtpServer = new SmtpStubServer();
+		sender = new PooledJavaMailSender(new SmtpPoolProperties());
+		sender.setHost("localhost");
+		sender.setPort(smtpServer.getPort());
+		Properties properties = new Properties();
+		properties.put("mail.smtp.auth", "false");
+		properties.put("mail.smtp.timeout", "5000");
+		sender.setJavaMailProperties(properties);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		sender.destroy();
+		smtpServer.close();
+	}
+
+	@Test
+	void send_ShouldReuseConnection_WhenSendingSeveralMessages() {
+		for (int i = 0; i < 5; i++) {
+			sender.send(message());
+		}
+
+		assertEquals(5, smtpServer.getMessageCount());
+		assertEquals(1, smtpServer.getConnectionCount());
+	}
+
+	@Test
+	void send_ShouldReturnConnectionToPool_WhileWaitingForRateLimit() throws Exception {
+		sender.setRateLimiter(new TokenBucket(2, 1));
+		Thread sending = new Thread(() -> sender.send(message(), message()));
+		sending.start();
+
+		Thread.sleep(200);
+		int activeWhileThrottled = sender.getPool().getActiveCount();
+		sending.join();
+
+		assertEquals(0, activeWhileThrottled);
+		assertEquals(2, smtpServer.getMessageCount());
+	}
+
+	@Test
+	void send_ShouldThrowAndKeepConnection_WhenServerRefusesMessage() {
+		smtpServer.withFailureRate(1, "451 4.3.0 Try again later");
+
+		assertThrows(MailSendException.class, () -> sender.send(message()));
+		smtpServer.withFailureRate(0, "451 4.3.0 Try again later");
+		sender.send(message());
+
+		assertEquals(1, smtpServer.getFailureCount());
+		assertEquals(1, smtpServer.getMessageCount());
+		assertEquals(1, smtpServer.getConnectionCount());
+	}
+
+	@Test
+	void send_ShouldOpenNewConnection_WhenServerDropsConnection() {
+		smtpServer.withDisconnectRate(1);
+
+		assertThrows(MailSendException.class, () -> sender.send(message()));
+		smtpServer.withDisconnectRate(0);
+		sender.send(message());
+
+		assertEquals(1, smtpServer.getDisconnectCount());
+		assertEquals(1, smtpServer.getMessageCount());
+		assertEquals(2, smtpServer.getConnectionCount());
+		assertEquals(1, sender.getPool().getIdleCount());
+	}
+
+	@Test
+	void send_ShouldThrow_WhenServerRejectsRecipient() {
+		smtpServer.withReply("RCPT", "550 5.1.1 No such user");
+
+		assertThrows(MailSendException.class, () -> sender.send(message()));
+
+		assertEquals(0, smtpServer.getMessageCount());
+	}
+
+	private static SimpleMailMessage message() {
+		SimpleMailMessage message = new SimpleMailMessage();
+		message.setFrom("sender@example.com");
+		message.setTo("recipient@example.com");
+		message.setSubject("Subject");
+		message.setText("Body");
+		return message;
+	}
+}
@@ -0,0 +1,144 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.jeremw.example.emailsender.concurrent.CircuitBreaker;
+import com.jeremw.example.emailsender.email.retry.SmtpFailureClassifier;
+import com.jeremw.example.emailsender.metrics.EmailMetrics;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class RoutingJavaMailSenderTests {
+
+	private final MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+
+	private final PooledJavaMailSender primary = mock(PooledJavaMailSender.class);
+
+	private final PooledJavaMailSender secondary = mock(PooledJavaMailSender.class);
+
+	@Test
+	void send_ShouldFailOverToNextRelay_WhenRelayIsUnreachable() {
+		RoutingJavaMailSender sender = routing(5, 1, 1);
+		doThrow(new MailSendException(Map.of(message, new MessagingException("Could not connect",
+				new ConnectException())))).when(primary).send(any(MimeMessage[].class));
+
+		sender.send(message);
+
+		verify(primary).send(any(MimeMessage[].class));
+		verify(secondary).send(any(MimeMessage[].class));
+	}
+
+	@Test
+	void send_ShouldNotFailOver_WhenMessageIsRejected() throws Exception {
+		RoutingJavaMailSender sender = routing(5, 1, 1);
+		doThrow(new MailSendException(Map.of(message, new SMTPAddressFailedException(
+				new InternetAddress("to@example.com"), "RCPT", 550, "No such user")))).when(primary)
+				.send(any(MimeMessage[].class));
+
+		assertThrows(MailSendException.class, () -> sender.send(message));
+		verify(secondary, never()).send(any(MimeMessage[].class));
+	}
+
+	@Test
+	void send_ShouldSkipRelay_WhenCircuitIsOpen() {
+		RoutingJavaMailSender sender = routing(1, 1, 1);
+		doThrow(new MailSendException(Map.of(message, new MessagingException("Could not connect",
+				new ConnectException())))).when(primary).send(any(MimeMessage[].class));
+
+		for (int i = 0; i < 4; i++) {
+			sender.send(message);
+		}
+
+		verify(primary, times(1)).send(any(MimeMessage[].class));
+		verify(secondary, times(4)).send(any(MimeMessage[].class));
+		assertEquals(CircuitBreaker.State.OPEN, sender.getRelays().get(0).getCircuitBreaker().getState());
+	}
+
+	@Test
+	void send_ShouldSpreadSendsAccordingToWeights() {
+		RoutingJavaMailSender sender = routing(5, 2, 1);
+
+		for (int i = 0; i < 30; i++) {
+			sender.send(message);
+		}
+
+		verify(primary, times(20)).send(any(MimeMessage[].class));
+		verify(secondary, times(10)).send(any(MimeMessage[].class));
+	}
+
+	@Test
+	void send_ShouldCloseHalfOpenCircuit_WhenTrialMessageCannotBeParsed() throws Exception {
+		RoutingJavaMailSender sender = reopeningRouting();
+		doThrow(new MailSendException(Map.of(message, new MessagingException("Could not connect",
+				new ConnectException())))).doThrow(new MailParseException("Malformed message"))
+				.doNothing()
+				.when(primary).send(any(MimeMessage[].class));
+		assertThrows(MailSendException.class, () -> sender.send(message));
+		Thread.sleep(20);
+
+		assertThrows(MailParseException.class, () -> sender.send(message));
+		Thread.sleep(20);
+		sender.send(message);
+
+		assertEquals(CircuitBreaker.State.CLOSED, sender.getRelays().get(0).getCircuitBreaker().getState());
+		verify(primary, times(3)).send(any(MimeMessage[].class));
+	}
+
+	@Test
+	void send_ShouldOpenHalfOpenCircuitAgain_WhenTrialThrowsUnexpectedException() throws Exception {
+		RoutingJavaMailSender sender = reopeningRouting();
+		doThrow(new MailSendException(Map.of(message, new MessagingException("Could not connect",
+				new ConnectException())))).doThrow(new IllegalStateException("Pool closed"))
+				.when(primary).send(any(MimeMessage[].class));
+		assertThrows(MailSendException.class, () -> sender.send(message));
+		Thread.sleep(20);
+
+		assertThrows(IllegalStateException.class, () -> sender.send(message));
+
+		assertEquals(CircuitBreaker.State.OPEN, sender.getRelays().get(0).getCircuitBreaker().getState());
+		Thread.sleep(20);
+		assertTrue(sender.getRelays().get(0).getCircuitBreaker().tryAcquire());
+	}
+
+	// A single relay, whose circuit opens on its first failure for a few milliseconds only.
+	private RoutingJavaMailSender reopeningRouting() {
+		return new RoutingJavaMailSender(List.of(
+				new RoutingJavaMailSender.Relay("primary", 1, primary, new CircuitBreaker(1, Duration.ofMillis(10)))),
+				RelayBalancing.ROUND_ROBIN, new SmtpFailureClassifier(), EmailMetrics.disabled());
+	}
+
+	private RoutingJavaMailSender routing(int failureThreshold, int primaryWeight, int secondaryWeight) {
+		return new RoutingJavaMailSender(List.of(
+				new RoutingJavaMailSender.Relay("primary", primaryWeight, primary,
+						new CircuitBreaker(failureThreshold, Duration.ofMinutes(1))),
+				new RoutingJavaMailSender.Relay("secondary", secondaryWeight, secondary,
+						new CircuitBreaker(failureThreshold, Duration.ofMinutes(1)))),
+				RelayBalancing.ROUND_ROBIN, new SmtpFailureClassifier(), EmailMetrics.disabled());
+	}
+}
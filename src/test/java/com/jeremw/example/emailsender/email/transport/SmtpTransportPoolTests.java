@@ -0,0 +1,141 @@
+package com.jeremw.example.emailsender.email.transport;
+
+import java.time.Duration;
+
+import com.jeremw.example.emailsender.concurrent.ReservedCapacity;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class SmtpTransportPoolTests {
+
+	@Mock
+	private SmtpTransportPool.TransportConnector connector;
+
+	private SmtpTransportPool pool;
+
+	@AfterEach
+	void tearDown() {
+		pool.close();
+	}
+
+	@Test
+	void borrow_ShouldReuseReleasedConnection() throws MessagingException {
+		when(connector.connect()).thenReturn(mock(Transport.class));
+		pool = new SmtpTransportPool(connector, properties(2, 10));
+
+		PooledTransport first = pool.borrow();
+		pool.release(first, false);
+		PooledTransport second = pool.borrow();
+
+		assertSame(first, second);
+		verify(connector, times(1)).connect();
+	}
+
+	@Test
+	void prewarm_ShouldOpenIdleConnections_UpToPoolSize() throws MessagingException {
+		when(connector.connect()).thenReturn(mock(Transport.class));
+		pool = new SmtpTransportPool(connector, properties(2, 10));
+
+		assertEquals(2, pool.prewarm(3));
+		assertEquals(0, pool.prewarm(3));
+		pool.borrow();
+
+		assertEquals(1, pool.getIdleCount());
+		verify(connector, times(2)).connect();
+	}
+
+	@Test
+	void release_ShouldCloseConnection_WhenMaxMessagesReached() throws MessagingException {
+		Transport transport = mock(Transport.class);
+		when(connector.connect()).thenReturn(transport, mock(Transport.class));
+		pool = new SmtpTransportPool(connector, properties(2, 1));
+
+		PooledTransport first = pool.borrow();
+		first.messageSent();
+		pool.release(first, false);
+
+		assertEquals(0, pool.getIdleCount());
+		verify(transport).close();
+		assertNotSame(first, pool.borrow());
+	}
+
+	@Test
+	void borrow_ShouldTimeOut_WhenPoolIsExhausted() throws MessagingException {
+		when(connector.connect()).thenReturn(mock(Transport.class));
+		pool = new SmtpTransportPool(connector, properties(1, 10));
+
+		pool.borrow();
+
+		assertThrows(MessagingException.class, () -> pool.borrow());
+		assertEquals(1, pool.getActiveCount());
+	}
+
+	@Test
+	void borrow_ShouldKeepReservedConnection_WhenNotGranted() throws MessagingException {
+		when(connector.connect()).thenReturn(mock(Transport.class));
+		SmtpPoolProperties properties = properties(2, 10);
+		properties.setReservedConnections(1);
+		pool = new SmtpTransportPool(connector, properties);
+
+		PooledTransport shared = pool.borrow();
+		assertThrows(MessagingException.class, () -> pool.borrow());
+		try (ReservedCapacity.Grant grant = ReservedCapacity.grant(true)) {
+			pool.borrow();
+		}
+		assertEquals(2, pool.getActiveCount());
+		pool.release(shared, false);
+		assertEquals(1, pool.getActiveCount());
+	}
+
+	@Test
+	void borrow_ShouldReleasePermit_WhenConnectionFails() throws MessagingException {
+		when(connector.connect()).thenThrow(new MessagingException("Connection refused"));
+		pool = new SmtpTransportPool(connector, properties(1, 10));
+
+		assertThrows(MessagingException.class, () -> pool.borrow());
+		assertEquals(0, pool.getActiveCount());
+	}
+
+	@Test
+	void evictIdle_ShouldCloseExpiredConnections() throws MessagingException {
+		Transport transport = mock(Transport.class);
+		when(connector.connect()).thenReturn(transport);
+		SmtpPoolProperties properties = properties(1, 10);
+		properties.setMaxIdle(Duration.ZERO);
+		pool = new SmtpTransportPool(connector, properties);
+
+		pool.release(pool.borrow(), false);
+		pool.evictIdle();
+
+		assertEquals(0, pool.getIdleCount());
+		verify(transport).close();
+	}
+
+	private SmtpPoolProperties properties(int maxSize, int maxMessages) {
+		SmtpPoolProperties properties = new SmtpPoolProperties();
+		properties.setMaxSize(maxSize);
+		properties.setMaxMessagesPerConnection(maxMessages);
+		properties.setBorrowTimeout(Duration.ofMillis(50));
+		return properties;
+	}
+}
@@ -0,0 +1,54 @@
+package com.jeremw.example.emailsender.metrics;
+
+import java.util.Map;
+
+import com.jeremw.example.emailsender.email.queue.EmailJobType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.SendFailedException;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mail.MailSendException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+class EmailMetricsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final EmailMetrics emailMetrics = new EmailMetrics(registry);
+
+	@Test
+	void recordFailed_ShouldTagServerFailure_WhenCauseIsMailSendException() {
+		MailSendException cause = new MailSendException(Map.of(new Object(), new SendFailedException("Rejected")));
+
+		emailMetrics.recordFailed(EmailJobType.RAW, cause);
+
+		assertEquals(1, registry.get("email.send")
+				.tags("type", "RAW", "outcome", "failure", "exception", "SendFailedException")
+				.counter()
+				.count());
+	}
+
+	@Test
+	void recordSent_ShouldCountSuccessByType() {
+		emailMetrics.recordSent(EmailJobType.TEMPLATE);
+		emailMetrics.recordSent(EmailJobType.TEMPLATE);
+
+		assertEquals(2, registry.get("email.send")
+				.tags("type", "TEMPLATE", "outcome", "success", "exception", "none")
+				.counter()
+				.count());
+	}
+
+	@Test
+	void recordRender_ShouldTimeByTemplate() {
+		emailMetrics.recordRender(emailMetrics.start(), "example-template");
+
+		assertEquals(1, registry.get("email.render").tag("template", "example-template").timer().count());
+	}
+}
@@ -0,0 +1,83 @@
+package com.jeremw.example.emailsender.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Properties;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jeremw.example.emailsender.email.dto.RawEmailForm;
+import com.jeremw.example.emailsender.email.dto.TemplateEmailForm;
+import com.jeremw.example.emailsender.email.transport.PooledJavaMailSender;
+import com.jeremw.example.emailsender.email.transport.SmtpPoolProperties;
+import com.jeremw.example.emailsender.support.SmtpStubServer;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@ExtendWith(MockitoExtension.class)
+class StartupWarmUpTests {
+
+	@Mock
+	private Validator validator;
+
+	private final PooledJavaMailSender sender = new PooledJavaMailSender(new SmtpPoolProperties());
+
+	@AfterEach
+	void tearDown() {
+		sender.destroy();
+	}
+
+	@Test
+	void warmUp_ShouldOpenSmtpConnections_WhenSenderIsPooled() throws IOException {
+		try (SmtpStubServer smtpServer = new SmtpStubServer()) {
+			configure(smtpServer.getPort());
+
+			warmUp(2).warmUp();
+
+			assertEquals(2, sender.getPool().getIdleCount());
+			assertEquals(2, smtpServer.getConnectionCount());
+			verify(validator).validate(any(RawEmailForm.class));
+			verify(validator).validate(any(TemplateEmailForm.class));
+		}
+	}
+
+	@Test
+	void warmUp_ShouldNotFail_WhenSmtpServerIsUnreachable() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		configure(port);
+
+		warmUp(1).warmUp();
+
+		assertEquals(0, sender.getPool().getIdleCount());
+	}
+
+	private StartupWarmUp warmUp(int smtpConnections) {
+		StartupProperties properties = new StartupProperties();
+		properties.setSmtpConnections(smtpConnections);
+		return new StartupWarmUp(properties, sender, new ObjectMapper(), validator);
+	}
+
+	private void configure(int port) {
+		sender.setHost("localhost");
+		sender.setPort(port);
+		Properties properties = new Properties();
+		properties.put("mail.smtp.auth", "false");
+		properties.put("mail.smtp.timeout", "5000");
+		sender.setJavaMailProperties(properties);
+	}
+}
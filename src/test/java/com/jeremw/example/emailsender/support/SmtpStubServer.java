@@ -0,0 +1,316 @@
+package com.jeremw.example.emailsender.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Minimal in-process SMTP server, for tests, benchmarks and load tests.
+ *
+ * <p>
+ * It speaks just enough SMTP for Jakarta Mail without authentication nor STARTTLS: {@code EHLO}/{@code HELO},
+ * {@code MAIL}, {@code RCPT}, {@code DATA}, {@code RSET}, {@code NOOP} and {@code QUIT}. Received messages are
+ * counted but not stored. Optional latencies are applied before the greeting, to simulate a slow handshake, and
+ * before answering the end of {@code DATA}, to simulate a slow relay.
+ * </p>
+ *
+ * <p>
+ * Failures can be injected: a fixed reply to a command, such as {@code 550} to every {@code RCPT}; a share of the
+ * messages answered with an error reply, such as {@code 451}; or a share of the messages after which the connection
+ * is dropped without reply. A {@code 421} reply closes the connection, as a real server would.
+ * </p>
+ *
+ * @author Jérémy Woirhaye
+ * @version 1.0
+ * @since 18/10/2026
+ */
+@Slf4j
+public class SmtpStubServer implements AutoCloseable {
+
+	private static final String SERVICE_CLOSING = "421";
+
+	private final ServerSocket serverSocket;
+
+	private final ExecutorService executor;
+
+	private final Map<String, String> replies = new ConcurrentHashMap<>();
+
+	private final AtomicInteger connections = new AtomicInteger();
+
+	private final AtomicLong messages = new AtomicLong();
+
+	private final AtomicLong failures = new AtomicLong();
+
+	private final AtomicLong disconnects = new AtomicLong();
+
+	private final AtomicLong bytes = new AtomicLong();
+
+	private volatile Duration greetingLatency = Duration.ZERO;
+
+	private volatile Duration dataLatency = Duration.ZERO;
+
+	private volatile double failureRate;
+
+	private volatile String failureReply = "451 4.3.0 Temporary failure";
+
+	private volatile double disconnectRate;
+
+	/**
+	 * Starts a server on an ephemeral port of the loopback interface.
+	 *
+	 * @throws IOException if the server socket cannot be opened
+	 */
+	public SmtpStubServer() throws IOException {
+		this(0);
+	}
+
+	/**
+	 * Starts a server on the given port of the loopback interface.
+	 *
+	 * @param port the port, {@code 0} for an ephemeral one
+	 * @throws IOException if the server socket cannot be opened
+	 */
+	public SmtpStubServer(int port) throws IOException {
+		this.serverSocket = new ServerSocket(port, 512, InetAddress.getLoopbackAddress());
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("smtp-stub-");
+		threadFactory.setDaemon(true);
+		this.executor = Executors.newCachedThreadPool(threadFactory);
+		executor.execute(this::acceptLoop);
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Sets the delay applied before greeting a new connection.
+	 *
+	 * @param greetingLatency the delay
+	 * @return this server
+	 */
+	public SmtpStubServer withGreetingLatency(Duration greetingLatency) {
+		this.greetingLatency = greetingLatency;
+		return this;
+	}
+
+	/**
+	 * Sets the delay applied before acknowledging a message.
+	 *
+	 * @param dataLatency the delay
+	 * @return this server
+	 */
+	public SmtpStubServer withDataLatency(Duration dataLatency) {
+		this.dataLatency = dataLatency;
+		return this;
+	}
+
+	/**
+	 * Answers every occurrence of a command with the given reply rather than accepting it.
+	 *
+	 * @param command the command, such as {@code RCPT}
+	 * @param reply   the reply, such as {@code 550 5.1.1 No such user}
+	 * @return this server
+	 */
+	public SmtpStubServer withReply(String command, String reply) {
+		replies.put(command.toUpperCase(Locale.ROOT), reply);
+		return this;
+	}
+
+	/**
+	 * Answers a share of the messages with the given reply rather than accepting them.
+	 *
+	 * @param failureRate  the share of the messages refused, between {@code 0} and {@code 1}
+	 * @param failureReply the reply, such as {@code 451 4.3.0 Try again later}
+	 * @return this server
+	 */
+	public SmtpStubServer withFailureRate(double failureRate, String failureReply) {
+		this.failureRate = failureRate;
+		this.failureReply = failureReply;
+		return this;
+	}
+
+	/**
+	 * Drops the connection without reply after a share of the messages.
+	 *
+	 * @param disconnectRate the share of the messages, between {@code 0} and {@code 1}
+	 * @return this server
+	 */
+	public SmtpStubServer withDisconnectRate(double disconnectRate) {
+		this.disconnectRate = disconnectRate;
+		return this;
+	}
+
+	/**
+	 * Returns the number of connections accepted so far.
+	 *
+	 * @return the number of connections
+	 */
+	public int getConnectionCount() {
+		return connections.get();
+	}
+
+	/**
+	 * Returns the number of messages accepted so far.
+	 *
+	 * @return the number of messages
+	 */
+	public long getMessageCount() {
+		return messages.get();
+	}
+
+	/**
+	 * Returns the number of messages refused by an injected failure so far.
+	 *
+	 * @return the number of messages
+	 */
+	public long getFailureCount() {
+		return failures.get();
+	}
+
+	/**
+	 * Returns the number of connections dropped by an injected failure so far.
+	 *
+	 * @return the number of connections
+	 */
+	public long getDisconnectCount() {
+		return disconnects.get();
+	}
+
+	/**
+	 * Returns the number of bytes of message data received so far.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getByteCount() {
+		return bytes.get();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		executor.shutdownNow();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				connections.incrementAndGet();
+				executor.execute(() -> serve(socket));
+			}
+			catch (IOException e) {
+				if (!serverSocket.isClosed()) {
+					log.warn("SMTP stub failed to accept a connection: {}", e.getMessage());
+				}
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				OutputStream out = socket.getOutputStream()) {
+			pause(greetingLatency);
+			reply(out, "220 localhost SMTP stub ready");
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = (line.length() >= 4 ? line.substring(0, 4) : line).toUpperCase(Locale.ROOT);
+				String injected = replies.get(command);
+				if (injected != null && !command.equals("QUIT")) {
+					if (command.equals("DATA")) {
+						failures.incrementAndGet();
+					}
+					reply(out, injected);
+					if (injected.startsWith(SERVICE_CLOSING)) {
+						return;
+					}
+					continue;
+				}
+				switch (command) {
+					case "EHLO" -> reply(out, "250-localhost\r\n250-PIPELINING\r\n250 8BITMIME");
+					case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+					case "DATA" -> {
+						reply(out, "354 End data with <CR><LF>.<CR><LF>");
+						readData(in);
+						pause(dataLatency);
+						if (!acknowledge(out)) {
+							return;
+						}
+					}
+					case "QUIT" -> {
+						reply(out, "221 Bye");
+						return;
+					}
+					default -> reply(out, "502 Command not implemented");
+				}
+			}
+		}
+		catch (IOException e) {
+			log.debug("SMTP stub connection closed: {}", e.getMessage());
+		}
+	}
+
+	private boolean acknowledge(OutputStream out) throws IOException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if (disconnectRate > 0 && random.nextDouble() < disconnectRate) {
+			disconnects.incrementAndGet();
+			return false;
+		}
+		if (failureRate > 0 && random.nextDouble() < failureRate) {
+			failures.incrementAndGet();
+			reply(out, failureReply);
+			return !failureReply.startsWith(SERVICE_CLOSING);
+		}
+		messages.incrementAndGet();
+		reply(out, "250 OK queued");
+		return true;
+	}
+
+	private void readData(BufferedReader in) throws IOException {
+		String line;
+		while ((line = in.readLine()) != null && !line.equals(".")) {
+			bytes.addAndGet(line.length() + 2L);
+		}
+	}
+
+	private static void reply(OutputStream out, String reply) throws IOException {
+		out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+
+	private static void pause(Duration duration) {
+		if (duration.isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(duration.toMillis());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}